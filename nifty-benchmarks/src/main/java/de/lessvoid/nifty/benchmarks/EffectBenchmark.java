@@ -0,0 +1,42 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a frame of a screen where every element has active effects. The time is advanced by a fixed frame time
+ * for every invocation so that the effects really change their values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class EffectBenchmark {
+  private static final long FRAME_TIME = 16;
+
+  @Param({"100", "1000", "10000"})
+  public int elementCount;
+
+  private Nifty nifty;
+  private ManualTimeProvider timeProvider;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    HeadlessNifty headless = new HeadlessNifty();
+    headless.load(HeadlessNifty.createScreenXml(elementCount, true));
+    nifty = headless.getNifty();
+    timeProvider = headless.getTimeProvider();
+  }
+
+  @Benchmark
+  public void frame() {
+    timeProvider.advance(FRAME_TIME);
+    nifty.update();
+    nifty.render(true);
+  }
+}
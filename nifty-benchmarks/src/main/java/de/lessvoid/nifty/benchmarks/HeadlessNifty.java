@@ -0,0 +1,119 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+
+import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.UnsupportedEncodingException;
+
+/**
+ * A Nifty instance that runs on the null devices and a manual time provider together with a generator for synthetic
+ * screens. All benchmarks share this so that they measure the same kind of screen.
+ */
+public class HeadlessNifty {
+  public static final String SCREEN_ID = "start";
+  public static final int WIDTH = 1024;
+  public static final int HEIGHT = 768;
+
+  /**
+   * The number of elements per row of the generated screen.
+   */
+  private static final int COLUMNS = 10;
+
+  @Nonnull
+  private final NullRenderDevice renderDevice;
+  @Nonnull
+  private final NullInputSystem inputSystem;
+  @Nonnull
+  private final ManualTimeProvider timeProvider;
+  @Nonnull
+  private final Nifty nifty;
+
+  public HeadlessNifty() {
+    renderDevice = new NullRenderDevice(WIDTH, HEIGHT);
+    inputSystem = new NullInputSystem();
+    timeProvider = new ManualTimeProvider();
+    nifty = new Nifty(renderDevice, new NullSoundDevice(), inputSystem, timeProvider);
+  }
+
+  /**
+   * Load the given screen xml and go to the start screen.
+   */
+  public void load(@Nonnull final String xml) {
+    nifty.fromXml("benchmark.xml", toStream(xml), SCREEN_ID);
+    nifty.update();
+  }
+
+  @Nonnull
+  public Nifty getNifty() {
+    return nifty;
+  }
+
+  @Nonnull
+  public NullRenderDevice getRenderDevice() {
+    return renderDevice;
+  }
+
+  @Nonnull
+  public NullInputSystem getInputSystem() {
+    return inputSystem;
+  }
+
+  @Nonnull
+  public ManualTimeProvider getTimeProvider() {
+    return timeProvider;
+  }
+
+  @Nonnull
+  public static ByteArrayInputStream toStream(@Nonnull final String xml) {
+    try {
+      return new ByteArrayInputStream(xml.getBytes("UTF-8"));
+    } catch (UnsupportedEncodingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Generate a screen with the given number of elements. The elements are panels with a text child arranged in rows
+   * of COLUMNS elements each. Every row is a horizontal panel so that the screen has a realistic nesting depth.
+   *
+   * @param elementCount the number of panels to generate
+   * @param withEffects  true to give every panel permanently active effects
+   */
+  @Nonnull
+  public static String createScreenXml(final int elementCount, final boolean withEffects) {
+    StringBuilder xml = new StringBuilder(elementCount * 200);
+    xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+    xml.append("<nifty xmlns=\"http://nifty-gui.lessvoid.com/nifty-gui\">\n");
+    xml.append("  <screen id=\"").append(SCREEN_ID).append("\" controller=\"de.lessvoid.nifty.screen.DefaultScreenController\">\n");
+    xml.append("    <layer id=\"layer\" childLayout=\"vertical\">\n");
+    int rows = (elementCount + COLUMNS - 1) / COLUMNS;
+    int element = 0;
+    for (int row = 0; row < rows; row++) {
+      xml.append("      <panel id=\"row").append(row).append("\" width=\"100%\" height=\"*\" childLayout=\"horizontal\">\n");
+      for (int column = 0; column < COLUMNS && element < elementCount; column++, element++) {
+        xml.append("        <panel id=\"p").append(element).append("\" width=\"*\" height=\"100%\"");
+        xml.append(" backgroundColor=\"#").append(Integer.toHexString(element % 16)).append("00f\"");
+        xml.append(" childLayout=\"center\" visibleToMouse=\"true\">\n");
+        if (withEffects) {
+          xml.append("          <effect>\n");
+          xml.append("            <onActive name=\"pulsate\" startColor=\"#f00f\" endColor=\"#00ff\" period=\"1000\"/>\n");
+          xml.append("            <onActive name=\"colorBar\" color=\"#0f08\"/>\n");
+          xml.append("          </effect>\n");
+        }
+        xml.append("          <text id=\"t").append(element).append("\" font=\"benchmark.fnt\" text=\"Element ")
+            .append(element).append("\"/>\n");
+        xml.append("        </panel>\n");
+      }
+      xml.append("      </panel>\n");
+    }
+    xml.append("    </layer>\n");
+    xml.append("  </screen>\n");
+    xml.append("</nifty>\n");
+    return xml.toString();
+  }
+}
@@ -0,0 +1,45 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.screen.Screen;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full layout of all layers of a screen. Every invocation marks the layers dirty first so that the layout
+ * is really performed and not skipped because nothing changed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class LayoutBenchmark {
+  @Param({"100", "1000", "10000"})
+  public int elementCount;
+
+  private List<Element> layers;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    HeadlessNifty headless = new HeadlessNifty();
+    headless.load(HeadlessNifty.createScreenXml(elementCount, false));
+    Screen screen = headless.getNifty().getCurrentScreen();
+    if (screen == null) {
+      throw new IllegalStateException("benchmark screen has not been started");
+    }
+    layers = screen.getLayerElements();
+  }
+
+  @Benchmark
+  public void layout() {
+    for (int i = 0; i < layers.size(); i++) {
+      Element layer = layers.get(i);
+      layer.markLayoutRequired();
+      layer.layoutElements();
+    }
+  }
+}
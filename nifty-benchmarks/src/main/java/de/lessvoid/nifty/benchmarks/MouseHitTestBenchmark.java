@@ -0,0 +1,41 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures forwarding a mouse move to the current screen and finding the elements below the mouse.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class MouseHitTestBenchmark {
+  @Param({"100", "1000", "10000"})
+  public int elementCount;
+
+  private Nifty nifty;
+  private NullInputSystem inputSystem;
+  private int step;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    HeadlessNifty headless = new HeadlessNifty();
+    headless.load(HeadlessNifty.createScreenXml(elementCount, false));
+    nifty = headless.getNifty();
+    inputSystem = headless.getInputSystem();
+  }
+
+  @Benchmark
+  public boolean mouseMove() {
+    // walk the mouse diagonally over the screen so that the hovered element changes
+    step = (step + 7) % HeadlessNifty.HEIGHT;
+    inputSystem.mouseMoved(step * HeadlessNifty.WIDTH / HeadlessNifty.HEIGHT, step);
+    return nifty.update();
+  }
+}
@@ -0,0 +1,35 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.Nifty;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering a static screen. The null render device only counts the calls so this is the cost of walking the
+ * element tree and the render state handling inside of Nifty.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class RenderBenchmark {
+  @Param({"100", "1000", "10000"})
+  public int elementCount;
+
+  private Nifty nifty;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    HeadlessNifty headless = new HeadlessNifty();
+    headless.load(HeadlessNifty.createScreenXml(elementCount, false));
+    nifty = headless.getNifty();
+  }
+
+  @Benchmark
+  public void render() {
+    nifty.render(true);
+  }
+}
@@ -0,0 +1,34 @@
+package de.lessvoid.nifty.benchmarks;
+
+import de.lessvoid.nifty.Nifty;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing a screen xml and building the element tree of the start screen from it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class ScreenLoadingBenchmark {
+  @Param({"100", "1000", "10000"})
+  public int elementCount;
+
+  private String xml;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    xml = HeadlessNifty.createScreenXml(elementCount, false);
+  }
+
+  @Benchmark
+  public Nifty loadScreen() {
+    HeadlessNifty headless = new HeadlessNifty();
+    headless.load(xml);
+    return headless.getNifty();
+  }
+}
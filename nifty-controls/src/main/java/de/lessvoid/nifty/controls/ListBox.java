@@ -228,6 +228,34 @@ public interface ListBox<T> extends NiftyControl {
    */
   void refresh();
 
+  /**
+   * Let the given data source supply the items of this ListBox. The data source is only asked for the items that are
+   * actually needed, so this allows very large lists without copying all items into the ListBox. While a data source
+   * is set the methods that change the items of the ListBox (addItem(), removeItem(), sortAllItems(), ...) are ignored.
+   *
+   * @param dataSource the data source or {@code null} to go back to the items stored in the ListBox
+   */
+  void setDataSource(@Nullable ListBoxDataSource<T> dataSource);
+
+  /**
+   * Notify the ListBox that the items of the data source have changed.
+   */
+  void dataSourceChanged();
+
+  /**
+   * Start a bulk update of this ListBox. Until the matching {@link #commitUpdate()} all changes to the items and to the
+   * selection are collected and the display, the scrollbars and the {@link ListBoxSelectionChangedEvent} are only
+   * updated once when the bulk update is committed. Use this when adding, removing or sorting a lot of items at once.
+   * Bulk updates can be nested.
+   */
+  void beginUpdate();
+
+  /**
+   * Finish a bulk update started with {@link #beginUpdate()}. The outermost commit updates the display with all the
+   * changes and publishes at most one {@link ListBoxSelectionChangedEvent}.
+   */
+  void commitUpdate();
+
   void addItemProcessor(@Nonnull ListBoxItemProcessor processor);
   
   /**
@@ -295,6 +323,40 @@ public interface ListBox<T> extends NiftyControl {
     int getWidth(@Nonnull Element element, @Nonnull T item);
   }
 
+  /**
+   * Supplies the items of a ListBox on demand. Implement this interface when the items are already stored somewhere
+   * else or when there are too many items to add them to the ListBox.
+   *
+   * @param <T>
+   */
+  public interface ListBoxDataSource<T> {
+
+    /**
+     * Get the number of items.
+     *
+     * @return the number of items
+     */
+    int getItemCount();
+
+    /**
+     * Get the item at the given index.
+     *
+     * @param index the index of the item (0 &lt;= index &lt; getItemCount())
+     * @return the item
+     */
+    @Nonnull
+    T getItem(int index);
+
+    /**
+     * Get the index of the given item. This is called f.i. to select or to show an item, so it should not search all
+     * items if there are a lot of them.
+     *
+     * @param item the item to look for
+     * @return the index of the item or -1 if the item is not supplied by this data source
+     */
+    int indexOf(@Nonnull T item);
+  }
+
   /**
    * A simple implementation of ListBoxViewConverter that will just use item.toString().
    * This is the default SimpleListBoxViewConverter used when you don't set a different implementation.
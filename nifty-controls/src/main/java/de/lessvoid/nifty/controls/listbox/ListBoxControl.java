@@ -785,6 +785,26 @@ public class ListBoxControl<T> extends AbstractController implements ListBox<T>,
     listBoxImpl.updateView();
   }
 
+  @Override
+  public void setDataSource(@Nullable final ListBoxDataSource<T> dataSource) {
+    listBoxImpl.setDataSource(dataSource);
+  }
+
+  @Override
+  public void dataSourceChanged() {
+    listBoxImpl.dataSourceChanged();
+  }
+
+  @Override
+  public void beginUpdate() {
+    listBoxImpl.beginUpdate();
+  }
+
+  @Override
+  public void commitUpdate() {
+    listBoxImpl.commitUpdate();
+  }
+
   // internals 
 
   private void initSelectionMode(
@@ -912,33 +932,42 @@ public class ListBoxControl<T> extends AbstractController implements ListBox<T>,
     labelElements = new Element[displayItems];
 
     for (int i = 0; i < displayItems; i++) {
-      ElementType templateType = labelTemplateElementType.copy();
-
-      String oldId = templateId;
-      if (oldId == null) {
-        oldId = getChildId("#child-root");
-      }
-      final String newId;
-      if (oldId == null) {
-        log.severe("Failed to locate proper ID, label element will be created with global id.");
-        newId = NiftyIdCreator.generate();
+      if (templateId != null) {
+        // the template itself is not changed, so all labels share the prepared template
+        labelElements[i] = nifty.createElementFromType(screen, childRootElement, labelTemplateElementType,
+            templateId + "#" + NiftyIdCreator.generate());
       } else {
-        newId = oldId + "#" + NiftyIdCreator.generate();
-      }
-
-      templateType.getAttributes().set("id", newId);
-      if (oldId != null) {
-        replaceAllIds(templateType, oldId, newId);
+        labelElements[i] = nifty.createElementFromType(screen, childRootElement,
+            createLabelType(labelTemplateElementType));
       }
 
-      labelElements[i] = nifty.createElementFromType(screen, childRootElement, templateType);
-
       for (final ListBoxItemProcessor processor : itemProcessors) {
         processor.processElement(labelElements[i]);
       }
     }
   }
 
+  // a copy of the label template without id that gets an id below the child root
+  @Nonnull
+  private ElementType createLabelType(@Nonnull final ElementType labelTemplateType) {
+    ElementType templateType = labelTemplateType.copy();
+
+    String oldId = getChildId("#child-root");
+    final String newId;
+    if (oldId == null) {
+      log.severe("Failed to locate proper ID, label element will be created with global id.");
+      newId = NiftyIdCreator.generate();
+    } else {
+      newId = oldId + "#" + NiftyIdCreator.generate();
+    }
+
+    templateType.getAttributes().set("id", newId);
+    if (oldId != null) {
+      replaceAllIds(templateType, oldId, newId);
+    }
+    return templateType;
+  }
+
   private void replaceAllIds(
       @Nonnull final ElementType type,
       @Nonnull final String oldId,
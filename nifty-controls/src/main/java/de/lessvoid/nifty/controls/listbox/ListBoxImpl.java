@@ -1,30 +1,51 @@
 package de.lessvoid.nifty.controls.listbox;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.logging.Logger;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import de.lessvoid.nifty.controls.ListBox;
+import de.lessvoid.nifty.controls.ListBox.ListBoxDataSource;
 import de.lessvoid.nifty.controls.ListBox.ListBoxViewConverter;
 import de.lessvoid.nifty.controls.ListBox.SelectionMode;
 import de.lessvoid.nifty.controls.ListBoxSelectionChangedEvent;
 
+/**
+ * The model of the ListBox. The items are either stored in a list owned by this class or they are supplied on demand by
+ * a {@link ListBoxDataSource}. Lookups of items are done with an index map (using equals() and hashCode() of the
+ * items) and the width of an item is only measured when the item is displayed for the first time. So even lists with a
+ * huge number of items only cost as much as the items currently visible.
+ */
 class ListBoxImpl<T> {
   @Nonnull
   private static final Logger log = Logger.getLogger(ListBoxImpl.class.getName());
   @Nonnull
   private final ListBox<T> listBox;
   @Nonnull
-  private final List<T> items;
+  private final List<T> ownItems;
   @Nonnull
-  private final List<ItemWidth<T>> widthList;
+  private List<T> items;
+  @Nullable
+  private ListBoxDataSource<T> dataSource;
+  @Nonnull
+  private final Map<T, Integer> indexByItem;
+  private boolean itemIndexValid = true;
+  @Nonnull
+  private final Map<T, Integer> itemWidths;
+  @Nonnull
+  private final TreeMap<Integer, Integer> widthCounts;
   @Nonnull
   private ListBoxSelectionMode<T> selection;
   @Nullable
@@ -39,11 +60,23 @@ class ListBoxImpl<T> {
   @Nonnull
   private final ListBoxFocusItem listBoxFocusItem;
   private int lastMaxWidth = 0;
+  private int bulkUpdateDepth = 0;
+  @Nullable
+  private T bulkVisibleItem;
+  private boolean bulkRestoreVisibleItem;
+  private boolean bulkViewChanged;
+  private boolean bulkTotalCountChanged;
+  private boolean bulkWidthChanged;
+  private boolean bulkScrollChanged;
+  private boolean bulkSelectionChanged;
 
   public ListBoxImpl(@Nonnull final ListBox<T> listBox) {
     this.listBox = listBox;
-    items = new ArrayList<T>();
-    widthList = new ArrayList<ItemWidth<T>>();
+    ownItems = new ArrayList<T>();
+    items = ownItems;
+    indexByItem = new HashMap<T, Integer>();
+    itemWidths = new HashMap<T, Integer>();
+    widthCounts = new TreeMap<Integer, Integer>();
     selection = new ListBoxSelectionModeSingle<T>();
     visibleItemsForDisplay = new ArrayList<T>();
     selectedItemsForDisplay = new ArrayList<Integer>();
@@ -65,8 +98,14 @@ class ListBoxImpl<T> {
   }
 
   public void updateView() {
+    if (isBulkUpdate()) {
+      bulkViewChanged = true;
+      return;
+    }
     if (view != null) {
-      view.display(updateCaptions(), getFocusItemForDisplay(), getSelectionElementsForDisplay());
+      List<T> captions = updateCaptions();
+      widthUpdate();
+      view.display(captions, getFocusItemForDisplay(), getSelectionElementsForDisplay());
     } else {
       log.warning("Updating the view is not possible as long as the view is not bound to this implementation.");
     }
@@ -128,11 +167,13 @@ class ListBoxImpl<T> {
   }
 
   public void addItem(@Nonnull final T newItem) {
+    if (isReadOnly()) {
+      return;
+    }
     T visibleItem = getVisibleItem();
 
-    widthList.add(new ItemWidth<T>(newItem, view == null ? 0 : view.getWidth(newItem)));
     items.add(newItem);
-    widthUpdate();
+    itemsAppended(items.size() - 1);
     focusItemIndexUpdate();
     updateViewTotalCount();
 
@@ -147,13 +188,22 @@ class ListBoxImpl<T> {
   }
 
   public void clear() {
+    if (isReadOnly()) {
+      return;
+    }
     items.clear();
+    indexByItem.clear();
+    itemIndexValid = true;
     selection.clear();
 
-    widthList.clear();
-    lastMaxWidth = 0;
-    if (view != null) {
-      view.updateTotalWidth(lastMaxWidth);
+    clearWidths();
+    if (isBulkUpdate()) {
+      bulkWidthChanged = true;
+    } else {
+      lastMaxWidth = 0;
+      if (view != null) {
+        view.updateTotalWidth(lastMaxWidth);
+      }
     }
 
     focusItemIndexUpdate();
@@ -172,7 +222,7 @@ class ListBoxImpl<T> {
   }
 
   public void selectItem(@Nonnull final T item) {
-    selectItemByIndex(items.indexOf(item));
+    selectItemByIndex(indexOf(item));
   }
 
   public void selectNext() {
@@ -182,7 +232,7 @@ class ListBoxImpl<T> {
     if (selection.getSelection().isEmpty()) {
       return;
     }
-    int selectionIndex = items.indexOf(selection.getSelection().get(0));
+    int selectionIndex = indexOf(selection.getSelection().get(0));
     if (invalidIndex(selectionIndex)) {
       return;
     }
@@ -201,7 +251,7 @@ class ListBoxImpl<T> {
     if (selection.getSelection().isEmpty()) {
       return;
     }
-    int selectionIndex = items.indexOf(selection.getSelection().get(0));
+    int selectionIndex = indexOf(selection.getSelection().get(0));
     if (invalidIndex(selectionIndex)) {
       return;
     }
@@ -226,13 +276,13 @@ class ListBoxImpl<T> {
 
     List<Integer> result = new ArrayList<Integer>();
     for (T selItem : sel) {
-      result.add(items.indexOf(selItem));
+      result.add(indexOf(selItem));
     }
     return result;
   }
 
   public void removeItemByIndex(final int itemIndex) {
-    if (invalidIndex(itemIndex)) {
+    if (invalidIndex(itemIndex) || isReadOnly()) {
       return;
     }
     int oldCount = itemCount();
@@ -241,7 +291,10 @@ class ListBoxImpl<T> {
     T item = items.get(itemIndex);
     selection.removeForced(item);
     items.remove(itemIndex);
-    widthList.remove(findItemIndexInWidthList(item));
+    itemRemoved(item, itemIndex);
+    if (itemWidths.containsKey(item) && indexOf(item) == -1) {
+      forgetWidth(item);
+    }
     widthUpdate();
 
     listBoxFocusItem.prepare();
@@ -254,24 +307,28 @@ class ListBoxImpl<T> {
   }
 
   public void removeItem(final T item) {
-    removeItemByIndex(items.indexOf(item));
+    removeItemByIndex(indexOf(item));
   }
 
   public void removeAllItems(@Nonnull final Collection<T> itemsToRemove) {
+    if (isReadOnly()) {
+      return;
+    }
     int oldCount = itemCount();
     T visibleItem = getVisibleItem();
 
     listBoxFocusItem.prepare();
     for (T item : itemsToRemove) {
-      listBoxFocusItem.registerIndex(items.indexOf(item));
-      widthList.remove(findItemIndexInWidthList(item));
+      listBoxFocusItem.registerIndex(indexOf(item));
+      forgetWidth(item);
     }
 
     widthUpdate();
 
-    if (!items.removeAll(itemsToRemove)) {
+    if (!items.removeAll(new HashSet<T>(itemsToRemove))) {
       return;
     }
+    invalidateItemIndex();
 
     for (T item : selection.getSelection()) {
       selection.removeForced(item);
@@ -293,7 +350,7 @@ class ListBoxImpl<T> {
   }
 
   public void deselectItem(@Nonnull final T item) {
-    deselectItemByIndex(items.indexOf(item));
+    deselectItemByIndex(indexOf(item));
   }
 
   @Nonnull
@@ -302,13 +359,16 @@ class ListBoxImpl<T> {
   }
 
   public void insertItem(@Nonnull final T item, final int index) {
-    if (invalidIndexForInsert(index)) {
+    if (invalidIndexForInsert(index) || isReadOnly()) {
       return;
     }
     T visibleItem = getVisibleItem();
-    widthList.add(new ItemWidth<T>(item, view == null ? 0 : view.getWidth(item)));
     items.add(index, item);
-    widthUpdate();
+    if (index == items.size() - 1) {
+      itemsAppended(index);
+    } else {
+      invalidateItemIndex();
+    }
     focusItemIndexUpdate();
     updateViewTotalCount();
     if (visibleItem != null) {
@@ -318,7 +378,7 @@ class ListBoxImpl<T> {
   }
 
   public void showItem(@Nonnull final T item) {
-    showItemByIndex(items.indexOf(item));
+    showItemByIndex(indexOf(item));
   }
 
   public void showItemByIndex(final int itemIndex) {
@@ -339,7 +399,7 @@ class ListBoxImpl<T> {
     if (item == null) {
       setFocusItemByIndex(-1);
     } else {
-      setFocusItemByIndex(items.indexOf(item));
+      setFocusItemByIndex(indexOf(item));
     }
   }
 
@@ -377,15 +437,13 @@ class ListBoxImpl<T> {
   }
 
   public void addAllItems(@Nonnull final Collection<T> itemsToAdd) {
-    if (itemsToAdd.isEmpty()) {
+    if (itemsToAdd.isEmpty() || isReadOnly()) {
       return;
     }
-    for (T item : itemsToAdd) {
-      widthList.add(new ItemWidth<T>(item, view == null ? 0 : view.getWidth(item)));
-    }
     T visibleItem = getVisibleItem();
+    int firstNewIndex = items.size();
     items.addAll(itemsToAdd);
-    widthUpdate();
+    itemsAppended(firstNewIndex);
     focusItemIndexUpdate();
     updateViewTotalCount();
     if (visibleItem != null) {
@@ -397,10 +455,123 @@ class ListBoxImpl<T> {
   }
 
   public void sortItems(@Nullable final Comparator<T> comparator) {
+    if (isReadOnly()) {
+      return;
+    }
     Collections.sort(items, comparator);
+    invalidateItemIndex();
+  }
+
+  /**
+   * Use the given data source to supply the items of this ListBox. The items are requested from the data source only
+   * when they are needed and the own items of this ListBox are kept until the data source is removed again. While a
+   * data source is set all methods that change the items are ignored.
+   *
+   * @param newDataSource the data source or {@code null} to use the own items of this ListBox again
+   */
+  public void setDataSource(@Nullable final ListBoxDataSource<T> newDataSource) {
+    dataSource = newDataSource;
+    items = newDataSource == null ? ownItems : new DataSourceItems<T>(newDataSource);
+    invalidateItemIndex();
+    clearWidths();
+    selection.clear();
+    focusItemIndex = -1;
+    viewOffset = 0;
+    itemsChanged();
+  }
+
+  /**
+   * Must be called when the items supplied by the data source have changed. The selection keeps all items that are
+   * still part of the data source.
+   */
+  public void dataSourceChanged() {
+    if (dataSource == null) {
+      return;
+    }
+    clearWidths();
+    for (T item : new ArrayList<T>(selection.getSelection())) {
+      if (indexOf(item) == -1) {
+        selection.removeForced(item);
+      }
+    }
+    if (focusItemIndex >= items.size()) {
+      focusItemIndex = items.size() - 1;
+    }
+    if (viewOffset > 0 && viewOffset + viewDisplayItemCount > items.size()) {
+      viewOffset = Math.max(0, items.size() - viewDisplayItemCount);
+      updateViewScroll();
+    }
+    itemsChanged();
+  }
+
+  /**
+   * Start a bulk update. Until the matching {@link #commitUpdate()} the changes to the items and the selection are
+   * only recorded and the view and the listeners are notified once when the bulk update is committed. Bulk updates
+   * can be nested.
+   */
+  public void beginUpdate() {
+    if (bulkUpdateDepth++ == 0) {
+      bulkVisibleItem = getVisibleItem();
+    }
+  }
+
+  /**
+   * Finish a bulk update. The outermost commit updates the view with all changes done since
+   * {@link #beginUpdate()} and publishes at most one ListBoxSelectionChangedEvent.
+   */
+  public void commitUpdate() {
+    if (bulkUpdateDepth == 0) {
+      log.warning("commitUpdate() called without a matching beginUpdate()");
+      return;
+    }
+    if (--bulkUpdateDepth > 0) {
+      return;
+    }
+    T visibleItem = bulkRestoreVisibleItem ? bulkVisibleItem : null;
+    boolean viewChanged = bulkViewChanged || bulkWidthChanged;
+    boolean totalCountChanged = bulkTotalCountChanged;
+    boolean scrollChanged = bulkScrollChanged;
+    boolean selectionChanged = bulkSelectionChanged;
+    bulkVisibleItem = null;
+    bulkRestoreVisibleItem = false;
+    bulkViewChanged = false;
+    bulkTotalCountChanged = false;
+    bulkWidthChanged = false;
+    bulkScrollChanged = false;
+    bulkSelectionChanged = false;
+
+    if (totalCountChanged && view != null) {
+      view.updateTotalCount(items.size());
+    }
+    if (visibleItem != null && indexOf(visibleItem) != -1) {
+      showItem(visibleItem);
+    } else {
+      if (viewOffset > 0 && viewOffset + viewDisplayItemCount > items.size()) {
+        viewOffset = Math.max(0, items.size() - viewDisplayItemCount);
+        scrollChanged = true;
+      }
+      if (scrollChanged) {
+        updateViewScroll();
+      }
+      if (viewChanged || scrollChanged) {
+        updateView();
+      }
+    }
+    if (selectionChanged) {
+      selectionChangedEvent();
+    }
+  }
+
+  private boolean isBulkUpdate() {
+    return bulkUpdateDepth > 0;
   }
 
   void updateViewTotalCount() {
+    if (isBulkUpdate()) {
+      bulkTotalCountChanged = true;
+      bulkViewChanged = true;
+      return;
+    }
     if (view == null) {
       log.warning("Can't update total count of view while there is not view bound to the list box implementation.");
     } else {
@@ -410,6 +581,10 @@ class ListBoxImpl<T> {
   }
 
   void updateViewScroll() {
+    if (isBulkUpdate()) {
+      bulkScrollChanged = true;
+      return;
+    }
     if (view == null) {
       log.warning("Can't perform view scrolling as long there is no view bound to the list box implementation.");
     } else {
@@ -425,11 +600,9 @@ class ListBoxImpl<T> {
       return selectedItemsForDisplay;
     }
     for (T selectedItem : selectionList) {
-      for (int i = 0; i < viewDisplayItemCount; i++) {
-        int selectedItemIndex = items.indexOf(selectedItem);
-        if (selectedItemIndex == viewOffset + i) {
-          selectedItemsForDisplay.add(i);
-        }
+      int selectedItemIndex = indexOf(selectedItem);
+      if (selectedItemIndex >= viewOffset && selectedItemIndex < viewOffset + viewDisplayItemCount) {
+        selectedItemsForDisplay.add(selectedItemIndex - viewOffset);
       }
     }
     return selectedItemsForDisplay;
@@ -441,6 +614,7 @@ class ListBoxImpl<T> {
     for (int i = 0; i < viewDisplayItemCount; i++) {
       if (viewOffset + i < items.size()) {
         T item = items.get(viewOffset + i);
+        measureWidth(item);
         visibleItemsForDisplay.add(item);
       } else {
         break;
@@ -508,6 +682,10 @@ class ListBoxImpl<T> {
   }
 
   private void selectionChangedEvent() {
+    if (isBulkUpdate()) {
+      bulkSelectionChanged = true;
+      return;
+    }
     if (view != null) {
       view.publish(new ListBoxSelectionChangedEvent<T>(listBox, getSelection(), getSelectedIndices()));
     }
@@ -521,7 +699,9 @@ class ListBoxImpl<T> {
       selection.add(items.get(focusItemIndex));
     }
 
-    if (view != null) {
+    if (isBulkUpdate()) {
+      bulkTotalCountChanged = true;
+    } else if (view != null) {
       view.updateTotalCount(items.size());
     }
 
@@ -537,34 +717,117 @@ class ListBoxImpl<T> {
     selectionChangedEvent();
   }
 
+  private void itemsChanged() {
+    if (selection.requiresAutoSelection() && itemCount() > 0) {
+      selection.add(items.get(0));
+    }
+    focusItemIndexUpdate();
+    updateViewTotalCount();
+    selectionChangedEvent();
+  }
+
+  /**
+   * Send the maximum width of all items measured so far to the view, if it changed.
+   */
   private void widthUpdate() {
-    if (widthList.isEmpty()) {
-      if (lastMaxWidth != 0) {
-        lastMaxWidth = 0;
-        if (view != null) {
-          view.updateTotalWidth(0);
-        }
-      }
+    if (isBulkUpdate()) {
+      bulkWidthChanged = true;
       return;
     }
-    Collections.sort(widthList);
-
-    if (widthList.get(widthList.size() - 1).getWidth() != lastMaxWidth) {
-      lastMaxWidth = widthList.get(widthList.size() - 1).getWidth();
+    int maxWidth = widthCounts.isEmpty() ? 0 : widthCounts.lastKey();
+    if (maxWidth != lastMaxWidth) {
+      lastMaxWidth = maxWidth;
       if (view != null) {
         view.updateTotalWidth(lastMaxWidth);
       }
     }
   }
 
-  private int findItemIndexInWidthList(final T item) {
-    for (int i = 0; i < widthList.size(); i++) {
-      ItemWidth itemWidth = widthList.get(i);
-      if (itemWidth.getItem().equals(item)) {
-        return i;
+  private void measureWidth(@Nonnull final T item) {
+    if (view == null || itemWidths.containsKey(item)) {
+      return;
+    }
+    int width = view.getWidth(item);
+    itemWidths.put(item, width);
+    Integer count = widthCounts.get(width);
+    widthCounts.put(width, count == null ? 1 : count + 1);
+  }
+
+  private void forgetWidth(@Nonnull final T item) {
+    Integer width = itemWidths.remove(item);
+    if (width == null) {
+      return;
+    }
+    Integer count = widthCounts.get(width);
+    if (count == null || count <= 1) {
+      widthCounts.remove(width);
+    } else {
+      widthCounts.put(width, count - 1);
+    }
+  }
+
+  private void clearWidths() {
+    itemWidths.clear();
+    widthCounts.clear();
+  }
+
+  /**
+   * Get the index of the first item that equals the given item.
+   *
+   * @return the index or -1 if the item is not part of this ListBox
+   */
+  private int indexOf(@Nullable final T item) {
+    if (item == null) {
+      return -1;
+    }
+    if (dataSource != null) {
+      return dataSource.indexOf(item);
+    }
+    if (!itemIndexValid) {
+      for (int i = items.size() - 1; i >= 0; i--) {
+        indexByItem.put(items.get(i), i);
+      }
+      itemIndexValid = true;
+    }
+    Integer index = indexByItem.get(item);
+    return index == null ? -1 : index;
+  }
+
+  private void itemsAppended(final int firstNewIndex) {
+    if (!itemIndexValid) {
+      return;
+    }
+    for (int i = firstNewIndex; i < items.size(); i++) {
+      T item = items.get(i);
+      if (!indexByItem.containsKey(item)) {
+        indexByItem.put(item, i);
       }
     }
-    return -1;
+  }
+
+  private void itemRemoved(@Nonnull final T item, final int removedIndex) {
+    if (itemIndexValid && removedIndex == items.size()) {
+      Integer index = indexByItem.get(item);
+      if (index != null && index == removedIndex) {
+        indexByItem.remove(item);
+      }
+    } else {
+      invalidateItemIndex();
+    }
+  }
+
+  private void invalidateItemIndex() {
+    indexByItem.clear();
+    itemIndexValid = false;
+  }
+
+  private boolean isReadOnly() {
+    if (dataSource != null) {
+      log.warning("The items of a ListBox using a data source can't be changed through the ListBox. Change the data "
+          + "source and call dataSourceChanged() instead.");
+      return true;
+    }
+    return false;
   }
 
   private void ensureAutoSelection(@Nonnull final T newItem) {
@@ -596,31 +859,33 @@ class ListBoxImpl<T> {
   }
 
   private void restoreVisibleItem(@Nonnull final T visibleItem) {
+    if (isBulkUpdate()) {
+      // the item visible at the start of the bulk update is restored once in commitUpdate()
+      bulkRestoreVisibleItem = true;
+      return;
+    }
     showItem(visibleItem);
   }
 
-  private static class ItemWidth<T> implements Comparable<ItemWidth<T>> {
+  /**
+   * Read-only list view of the items of a data source.
+   */
+  private static class DataSourceItems<T> extends AbstractList<T> {
     @Nonnull
-    private final T item;
-    private final int width;
+    private final ListBoxDataSource<T> dataSource;
 
-    public ItemWidth(@Nonnull final T item, final int width) {
-      this.item = item;
-      this.width = width;
+    public DataSourceItems(@Nonnull final ListBoxDataSource<T> dataSource) {
+      this.dataSource = dataSource;
     }
 
     @Override
-    public int compareTo(@Nonnull final ItemWidth a) {
-      return Integer.valueOf(width).compareTo(a.width);
+    public T get(final int index) {
+      return dataSource.getItem(index);
     }
 
-    @Nonnull
-    public T getItem() {
-      return item;
-    }
-
-    public int getWidth() {
-      return width;
+    @Override
+    public int size() {
+      return dataSource.getItemCount();
     }
   }
 }
@@ -29,7 +29,7 @@ public interface ListBoxView<T> {
    * Update the ListBox view with the given width. This is used to update the horizontal
    * scrollbar to a new maximum value.
    *
-   * @param newWidth new maximum width of all items in the ListBox
+   * @param newWidth new maximum width of all items in the ListBox that have been displayed so far
    */
   void updateTotalWidth(int newWidth);
 
@@ -49,7 +49,8 @@ public interface ListBoxView<T> {
 
   /**
    * Return the width of the given item. This is used to keep track of the maximum width of
-   * all items in the ListBox to update the horizontal Scrollbar correctly.
+   * all items in the ListBox to update the horizontal Scrollbar correctly. An item is only
+   * measured when it is displayed for the first time.
    *
    * @param item the item to get the width for
    * @return the width of the item
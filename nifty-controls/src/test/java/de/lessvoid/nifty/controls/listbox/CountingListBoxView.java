@@ -0,0 +1,74 @@
+package de.lessvoid.nifty.controls.listbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Ignore;
+
+import de.lessvoid.nifty.controls.ListBoxSelectionChangedEvent;
+
+/**
+ * A ListBoxView that only remembers what has been send to it. The width of an item is the length of its label.
+ */
+@Ignore
+public class CountingListBoxView implements ListBoxView<TestItem> {
+  public List<TestItem> displayed = new ArrayList<TestItem>();
+  public List<Integer> selection = new ArrayList<Integer>();
+  public List<TestItem> measured = new ArrayList<TestItem>();
+  public int totalCount;
+  public int totalWidth;
+  public int publishCount;
+  public int displayCount;
+  public int totalCountUpdates;
+  public int totalWidthUpdates;
+  public int scrollPosition;
+  public ListBoxSelectionChangedEvent<TestItem> lastEvent;
+
+  @Override
+  public void display(
+      @Nonnull final List<TestItem> captions,
+      final int focusElementIndex,
+      @Nonnull final List<Integer> selectionElements) {
+    displayCount++;
+    displayed = new ArrayList<TestItem>(captions);
+    selection = new ArrayList<Integer>(selectionElements);
+  }
+
+  @Override
+  public void updateTotalCount(final int newCount) {
+    totalCountUpdates++;
+    totalCount = newCount;
+  }
+
+  @Override
+  public void updateTotalWidth(final int newWidth) {
+    totalWidthUpdates++;
+    totalWidth = newWidth;
+  }
+
+  @Override
+  public void scrollTo(final int newPosition) {
+    scrollPosition = newPosition;
+  }
+
+  @Override
+  public void publish(@Nonnull final ListBoxSelectionChangedEvent<TestItem> event) {
+    publishCount++;
+    lastEvent = event;
+  }
+
+  public void resetCounters() {
+    publishCount = 0;
+    displayCount = 0;
+    totalCountUpdates = 0;
+    totalWidthUpdates = 0;
+  }
+
+  @Override
+  public int getWidth(final TestItem item) {
+    measured.add(item);
+    return item.getLabel().length();
+  }
+}
@@ -0,0 +1,134 @@
+package de.lessvoid.nifty.controls.listbox;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.controls.ListBox.SelectionMode;
+
+public class ListBoxBulkUpdateTest {
+  private ListBoxImpl<TestItem> listBox = new ListBoxImpl<TestItem>(null);
+  private CountingListBoxView view = new CountingListBoxView();
+  private List<TestItem> items = new ArrayList<TestItem>();
+
+  @Before
+  public void before() {
+    listBox.bindToView(view, 2);
+    listBox.changeSelectionMode(SelectionMode.Single, true);
+    for (int i = 0; i < 1000; i++) {
+      items.add(new TestItem("item" + i));
+    }
+    view.resetCounters();
+  }
+
+  @Test
+  public void testAddItems() {
+    listBox.beginUpdate();
+    for (TestItem item : items) {
+      listBox.addItem(item);
+    }
+    assertEquals(0, view.displayCount);
+    listBox.commitUpdate();
+
+    assertEquals(1, view.displayCount);
+    assertEquals(1, view.totalCountUpdates);
+    assertEquals(1, view.totalWidthUpdates);
+    assertEquals(1, view.publishCount);
+    assertEquals(1000, view.totalCount);
+    assertEquals(Arrays.asList(items.get(0), items.get(1)), view.displayed);
+    assertEquals(Arrays.asList(items.get(0)), view.lastEvent.getSelection());
+  }
+
+  @Test
+  public void testRemoveItems() {
+    listBox.addAllItems(items);
+    listBox.showItemByIndex(500);
+    view.resetCounters();
+
+    listBox.beginUpdate();
+    for (int i = 0; i < 100; i++) {
+      listBox.removeItem(items.get(i));
+    }
+    listBox.commitUpdate();
+
+    assertEquals(1, view.totalCountUpdates);
+    assertEquals(1, view.publishCount);
+    assertEquals(900, view.totalCount);
+    assertEquals(Arrays.asList(items.get(500), items.get(501)), view.displayed);
+    assertEquals(400, view.scrollPosition);
+  }
+
+  @Test
+  public void testRemoveVisibleItems() {
+    listBox.addAllItems(items);
+    listBox.showItemByIndex(998);
+
+    listBox.beginUpdate();
+    listBox.removeAllItems(items.subList(500, 1000));
+    listBox.commitUpdate();
+
+    assertEquals(Arrays.asList(items.get(498), items.get(499)), view.displayed);
+    assertEquals(498, view.scrollPosition);
+  }
+
+  @Test
+  public void testClearAndAdd() {
+    listBox.addAllItems(items);
+    view.resetCounters();
+
+    listBox.beginUpdate();
+    listBox.clear();
+    listBox.addAllItems(items.subList(0, 10));
+    listBox.sortItems(null);
+    listBox.commitUpdate();
+
+    assertEquals(1, view.displayCount);
+    assertEquals(1, view.publishCount);
+    assertEquals(10, view.totalCount);
+    assertEquals(0, view.totalWidthUpdates);
+  }
+
+  @Test
+  public void testClearOnly() {
+    listBox.addAllItems(items);
+    view.resetCounters();
+
+    listBox.beginUpdate();
+    listBox.clear();
+    listBox.commitUpdate();
+
+    assertEquals(1, view.totalWidthUpdates);
+    assertEquals(0, view.totalWidth);
+    assertEquals(0, view.totalCount);
+    assertEquals(0, view.displayed.size());
+  }
+
+  @Test
+  public void testNestedUpdate() {
+    listBox.beginUpdate();
+    listBox.beginUpdate();
+    listBox.addItem(items.get(0));
+    listBox.commitUpdate();
+    assertEquals(0, view.displayCount);
+    listBox.addItem(items.get(1));
+    listBox.commitUpdate();
+
+    assertEquals(1, view.displayCount);
+    assertEquals(1, view.publishCount);
+  }
+
+  @Test
+  public void testCommitWithoutChanges() {
+    listBox.beginUpdate();
+    listBox.commitUpdate();
+    listBox.commitUpdate();
+
+    assertEquals(0, view.displayCount);
+    assertEquals(0, view.publishCount);
+  }
+}
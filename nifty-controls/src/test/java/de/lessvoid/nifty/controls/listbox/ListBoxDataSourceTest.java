@@ -0,0 +1,120 @@
+package de.lessvoid.nifty.controls.listbox;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.controls.ListBox.ListBoxDataSource;
+
+public class ListBoxDataSourceTest {
+  private ListBoxImpl<TestItem> listBox = new ListBoxImpl<TestItem>(null);
+  private CountingListBoxView view = new CountingListBoxView();
+  private TestItem own = new TestItem("own");
+  private List<TestItem> sourceItems = new ArrayList<TestItem>();
+  private List<Integer> requested = new ArrayList<Integer>();
+  private ListBoxDataSource<TestItem> dataSource = new ListBoxDataSource<TestItem>() {
+    @Override
+    public int getItemCount() {
+      return sourceItems.size();
+    }
+
+    @Nonnull
+    @Override
+    public TestItem getItem(final int index) {
+      requested.add(index);
+      return sourceItems.get(index);
+    }
+
+    @Override
+    public int indexOf(@Nonnull final TestItem item) {
+      return sourceItems.indexOf(item);
+    }
+  };
+
+  @Before
+  public void before() {
+    listBox.bindToView(view, 2);
+    listBox.addItem(own);
+    for (int i = 0; i < 1000; i++) {
+      sourceItems.add(new TestItem("source" + i));
+    }
+  }
+
+  @Test
+  public void testItemsAreRequestedOnDemand() {
+    listBox.setDataSource(dataSource);
+
+    assertEquals(1000, listBox.itemCount());
+    assertEquals(1000, view.totalCount);
+    assertEquals(Arrays.asList(sourceItems.get(0), sourceItems.get(1)), view.displayed);
+    assertEquals(Arrays.asList(0, 1), new ArrayList<Integer>(new TreeSet<Integer>(requested)));
+  }
+
+  @Test
+  public void testSelectItemOfDataSource() {
+    listBox.setDataSource(dataSource);
+    listBox.selectItem(sourceItems.get(500));
+
+    assertEquals(Arrays.asList(500), listBox.getSelectedIndices());
+    assertEquals(Arrays.asList(sourceItems.get(499), sourceItems.get(500)), view.displayed);
+    assertEquals(Arrays.asList(1), view.selection);
+  }
+
+  @Test
+  public void testItemsCanNotBeChangedThroughTheListBox() {
+    listBox.setDataSource(dataSource);
+    listBox.addItem(new TestItem("new"));
+    listBox.removeItemByIndex(0);
+    listBox.clear();
+
+    assertEquals(1000, listBox.itemCount());
+    assertEquals(sourceItems.get(0), listBox.getItems().get(0));
+  }
+
+  @Test
+  public void testDataSourceChanged() {
+    listBox.setDataSource(dataSource);
+    listBox.selectItem(sourceItems.get(1));
+    TestItem removed = sourceItems.remove(0);
+    listBox.dataSourceChanged();
+
+    assertEquals(999, view.totalCount);
+    assertEquals(Arrays.asList(0), listBox.getSelectedIndices());
+
+    sourceItems.clear();
+    sourceItems.add(removed);
+    listBox.dataSourceChanged();
+
+    assertEquals(1, view.totalCount);
+    assertEquals(0, listBox.getSelection().size());
+    assertEquals(Arrays.asList(removed), view.displayed);
+  }
+
+  @Test
+  public void testRemoveDataSource() {
+    listBox.setDataSource(dataSource);
+    listBox.setDataSource(null);
+
+    assertEquals(Arrays.asList(own), listBox.getItems());
+    assertEquals(Arrays.asList(own), view.displayed);
+    assertEquals(own, listBox.getFocusItem());
+  }
+
+  @Test
+  public void testEmptyDataSource() {
+    sourceItems.clear();
+    listBox.setDataSource(dataSource);
+
+    assertEquals(0, view.totalWidth);
+    assertNull(listBox.getFocusItem());
+  }
+}
@@ -29,6 +29,7 @@ public class ListBoxFocusElementTest {
     listBox.addItem(o4);
     viewMock = createMock(ListBoxView.class);
     listBox.bindToView(viewMock, 2);
+    ListBoxTestTool.stubWidths(viewMock, o1, o2, o3, o4);
   }
 
   @After
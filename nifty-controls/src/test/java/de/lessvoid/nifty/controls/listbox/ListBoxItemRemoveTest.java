@@ -29,6 +29,7 @@ public class ListBoxItemRemoveTest {
     listBox.addItem(o2);
     viewMock = createMock(ListBoxView.class);
     listBox.bindToView(viewMock, 2);
+    ListBoxTestTool.stubWidths(viewMock, o1, o2);
   }
 
   @After
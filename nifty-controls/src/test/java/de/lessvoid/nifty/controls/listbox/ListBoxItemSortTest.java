@@ -3,6 +3,7 @@ package de.lessvoid.nifty.controls.listbox;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
@@ -43,4 +44,11 @@ public class ListBoxItemSortTest {
     assertEquals(b, items.get(1));
     assertEquals(c, items.get(2));
   }
+
+  @Test
+  public void testIndexOfItemsAfterSort() {
+    listBox.sortItems(null);
+    listBox.selectItem(b);
+    assertEquals(Arrays.asList(1), listBox.getSelectedIndices());
+  }
 }
@@ -0,0 +1,110 @@
+package de.lessvoid.nifty.controls.listbox;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.builder.EffectBuilder;
+import de.lessvoid.nifty.builder.HoverEffectBuilder;
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.builder.StyleBuilder;
+import de.lessvoid.nifty.controls.ListBox;
+import de.lessvoid.nifty.controls.listbox.builder.ListBoxBuilder;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.render.TextRenderer;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ListBoxLabelCacheTest {
+  private static final int DISPLAY_ITEMS = 5;
+
+  private Nifty nifty;
+  private Screen screen;
+
+  @Before
+  public void before() {
+    nifty = new Nifty(new NullRenderDevice(800, 600), new NullSoundDevice(), new NullInputSystem(),
+        new ManualTimeProvider(1000));
+    nifty.loadControlFile("nifty-default-controls.xml");
+    registerStyles();
+
+    ListBoxBuilder listBoxBuilder = new ListBoxBuilder("listBox");
+    listBoxBuilder.displayItems(DISPLAY_ITEMS);
+    LayerBuilder layerBuilder = new LayerBuilder("layer");
+    layerBuilder.childLayoutVertical();
+    layerBuilder.control(listBoxBuilder);
+    ScreenBuilder screenBuilder = new ScreenBuilder("start");
+    screenBuilder.layer(layerBuilder);
+    nifty.addScreen("start", screenBuilder.build(nifty));
+    nifty.gotoScreen("start");
+    nifty.update();
+    screen = nifty.getCurrentScreen();
+  }
+
+  @Test
+  public void testLabelsShareThePreparedPrototype() {
+    assertEquals(DISPLAY_ITEMS, getLabels().size());
+    assertTrue(nifty.getPreparedElementTypeCache().getHitCount() >= DISPLAY_ITEMS - 1);
+  }
+
+  @Test
+  public void testLabelsKeepTheirIds() {
+    Set<String> ids = new HashSet<String>();
+    for (Element label : getLabels()) {
+      String id = label.getId();
+      assertTrue(id, id.startsWith("listBox#"));
+      ids.add(id);
+    }
+    assertEquals(DISPLAY_ITEMS, ids.size());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testLabelsShowTheItems() {
+    ListBox<String> listBox = screen.findNiftyControl("listBox", ListBox.class);
+    listBox.addItem("first");
+    listBox.addItem("second");
+
+    List<Element> labels = getLabels();
+    assertEquals("first", labels.get(0).getRenderer(TextRenderer.class).getOriginalText());
+    assertEquals("second", labels.get(1).getRenderer(TextRenderer.class).getOriginalText());
+  }
+
+  // the parts of the default styles the list box needs, the item style is similar to the one of the default styles
+  private void registerStyles() {
+    for (String scrollbar : new String[]{"nifty-vertical-scrollbar", "nifty-horizontal-scrollbar"}) {
+      StyleBuilder panel = new StyleBuilder();
+      panel.id(scrollbar + "#panel");
+      panel.childLayoutVertical();
+      panel.build(nifty);
+      StyleBuilder background = new StyleBuilder();
+      background.id(scrollbar + "#background");
+      background.childLayoutAbsolute();
+      background.build(nifty);
+    }
+
+    StyleBuilder item = new StyleBuilder();
+    item.id("nifty-listbox-item");
+    item.color("#000f");
+    item.width("100%");
+    item.interactOnClick("listBoxItemClicked()");
+    item.onCustomEffect(new EffectBuilder("colorBar").customKey("select").effectParameter("color", "#444f"));
+    item.onHoverEffect(new HoverEffectBuilder("colorBar").effectParameter("color", "#444f"));
+    item.onClickEffect(new EffectBuilder("focus").effectParameter("targetElement", "#parent#parent"));
+    item.build(nifty);
+  }
+
+  private List<Element> getLabels() {
+    return screen.findElementById("listBox").findElementById("#child-root").getChildren();
+  }
+}
@@ -0,0 +1,97 @@
+package de.lessvoid.nifty.controls.listbox;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import de.lessvoid.nifty.controls.ListBox;
+
+public class ListBoxLargeListTest {
+  private static final int ITEM_COUNT = 100000;
+  private ListBoxImpl<TestItem> listBox = new ListBoxImpl<TestItem>(null);
+  private CountingListBoxView view = new CountingListBoxView();
+  private List<TestItem> items = new ArrayList<TestItem>();
+
+  @Before
+  public void before() {
+    listBox.bindToView(view, 3);
+    for (int i = 0; i < ITEM_COUNT; i++) {
+      items.add(new TestItem("item" + i));
+    }
+    listBox.addAllItems(items);
+  }
+
+  @Test
+  public void testOnlyDisplayedItemsAreMeasured() {
+    assertEquals(Arrays.asList(items.get(0), items.get(1), items.get(2)), view.measured);
+    assertEquals("item0".length(), view.totalWidth);
+  }
+
+  @Test
+  public void testWidthIsMeasuredOnlyOnce() {
+    listBox.showItemByIndex(50000);
+    listBox.showItemByIndex(0);
+    listBox.showItemByIndex(50000);
+
+    assertEquals(6, view.measured.size());
+    assertEquals("item50000".length(), view.totalWidth);
+  }
+
+  @Test
+  public void testWidthOfRemovedItemIsForgotten() {
+    listBox.showItemByIndex(50000);
+    listBox.removeItem(items.get(50000));
+    listBox.removeItem(items.get(50001));
+    listBox.removeItem(items.get(50002));
+    listBox.showItemByIndex(0);
+    listBox.removeAllItems(new ArrayList<TestItem>(items.subList(50003, 50010)));
+
+    assertEquals("item0".length(), view.totalWidth);
+  }
+
+  @Test
+  public void testLookupOfManyItems() {
+    listBox.changeSelectionMode(ListBox.SelectionMode.Multiple, false);
+    for (int i = ITEM_COUNT - 1; i >= 0; i -= 10) {
+      listBox.selectItem(items.get(i));
+    }
+
+    assertEquals(ITEM_COUNT / 10, listBox.getSelectedIndices().size());
+    assertEquals(Integer.valueOf(ITEM_COUNT - 1), listBox.getSelectedIndices().get(0));
+    assertEquals(9, listBox.getFocusItemIndex());
+  }
+
+  @Test
+  public void testLookupAfterRemove() {
+    listBox.removeItemByIndex(0);
+    listBox.selectItem(items.get(10));
+
+    assertEquals(Arrays.asList(9), listBox.getSelectedIndices());
+  }
+
+  @Test
+  public void testLookupAfterInsert() {
+    TestItem inserted = new TestItem("inserted");
+    listBox.insertItem(inserted, 5);
+    listBox.selectItem(items.get(10));
+
+    assertEquals(Arrays.asList(11), listBox.getSelectedIndices());
+    listBox.selectItem(inserted);
+    assertEquals(Arrays.asList(5), listBox.getSelectedIndices());
+  }
+
+  @Test
+  public void testLookupOfEqualItemsReturnsTheFirstIndex() {
+    TestItem duplicate = items.get(1);
+    listBox.addItem(duplicate);
+    listBox.removeItemByIndex(0);
+    listBox.selectItem(duplicate);
+
+    assertEquals(Arrays.asList(0), listBox.getSelectedIndices());
+  }
+}
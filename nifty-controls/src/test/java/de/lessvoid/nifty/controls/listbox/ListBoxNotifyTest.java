@@ -28,6 +28,7 @@ public class ListBoxNotifyTest {
 
     view = createMock(ListBoxView.class);
     listBox.bindToView(view, 2);
+    ListBoxTestTool.stubWidths(view, o1, o2);
   }
 
   @After
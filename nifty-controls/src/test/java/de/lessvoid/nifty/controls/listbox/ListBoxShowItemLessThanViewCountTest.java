@@ -20,6 +20,7 @@ public class ListBoxShowItemLessThanViewCountTest {
     listBox.addItem(o2);
     viewMock = createMock(ListBoxView.class);
     listBox.bindToView(viewMock, 4);
+    ListBoxTestTool.stubWidths(viewMock, o1, o2);
   }
 
   @After
@@ -24,6 +24,7 @@ public class ListBoxShowItemTest {
     listBox.addItem(o4);
     viewMock = createMock(ListBoxView.class);
     listBox.bindToView(viewMock, 2);
+    ListBoxTestTool.stubWidths(viewMock, o1, o2, o3, o4);
   }
 
   @After
@@ -1,9 +1,21 @@
 package de.lessvoid.nifty.controls.listbox;
 
+import static org.easymock.EasyMock.expect;
+
 import java.util.ArrayList;
 import java.util.List;
 
 public class ListBoxTestTool {
+  /**
+   * The width of an item is measured when the item is displayed the first time. This allows the width of items that
+   * have been added before the view has been bound to be measured without expecting it in every test.
+   */
+  public static void stubWidths(final ListBoxView<TestItem> view, final TestItem... items) {
+    for (TestItem item : items) {
+      expect(view.getWidth(item)).andStubReturn(0);
+    }
+  }
+
   public static List<TestItem> buildValues(final TestItem... values) {
     List<TestItem> result = new ArrayList<TestItem>();
     for (int i = 0; i < values.length; i++) {
@@ -22,6 +22,7 @@ public class ListBoxViewMoveTest {
     listBox.addItem(o2);
     listBox.addItem(o3);
     listBox.bindToView(view, 2);
+    ListBoxTestTool.stubWidths(view, o1, o2, o3);
   }
 
   @After
@@ -14,6 +14,8 @@ import java.util.Map;
 import java.util.Properties;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -51,6 +53,7 @@ import de.lessvoid.nifty.loaderv2.types.ElementType;
 import de.lessvoid.nifty.loaderv2.types.LayerType;
 import de.lessvoid.nifty.loaderv2.types.NiftyType;
 import de.lessvoid.nifty.loaderv2.types.PopupType;
+import de.lessvoid.nifty.loaderv2.types.PreparedElementTypeCache;
 import de.lessvoid.nifty.loaderv2.types.RegisterEffectType;
 import de.lessvoid.nifty.loaderv2.types.RegisterMusicType;
 import de.lessvoid.nifty.loaderv2.types.RegisterSoundType;
@@ -67,6 +70,7 @@ import de.lessvoid.nifty.screen.ScreenController;
 import de.lessvoid.nifty.sound.SoundSystem;
 import de.lessvoid.nifty.spi.input.InputSystem;
 import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.spi.render.RenderDeviceStatistics;
 import de.lessvoid.nifty.spi.render.RenderFont;
 import de.lessvoid.nifty.spi.sound.SoundDevice;
 import de.lessvoid.nifty.spi.time.TimeProvider;
@@ -127,6 +131,11 @@ public class Nifty {
   private final Set<String> controlStylesChanged;
   @Nonnull
   private final Map<String, ControlDefinitionType> controlDefinitions;
+  /**
+   * Prepared prototypes of the element types created with {@link #createElementFromType(Screen, Element, ElementType)}.
+   */
+  @Nonnull
+  private final PreparedElementTypeCache preparedElementTypes = new PreparedElementTypeCache();
   @Nonnull
   private final Map<String, RegisterEffectType> registeredEffects;
   @Nonnull
@@ -152,9 +161,18 @@ public class Nifty {
   private String currentLoaded;
   private boolean exit;
   private boolean resolutionChanged;
+
+  /*
+   * render-on-demand state: redrawRequired is set by everything that changes the next frame, redrawTime holds the
+   * earliest time an active effect changes the frame on its own (Long.MAX_VALUE when no effect is scheduled).
+   */
+  private boolean redrawRequired = true;
+  private long redrawTime = Long.MAX_VALUE;
   private final Set<String> closedPopups = new HashSet<String>();
   @Nonnull
   private final List<ClosePopUp> closePopupList = new ArrayList<ClosePopUp>();
+  @Nonnull
+  private final List<ClosePopUp> closePopupWorkingList = new ArrayList<ClosePopUp>();
   @Nullable
   private String alternateKeyForNextLoadXml;
   private long lastTime;
@@ -169,6 +187,8 @@ public class Nifty {
   private final RootLayerFactory rootLayerFactory = new RootLayerFactory();
   @Nonnull
   private final NiftyInputConsumerImpl niftyInputConsumer = new NiftyInputConsumerImpl();
+  @Nonnull
+  private final NiftyFrameProfiler frameProfiler = new NiftyFrameProfiler();
   private NiftyInputConsumerNotify niftyInputConsumerNotify = new NiftyInputConsumerNotifyDefault();
   @Nonnull
   private final SubscriberRegistry subscriberRegister = new SubscriberRegistry();
@@ -364,13 +384,22 @@ public class Nifty {
    */
   public boolean update() {
     if (currentScreen != null) {
+      frameProfiler.beginPhase(NiftyFrameStatistics.Phase.INPUT);
       mouseInputEventProcessor.begin();
       inputSystem.forwardEvents(niftyInputConsumer);
       if (mouseInputEventProcessor.hasLastMouseDownEvent()) {
-        forwardMouseEventToScreen(mouseInputEventProcessor.getLastMouseDownEvent(), currentScreen);
+        if (forwardMouseEventToScreen(mouseInputEventProcessor.getLastMouseDownEvent(), currentScreen)) {
+          requestRedraw();
+        }
       }
+      frameProfiler.endPhase(NiftyFrameStatistics.Phase.INPUT);
+    }
+    frameProfiler.beginPhase(NiftyFrameStatistics.Phase.DYNAMIC_ELEMENTS);
+    if (hasDynamics()) {
+      requestRedraw();
     }
     handleDynamicElements();
+    frameProfiler.endPhase(NiftyFrameStatistics.Phase.DYNAMIC_ELEMENTS);
     updateSoundSystem();
     if (currentScreen != null) {
       if (log.isLoggable(Level.FINEST)) {
@@ -398,19 +427,32 @@ public class Nifty {
    * @param clearScreen true if nifty should clean the screen and false when you've done that already.
    */
   public void render(final boolean clearScreen) {
+    // anything rendering this frame requests (e.g. active effects) is collected again while the layers render
+    redrawRequired = false;
+    redrawTime = Long.MAX_VALUE;
+
     renderEngine.beginFrame();
     if (clearScreen) {
       renderEngine.clear();
     }
     renderEngine.applyAbsoluteClip();
     if (currentScreen != null) {
+      frameProfiler.beginPhase(NiftyFrameStatistics.Phase.EFFECTS);
+      currentScreen.updateEffects();
+      frameProfiler.endPhase(NiftyFrameStatistics.Phase.EFFECTS);
+      frameProfiler.beginPhase(NiftyFrameStatistics.Phase.RENDER_LAYERS);
       currentScreen.renderLayers(renderEngine);
+      frameProfiler.endPhase(NiftyFrameStatistics.Phase.RENDER_LAYERS);
     }
 
     if (exit) {
       renderEngine.clear();
     }
+    frameProfiler.beginPhase(NiftyFrameStatistics.Phase.FLUSH);
     renderEngine.endFrame();
+    frameProfiler.endPhase(NiftyFrameStatistics.Phase.FLUSH);
+    countRenderDeviceStatistics();
+    frameProfiler.endFrame();
 
     // now that the frame is complete we can reset the render device in case of the resolution change
     if (resolutionChanged) {
@@ -419,6 +461,18 @@ public class Nifty {
     }
   }
 
+  private void countRenderDeviceStatistics() {
+    if (!frameProfiler.isEnabled() || !(renderEngine.getRenderDevice() instanceof RenderDeviceStatistics)) {
+      return;
+    }
+    RenderDeviceStatistics statistics = (RenderDeviceStatistics) renderEngine.getRenderDevice();
+    frameProfiler.count(NiftyFrameStatistics.Counter.QUADS, statistics.getQuadCount());
+    frameProfiler.count(NiftyFrameStatistics.Counter.GLYPHS, statistics.getGlyphCount());
+    frameProfiler.count(NiftyFrameStatistics.Counter.BATCHES, statistics.getBatchCount());
+    frameProfiler.count(NiftyFrameStatistics.Counter.TEXTURE_SWITCHES, statistics.getTextureSwitchCount());
+    frameProfiler.count(NiftyFrameStatistics.Counter.CLIPPED_QUADS, statistics.getClippedQuadCount());
+  }
+
   private void updateSoundSystem() {
     long current = timeProvider.getMsTime();
     int delta = (int) (current - lastTime);
@@ -470,13 +524,14 @@ public class Nifty {
         closePopupList.clear();
         return;
       }
-      ArrayList<ClosePopUp> copy = new ArrayList<ClosePopUp>(closePopupList);
+      closePopupWorkingList.addAll(closePopupList);
       closePopupList.clear();
 
-      for (int i = 0; i < copy.size(); i++) {
-        ClosePopUp closePopup = copy.get(i);
+      for (int i = 0; i < closePopupWorkingList.size(); i++) {
+        ClosePopUp closePopup = closePopupWorkingList.get(i);
         closePopup.close();
       }
+      closePopupWorkingList.clear();
     }
   }
 
@@ -594,6 +649,46 @@ public class Nifty {
     gotoScreen(startScreen);
   }
 
+  /**
+   * Start loading the given xml file in the background. The file as well as all the style and control files it uses
+   * are read and resolved on worker threads. Several files can be preloaded at the same time. Pass the result to
+   * {@link #addXml(Future)} or {@link #fromXml(String, Future, String)} to create the screens of the file. This
+   * needs to happen on the render thread and will wait for the loading to finish if required.
+   *
+   * @param filename the file to load
+   * @return the future of the loaded file
+   */
+  @Nonnull
+  public Future<NiftyType> preloadXml(@Nonnull final String filename) {
+    return loader.loadNiftyAsync(filename);
+  }
+
+  /**
+   * Initialize this Nifty instance from a file that was preloaded with {@link #preloadXml(String)}.
+   *
+   * @param xmlId       the id of the xml, usually the filename that was preloaded
+   * @param preloaded   the result of {@link #preloadXml(String)}
+   * @param startScreen screen to start exec
+   */
+  public void fromXml(
+      @Nonnull final String xmlId,
+      @Nonnull final Future<NiftyType> preloaded,
+      @Nonnull final String startScreen) {
+    prepareScreens(xmlId);
+    loadFromFuture(preloaded);
+    gotoScreen(startScreen);
+  }
+
+  /**
+   * Add a file that was preloaded with {@link #preloadXml(String)} without removing any of the data that might
+   * already been loaded.
+   *
+   * @param preloaded the result of {@link #preloadXml(String)}
+   */
+  public void addXml(@Nonnull final Future<NiftyType> preloaded) {
+    loadFromFuture(preloaded);
+  }
+
   /**
    * Load an additional xml file without removing any of the data that might already been loaded.
    *
@@ -648,11 +743,7 @@ public class Nifty {
 
     try {
       long start = timeProvider.getMsTime();
-      final InputStream stream = getResourceAsStream(filename);
-      if (stream == null) {
-        throw new IOException("Failed to open stream to resource \"" + filename + "\" for loading.");
-      }
-      NiftyType niftyType = loader.loadNiftyXml("nifty.nxs", stream);
+      NiftyType niftyType = loader.loadNifty(filename);
       niftyType.create(this, timeProvider);
       if (log.isLoggable(Level.FINE)) {
         log.fine(niftyType.output());
@@ -664,6 +755,31 @@ public class Nifty {
     }
   }
 
+  /**
+   * create the result of a background load.
+   *
+   * @param preloaded the future of the loaded file
+   */
+  void loadFromFuture(@Nonnull final Future<NiftyType> preloaded) {
+    log.fine("loadFromFuture []");
+
+    try {
+      long start = timeProvider.getMsTime();
+      NiftyType niftyType = preloaded.get();
+      niftyType.create(this, timeProvider);
+      if (log.isLoggable(Level.FINE)) {
+        log.fine(niftyType.output());
+      }
+      long end = timeProvider.getMsTime();
+      log.fine("loadFromFuture took [" + (end - start) + "]");
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+
   /**
    * load from the given file.
    *
@@ -816,6 +932,7 @@ public class Nifty {
 
   private void removeScreenInternal(@Nonnull final String id) {
     Screen screen = screens.remove(id);
+    preparedElementTypes.clear();
     if (screen == null) {
       log.log(Level.SEVERE, "Internal delete of screen \"" + id + "\" failed: Screen instance not found.");
     } else {
@@ -858,6 +975,56 @@ public class Nifty {
 
   public void resolutionChanged() {
     resolutionChanged = true;
+    requestRedraw();
+  }
+
+  /**
+   * Mark the next frame as different from the last rendered one. Nifty calls this itself for handled input events,
+   * dynamic element changes, layout changes, effects starting or ending and every change that invalidates the render
+   * cache of an element. Applications only need to call it when they change something Nifty can't track, like the
+   * state a custom ElementRenderer draws.
+   */
+  public void requestRedraw() {
+    redrawRequired = true;
+  }
+
+  /**
+   * Mark the frame at the given time as different from the last rendered one. This is used by active effects to
+   * announce when their output changes next. When called several times the earliest time is kept.
+   *
+   * @param msTime the time (in ms of the TimeProvider) the next frame needs to be rendered
+   */
+  public void requestRedrawAt(final long msTime) {
+    if (msTime < redrawTime) {
+      redrawTime = msTime;
+    }
+  }
+
+  /**
+   * Render-on-demand support: Returns true when the next call to render() would produce a different frame than the
+   * last one. A host loop can call update() every frame but skip render() (and the buffer swap) as long as this
+   * returns false. Note that running effects - including infinite ones like the text field cursor blinking - keep
+   * this true for as long as they run.
+   *
+   * @return true when the screen needs to be rendered again
+   */
+  public boolean isRedrawRequired() {
+    return redrawRequired || timeProvider.getMsTime() >= redrawTime;
+  }
+
+  /**
+   * Render-on-demand support: Returns the time (in ms of the TimeProvider) the next frame needs to be rendered
+   * without any further input. This is the current time when a redraw is required already and Long.MAX_VALUE when
+   * the screen is idle. A host loop can sleep until this time unless input arrives earlier.
+   *
+   * @return the time of the next required redraw or Long.MAX_VALUE when nothing is scheduled
+   */
+  public long getNextRedrawTime() {
+    long now = timeProvider.getMsTime();
+    if (redrawRequired || now >= redrawTime) {
+      return now;
+    }
+    return redrawTime;
   }
 
   private void displayResolutionChanged() {
@@ -869,15 +1036,18 @@ public class Nifty {
     int newHeight = getRenderEngine().getHeight();
 
     for (Screen screen : screens.values()) {
-      updateLayoutPart(screen.getRootElement().getLayoutPart(), newWidth, newHeight);
+      boolean sizeChanged = updateLayoutPart(screen.getRootElement(), newWidth, newHeight);
       for (Element e : screen.getLayerElements()) {
-        updateLayoutPart(e.getLayoutPart(), newWidth, newHeight);
+        sizeChanged |= updateLayoutPart(e, newWidth, newHeight);
+      }
+      // only screens that really changed their size need to get rid of the current layout
+      if (sizeChanged) {
+        screen.resetLayout();
       }
-      screen.resetLayout();
     }
 
     for (Element e : popups.values()) {
-      updateLayoutPart(e.getLayoutPart(), newWidth, newHeight);
+      updateLayoutPart(e, newWidth, newHeight);
     }
 
     if (currentScreen != null) {
@@ -885,13 +1055,27 @@ public class Nifty {
     }
   }
 
-  private void updateLayoutPart(@Nonnull final LayoutPart layoutPart, final int width, final int height) {
+  /**
+   * Update the size of the given (root, layer or popup) element.
+   *
+   * @return true when the size of the element has been changed and false when it already had the given size
+   */
+  private boolean updateLayoutPart(@Nonnull final Element element, final int width, final int height) {
+    LayoutPart layoutPart = element.getLayoutPart();
     Box box = layoutPart.getBox();
+    BoxConstraints boxConstraints = layoutPart.getBoxConstraints();
+    if (box.getWidth() == width &&
+        box.getHeight() == height &&
+        SizeValue.px(width).equals(boxConstraints.getWidth()) &&
+        SizeValue.px(height).equals(boxConstraints.getHeight())) {
+      return false;
+    }
     box.setWidth(width);
     box.setHeight(height);
-    BoxConstraints boxConstraints = layoutPart.getBoxConstraints();
     boxConstraints.setWidth(SizeValue.px(width));
     boxConstraints.setHeight(SizeValue.px(height));
+    element.markLayoutRequired();
+    return true;
   }
 
   /**
@@ -931,6 +1115,16 @@ public class Nifty {
     return renderEngine;
   }
 
+  /**
+   * Get the profiler that collects the timings and counters of every frame. The profiler is disabled by default.
+   *
+   * @return the frame profiler
+   */
+  @Nonnull
+  public NiftyFrameProfiler getFrameProfiler() {
+    return frameProfiler;
+  }
+
   /**
    * Get current screen.
    *
@@ -1332,6 +1526,14 @@ public class Nifty {
     return loader;
   }
 
+  /**
+   * Get the cache of the prepared element types used by {@link #createElementFromType(Screen, Element, ElementType)}.
+   */
+  @Nonnull
+  public PreparedElementTypeCache getPreparedElementTypeCache() {
+    return preparedElementTypes;
+  }
+
   @Nonnull
   public TimeProvider getTimeProvider() {
     return timeProvider;
@@ -1374,6 +1576,7 @@ public class Nifty {
   public void registerStyle(@Nonnull final StyleType style) {
     final String styleId = style.getStyleId();
     log.fine("registerStyle " + styleId);
+    preparedElementTypes.clear();
 
     // Handle the simple, normal case.
     // This is a new style, register it and return early.
@@ -1408,6 +1611,7 @@ public class Nifty {
 
   public void registerControlDefintion(@Nonnull final ControlDefinitionType controlDefinition) {
     controlDefinitions.put(controlDefinition.getName(), controlDefinition);
+    preparedElementTypes.clear();
     // TODO: add the same behaviour of register style and try to updating 
     // already registered control defintions.
   }
@@ -1668,6 +1872,9 @@ public class Nifty {
               "" + buttonDown + "] processed [" + processed + "]");
         }
       }
+      if (processed) {
+        requestRedraw();
+      }
       niftyInputConsumerNotify.processedMouseEvent(mouseX, mouseY, mouseWheel, button, buttonDown, processed);
       return processed;
     }
@@ -1683,6 +1890,9 @@ public class Nifty {
           }
         }
       }
+      if (processed) {
+        requestRedraw();
+      }
       niftyInputConsumerNotify.processKeyboardEvent(keyEvent, processed);
       return processed;
     }
@@ -1802,10 +2012,11 @@ public class Nifty {
       final ElementType type,
       final int index) {
     if (type instanceof LayerType) {
-      return createElementFromTypeInternal(screen, parent, type,
+      return createElementFromTypeInternal(screen, parent, preparedElementTypes.prepare(this, screen, type),
           getRootLayerFactory().createRootLayerLayoutPart(this), index);
     }
-    return createElementFromTypeInternal(screen, parent, type, new LayoutPart(), index);
+    return createElementFromTypeInternal(screen, parent, preparedElementTypes.prepare(this, screen, type),
+        new LayoutPart(), index);
   }
 
   @Nonnull
@@ -1814,20 +2025,40 @@ public class Nifty {
       @Nonnull final Element parent,
       final ElementType type) {
     if (type instanceof LayerType) {
-      return createElementFromTypeInternal(screen, parent, type, getRootLayerFactory().createRootLayerLayoutPart
-          (this), parent.getChildren().size());
+      return createElementFromTypeInternal(screen, parent, preparedElementTypes.prepare(this, screen, type),
+          getRootLayerFactory().createRootLayerLayoutPart(this), parent.getChildren().size());
+    }
+    return createElementFromTypeInternal(screen, parent, preparedElementTypes.prepare(this, screen, type),
+        new LayoutPart(), parent.getChildren().size());
+  }
+
+  /**
+   * Creates an element from its type with another id. The id replaces the id of the type and the start of the ids of
+   * its children. The type itself is not changed, so it can be used as a template for many elements without copying
+   * it first.
+   *
+   * @return the Element created
+   */
+  @Nonnull
+  public Element createElementFromType(
+      @Nonnull final Screen screen,
+      @Nonnull final Element parent,
+      @Nonnull final ElementType type,
+      @Nonnull final String id) {
+    if (type instanceof LayerType) {
+      return createElementFromTypeInternal(screen, parent, preparedElementTypes.prepare(this, screen, type, id),
+          getRootLayerFactory().createRootLayerLayoutPart(this), parent.getChildren().size());
     }
-    return createElementFromTypeInternal(screen, parent, type, new LayoutPart(), parent.getChildren().size());
+    return createElementFromTypeInternal(screen, parent, preparedElementTypes.prepare(this, screen, type, id),
+        new LayoutPart(), parent.getChildren().size());
   }
 
   @Nonnull
   private Element createElementFromTypeInternal(
       @Nonnull final Screen screen, @Nonnull final Element parent,
-      @Nonnull final ElementType type,
+      @Nonnull final ElementType elementType,
       @Nonnull final LayoutPart layoutPart,
       final int index) {
-    ElementType elementType = type.copy();
-    elementType.prepare(this, screen, screen.getRootElement().getElementType());
     elementType.connectParentControls(parent);
     Element element = elementType.create(parent, this, screen, layoutPart, index);
     if (screen.isBound()) {
@@ -0,0 +1,121 @@
+package de.lessvoid.nifty;
+
+import de.lessvoid.nifty.NiftyFrameStatistics.Counter;
+import de.lessvoid.nifty.NiftyFrameStatistics.Phase;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the time spent in the different phases of a frame and some counters of the work done in a frame. The
+ * profiler is disabled by default. While it is disabled all calls return immediately and when it is enabled it only
+ * reads the system timer and doesn't allocate anything, so it can stay enabled in production.
+ * <p/>
+ * The statistics of the last frame are available with {@link #getLastFrameStatistics()} and they are send to all
+ * {@link NiftyFrameStatisticsListener}s at the end of every frame.
+ */
+public class NiftyFrameProfiler {
+  private static final int PHASE_COUNT = Phase.values().length;
+
+  @Nonnull
+  private final List<NiftyFrameStatisticsListener> listeners = new ArrayList<NiftyFrameStatisticsListener>();
+  @Nonnull
+  private final long[] phaseStart = new long[PHASE_COUNT];
+  @Nonnull
+  private final int[] phaseDepth = new int[PHASE_COUNT];
+  @Nonnull
+  private NiftyFrameStatistics current = new NiftyFrameStatistics();
+  @Nonnull
+  private NiftyFrameStatistics last = new NiftyFrameStatistics();
+  private boolean enabled;
+  private long frameStart;
+  private long frameCount;
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(final boolean enabled) {
+    if (enabled && !this.enabled) {
+      current.reset();
+      for (int i = 0; i < PHASE_COUNT; i++) {
+        phaseDepth[i] = 0;
+      }
+      frameStart = System.nanoTime();
+    }
+    this.enabled = enabled;
+  }
+
+  public void addListener(@Nonnull final NiftyFrameStatisticsListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(@Nonnull final NiftyFrameStatisticsListener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Get the statistics of the last frame. The instance is reused for the next frames.
+   */
+  @Nonnull
+  public NiftyFrameStatistics getLastFrameStatistics() {
+    return last;
+  }
+
+  /**
+   * Start measuring the given phase. Nested calls for the same phase are only measured once.
+   */
+  public void beginPhase(@Nonnull final Phase phase) {
+    if (!enabled) {
+      return;
+    }
+    int index = phase.ordinal();
+    if (phaseDepth[index]++ == 0) {
+      phaseStart[index] = System.nanoTime();
+    }
+  }
+
+  /**
+   * Stop measuring the given phase.
+   */
+  public void endPhase(@Nonnull final Phase phase) {
+    if (!enabled) {
+      return;
+    }
+    int index = phase.ordinal();
+    if (phaseDepth[index] > 0 && --phaseDepth[index] == 0) {
+      current.addTime(phase, System.nanoTime() - phaseStart[index]);
+    }
+  }
+
+  /**
+   * Add to the given counter of the current frame.
+   */
+  public void count(@Nonnull final Counter counter, final long count) {
+    if (enabled) {
+      current.addCount(counter, count);
+    }
+  }
+
+  /**
+   * End the current frame, publish its statistics and start the next frame.
+   */
+  public void endFrame() {
+    if (!enabled) {
+      return;
+    }
+    long now = System.nanoTime();
+    current.finish(++frameCount, now - frameStart);
+    frameStart = now;
+
+    NiftyFrameStatistics finished = current;
+    current = last;
+    last = finished;
+    current.reset();
+
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).frameFinished(last);
+    }
+  }
+}
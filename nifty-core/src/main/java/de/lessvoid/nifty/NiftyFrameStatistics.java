@@ -0,0 +1,142 @@
+package de.lessvoid.nifty;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The timings and counters of a single frame, collected by the {@link NiftyFrameProfiler}. A frame spans everything
+ * that happened since the end of the previous {@link Nifty#render(boolean)} call up to the end of the current one.
+ */
+public class NiftyFrameStatistics {
+  /**
+   * The phases of a frame. The phases may be nested: time spent in layout or effects is also included in the time of
+   * the phase that triggered it.
+   */
+  public enum Phase {
+    /**
+     * Forwarding the events of the InputSystem to the current screen.
+     */
+    INPUT,
+
+    /**
+     * Processing of the method invocations, popups to close, elements to add and remove and the other end of frame
+     * actions.
+     */
+    DYNAMIC_ELEMENTS,
+
+    /**
+     * Layout of the layers of the current screen.
+     */
+    LAYOUT,
+
+    /**
+     * Updating the effects of the current screen and rendering the effects of the elements.
+     */
+    EFFECTS,
+
+    /**
+     * Rendering all the layers of the current screen.
+     */
+    RENDER_LAYERS,
+
+    /**
+     * Ending the frame of the RenderDevice, this is where batching render devices send their data to the GPU.
+     */
+    FLUSH
+  }
+
+  /**
+   * The counters of a frame. All counters besides {@link #ELEMENTS_VISITED} are only available when the RenderDevice
+   * implements {@link de.lessvoid.nifty.spi.render.RenderDeviceStatistics}.
+   */
+  public enum Counter {
+    /**
+     * The number of elements that have been rendered without using a render cache.
+     */
+    ELEMENTS_VISITED,
+    QUADS,
+    GLYPHS,
+    BATCHES,
+    TEXTURE_SWITCHES,
+
+    /**
+     * The number of quads that have been discarded because they have been completely clipped.
+     */
+    CLIPPED_QUADS
+  }
+
+  private static final int PHASE_COUNT = Phase.values().length;
+  private static final int COUNTER_COUNT = Counter.values().length;
+
+  @Nonnull
+  private final long[] times = new long[PHASE_COUNT];
+  @Nonnull
+  private final long[] counts = new long[COUNTER_COUNT];
+  private long frame;
+  private long frameTime;
+
+  /**
+   * @return the number of the frame, counted since the profiler has been created
+   */
+  public long getFrame() {
+    return frame;
+  }
+
+  /**
+   * @return the time of the whole frame in nanoseconds
+   */
+  public long getFrameTime() {
+    return frameTime;
+  }
+
+  /**
+   * @return the time spent in the given phase during this frame in nanoseconds
+   */
+  public long getTime(@Nonnull final Phase phase) {
+    return times[phase.ordinal()];
+  }
+
+  /**
+   * @return the value of the given counter for this frame
+   */
+  public long getCount(@Nonnull final Counter counter) {
+    return counts[counter.ordinal()];
+  }
+
+  @Nonnull
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder();
+    result.append("frame ").append(frame).append(": ").append(frameTime / 1000).append("us");
+    for (Phase phase : Phase.values()) {
+      result.append(", ").append(phase).append(' ').append(times[phase.ordinal()] / 1000).append("us");
+    }
+    for (Counter counter : Counter.values()) {
+      result.append(", ").append(counter).append(' ').append(counts[counter.ordinal()]);
+    }
+    return result.toString();
+  }
+
+  void addTime(@Nonnull final Phase phase, final long time) {
+    times[phase.ordinal()] += time;
+  }
+
+  void addCount(@Nonnull final Counter counter, final long count) {
+    counts[counter.ordinal()] += count;
+  }
+
+  void finish(final long frame, final long frameTime) {
+    this.frame = frame;
+    this.frameTime = frameTime;
+  }
+
+  void reset() {
+    for (int i = 0; i < times.length; i++) {
+      times[i] = 0;
+    }
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = 0;
+    }
+    frame = 0;
+    frameTime = 0;
+  }
+}
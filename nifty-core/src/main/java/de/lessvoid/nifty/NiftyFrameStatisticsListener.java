@@ -0,0 +1,17 @@
+package de.lessvoid.nifty;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Receives the statistics of every frame from the {@link NiftyFrameProfiler}, f.i. to forward them to a telemetry
+ * system.
+ */
+public interface NiftyFrameStatisticsListener {
+  /**
+   * Called at the end of every frame while the profiler is enabled. The statistics instance is reused for the next
+   * frames, so copy the values you want to keep.
+   *
+   * @param statistics the statistics of the frame that just ended
+   */
+  void frameFinished(@Nonnull NiftyFrameStatistics statistics);
+}
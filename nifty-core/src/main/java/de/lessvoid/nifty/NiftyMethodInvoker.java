@@ -21,6 +21,14 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
   private final Object[] target;
   @Nullable
   private final String methodWithName;
+  /**
+   * The name of the method and the parameters encoded in methodWithName. They are extracted once so that
+   * performInvoke() doesn't need to parse them.
+   */
+  @Nullable
+  private final String methodName;
+  @Nonnull
+  private final String[] methodParameters;
   private final Nifty nifty;
 
   /**
@@ -29,6 +37,8 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
   public NiftyMethodInvoker(final Nifty nifty) {
     this.nifty = nifty;
     this.methodWithName = null;
+    this.methodName = null;
+    this.methodParameters = new String[0];
     this.target = null;
   }
 
@@ -40,15 +50,22 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
   public NiftyMethodInvoker(final Nifty nifty, @Nullable final String methodParam, @Nonnull final Object ... targetParam) {
     this.nifty = nifty;
     this.methodWithName = methodParam;
+    this.methodName = methodParam == null ? null : MethodResolver.extractMethodName(methodParam);
+    this.methodParameters = methodParam == null ? new String[0] : MethodResolver.extractParameters(methodParam);
+    if (methodParam != null && methodName == null) {
+      log.warning("Could not extract method from [" + methodParam + "]");
+    }
     if (targetParam.length == 0) {
       this.target = null;
     } else {
       this.target = new Object[targetParam.length];
       System.arraycopy(targetParam, 0, target, 0, targetParam.length);
 
-      log.fine("target objects for [" + methodWithName + "]");
-      for (Object o : target) {
-        log.fine(o.toString());
+      if (log.isLoggable(Level.FINE)) {
+        log.fine("target objects for [" + methodWithName + "]");
+        for (Object o : target) {
+          log.fine(o.toString());
+        }
       }
     }
   }
@@ -74,13 +91,13 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
 
   @Override
   public void performInvoke(@Nonnull final Object ... invokeParametersParam) {
-    if (target == null || methodWithName == null) {
+    if (target == null || methodWithName == null || methodName == null) {
       return;
     }
     // process all methods (first one wins)
     for (Object object : target) {
       if (object != null) {
-        Method method = MethodResolver.findMethod(object.getClass(), methodWithName);
+        Method method = MethodResolver.findMethodByName(object.getClass(), methodName);
         if (method != null) {
           // we've found a method with the given name. now we need to match the parameters.
           //
@@ -93,41 +110,58 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
           //        if this is not possible we fall back to 2b)
           //    2b) just call the method without any parameters
           Object methodResult;
-          Object[] invokeParameters = MethodResolver.extractParameters(methodWithName);
+          Object[] invokeParameters = methodParameters;
           if (invokeParameters.length > 0) {
             // does the method supports the parameters?
             // TODO: not only check for the count but check the type too
             if (getMethodParameterCount(method) == invokeParameters.length) {
-              log.fine("invoking method '" + methodWithName + "' with (" + debugParaString(invokeParameters) + ")");
+              if (log.isLoggable(Level.FINE)) {
+                log.fine("invoking method '" + methodWithName + "' with (" + debugParaString(invokeParameters) + ")");
+              }
               methodResult = callMethod(object, method, invokeParameters);
             } else {
-              log.fine("invoking method '" + methodWithName + "' (note: given invokeParameters have been ignored)");
+              if (log.isLoggable(Level.FINE)) {
+                log.fine("invoking method '" + methodWithName + "' (note: given invokeParameters have been ignored)");
+              }
               methodResult = callMethod(object, method);
             }
           } else {
             // no invokeParameters encoded. this means we can call the method as is or with the invokeParametersParam
             if (invokeParametersParam.length > 0) {
               if (getMethodParameterCount(method) == invokeParametersParam.length) {
-                log.fine("invoking method '" + methodWithName + "' with the actual parameters (" + debugParaString(invokeParametersParam) + ")");
+                if (log.isLoggable(Level.FINE)) {
+                  log.fine("invoking method '" + methodWithName + "' with the actual parameters ("
+                      + debugParaString(invokeParametersParam) + ")");
+                }
                 methodResult = callMethod(object, method, invokeParametersParam);
               } else {
-                log.fine("invoking method '" + methodWithName + "' without parameters (invokeParametersParam mismatch)");
+                if (log.isLoggable(Level.FINE)) {
+                  log.fine("invoking method '" + methodWithName
+                      + "' without parameters (invokeParametersParam mismatch)");
+                }
                 methodResult = callMethod(object, method);
               }
             } else {
-              log.fine("invoking method '" + methodWithName + "' without parameters");
+              if (log.isLoggable(Level.FINE)) {
+                log.fine("invoking method '" + methodWithName + "' without parameters");
+              }
               methodResult = callMethod(object, method);
             }
           }
           if (methodResult != null && (methodResult.getClass().equals(Boolean.class))) {
             if ((Boolean) methodResult) {
-              log.fine("method invoke for '" + methodWithName + "' returns true. by definition this means we're not calling any other targets for this method.");
+              if (log.isLoggable(Level.FINE)) {
+                log.fine("method invoke for '" + methodWithName + "' returns true. by definition this means we're not "
+                    + "calling any other targets for this method.");
+              }
               return;
             }
             
           }
         } else {
-          log.fine("method [" + methodWithName + "] not found at object class [" + object.getClass() + "]");
+          if (log.isLoggable(Level.FINE)) {
+            log.fine("method [" + methodWithName + "] not found at object class [" + object.getClass() + "]");
+          }
         }
       } else {
         log.warning("target object is null");
@@ -148,11 +182,13 @@ public class NiftyMethodInvoker implements NiftyDelayedMethodInvoke {
       @Nonnull final Method method,
       @Nonnull final Object... invokeParameters) {
     try {
-      log.fine("method: " + method + "on targetObject: " + targetObject + ", parameters: " + Arrays.toString
-          (invokeParameters));
-      log.fine(method.getName());
-      for (Object o : invokeParameters) {
-        log.fine("parameter: " + o);
+      if (log.isLoggable(Level.FINE)) {
+        log.fine("method: " + method + "on targetObject: " + targetObject + ", parameters: " + Arrays.toString
+            (invokeParameters));
+        log.fine(method.getName());
+        for (Object o : invokeParameters) {
+          log.fine("parameter: " + o);
+        }
       }
       return method.invoke(targetObject, invokeParameters);
     } catch (RuntimeException e) {
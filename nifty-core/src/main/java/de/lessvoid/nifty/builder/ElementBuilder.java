@@ -232,6 +232,10 @@ public abstract class ElementBuilder {
     attributes.setChildClip(String.valueOf(childClip));
   }
 
+  public void renderCached(final boolean renderCached) {
+    attributes.setRenderCached(String.valueOf(renderCached));
+  }
+
   public void renderOrder(final int renderOrder) {
     attributes.setRenderOrder(renderOrder);
   }
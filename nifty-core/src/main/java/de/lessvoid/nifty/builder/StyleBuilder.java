@@ -194,6 +194,10 @@ public class StyleBuilder {
     attributes.setChildClip(String.valueOf(childClip));
   }
 
+  public void renderCached(final boolean renderCached) {
+    attributes.setRenderCached(String.valueOf(renderCached));
+  }
+
   public void renderOrder(final int renderOrder) {
     attributes.setRenderOrder(renderOrder);
   }
@@ -169,6 +169,10 @@ public class ControlAttributes {
     set("childClip", childClip);
   }
 
+  public void setRenderCached(@Nonnull final String renderCached) {
+    set("renderCached", renderCached);
+  }
+
   public void setRenderOrder(final int renderOrder) {
     set("renderOrder", String.valueOf(renderOrder));
   }
@@ -4,6 +4,7 @@ import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.effects.Falloff.HoverFalloffConstraint;
 import de.lessvoid.nifty.elements.Element;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.screen.Screen;
 import de.lessvoid.nifty.spi.time.TimeProvider;
 import de.lessvoid.nifty.tools.time.TimeInterpolator;
 
@@ -55,6 +56,9 @@ public class Effect {
   private final EffectEvents effectEvents;
   private final boolean neverStopRendering;
   private boolean customFlag;
+  @Nullable
+  private EffectProcessorImpl effectProcessor;
+  private boolean scheduled;
 
   public Effect(
       @Nonnull final Nifty nifty,
@@ -145,12 +149,59 @@ public class Effect {
     timeInterpolator.start();
     effectEvents.onStartEffect(parameter);
     effectImpl.activate(nifty, element, parameter);
+
+    Screen screen = element.getScreen();
+    if (screen != null) {
+      screen.getEffectScheduler().schedule(this);
+    }
   }
 
   public void update() {
     setActiveInternal(timeInterpolator.update(), !neverStopRendering);
   }
 
+  /**
+   * Update this effect with the given current time. This is used by the EffectScheduler that updates all effects of a
+   * screen at once.
+   *
+   * @param now the current time in ms
+   */
+  void update(final long now) {
+    setActiveInternal(timeInterpolator.update(now), !neverStopRendering);
+  }
+
+  /**
+   * Get the time this effect starts (or has started) to change, this includes the start delay.
+   *
+   * @return the start time in ms
+   */
+  public long getStartTime() {
+    return timeInterpolator.getStartTime();
+  }
+
+  /**
+   * Check if the time of this effect is currently advanced by the EffectScheduler of the screen. When this is not the
+   * case the effect is updated when it's rendered.
+   *
+   * @return true when this effect is updated by the EffectScheduler
+   */
+  public boolean isScheduled() {
+    return scheduled;
+  }
+
+  void setScheduled(final boolean scheduled) {
+    this.scheduled = scheduled;
+  }
+
+  @Nullable
+  EffectProcessorImpl getEffectProcessor() {
+    return effectProcessor;
+  }
+
+  void setEffectProcessor(@Nonnull final EffectProcessorImpl effectProcessor) {
+    this.effectProcessor = effectProcessor;
+  }
+
   public void execute(@Nonnull final NiftyRenderEngine r) {
     if (isHoverEffect()) {
       effectImpl.execute(element, timeInterpolator.getValue(), falloff, r);
@@ -163,6 +214,18 @@ public class Effect {
     return active;
   }
 
+  /**
+   * Get the time this effect changes its output next.
+   *
+   * @return the time in ms or Long.MAX_VALUE when the effect is not active
+   */
+  public long getNextChangeTime() {
+    if (!active) {
+      return Long.MAX_VALUE;
+    }
+    return timeInterpolator.getNextChangeTime();
+  }
+
   public void deactivate() {
     setActiveInternal(false, true);
   }
@@ -224,8 +287,15 @@ public class Effect {
     }
   }
 
+  /**
+   * Check if the hover area of this effect is defined by its falloff instead of the area of the element.
+   */
+  public boolean hasFalloffArea() {
+    return falloff != null && falloff.getFalloffConstraint() != HoverFalloffConstraint.none;
+  }
+
   public boolean isInsideFalloff(final int x, final int y) {
-    if (falloff != null && falloff.getFalloffConstraint() != HoverFalloffConstraint.none) {
+    if (falloff != null && hasFalloffArea()) {
       return falloff.isInside(element, x, y);
     } else {
       return element.isMouseInsideElement(x, y);
@@ -199,6 +199,22 @@ public class EffectManager {
     }
   }
 
+  /**
+   * Check if any of the hover effects uses a falloff with an area of its own instead of the area of the element.
+   *
+   * @return true when the hover effects can be activated outside of the element
+   */
+  public boolean hasHoverFalloff() {
+    return hasHoverFalloff(EffectEventId.onHover) ||
+        hasHoverFalloff(EffectEventId.onStartHover) ||
+        hasHoverFalloff(EffectEventId.onEndHover);
+  }
+
+  private boolean hasHoverFalloff(@Nonnull final EffectEventId effectEventId) {
+    EffectProcessor processor = getEffectProcessor(effectEventId);
+    return processor != null && processor.hasHoverFalloff();
+  }
+
   /**
    * checks if a certain effect is active.
    *
@@ -322,6 +338,28 @@ public class EffectManager {
     return isEmpty;
   }
 
+  /**
+   * Stop the EffectScheduler of the screen from updating the effects of this element.
+   */
+  public void unscheduleEffects() {
+    for (int i = 0; i < effectProcessorList.size(); i++) {
+      effectProcessorList.get(i).unscheduleEffects();
+    }
+  }
+
+  /**
+   * Get the earliest time any of the active effects changes the rendered output.
+   *
+   * @return the time in ms or Long.MAX_VALUE when no effect changes the output anymore
+   */
+  public long getNextRenderChange() {
+    long result = Long.MAX_VALUE;
+    for (int i = 0; i < effectProcessorList.size(); i++) {
+      result = Math.min(result, effectProcessorList.get(i).getNextRenderChange());
+    }
+    return result;
+  }
+
   @Nonnull
   public <T extends EffectImpl> List<Effect> getEffects(
       @Nonnull final EffectEventId effectEventId,
@@ -0,0 +1,178 @@
+package de.lessvoid.nifty.effects;
+
+import de.lessvoid.nifty.tools.Alpha;
+import de.lessvoid.nifty.tools.Color;
+import de.lessvoid.nifty.tools.SizeValue;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Typed view of the parameters of an effect. This is a snapshot of the {@link EffectProperties} it has been created
+ * from. Every value is parsed only once when it's requested first and the parsed value is cached for all following
+ * activations of the effect. So effect implementations can read their parameters in EffectImpl.activate() without
+ * parsing strings or locking the synchronized Properties again and again.
+ * <p/>
+ * The Alpha, Color and SizeValue instances returned are shared between all activations of the effect and must not be
+ * modified.
+ */
+public final class EffectParameters {
+  @Nonnull
+  private final Map<String, String> values = new HashMap<String, String>();
+  @Nonnull
+  private final Map<String, Alpha> alphas = new HashMap<String, Alpha>();
+  @Nonnull
+  private final Map<String, Color> colors = new HashMap<String, Color>();
+  @Nonnull
+  private final Map<String, SizeValue> sizeValues = new HashMap<String, SizeValue>();
+  @Nonnull
+  private final Map<String, Integer> intValues = new HashMap<String, Integer>();
+  @Nonnull
+  private final Map<String, Float> floatValues = new HashMap<String, Float>();
+  @Nonnull
+  private final Map<String, Boolean> booleanValues = new HashMap<String, Boolean>();
+
+  EffectParameters(@Nonnull final Properties properties) {
+    for (String key : properties.stringPropertyNames()) {
+      values.put(key, properties.getProperty(key));
+    }
+  }
+
+  public boolean has(@Nonnull final String key) {
+    return values.containsKey(key);
+  }
+
+  @Nullable
+  public String getString(@Nonnull final String key) {
+    return values.get(key);
+  }
+
+  @Nonnull
+  public String getString(@Nonnull final String key, @Nonnull final String defaultValue) {
+    String value = values.get(key);
+    if (value == null) {
+      return defaultValue;
+    }
+    return value;
+  }
+
+  public boolean getBoolean(@Nonnull final String key, final boolean defaultValue) {
+    Boolean result = booleanValues.get(key);
+    if (result == null) {
+      String value = values.get(key);
+      if (value == null) {
+        return defaultValue;
+      }
+      result = Boolean.valueOf(value);
+      booleanValues.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Get a parameter as int value.
+   *
+   * @throws NumberFormatException in case the parameter is no valid int value
+   */
+  public int getInt(@Nonnull final String key, final int defaultValue) {
+    Integer result = intValues.get(key);
+    if (result == null) {
+      String value = values.get(key);
+      if (value == null) {
+        return defaultValue;
+      }
+      result = Integer.valueOf(value);
+      intValues.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Get a parameter as float value.
+   *
+   * @throws NumberFormatException in case the parameter is no valid float value
+   */
+  public float getFloat(@Nonnull final String key, final float defaultValue) {
+    Float result = floatValues.get(key);
+    if (result == null) {
+      String value = values.get(key);
+      if (value == null) {
+        return defaultValue;
+      }
+      result = Float.valueOf(value);
+      floatValues.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Get a parameter as Alpha. The returned instance is shared and must not be modified.
+   */
+  @Nonnull
+  public Alpha getAlpha(@Nonnull final String key, @Nonnull final Alpha defaultValue) {
+    Alpha result = alphas.get(key);
+    if (result == null) {
+      String value = values.get(key);
+      if (value == null) {
+        return defaultValue;
+      }
+      result = new Alpha(value);
+      alphas.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Get a parameter as Color. The returned instance is shared and must not be modified.
+   */
+  @Nonnull
+  public Color getColor(@Nonnull final String key, @Nonnull final Color defaultValue) {
+    Color result = colors.get(key);
+    if (result == null) {
+      String value = values.get(key);
+      if (value == null) {
+        return defaultValue;
+      }
+      result = new Color(value);
+      colors.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Get a parameter as SizeValue. When the parameter is not set the default SizeValue is returned.
+   */
+  @Nonnull
+  public SizeValue getSizeValue(@Nonnull final String key) {
+    return getSizeValue(key, SizeValue.def());
+  }
+
+  @Nonnull
+  public SizeValue getSizeValue(@Nonnull final String key, @Nonnull final SizeValue defaultValue) {
+    SizeValue result = sizeValues.get(key);
+    if (result == null) {
+      String value = values.get(key);
+      if (value == null) {
+        return defaultValue;
+      }
+      result = new SizeValue(value);
+      sizeValues.put(key, result);
+    }
+    return result;
+  }
+
+  /**
+   * Get a copy of all parameters as Properties for code that still expects the parameters in this form.
+   */
+  @Nonnull
+  public Properties toProperties() {
+    Properties result = new Properties();
+    for (Map.Entry<String, String> entry : values.entrySet()) {
+      result.setProperty(entry.getKey(), entry.getValue());
+    }
+    return result;
+  }
+}
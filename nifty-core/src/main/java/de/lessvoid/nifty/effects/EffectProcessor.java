@@ -18,6 +18,20 @@ public interface EffectProcessor {
 
   boolean isActive();
 
+  /**
+   * Get the earliest time one of the active effects changes the rendered output. Effects that keep rendering after
+   * they have ended (neverStopRendering) render a static result and are not taken into account.
+   *
+   * @return the time in ms or Long.MAX_VALUE when no effect changes the output anymore
+   */
+  long getNextRenderChange();
+
+  /**
+   * Stop the EffectScheduler of the screen from updating the effects of this processor, for instance because the
+   * element has been removed from the screen. Effects that are still active will be updated when they are rendered.
+   */
+  void unscheduleEffects();
+
   void saveActiveNeverStopRenderingEffects();
 
   void restoreNeverStopRenderingEffects();
@@ -41,6 +55,11 @@ public interface EffectProcessor {
 
   void processHoverDeactivate(int x, int y);
 
+  /**
+   * Check if any of the hover effects is activated in an area of its own instead of the area of the element.
+   */
+  boolean hasHoverFalloff();
+
   void removeAllEffects();
 
   @Nonnull
@@ -47,6 +47,7 @@ public class EffectProcessorImpl implements EffectProcessor {
   @Override
   public void registerEffect(@Nonnull final Effect e) {
     allEffects.add(e);
+    e.setEffectProcessor(this);
   }
 
   @Override
@@ -69,6 +70,36 @@ public class EffectProcessorImpl implements EffectProcessor {
     return active;
   }
 
+  @Override
+  public long getNextRenderChange() {
+    if (isInactive()) {
+      return Long.MAX_VALUE;
+    }
+    long result = Long.MAX_VALUE;
+    List<Effect> effects = activeEffects.getActive();
+    for (int i = 0; i < effects.size(); i++) {
+      Effect e = effects.get(i);
+      if (e.isActive()) {
+        result = Math.min(result, e.getNextChangeTime());
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public void unscheduleEffects() {
+    for (int i = 0; i < allEffects.size(); i++) {
+      allEffects.get(i).setScheduled(false);
+    }
+  }
+
+  /**
+   * Called by the EffectScheduler when one of the effects of this processor has ended.
+   */
+  void effectEnded() {
+    checkFinish();
+  }
+
   @Override
   public void saveActiveNeverStopRenderingEffects() {
     pushedEffects.clear();
@@ -264,6 +295,17 @@ public class EffectProcessorImpl implements EffectProcessor {
     }
   }
 
+  @Override
+  public boolean hasHoverFalloff() {
+    for (int i = 0; i < allEffects.size(); i++) {
+      Effect e = allEffects.get(i);
+      if (e.isHoverEffect() && e.hasFalloffArea()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public void removeAllEffects() {
     allEffects.clear();
@@ -304,7 +346,10 @@ public class EffectProcessorImpl implements EffectProcessor {
     for (int i = 0; i < effects.size(); i++) {
       Effect e = effects.get(i);
       if (isActive(e)) {
-        e.update();
+        // effects driven by the EffectScheduler of the screen have been updated for this frame already
+        if (!e.isActive() || !e.isScheduled()) {
+          e.update();
+        }
         if (isActive(e)) {
           e.execute(renderDevice);
         }
@@ -8,9 +8,16 @@ import javax.annotation.Nullable;
 import java.util.Map;
 import java.util.Properties;
 
+/**
+ * The parameters of an effect. This Properties view can be changed at any time, for instance to adjust an effect
+ * before it is started again. Effect implementations should read their parameters from the typed
+ * {@link #getEffectParameters()} which are parsed only once and are discarded whenever the properties change.
+ */
 public class EffectProperties extends Properties {
   private static final long serialVersionUID = 1L;
   private EffectPropertiesValues effectValues;
+  @Nullable
+  private transient EffectParameters effectParameters;
 
   public EffectProperties(@Nonnull final Properties createProperties) {
     super();
@@ -20,6 +27,39 @@ public class EffectProperties extends Properties {
     }
   }
 
+  /**
+   * Get the typed parameters. They are created on first use and kept until these properties are changed.
+   *
+   * @return the typed parameters of the effect
+   */
+  @Nonnull
+  public EffectParameters getEffectParameters() {
+    EffectParameters result = effectParameters;
+    if (result == null) {
+      result = new EffectParameters(this);
+      effectParameters = result;
+    }
+    return result;
+  }
+
+  @Override
+  public synchronized Object put(final Object key, final Object value) {
+    effectParameters = null;
+    return super.put(key, value);
+  }
+
+  @Override
+  public synchronized Object remove(final Object key) {
+    effectParameters = null;
+    return super.remove(key);
+  }
+
+  @Override
+  public synchronized void clear() {
+    effectParameters = null;
+    super.clear();
+  }
+
   public void addEffectValue(final Attributes effectProperties) {
     getEffectPropertiesValueLazy().add(effectProperties);
   }
@@ -0,0 +1,129 @@
+package de.lessvoid.nifty.effects;
+
+import de.lessvoid.nifty.spi.time.TimeProvider;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The EffectScheduler advances the time of all active effects of a Screen. Each Screen has one scheduler that keeps
+ * the active Effect instances in a flat list ordered by the time the effects start. Once per frame, before the
+ * layers of the screen are rendered, {@link #update()} reads the current time once and updates all effects that have
+ * started. Effects that end are removed from the scheduler and the end notifications of the effects and of their
+ * EffectProcessors are sent right away. Rendering an element then only executes the already updated effects.
+ * <p/>
+ * Effects that are still waiting for their start delay to pass are kept at the end of the list and are not touched
+ * until their time has come.
+ */
+public class EffectScheduler {
+  @Nonnull
+  private final TimeProvider timeProvider;
+
+  /**
+   * The scheduled effects ordered by their start time.
+   */
+  @Nonnull
+  private final List<Effect> effects = new ArrayList<Effect>();
+
+  /**
+   * Effects started while the scheduler was updating. They are added when the update is done.
+   */
+  @Nonnull
+  private final List<Effect> pendingEffects = new ArrayList<Effect>();
+
+  /**
+   * The processors of the effects that ended during the update.
+   */
+  @Nonnull
+  private final List<EffectProcessorImpl> endedProcessors = new ArrayList<EffectProcessorImpl>();
+  private boolean updating;
+
+  public EffectScheduler(@Nonnull final TimeProvider timeProvider) {
+    this.timeProvider = timeProvider;
+  }
+
+  /**
+   * Add a started effect. When the effect is scheduled already it will be moved to the place that matches its new
+   * start time.
+   *
+   * @param effect the effect that has been started
+   */
+  void schedule(@Nonnull final Effect effect) {
+    if (updating) {
+      pendingEffects.add(effect);
+      return;
+    }
+    // an effect that has been unscheduled or deactivated might still be part of the list
+    effects.remove(effect);
+    long startTime = effect.getStartTime();
+    int index = effects.size();
+    while (index > 0 && effects.get(index - 1).getStartTime() > startTime) {
+      index--;
+    }
+    effects.add(index, effect);
+    effect.setScheduled(true);
+  }
+
+  /**
+   * Update all started effects with the current time and remove the effects that are not active anymore.
+   */
+  public void update() {
+    if (effects.isEmpty()) {
+      return;
+    }
+    long now = timeProvider.getMsTime();
+
+    updating = true;
+    int size = effects.size();
+    int keep = 0;
+    int i = 0;
+    for (; i < size; i++) {
+      Effect effect = effects.get(i);
+      if (effect.isActive() && effect.isScheduled()) {
+        if (effect.getStartTime() > now) {
+          // this one and all the following effects are still waiting for their start delay
+          break;
+        }
+        effect.update(now);
+        if (!effect.isActive()) {
+          EffectProcessorImpl processor = effect.getEffectProcessor();
+          if (processor != null) {
+            endedProcessors.add(processor);
+          }
+        }
+      }
+      if (effect.isActive() && effect.isScheduled()) {
+        effects.set(keep++, effect);
+      } else {
+        effect.setScheduled(false);
+      }
+    }
+    for (; i < size; i++) {
+      effects.set(keep++, effects.get(i));
+    }
+    for (int last = effects.size() - 1; last >= keep; last--) {
+      effects.remove(last);
+    }
+    updating = false;
+
+    for (int j = 0; j < pendingEffects.size(); j++) {
+      schedule(pendingEffects.get(j));
+    }
+    pendingEffects.clear();
+
+    for (int j = 0; j < endedProcessors.size(); j++) {
+      endedProcessors.get(j).effectEnded();
+    }
+    endedProcessors.clear();
+  }
+
+  /**
+   * Get the number of effects currently scheduled.
+   *
+   * @return the number of scheduled effects
+   */
+  public int getScheduledCount() {
+    return effects.size();
+  }
+}
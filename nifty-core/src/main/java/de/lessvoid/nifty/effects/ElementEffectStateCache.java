@@ -8,6 +8,7 @@ import java.util.Map;
 public class ElementEffectStateCache {
   @Nonnull
   private final Map<EffectEventId, Boolean> states;
+  private int activeCount;
 
   public ElementEffectStateCache() {
     states = new EnumMap<EffectEventId, Boolean>(EffectEventId.class);
@@ -22,6 +23,27 @@ public class ElementEffectStateCache {
   }
 
   public void set(@Nonnull final EffectEventId eventId, final boolean effectActive) {
+    boolean oldValue = get(eventId);
     states.put(eventId, effectActive);
+    if (oldValue != effectActive) {
+      activeCount += effectActive ? 1 : -1;
+    }
+  }
+
+  /**
+   * Forget all states, f.i. when the element is recycled.
+   */
+  public void reset() {
+    states.clear();
+    activeCount = 0;
+  }
+
+  /**
+   * Check if any of the effect events is currently active.
+   *
+   * @return true if at least one effect event is active
+   */
+  public boolean isAnyActive() {
+    return activeCount > 0;
   }
 }
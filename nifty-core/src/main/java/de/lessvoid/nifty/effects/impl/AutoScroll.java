@@ -3,6 +3,7 @@ package de.lessvoid.nifty.effects.impl;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.effects.EffectImpl;
+import de.lessvoid.nifty.effects.EffectParameters;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
@@ -20,8 +21,9 @@ public class AutoScroll implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    int startValue = Integer.parseInt(parameter.getProperty("start", "0"));
-    int endValue = Integer.parseInt(parameter.getProperty("end", "0"));
+    EffectParameters effectParameters = parameter.getEffectParameters();
+    int startValue = effectParameters.getInt("start", 0);
+    int endValue = effectParameters.getInt("end", 0);
     distance = endValue - startValue;
     start = startValue;
   }
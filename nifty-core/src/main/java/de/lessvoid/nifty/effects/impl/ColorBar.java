@@ -3,6 +3,7 @@ package de.lessvoid.nifty.effects.impl;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.effects.EffectImpl;
+import de.lessvoid.nifty.effects.EffectParameters;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
@@ -23,6 +24,8 @@ import java.util.logging.Logger;
 public class ColorBar implements EffectImpl {
   @Nonnull
   private static final Logger log = Logger.getLogger(ColorBar.class.getName());
+  @Nonnull
+  private static final String DEFAULT_INSET = "0px";
   @Nullable
   private Color color;
   @Nonnull
@@ -37,22 +40,30 @@ public class ColorBar implements EffectImpl {
   private SizeValue insetTop = SizeValue.px(0);
   @Nonnull
   private SizeValue insetBottom = SizeValue.px(0);
+  @Nullable
+  private String parsedInset;
 
   @Override
   public void activate(
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    color = new Color(parameter.getProperty("color", "#ffffffff"));
-    width = new SizeValue(parameter.getProperty("width"));
-    try {
-      PaddingAttributeParser parser = new PaddingAttributeParser(parameter.getProperty("inset", "0px"));
-      insetLeft = new SizeValue(parser.getLeft());
-      insetRight = new SizeValue(parser.getRight());
-      insetTop = new SizeValue(parser.getTop());
-      insetBottom = new SizeValue(parser.getBottom());
-    } catch (Exception e) {
-      log.warning(e.getMessage());
+    EffectParameters effectParameters = parameter.getEffectParameters();
+    color = effectParameters.getColor("color", Color.WHITE);
+    width = effectParameters.getSizeValue("width");
+    // the insets are only parsed again when they changed since the last activation
+    String inset = effectParameters.getString("inset", DEFAULT_INSET);
+    if (!inset.equals(parsedInset)) {
+      parsedInset = inset;
+      try {
+        PaddingAttributeParser parser = new PaddingAttributeParser(inset);
+        insetLeft = new SizeValue(parser.getLeft());
+        insetRight = new SizeValue(parser.getRight());
+        insetTop = new SizeValue(parser.getTop());
+        insetBottom = new SizeValue(parser.getBottom());
+      } catch (Exception e) {
+        log.warning(e.getMessage());
+      }
     }
   }
 
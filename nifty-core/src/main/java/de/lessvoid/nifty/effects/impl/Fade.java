@@ -3,6 +3,7 @@ package de.lessvoid.nifty.effects.impl;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.effects.EffectImpl;
+import de.lessvoid.nifty.effects.EffectParameters;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
@@ -32,20 +33,17 @@ public class Fade implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
+    EffectParameters effectParameters = parameter.getEffectParameters();
     // startColor and endColor (only alpha component used) are the old version of this
     // and are kept here only for backward compatibility. The current attributes are "start" and "end" alpha values.
-    if (parameter.getProperty("startColor") != null) {
-      start = new Alpha(new Color(parameter.getProperty("startColor", "#000000ff")).getAlpha());
+    if (effectParameters.has("startColor")) {
+      start = new Alpha(effectParameters.getColor("startColor", Color.BLACK).getAlpha());
     }
-    if (parameter.getProperty("endColor") != null) {
-      end = new Alpha(new Color(parameter.getProperty("endColor", "#ffffffff")).getAlpha());
-    }
-    if (parameter.getProperty("start") != null) {
-      start = new Alpha(parameter.getProperty("start"));
-    }
-    if (parameter.getProperty("end") != null) {
-      end = new Alpha(parameter.getProperty("end"));
+    if (effectParameters.has("endColor")) {
+      end = new Alpha(effectParameters.getColor("endColor", Color.WHITE).getAlpha());
     }
+    start = effectParameters.getAlpha("start", start);
+    end = effectParameters.getAlpha("end", end);
     interpolator = parameter.getInterpolator();
   }
 
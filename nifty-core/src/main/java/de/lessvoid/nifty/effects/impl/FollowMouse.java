@@ -3,6 +3,7 @@ package de.lessvoid.nifty.effects.impl;
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.NiftyMouse;
 import de.lessvoid.nifty.effects.EffectImpl;
+import de.lessvoid.nifty.effects.EffectParameters;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
@@ -33,9 +34,10 @@ public class FollowMouse implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
+    EffectParameters effectParameters = parameter.getEffectParameters();
     this.nifty = nifty;
-    this.offsetX = Integer.valueOf(parameter.getProperty("offsetX", "20"));
-    this.offsetY = Integer.valueOf(parameter.getProperty("offsetY", "20"));
+    this.offsetX = effectParameters.getInt("offsetX", 20);
+    this.offsetY = effectParameters.getInt("offsetY", 20);
   }
 
   @Override
@@ -48,7 +48,7 @@ public class ImageOverlayPulsate implements EffectImpl {
           renderStrategyProperty));
     }
 
-    this.pulsater = new Pulsator(parameter, nifty.getTimeProvider());
+    this.pulsater = new Pulsator(parameter.getEffectParameters(), nifty.getTimeProvider());
   }
 
   @Override
@@ -2,6 +2,7 @@ package de.lessvoid.nifty.effects.impl;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.effects.EffectImpl;
+import de.lessvoid.nifty.effects.EffectParameters;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
@@ -44,8 +45,9 @@ public class Move implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    String mode = parameter.getProperty("mode");
-    direction = parameter.getProperty("direction");
+    EffectParameters effectParameters = parameter.getEffectParameters();
+    String mode = effectParameters.getString("mode");
+    direction = effectParameters.getString("direction");
     if (LEFT.equals(direction)) {
       offset = element.getX() + element.getWidth();
     } else if (RIGHT.equals(direction)) {
@@ -72,19 +74,19 @@ public class Move implements EffectImpl {
       withTarget = true;
     } else if ("fromOffset".equals(mode)) {
       fromOffset = true;
-      startOffsetX = Integer.valueOf(parameter.getProperty("offsetX", "0"));
-      startOffsetY = Integer.valueOf(parameter.getProperty("offsetY", "0"));
+      startOffsetX = effectParameters.getInt("offsetX", 0);
+      startOffsetY = effectParameters.getInt("offsetY", 0);
       offsetX = startOffsetX * -1;
       offsetY = startOffsetY * -1;
     } else if ("toOffset".equals(mode)) {
       toOffset = true;
       startOffsetX = 0;
       startOffsetY = 0;
-      offsetX = Integer.valueOf(parameter.getProperty("offsetX", "0"));
-      offsetY = Integer.valueOf(parameter.getProperty("offsetY", "0"));
+      offsetX = effectParameters.getInt("offsetX", 0);
+      offsetY = effectParameters.getInt("offsetY", 0);
     }
 
-    String target = parameter.getProperty("targetElement");
+    String target = effectParameters.getString("targetElement");
     Screen screen = nifty.getCurrentScreen();
     if (target != null && screen != null) {
       TargetElementResolver resolver = new TargetElementResolver(screen, element);
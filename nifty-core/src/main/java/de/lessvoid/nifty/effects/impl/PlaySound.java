@@ -2,6 +2,7 @@ package de.lessvoid.nifty.effects.impl;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.effects.EffectImpl;
+import de.lessvoid.nifty.effects.EffectParameters;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
@@ -29,9 +30,10 @@ public class PlaySound implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
+    EffectParameters effectParameters = parameter.getEffectParameters();
     this.nifty = nifty;
-    soundHandle = nifty.getSoundSystem().getSound(parameter.getProperty("sound"));
-    repeat = Boolean.valueOf(parameter.getProperty("repeat", "false"));
+    soundHandle = nifty.getSoundSystem().getSound(effectParameters.getString("sound"));
+    repeat = effectParameters.getBoolean("repeat", false);
     done = false;
   }
 
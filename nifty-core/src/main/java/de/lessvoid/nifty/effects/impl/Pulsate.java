@@ -3,6 +3,7 @@ package de.lessvoid.nifty.effects.impl;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.effects.EffectImpl;
+import de.lessvoid.nifty.effects.EffectParameters;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
@@ -38,11 +39,12 @@ public class Pulsate implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    startColor = new Color(parameter.getProperty("startColor", "#00000000"));
-    endColor = new Color(parameter.getProperty("endColor", "#ffffffff"));
-    width = new SizeValue(parameter.getProperty("width"));
-    changeColorOnly = Boolean.valueOf(parameter.getProperty("changeColorOnly", "false"));
-    pulsator = new Pulsator(parameter, nifty.getTimeProvider());
+    EffectParameters effectParameters = parameter.getEffectParameters();
+    startColor = effectParameters.getColor("startColor", Color.NONE);
+    endColor = effectParameters.getColor("endColor", Color.WHITE);
+    width = effectParameters.getSizeValue("width");
+    changeColorOnly = effectParameters.getBoolean("changeColorOnly", false);
+    pulsator = new Pulsator(effectParameters, nifty.getTimeProvider());
   }
 
   @Override
@@ -3,6 +3,7 @@ package de.lessvoid.nifty.effects.impl;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.effects.EffectImpl;
+import de.lessvoid.nifty.effects.EffectParameters;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
@@ -33,9 +34,10 @@ public class RenderQuad implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    startColor = new Color(parameter.getProperty("startColor", "#0000"));
-    endColor = new Color(parameter.getProperty("endColor", "#ffff"));
-    width = new SizeValue(parameter.getProperty("width"));
+    EffectParameters effectParameters = parameter.getEffectParameters();
+    startColor = effectParameters.getColor("startColor", Color.NONE);
+    endColor = effectParameters.getColor("endColor", Color.WHITE);
+    width = effectParameters.getSizeValue("width");
   }
 
   @Override
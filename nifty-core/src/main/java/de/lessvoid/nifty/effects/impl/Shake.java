@@ -3,6 +3,7 @@ package de.lessvoid.nifty.effects.impl;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.effects.EffectImpl;
+import de.lessvoid.nifty.effects.EffectParameters;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
@@ -26,8 +27,9 @@ public class Shake implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    distance = Float.parseFloat(parameter.getProperty("distance", "10.0"));
-    global = "true".equals(parameter.getProperty("global", "true").toLowerCase());
+    EffectParameters effectParameters = parameter.getEffectParameters();
+    distance = effectParameters.getFloat("distance", 10.0f);
+    global = effectParameters.getBoolean("global", true);
   }
 
   @Override
@@ -3,6 +3,7 @@ package de.lessvoid.nifty.effects.impl;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.effects.EffectImpl;
+import de.lessvoid.nifty.effects.EffectParameters;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
@@ -25,7 +26,8 @@ public class TextColor implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    color = new de.lessvoid.nifty.tools.Color(parameter.getProperty("color", "#ffff"));
+    EffectParameters effectParameters = parameter.getEffectParameters();
+    color = effectParameters.getColor("color", Color.WHITE);
   }
 
   @Override
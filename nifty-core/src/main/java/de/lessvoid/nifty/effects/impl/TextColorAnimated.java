@@ -3,6 +3,7 @@ package de.lessvoid.nifty.effects.impl;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.effects.EffectImpl;
+import de.lessvoid.nifty.effects.EffectParameters;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
@@ -30,8 +31,9 @@ public class TextColorAnimated implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    startColor = new Color(parameter.getProperty("startColor", "#0000"));
-    endColor = new Color(parameter.getProperty("endColor", "#ffff"));
+    EffectParameters effectParameters = parameter.getEffectParameters();
+    startColor = effectParameters.getColor("startColor", Color.NONE);
+    endColor = effectParameters.getColor("endColor", Color.WHITE);
   }
 
   @Override
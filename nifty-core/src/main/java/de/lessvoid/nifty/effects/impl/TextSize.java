@@ -3,6 +3,7 @@ package de.lessvoid.nifty.effects.impl;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.effects.EffectImpl;
+import de.lessvoid.nifty.effects.EffectParameters;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
@@ -31,14 +32,12 @@ public class TextSize implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    startSize = Float.parseFloat(parameter.getProperty("startSize", "1.0"));
-    endSize = Float.parseFloat(parameter.getProperty("endSize", "2.0"));
+    EffectParameters effectParameters = parameter.getEffectParameters();
+    startSize = effectParameters.getFloat("startSize", 1.0f);
+    endSize = effectParameters.getFloat("endSize", 2.0f);
 
     // hover mode only
-    String maxSizeString = parameter.getProperty("maxSize");
-    if (maxSizeString != null) {
-      textSize = new SizeValue(maxSizeString);
-    }
+    textSize = effectParameters.getSizeValue("maxSize", textSize);
   }
 
   @Override
@@ -3,6 +3,7 @@ package de.lessvoid.nifty.effects.impl;
 
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.effects.EffectImpl;
+import de.lessvoid.nifty.effects.EffectParameters;
 import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.effects.Falloff;
 import de.lessvoid.nifty.elements.Element;
@@ -50,16 +51,10 @@ public class TextSizePulsate implements EffectImpl {
       @Nonnull final Nifty nifty,
       @Nonnull final Element element,
       @Nonnull final EffectProperties parameter) {
-    String startSizeString = parameter.getProperty("startSize");
-    if (startSizeString != null) {
-      startSize = new SizeValue(startSizeString);
-    }
-
-    String endSizeString = parameter.getProperty("endSize");
-    if (endSizeString != null) {
-      endSize = new SizeValue(endSizeString);
-    }
-    pulsator = new Pulsator(parameter, nifty.getTimeProvider());
+    EffectParameters effectParameters = parameter.getEffectParameters();
+    startSize = effectParameters.getSizeValue("startSize", startSize);
+    endSize = effectParameters.getSizeValue("endSize", endSize);
+    pulsator = new Pulsator(effectParameters, nifty.getTimeProvider());
   }
 
   @Override
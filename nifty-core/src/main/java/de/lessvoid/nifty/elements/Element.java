@@ -18,6 +18,8 @@ import javax.annotation.Nullable;
 import de.lessvoid.nifty.EndNotify;
 import de.lessvoid.nifty.Nifty;
 import de.lessvoid.nifty.NiftyEvent;
+import de.lessvoid.nifty.NiftyFrameProfiler;
+import de.lessvoid.nifty.NiftyFrameStatistics;
 import de.lessvoid.nifty.NiftyMethodInvoker;
 import de.lessvoid.nifty.controls.Controller;
 import de.lessvoid.nifty.controls.FocusHandler;
@@ -54,6 +56,7 @@ import de.lessvoid.nifty.loaderv2.types.apply.ApplyRendererPanel;
 import de.lessvoid.nifty.loaderv2.types.apply.Convert;
 import de.lessvoid.nifty.loaderv2.types.helper.PaddingAttributeParser;
 import de.lessvoid.nifty.render.NiftyRenderEngine;
+import de.lessvoid.nifty.render.RenderCache;
 import de.lessvoid.nifty.screen.KeyInputHandler;
 import de.lessvoid.nifty.screen.MouseOverHandler;
 import de.lessvoid.nifty.screen.Screen;
@@ -70,7 +73,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   @Nonnull
   private static final Logger log = Logger.getLogger(Element.class.getName());
   @Nonnull
-  private final ElementType elementType;
+  private ElementType elementType;
   @Nullable
   private String id;
   private int renderOrder;
@@ -92,6 +95,12 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   @Nonnull
   private static final Comparator<Element> RENDER_ORDER_COMPARATOR = new RenderOrderComparator();
 
+  /**
+   * The maximum number of layout passes layoutElements() executes before it gives up waiting for the constraints to
+   * settle down.
+   */
+  private static final int MAX_LAYOUT_PASSES = 3;
+
   /**
    * We keep a copy of the elementsRenderOrderSet in a simple array for being more GC friendly while rendering.
    */
@@ -108,13 +117,13 @@ public class Element implements NiftyEvent, EffectManager.Notify {
    * The LayoutPart for laying out this element.
    */
   @Nonnull
-  private final LayoutPart layoutPart;
+  private LayoutPart layoutPart;
 
   /**
    * The ElementRenderer we should use to render this element.
    */
   @Nonnull
-  private final ElementRenderer[] elementRenderer;
+  private ElementRenderer[] elementRenderer;
 
   @Nonnull
   private EffectManager effectManager;
@@ -220,6 +229,51 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   // publish an event on the event bus later
   private boolean constraintsChanged;
 
+  /**
+   * This is set to true when something changed that requires this element (and therefore all of its parents) to be
+   * layouted again. Freshly created elements always need to be layouted.
+   */
+  private boolean layoutRequired = true;
+
+  /**
+   * The change count of the BoxConstraints when we've last checked them for changes.
+   */
+  private int knownConstraintChangeCount;
+
+  /**
+   * When this is set to true the render output of this element and all of its children is recorded and replayed in
+   * the following frames as long as nothing changes.
+   */
+  private boolean renderCached;
+
+  /**
+   * The cache that stores the render output when renderCached is enabled. It's created the first time it's needed.
+   */
+  @Nullable
+  private RenderCache renderCache;
+
+  /**
+   * The grid of the elements below this element that are visible to mouse events. Mouse events only need to look at
+   * the elements below the mouse instead of walking the whole element tree. This is only created for the elements that
+   * mouse events are forwarded to (the layers).
+   */
+  @Nullable
+  private MouseElementIndex mouseElementIndex;
+
+  /**
+   * The ids of this element and all elements below it that are used by {@link #findElementById(String)}. The index
+   * is built the first time an element is searched below this element. Afterwards it's updated when elements are
+   * added below this element, removed or reordered and when their ids change.
+   */
+  @Nullable
+  private ElementIdIndex idIndex;
+
+  /**
+   * Whether this element is one of the children of its parent. Only then the parent and the elements above it need
+   * to update their id indexes when something changes below this element.
+   */
+  private boolean addedToParent;
+
   /*
    * Whether or not this element should ignore all mouse events.
    */
@@ -247,6 +301,13 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   private Map<String, Object> userData;
   private final StyleRefresh styleListener = new StyleRefresh();
 
+  /**
+   * The key of the ElementPool this element is put into after it has been removed or {@code null} when this element
+   * can't be recycled.
+   */
+  @Nullable
+  Object poolKey;
+
   public Element(
       @Nonnull final Nifty nifty,
       @Nonnull final ElementType elementType,
@@ -361,11 +422,13 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
     this.clipChildren = attributes.getAsBoolean("childClip", Convert.DEFAULT_CHILD_CLIP);
     this.renderOrder = attributes.getAsInteger("renderOrder", Convert.DEFAULT_RENDER_ORDER);
+    this.renderCached = attributes.getAsBoolean("renderCached", Convert.DEFAULT_RENDER_CACHED);
     boolean visible = attributes.getAsBoolean("visible", Convert.DEFAULT_VISIBLE);
     if (visible) {
       this.visible = true;
     }
     this.visibleToMouseEvents = attributes.getAsBoolean("visibleToMouse", Convert.DEFAULT_VISIBLE_TO_MOUSE);
+    invalidateMouseElementIndex();
     this.layoutManager = convert.layoutManager(attributes.get("childLayout"));
 
     this.focusable = attributes.getAsBoolean("focusable", Convert.DEFAULT_FOCUSABLE);
@@ -381,6 +444,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   public void initializeFromPostAttributes(@Nonnull final Attributes attributes) {
     visible = attributes.getAsBoolean("visible", Convert.DEFAULT_VISIBLE);
+    invalidateMouseElementIndex();
   }
 
   @Nullable
@@ -409,6 +473,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   public void setParent(@Nullable final Element element) {
     parent = element;
+    invalidateMouseElementIndex();
 
     // This element has a new parent. Check the parent's clip area and update this element accordingly.
     if (parentHasClipArea()) {
@@ -566,10 +631,12 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   public void setHeight(int height) {
     layoutPart.getBox().setHeight(height);
+    invalidateMouseElementIndex();
   }
 
   public void setWidth(int width) {
     layoutPart.getBox().setWidth(width);
+    invalidateMouseElementIndex();
   }
 
   @Nonnull
@@ -658,6 +725,14 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     } else {
       elementsRenderOrder = elementsRenderOrderSet.toArray(new Element[elementsRenderOrderSet.size()]);
     }
+    child.addedToParent = true;
+    for (Element current = this; current != null; current = current.getIdIndexParent()) {
+      if (current.idIndex != null) {
+        child.addSubtreeToIdIndex(current.idIndex);
+      }
+    }
+    invalidateMouseElementIndex();
+    markLayoutRequired();
   }
 
   /**
@@ -676,6 +751,12 @@ public class Element implements NiftyEvent, EffectManager.Notify {
         Element shouldBeThis = parentChildren.remove(curInd);
         if (shouldBeThis.equals(this)) {
           parentChildren.add(index, this);
+          for (Element current = parent; current != null; current = current.getIdIndexParent()) {
+            if (current.idIndex != null) {
+              current.idIndex.orderChanged();
+            }
+          }
+          parent.invalidateMouseElementIndex();
         } else {
           log.severe("Setting index failed, detected index did not return correct element. Undoing operation");
           parentChildren.add(curInd, shouldBeThis);
@@ -686,21 +767,73 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   public void render(@Nonnull final NiftyRenderEngine r) {
     if (visible) {
-      if (effectManager.isEmpty()) {
-        r.saveStates();
-        renderElement(r);
-        renderChildren(r);
-        r.restoreStates();
+      if (isCompletelyClipped(r)) {
+        // children that are not clipped to this element can still be visible
+        if (!clipChildren) {
+          renderInternalChildElements(r);
+        }
+      } else if (renderCached) {
+        renderCached(r);
       } else {
-        r.saveStates();
-        effectManager.renderPre(r, this);
-        renderElement(r);
-        effectManager.renderPost(r, this);
-        renderChildren(r);
-        r.restoreStates();
-        r.saveStates();
-        effectManager.renderOverlay(r, this);
-        r.restoreStates();
+        renderUncached(r);
+      }
+    }
+  }
+
+  /**
+   * Check if nothing of this element would be visible because it is completely outside of the active clipping area.
+   * Active effects can render outside of the element (f.i. when they move or shake it), so an element with active
+   * effects is never considered clipped.
+   */
+  private boolean isCompletelyClipped(@Nonnull final NiftyRenderEngine r) {
+    return !effectStateCache.isAnyActive() &&
+        r.isCompletelyClipped(getX(), getY(), getX() + getWidth(), getY() + getHeight());
+  }
+
+  private void renderCached(@Nonnull final NiftyRenderEngine r) {
+    if (renderCache == null) {
+      renderCache = r.createRenderCache();
+    }
+    // the render device might not support caching and active effects change the output every frame
+    if (renderCache == null || effectStateCache.isAnyActive()) {
+      renderUncached(r);
+      return;
+    }
+    if (r.renderCache(renderCache)) {
+      return;
+    }
+    r.beginRenderCache(renderCache);
+    renderUncached(r);
+    r.endRenderCache(renderCache);
+  }
+
+  private void renderUncached(@Nonnull final NiftyRenderEngine r) {
+    NiftyFrameProfiler profiler = nifty.getFrameProfiler();
+    profiler.count(NiftyFrameStatistics.Counter.ELEMENTS_VISITED, 1);
+    if (effectManager.isEmpty()) {
+      r.saveStates();
+      renderElement(r);
+      renderChildren(r);
+      r.restoreStates();
+    } else {
+      r.saveStates();
+      profiler.beginPhase(NiftyFrameStatistics.Phase.EFFECTS);
+      effectManager.renderPre(r, this);
+      profiler.endPhase(NiftyFrameStatistics.Phase.EFFECTS);
+      renderElement(r);
+      profiler.beginPhase(NiftyFrameStatistics.Phase.EFFECTS);
+      effectManager.renderPost(r, this);
+      profiler.endPhase(NiftyFrameStatistics.Phase.EFFECTS);
+      renderChildren(r);
+      r.restoreStates();
+      r.saveStates();
+      profiler.beginPhase(NiftyFrameStatistics.Phase.EFFECTS);
+      effectManager.renderOverlay(r, this);
+      profiler.endPhase(NiftyFrameStatistics.Phase.EFFECTS);
+      r.restoreStates();
+      long nextRenderChange = effectManager.getNextRenderChange();
+      if (nextRenderChange != Long.MAX_VALUE) {
+        nifty.requestRedrawAt(nextRenderChange);
       }
     }
   }
@@ -733,9 +866,11 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   public void setLayoutManager(@Nullable final LayoutManager newLayout) {
     this.layoutManager = newLayout;
+    markLayoutRequired();
   }
 
   public void resetLayout() {
+    markLayoutRequired();
 
     TextRenderer textRenderer = getRenderer(TextRenderer.class);
     if (textRenderer != null) {
@@ -953,7 +1088,8 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     }
   }
 
-  private void processLayout() {
+  private int processLayout() {
+    int layoutCount = 1;
     processLayoutInternal();
 
     if (layoutManager != null) {
@@ -984,7 +1120,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
         final int childrenCount = children.size();
         for (int i = 0; i < childrenCount; i++) {
           Element w = children.get(i);
-          w.processLayout();
+          layoutCount += w.processLayout();
         }
       }
     }
@@ -996,19 +1132,107 @@ public class Element implements NiftyEvent, EffectManager.Notify {
         w.setParentClipArea(getX(), getY(), getWidth(), getHeight());
       }
     }
+    layoutRequired = false;
+    if (renderCache != null) {
+      renderCache.invalidate();
+    }
+    return layoutCount;
   }
 
+  /**
+   * Layout this element and all of its children. The layout is repeated until the constraints of the elements don't
+   * change anymore (for instance because word wrapping or the "sum" and "max" constraints adjusted them) but at most
+   * MAX_LAYOUT_PASSES times.
+   */
   public void layoutElements() {
-    prepareLayout();
-    processLayout();
+    int layoutCount = 0;
+    int changeCount = getConstraintChangeCount();
+    for (int pass = 0; pass < MAX_LAYOUT_PASSES; pass++) {
+      prepareLayout();
+      layoutCount += processLayout();
+
+      int newChangeCount = getConstraintChangeCount();
+      if (newChangeCount == changeCount) {
+        break;
+      }
+      changeCount = newChangeCount;
+    }
 
-    prepareLayout();
-    processLayout();
+    if (screen != null) {
+      screen.layoutElementsPerformed(layoutCount);
+    }
+    invalidateMouseElementIndex();
+    invalidateRenderCache();
+    publishConstraintsChangedEvent();
+  }
+
+  /**
+   * Enable or disable caching of the render output of this element and all of its children. This is meant for static
+   * parts of the GUI (like a background panel with a lot of child elements) that rarely change. The cached output is
+   * automatically discarded when the layout changes, elements are shown or hidden, effects are started or the text or
+   * images of the standard renderers change. Changes that Nifty can't track (for instance a custom ElementRenderer or
+   * a modified NiftyImage) require a call to {@link #invalidateRenderCache()}.
+   *
+   * @param renderCached true to cache the render output of this element and false to render it every frame
+   */
+  public void setRenderCached(final boolean renderCached) {
+    this.renderCached = renderCached;
+    if (!renderCached && renderCache != null) {
+      renderCache.dispose();
+      renderCache = null;
+    }
+  }
 
-    prepareLayout();
-    processLayout();
+  public boolean isRenderCached() {
+    return renderCached;
+  }
 
-    publishConstraintsChangedEvent();
+  /**
+   * Discard the cached render output of this element and of all of its parent elements because the output of this
+   * element has changed. This also tells Nifty that the next frame needs to be rendered.
+   */
+  public void invalidateRenderCache() {
+    nifty.requestRedraw();
+    Element current = this;
+    while (current != null) {
+      if (current.renderCache != null) {
+        current.renderCache.invalidate();
+      }
+      current = current.parent;
+    }
+  }
+
+  /**
+   * Check if this element or any of its children changed in a way that requires this element to be layouted again.
+   *
+   * @return true when {@link #layoutElements()} needs to be called for this element and false if the current layout
+   * is still valid
+   */
+  public boolean isLayoutRequired() {
+    return layoutRequired;
+  }
+
+  /**
+   * Mark this element as requiring a new layout. Because the size of an element can influence the layout of all
+   * its parent elements the parent elements are marked as well.
+   */
+  public void markLayoutRequired() {
+    Element current = this;
+    while (current != null && !current.layoutRequired) {
+      current.layoutRequired = true;
+      current = current.parent;
+    }
+  }
+
+  private int getConstraintChangeCount() {
+    int result = layoutPart.getBoxConstraints().getChangeCount();
+    if (children != null) {
+      final int childrenCount = children.size();
+      for (int i = 0; i < childrenCount; i++) {
+        result += children.get(i).getConstraintChangeCount();
+      }
+    }
+    return result;
   }
 
   private void publishConstraintsChangedEvent() {
@@ -1163,10 +1387,12 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   public void setConstraintHorizontalAlign(@Nonnull final HorizontalAlign newHorizontalAlign) {
     layoutPart.getBoxConstraints().setHorizontalAlign(newHorizontalAlign);
+    checkLayoutRequired();
   }
 
   public void setConstraintVerticalAlign(@Nonnull final VerticalAlign newVerticalAlign) {
     layoutPart.getBoxConstraints().setVerticalAlign(newVerticalAlign);
+    checkLayoutRequired();
   }
 
   @Nonnull
@@ -1184,6 +1410,9 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       @Nonnull final Effect e) {
     log.fine("[" + id + "] register: " + theId.toString() + "(" + e.getStateString() + ")");
     effectManager.registerEffect(theId, e);
+    if (e.isHoverEffect()) {
+      invalidateMouseElementIndex();
+    }
   }
 
   public void startEffect(@Nonnull final EffectEventId effectEventId) {
@@ -1515,6 +1744,8 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   private void internalShow() {
     visible = true;
+    invalidateRenderCache();
+    invalidateMouseElementIndex();
     restoreForShow();
 
     if (id != null) {
@@ -1579,6 +1810,8 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   private void internalHide() {
     visible = false;
+    invalidateRenderCache();
+    invalidateMouseElementIndex();
     disableFocus();
 
     if (id != null) {
@@ -1686,29 +1919,98 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       @Nonnull final NiftyMouseInputEvent mouseEvent,
       final long eventTime,
       @Nonnull final MouseOverHandler mouseOverHandler) {
-    boolean isInside = isInside(mouseEvent);
+    addToMouseOverHandler(mouseEvent, mouseOverHandler);
+    if (visible) {
+      if (mouseElementIndex == null) {
+        mouseElementIndex = new MouseElementIndex(this);
+      }
+      mouseElementIndex.buildMouseOverElements(mouseEvent, mouseOverHandler);
+    }
+  }
+
+  /**
+   * Add this element to the MouseOverHandler.
+   *
+   * @return true when the element has been added as a mouse over element
+   */
+  boolean addToMouseOverHandler(
+      @Nonnull final NiftyMouseInputEvent mouseEvent,
+      @Nonnull final MouseOverHandler mouseOverHandler) {
     if (canHandleMouseEvents()) {
-      if (isInside) {
+      if (isInside(mouseEvent)) {
         mouseOverHandler.addMouseOverElement(this);
+        return true;
       } else {
         mouseOverHandler.addMouseElement(this);
       }
     } else if (canTheoreticallyHandleMouseEvents()) {
-      if (isInside) {
+      if (isInside(mouseEvent)) {
         mouseOverHandler.canTheoreticallyHandleMouse(this);
       }
     }
-    if (visible) {
-      if (children != null) {
-        final int childrenCount = children.size();
-        for (int i = 0; i < childrenCount; i++) {
-          Element w = children.get(i);
-          w.buildMouseOverElements(mouseEvent, eventTime, mouseOverHandler);
+    return false;
+  }
+
+  /**
+   * Collect all elements below this element that can receive mouse events. Elements that are not visible to the mouse
+   * can never be added to the MouseOverHandler so they don't need to be looked at when a mouse event is processed.
+   */
+  void collectMouseElements(@Nonnull final List<Element> result) {
+    if (children != null) {
+      final int childrenCount = children.size();
+      for (int i = 0; i < childrenCount; i++) {
+        Element w = children.get(i);
+        if (w.visibleToMouseEvents) {
+          result.add(w);
+        }
+        if (w.visible) {
+          w.collectMouseElements(result);
         }
       }
     }
   }
 
+  /**
+   * Discard the index of the elements that can receive mouse events of this element and all of its parents.
+   */
+  private void invalidateMouseElementIndex() {
+    Element current = this;
+    while (current != null) {
+      if (current.mouseElementIndex != null) {
+        current.mouseElementIndex.invalidate();
+      }
+      current = current.parent;
+    }
+  }
+
+  /**
+   * Get the area in which {@link #isMouseInsideElement(int, int)} can be true, that is the box of this element limited
+   * to the clip area of the parents.
+   *
+   * @param area receives the left, top, right and bottom coordinate of the area
+   * @return false when the area is empty
+   */
+  boolean getMouseArea(@Nonnull final int[] area) {
+    area[0] = getX();
+    area[1] = getY();
+    area[2] = getX() + getWidth();
+    area[3] = getY() + getHeight();
+    if (parentClipArea) {
+      area[0] = Math.max(area[0], parentClipX);
+      area[1] = Math.max(area[1], parentClipY);
+      area[2] = Math.min(area[2], parentClipX + parentClipWidth);
+      area[3] = Math.min(area[3], parentClipY + parentClipHeight);
+    }
+    return area[0] <= area[2] && area[1] < area[3];
+  }
+
+  /**
+   * Check if the hover effects of this element can be activated outside of the area of the element.
+   */
+  boolean hasHoverFalloff() {
+    return effectManager.hasHoverFalloff();
+  }
+
   public void mouseEventHoverPreprocess(@Nonnull final NiftyMouseInputEvent mouseEvent, final long eventTime) {
     effectManager.handleHoverDeactivate(this, mouseEvent.getMouseX(), mouseEvent.getMouseY());
   }
@@ -1917,26 +2219,99 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       return null;
     }
 
-    if (id != null && id.equals(findId)) {
-      return this;
+    if (children == null) {
+      if (id != null && id.equals(findId)) {
+        return this;
+      }
+      if (childIdMatch(findId, id)) {
+        return this;
+      }
+      return null;
     }
 
-    if (childIdMatch(findId, id)) {
-      return this;
+    if (idIndex == null) {
+      idIndex = new ElementIdIndex();
+      addSubtreeToIdIndex(idIndex);
+    }
+    return idIndex.find(findId);
+  }
+
+  /**
+   * Check if the first element is visited before the second element when the tree is searched depth first.
+   */
+  static boolean isBeforeInTree(@Nonnull final Element first, @Nonnull final Element second) {
+    int firstDepth = first.getDepth();
+    int secondDepth = second.getDepth();
+    Element firstAncestor = first;
+    Element secondAncestor = second;
+    while (firstDepth > secondDepth) {
+      firstAncestor = firstAncestor.parent;
+      firstDepth--;
+    }
+    while (secondDepth > firstDepth) {
+      secondAncestor = secondAncestor.parent;
+      secondDepth--;
+    }
+    if (firstAncestor == secondAncestor) {
+      // one element is a parent of the other one and the parent comes first
+      return firstAncestor == first && first != second;
+    }
+    while (firstAncestor.parent != secondAncestor.parent) {
+      firstAncestor = firstAncestor.parent;
+      secondAncestor = secondAncestor.parent;
+    }
+    Element commonParent = firstAncestor.parent;
+    if (commonParent == null || commonParent.children == null) {
+      return false;
     }
+    return commonParent.children.indexOf(firstAncestor) < commonParent.children.indexOf(secondAncestor);
+  }
+
+  private int getDepth() {
+    int depth = 0;
+    for (Element current = parent; current != null; current = current.parent) {
+      depth++;
+    }
+    return depth;
+  }
 
+  /**
+   * The element above this element whose id index needs to know about this element or null if this element has not
+   * been added to its parent or has been removed from it.
+   */
+  @Nullable
+  private Element getIdIndexParent() {
+    return addedToParent ? parent : null;
+  }
+
+  /**
+   * Add this element and all elements below to the given id index.
+   */
+  private void addSubtreeToIdIndex(@Nonnull final ElementIdIndex index) {
+    if (id != null) {
+      index.add(id, this);
+    }
     if (children != null) {
       final int childrenCount = children.size();
       for (int i = 0; i < childrenCount; i++) {
-        Element e = children.get(i);
-        Element found = e.findElementById(findId);
-        if (found != null) {
-          return found;
-        }
+        children.get(i).addSubtreeToIdIndex(index);
       }
     }
+  }
 
-    return null;
+  /**
+   * Remove this element and all elements below from the given id index.
+   */
+  private void removeSubtreeFromIdIndex(@Nonnull final ElementIdIndex index) {
+    if (id != null) {
+      index.remove(id, this);
+    }
+    if (children != null) {
+      final int childrenCount = children.size();
+      for (int i = 0; i < childrenCount; i++) {
+        children.get(i).removeSubtreeFromIdIndex(index);
+      }
+    }
   }
 
   private boolean childIdMatch(@Nonnull final String name, @Nullable final String id) {
@@ -2070,7 +2445,10 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   }
 
   public void setVisibleToMouseEvents(final boolean newVisibleToMouseEvents) {
-    this.visibleToMouseEvents = newVisibleToMouseEvents;
+    if (visibleToMouseEvents != newVisibleToMouseEvents) {
+      visibleToMouseEvents = newVisibleToMouseEvents;
+      invalidateMouseElementIndex();
+    }
   }
 
   public boolean keyEvent(@Nonnull final KeyboardInputEvent inputEvent) {
@@ -2081,7 +2459,10 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   }
 
   public void setClipChildren(final boolean clipChildrenParam) {
-    this.clipChildren = clipChildrenParam;
+    if (clipChildren != clipChildrenParam) {
+      clipChildren = clipChildrenParam;
+      markLayoutRequired();
+    }
   }
 
   public boolean isClipChildren() {
@@ -2092,6 +2473,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     this.renderOrder = renderOrder;
     if (parent != null) {
       parent.renderOrderChanged(this);
+      parent.invalidateRenderCache();
     }
   }
 
@@ -2216,6 +2598,16 @@ public class Element implements NiftyEvent, EffectManager.Notify {
   public void setId(@Nullable final String id) {
     @Nullable String oldId = this.id;
     this.id = id;
+    for (Element current = this; current != null; current = current.getIdIndexParent()) {
+      if (current.idIndex != null) {
+        if (oldId != null) {
+          current.idIndex.remove(oldId, this);
+        }
+        if (id != null) {
+          current.idIndex.add(id, this);
+        }
+      }
+    }
 
     if (parent == null) {
       return;
@@ -2605,6 +2997,18 @@ public class Element implements NiftyEvent, EffectManager.Notify {
 
   private void notifyListeners() {
     constraintsChanged = true;
+    checkLayoutRequired();
+  }
+
+  /**
+   * Mark this element for a new layout when the constraints have been changed since we've checked them last time.
+   */
+  private void checkLayoutRequired() {
+    final int changeCount = layoutPart.getBoxConstraints().getChangeCount();
+    if (changeCount != knownConstraintChangeCount) {
+      knownConstraintChangeCount = changeCount;
+      markLayoutRequired();
+    }
   }
 
   private void publishEvent() {
@@ -2618,6 +3022,16 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     return nifty;
   }
 
+  /**
+   * Get the screen this element is part of.
+   *
+   * @return the screen or {@code null} in case the element is not bound to a screen yet
+   */
+  @Nullable
+  public Screen getScreen() {
+    return screen;
+  }
+
   @Nonnull
   public <T extends EffectImpl> List<Effect> getEffects(
       @Nonnull final EffectEventId effectEventId,
@@ -2630,6 +3044,7 @@ public class Element implements NiftyEvent, EffectManager.Notify {
       screen.unregisterElementId(id);
       nifty.unsubscribeElement(screen, id);
     }
+    effectManager.unscheduleEffects();
 
     if (attachedInputControl != null) {
       attachedInputControl.onEndScreen(nifty, screen, id);
@@ -2683,6 +3098,10 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     // and tell our parent element to update as well.
     if (newState != oldState) {
       effectStateCache.set(eventId, newState);
+      if (renderCache != null) {
+        renderCache.invalidate();
+      }
+      nifty.requestRedraw();
 
       if (parent != null) {
         parent.effectStateChanged(eventId, newState);
@@ -2735,10 +3154,20 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     } else {
       elementsRenderOrder = null;
     }
+    element.addedToParent = false;
+    for (Element current = this; current != null; current = current.getIdIndexParent()) {
+      if (current.idIndex != null) {
+        element.removeSubtreeFromIdIndex(current.idIndex);
+      }
+    }
+    invalidateMouseElementIndex();
+    markLayoutRequired();
   }
 
   // package private to prevent public access
   void internalRemoveElementWithChildren() {
+    addedToParent = false;
+    idIndex = null;
     if (children != null) {
       final int childrenCount = children.size();
       for (int i = 0; i < childrenCount; i++) {
@@ -2749,6 +3178,76 @@ public class Element implements NiftyEvent, EffectManager.Notify {
     elementsRenderOrderSet = null;
     children = null;
     elementsRenderOrder = null;
+    mouseElementIndex = null;
+  }
+
+  /**
+   * Check if this removed element can be put into the ElementPool. Elements that got children or a control attached
+   * after they've been created are not recycled.
+   */
+  boolean isRecyclable() {
+    return poolKey != null && children == null && attachedInputControl == null;
+  }
+
+  /**
+   * Drop everything this removed element references before it's put into the ElementPool.
+   */
+  void resetForPool() {
+    String style = getStyle();
+    if (style != null) {
+      nifty.getEventService().unsubscribe("style-refresh:" + style, styleListener);
+    }
+    effectManager.removeAllEffects();
+    effectManager.setFalloff(null);
+    effectStateCache.reset();
+    id = null;
+    parent = null;
+    screen = null;
+    layoutManager = null;
+    renderCache = null;
+    mouseElementIndex = null;
+    idIndex = null;
+    addedToParent = false;
+    focusableInsertBeforeElementId = null;
+    userData = null;
+    elementDebugOut.clear();
+    elementDebug.setLength(0);
+  }
+
+  /**
+   * Initialize an element taken from the ElementPool the same way a new element is initialized by the constructor.
+   * The ElementType then applies the attributes, effects and interact methods as usual.
+   */
+  void reuse(
+      @Nonnull final ElementType elementType,
+      @Nullable final String id,
+      @Nonnull final Element parent,
+      @Nonnull final LayoutPart layoutPart,
+      @Nonnull final ElementRenderer... elementRenderer) {
+    this.elementType = elementType;
+    this.id = id;
+    this.parent = parent;
+    this.layoutPart = layoutPart;
+    this.elementRenderer = elementRenderer;
+    this.effectManager.setAlternateKey(nifty.getAlternateKey());
+    this.enabled = true;
+    this.enabledCount = 0;
+    this.visible = true;
+    this.done = false;
+    this.interactionBlocked = false;
+    this.visibleToMouseEvents = false;
+    this.interaction = new ElementInteraction(nifty, this);
+    this.focusable = false;
+    this.parentClipArea = false;
+    this.parentClipX = 0;
+    this.parentClipY = 0;
+    this.parentClipWidth = 0;
+    this.parentClipHeight = 0;
+    this.constraintsChanged = false;
+    this.layoutRequired = true;
+    this.knownConstraintChangeCount = 0;
+    this.ignoreMouseEvents = false;
+    this.ignoreKeyboardEvents = false;
   }
 
   /**
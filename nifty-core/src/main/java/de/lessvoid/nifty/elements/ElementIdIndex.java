@@ -0,0 +1,105 @@
+package de.lessvoid.nifty.elements;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The ids of an element and all elements below it. Each id is stored with its complete value and with each "#suffix"
+ * of it, so looking up an element by its id or by the end of its id only takes a single map access. The index is
+ * kept up to date by the elements when elements are added, removed, reordered or when their ids change.
+ * <p/>
+ * In case several elements share an id the one that comes first when the tree is searched depth first is returned.
+ * It is determined once and remembered until an element with this id is added or removed or the children of any
+ * element below change their order.
+ */
+class ElementIdIndex {
+  @Nonnull
+  private final Map<String, Bucket> buckets = new HashMap<String, Bucket>();
+  private int orderVersion;
+
+  /**
+   * Add the element with the given id to the index.
+   */
+  void add(@Nonnull final String id, @Nonnull final Element element) {
+    addKey(id, element);
+    for (int i = id.indexOf('#', 1); i != -1; i = id.indexOf('#', i + 1)) {
+      addKey(id.substring(i), element);
+    }
+  }
+
+  /**
+   * Remove the element with the given id from the index.
+   */
+  void remove(@Nonnull final String id, @Nonnull final Element element) {
+    removeKey(id, element);
+    for (int i = id.indexOf('#', 1); i != -1; i = id.indexOf('#', i + 1)) {
+      removeKey(id.substring(i), element);
+    }
+  }
+
+  /**
+   * The order of the children of some element in the index changed, so the first element of each id might be
+   * another one now.
+   */
+  void orderChanged() {
+    orderVersion++;
+  }
+
+  /**
+   * @param id the complete id or a "#suffix" of an id
+   * @return the first element with this id or null if there is none
+   */
+  @Nullable
+  Element find(@Nonnull final String id) {
+    Bucket bucket = buckets.get(id);
+    if (bucket == null) {
+      return null;
+    }
+    if (bucket.first == null || bucket.firstVersion != orderVersion) {
+      Element first = null;
+      for (Element element : bucket.elements) {
+        if (first == null || Element.isBeforeInTree(element, first)) {
+          first = element;
+        }
+      }
+      bucket.first = first;
+      bucket.firstVersion = orderVersion;
+    }
+    return bucket.first;
+  }
+
+  private void addKey(@Nonnull final String key, @Nonnull final Element element) {
+    Bucket bucket = buckets.get(key);
+    if (bucket == null) {
+      bucket = new Bucket();
+      buckets.put(key, bucket);
+    }
+    if (bucket.elements.add(element)) {
+      bucket.first = null;
+    }
+  }
+
+  private void removeKey(@Nonnull final String key, @Nonnull final Element element) {
+    Bucket bucket = buckets.get(key);
+    if (bucket != null && bucket.elements.remove(element)) {
+      if (bucket.elements.isEmpty()) {
+        buckets.remove(key);
+      } else {
+        bucket.first = null;
+      }
+    }
+  }
+
+  private static class Bucket {
+    @Nonnull
+    private final Set<Element> elements = Collections.newSetFromMap(new IdentityHashMap<Element, Boolean>(4));
+    @Nullable
+    private Element first;
+    private int firstVersion;
+  }
+}
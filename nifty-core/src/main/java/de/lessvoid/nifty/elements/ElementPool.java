@@ -0,0 +1,106 @@
+package de.lessvoid.nifty.elements;
+
+import de.lessvoid.nifty.elements.render.ElementRenderer;
+import de.lessvoid.nifty.layout.LayoutPart;
+import de.lessvoid.nifty.loaderv2.types.ElementType;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Removed elements of a Screen that are kept to be used again when another element of the same kind is created.
+ * Only elements without children and without a controller are pooled. The ElementType sets up renderers, attributes,
+ * effects and interact methods of a reused element again, so the element object with its EffectManager and the
+ * effect processors is all that is recycled.
+ * <p/>
+ * The pool is only used when element recycling is enabled for the Screen. Since a removed element is handed out
+ * again, the application must not keep any references to elements after they've been removed.
+ */
+public class ElementPool {
+  private static final int MAX_ELEMENTS_PER_KEY = 32;
+
+  @Nonnull
+  private final Map<Object, List<Element>> pooledElements = new HashMap<Object, List<Element>>();
+  private int size;
+
+  /**
+   * Mark the given element as one that can be recycled with the given key.
+   *
+   * @param element the new element
+   * @param key     the key elements of the same kind share
+   */
+  public void markRecyclable(@Nonnull final Element element, @Nonnull final Object key) {
+    element.poolKey = key;
+  }
+
+  /**
+   * Take a pooled element and initialize it again.
+   *
+   * @return the element or {@code null} in case there is no pooled element for the key
+   */
+  @Nullable
+  public Element obtain(
+      @Nonnull final Object key,
+      @Nonnull final ElementType elementType,
+      @Nullable final String id,
+      @Nonnull final Element parent,
+      @Nonnull final LayoutPart layoutPart,
+      @Nonnull final ElementRenderer... elementRenderer) {
+    List<Element> elements = pooledElements.get(key);
+    if (elements == null || elements.isEmpty()) {
+      return null;
+    }
+    Element element = elements.remove(elements.size() - 1);
+    size--;
+    element.reuse(elementType, id, parent, layoutPart, elementRenderer);
+    return element;
+  }
+
+  /**
+   * Put an element that has been removed from the screen into the pool.
+   *
+   * @return true when the element has been pooled, false if it can't be recycled or the pool is full
+   */
+  public boolean release(@Nonnull final Element element) {
+    if (!element.isRecyclable()) {
+      return false;
+    }
+    List<Element> elements = pooledElements.get(element.poolKey);
+    if (elements == null) {
+      elements = new ArrayList<Element>();
+      pooledElements.put(element.poolKey, elements);
+    }
+    if (elements.size() >= MAX_ELEMENTS_PER_KEY) {
+      return false;
+    }
+    for (int i = 0; i < elements.size(); i++) {
+      // the same element might be removed twice
+      if (elements.get(i) == element) {
+        return false;
+      }
+    }
+    element.resetForPool();
+    elements.add(element);
+    size++;
+    return true;
+  }
+
+  /**
+   * Remove all pooled elements.
+   */
+  public void clear() {
+    pooledElements.clear();
+    size = 0;
+  }
+
+  /**
+   * Get the number of pooled elements.
+   */
+  public int getSize() {
+    return size;
+  }
+}
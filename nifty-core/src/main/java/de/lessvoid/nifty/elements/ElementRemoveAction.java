@@ -39,6 +39,10 @@ public class ElementRemoveAction implements Action {
     } else {
       screen.removeLayerElement(removedElement);
     }
+
+    if (screen.isElementRecycling()) {
+      screen.getElementPool().release(removedElement);
+    }
   }
 
   private void removeSingleElement(@Nonnull final Element element) {
@@ -0,0 +1,230 @@
+package de.lessvoid.nifty.elements;
+
+import de.lessvoid.nifty.input.NiftyMouseInputEvent;
+import de.lessvoid.nifty.screen.MouseOverHandler;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The elements below a layer that can receive mouse events, sorted into a uniform grid by the area in which the mouse
+ * can hit them. That area is the box of the element limited to the clip area of its parents. A mouse event only looks
+ * at the elements of the grid cell below the mouse and at the elements the mouse has been over before. The latter
+ * still need to see the event to deactivate their hover effects and to finish clicks that started on them.
+ * <p/>
+ * The grid is built lazily and discarded whenever the element tree, the layout, the visibility or the visibleToMouse
+ * flag of any element below the layer changes.
+ */
+class MouseElementIndex {
+  private static final int MIN_CELL_SIZE = 32;
+  private static final int MAX_CELLS = 4096;
+
+  @Nonnull
+  private final Element root;
+  private boolean valid;
+
+  // all elements that can receive mouse events in the order they are processed, the grid refers to their positions
+  @Nonnull
+  private final List<Element> elements = new ArrayList<Element>();
+  @Nonnull
+  private final Map<Element, Integer> positions = new IdentityHashMap<Element, Integer>();
+
+  private int gridX;
+  private int gridY;
+  private int cellSize;
+  private int columns;
+  private int rows;
+  @Nonnull
+  private int[][] cells = new int[0][];
+  // the elements that can be hit everywhere, for instance because of hover effects with a falloff area of their own
+  @Nonnull
+  private int[] unbounded = new int[0];
+
+  // the elements the mouse has been over during the last event or that wait for a mouse button to be released
+  @Nonnull
+  private List<Element> activeElements = new ArrayList<Element>();
+  @Nonnull
+  private List<Element> nextActiveElements = new ArrayList<Element>();
+  @Nonnull
+  private int[] candidates = new int[16];
+  @Nonnull
+  private final int[] area = new int[4];
+
+  MouseElementIndex(@Nonnull final Element root) {
+    this.root = root;
+  }
+
+  void invalidate() {
+    valid = false;
+  }
+
+  /**
+   * Add all elements that may be affected by the mouse event to the MouseOverHandler in the order they are processed.
+   */
+  void buildMouseOverElements(
+      @Nonnull final NiftyMouseInputEvent mouseEvent,
+      @Nonnull final MouseOverHandler mouseOverHandler) {
+    if (!valid) {
+      build();
+    }
+
+    // the positions are shifted by one bit to keep track of the active elements while sorting
+    int[] cell = getCell(mouseEvent.getMouseX(), mouseEvent.getMouseY());
+    int count = cell.length + activeElements.size();
+    if (candidates.length < count) {
+      candidates = new int[Math.max(count, candidates.length * 2)];
+    }
+    for (int i = 0; i < cell.length; i++) {
+      candidates[i] = cell[i] << 1;
+    }
+    final int activeCount = activeElements.size();
+    for (int i = 0; i < activeCount; i++) {
+      candidates[cell.length + i] = (positions.get(activeElements.get(i)) << 1) | 1;
+    }
+    if (activeCount > 0) {
+      Arrays.sort(candidates, 0, count);
+    }
+
+    boolean buttonDown = mouseEvent.isButton0Down() || mouseEvent.isButton1Down() || mouseEvent.isButton2Down();
+    nextActiveElements.clear();
+    int i = 0;
+    while (i < count) {
+      int position = candidates[i] >> 1;
+      boolean active = (candidates[i] & 1) != 0;
+      i++;
+      if (i < count && candidates[i] >> 1 == position) {
+        active = true;
+        i++;
+      }
+      Element element = elements.get(position);
+      if (element.addToMouseOverHandler(mouseEvent, mouseOverHandler) || (active && buttonDown)) {
+        nextActiveElements.add(element);
+      }
+    }
+
+    List<Element> swap = activeElements;
+    activeElements = nextActiveElements;
+    nextActiveElements = swap;
+  }
+
+  private void build() {
+    elements.clear();
+    positions.clear();
+    root.collectMouseElements(elements);
+    final int elementCount = elements.size();
+
+    int[] areas = new int[elementCount * 4];
+    boolean[] hasArea = new boolean[elementCount];
+    boolean[] everywhere = new boolean[elementCount];
+    int minX = Integer.MAX_VALUE;
+    int minY = Integer.MAX_VALUE;
+    int maxX = Integer.MIN_VALUE;
+    int maxY = Integer.MIN_VALUE;
+    int unboundedCount = 0;
+    for (int i = 0; i < elementCount; i++) {
+      Element element = elements.get(i);
+      positions.put(element, i);
+      if (element.hasHoverFalloff()) {
+        everywhere[i] = true;
+        unboundedCount++;
+      } else if (element.getMouseArea(area)) {
+        hasArea[i] = true;
+        System.arraycopy(area, 0, areas, i * 4, 4);
+        minX = Math.min(minX, area[0]);
+        minY = Math.min(minY, area[1]);
+        maxX = Math.max(maxX, area[2]);
+        maxY = Math.max(maxY, area[3]);
+      }
+    }
+
+    unbounded = new int[unboundedCount];
+    if (minX > maxX) {
+      columns = 0;
+      rows = 0;
+    } else {
+      long width = (long) maxX - minX + 1;
+      long height = (long) maxY - minY + 1;
+      gridX = minX;
+      gridY = minY;
+      cellSize = Math.max(MIN_CELL_SIZE, (int) Math.ceil(Math.sqrt((double) width * height / MAX_CELLS)));
+      columns = (int) ((width - 1) / cellSize) + 1;
+      rows = (int) ((height - 1) / cellSize) + 1;
+    }
+
+    // count the elements of each cell first so that the cells can be filled in the order of the elements
+    int[] cellCounts = new int[columns * rows];
+    for (int i = 0; i < elementCount; i++) {
+      if (everywhere[i]) {
+        for (int c = 0; c < cellCounts.length; c++) {
+          cellCounts[c]++;
+        }
+      } else if (hasArea[i]) {
+        for (int row = getRow(areas[i * 4 + 1]); row <= getRow(areas[i * 4 + 3]); row++) {
+          for (int column = getColumn(areas[i * 4]); column <= getColumn(areas[i * 4 + 2]); column++) {
+            cellCounts[row * columns + column]++;
+          }
+        }
+      }
+    }
+    cells = new int[cellCounts.length][];
+    for (int c = 0; c < cells.length; c++) {
+      cells[c] = new int[cellCounts[c]];
+      cellCounts[c] = 0;
+    }
+    int unboundedIndex = 0;
+    for (int i = 0; i < elementCount; i++) {
+      if (everywhere[i]) {
+        unbounded[unboundedIndex++] = i;
+        for (int c = 0; c < cells.length; c++) {
+          cells[c][cellCounts[c]++] = i;
+        }
+      } else if (hasArea[i]) {
+        for (int row = getRow(areas[i * 4 + 1]); row <= getRow(areas[i * 4 + 3]); row++) {
+          for (int column = getColumn(areas[i * 4]); column <= getColumn(areas[i * 4 + 2]); column++) {
+            int c = row * columns + column;
+            cells[c][cellCounts[c]++] = i;
+          }
+        }
+      }
+    }
+
+    // elements that are not part of the layer anymore won't receive mouse events
+    nextActiveElements.clear();
+    final int activeCount = activeElements.size();
+    for (int i = 0; i < activeCount; i++) {
+      Element element = activeElements.get(i);
+      if (positions.containsKey(element)) {
+        nextActiveElements.add(element);
+      }
+    }
+    List<Element> swap = activeElements;
+    activeElements = nextActiveElements;
+    nextActiveElements = swap;
+    valid = true;
+  }
+
+  @Nonnull
+  private int[] getCell(final int x, final int y) {
+    if (columns == 0 || x < gridX || y < gridY) {
+      return unbounded;
+    }
+    int column = getColumn(x);
+    int row = getRow(y);
+    if (column >= columns || row >= rows) {
+      return unbounded;
+    }
+    return cells[row * columns + column];
+  }
+
+  private int getColumn(final int x) {
+    return (int) (((long) x - gridX) / cellSize);
+  }
+
+  private int getRow(final int y) {
+    return (int) (((long) y - gridY) / cellSize);
+  }
+}
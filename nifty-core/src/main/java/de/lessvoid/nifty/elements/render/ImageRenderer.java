@@ -16,12 +16,15 @@ public class ImageRenderer implements ElementRenderer {
   @Nullable
   private NiftyImage image;
   private int inset = 0;
+  @Nullable
+  private Element renderedElement;
 
   /**
    * Set Insert.
    */
   public void setInset(final int insetParam) {
     inset = insetParam;
+    invalidateRenderCache();
   }
 
   /**
@@ -32,6 +35,7 @@ public class ImageRenderer implements ElementRenderer {
    */
   @Override
   public final void render(@Nonnull final Element element, @Nonnull final NiftyRenderEngine r) {
+    renderedElement = element;
     if (image != null) {
       r.renderImage(
           image,
@@ -59,5 +63,12 @@ public class ImageRenderer implements ElementRenderer {
    */
   public void setImage(@Nullable final NiftyImage newImage) {
     image = newImage;
+    invalidateRenderCache();
+  }
+
+  private void invalidateRenderCache() {
+    if (renderedElement != null) {
+      renderedElement.invalidateRenderCache();
+    }
   }
 }
@@ -23,6 +23,9 @@ public class PanelRenderer implements ElementRenderer {
   @Nullable
   private Color debugColor;
 
+  @Nullable
+  private Element renderedElement;
+
   /**
    * Default constructor.
    */
@@ -37,6 +40,7 @@ public class PanelRenderer implements ElementRenderer {
    */
   @Override
   public void render(@Nonnull final Element element, @Nonnull final NiftyRenderEngine r) {
+    renderedElement = element;
     if (element.getNifty().isDebugOptionPanelColors()) {
       r.saveStates();
       r.setColor(getDebugColor());
@@ -71,6 +75,9 @@ public class PanelRenderer implements ElementRenderer {
 
   public void setBackgroundColor(@Nullable final Color backgroundColor) {
     this.backgroundColor = backgroundColor;
+    if (renderedElement != null) {
+      renderedElement.invalidateRenderCache();
+    }
   }
 
   @Nullable
@@ -54,6 +54,16 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
    * max width of all text strings.
    */
   private int maxWidth;
+  /**
+   * The widths of the lines that have been rendered last. They are kept as long as the lines and the font don't change
+   * so the lines don't need to be measured again every frame.
+   */
+  @Nullable
+  private int[] lineWidths;
+  @Nullable
+  private String[] lineWidthsLines;
+  @Nullable
+  private RenderFont lineWidthsFont;
 
   /**
    * can't remember what this is :>.
@@ -134,6 +144,13 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
 
   private String originalTextBeforeSpecialValues;
 
+  /*
+   * The element this TextRenderer has been rendered for the last time. Changes of the text or the text attributes
+   * discard the render cache of this element.
+   */
+  @Nullable
+  private Element renderedElement;
+
   /**
    * default constructor.
    */
@@ -188,7 +205,9 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
 
     this.originalText = newText;
     this.textLines = newText.split("\n", -1);
+    invalidateRenderCache();
     if (changeExistingText && hasBeenLayoutedElement != null) {
+      hasBeenLayoutedElement.markLayoutRequired();
       hasBeenLayoutedElement.getParent().layoutElements();
     }
 
@@ -212,6 +231,7 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
    */
   @Override
   public void render(@Nonnull final Element w, @Nonnull final NiftyRenderEngine r) {
+    renderedElement = w;
     if (textLines == null) {
       return;
     }
@@ -227,8 +247,10 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
 
     boolean stateSaved = prepareRenderEngine(r, font);
 
+    int[] widths = getLineWidths(font, lines);
     int y = getStartYWithVerticalAlign(lines.length * font.getHeight(), w.getHeight(), textVAlign);
-    for (String line : lines) {
+    for (int i = 0; i < lines.length; i++) {
+      String line = lines[i];
       int yy = w.getY() + y;
       if (Math.abs(xOffsetHack) > 0) {
         int fittingOffset = FontHelper.getVisibleCharactersFromStart(font, line, Math.abs(xOffsetHack), 1.0f);
@@ -237,7 +259,7 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
         int xx = w.getX() + xOffsetHack + font.getWidth(cut);
         renderLine(xx, yy, substring, r, selectionStart - fittingOffset, selectionEnd - fittingOffset);
       } else {
-        int xx = w.getX() + getStartXWithHorizontalAlign(font.getWidth(line), w.getWidth(), textHAlign);
+        int xx = w.getX() + getStartXWithHorizontalAlign(widths[i], w.getWidth(), textHAlign);
         renderLine(xx, yy, line, r, selectionStart, selectionEnd);
       }
       y += font.getHeight();
@@ -246,6 +268,19 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
     restoreRenderEngine(r, stateSaved);
   }
 
+  @Nonnull
+  private int[] getLineWidths(@Nonnull final RenderFont font, @Nonnull final String[] lines) {
+    if (lineWidths == null || lineWidthsLines != lines || lineWidthsFont != font) {
+      lineWidths = new int[lines.length];
+      for (int i = 0; i < lines.length; i++) {
+        lineWidths[i] = font.getWidth(lines[i]);
+      }
+      lineWidthsLines = lines;
+      lineWidthsFont = font;
+    }
+    return lineWidths;
+  }
+
   private boolean prepareRenderEngine(@Nonnull final NiftyRenderEngine r, RenderFont font) {
     if (!r.isColorChanged()) {
       if (r.isColorAlphaChanged()) {
@@ -385,6 +420,7 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
    */
   public void setxOffsetHack(final int newXoffsetHack) {
     this.xOffsetHack = newXoffsetHack;
+    invalidateRenderCache();
   }
 
   /**
@@ -406,6 +442,7 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
   public void setSelection(final int selectionStartParam, final int selectionEndParam) {
     this.selectionStart = selectionStartParam;
     this.selectionEnd = selectionEndParam;
+    invalidateRenderCache();
   }
 
   /**
@@ -415,6 +452,7 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
    */
   public void setFont(@Nullable final RenderFont fontParam) {
     this.font = fontParam;
+    invalidateRenderCache();
   }
 
   /**
@@ -424,6 +462,7 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
    */
   public void setTextSelectionColor(@Nonnull final Color textSelectionColorParam) {
     this.textSelectionColor = textSelectionColorParam;
+    invalidateRenderCache();
   }
 
   /**
@@ -433,6 +472,7 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
    */
   public void setTextVAlign(@Nonnull final VerticalAlign newTextVAlign) {
     this.textVAlign = newTextVAlign;
+    invalidateRenderCache();
   }
 
   /**
@@ -442,6 +482,7 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
    */
   public void setTextHAlign(@Nonnull final HorizontalAlign newTextHAlign) {
     this.textHAlign = newTextHAlign;
+    invalidateRenderCache();
   }
 
   /**
@@ -451,6 +492,13 @@ public class TextRenderer implements ElementRenderer, EventSubscriber<NiftyLocal
    */
   public void setColor(@Nonnull final Color newColor) {
     this.color = newColor;
+    invalidateRenderCache();
+  }
+
+  private void invalidateRenderCache() {
+    if (renderedElement != null) {
+      renderedElement.invalidateRenderCache();
+    }
   }
 
   /**
@@ -18,6 +18,8 @@ public class MouseInputEventProcessor {
   private boolean lastButtonDown1 = false;
   private boolean lastButtonDown2 = false;
   private boolean hadAnyEvents = false;
+  @Nonnull
+  private final NiftyMouseInputEvent lastMouseDownEvent = new NiftyMouseInputEvent();
 
   public void reset() {
     lastButtonDown0 = false;
@@ -49,10 +51,14 @@ public class MouseInputEventProcessor {
     return !hadAnyEvents && (lastButtonDown0 || lastButtonDown1 || lastButtonDown2);
   }
 
+  /**
+   * Get an event that repeats the last state of the mouse buttons. The same event instance is reused for every call,
+   * so the event must not be kept.
+   */
   @Nonnull
   public NiftyMouseInputEvent getLastMouseDownEvent() {
-    NiftyMouseInputEvent result = new NiftyMouseInputEvent();
-    result.initialize(lastMouseX, lastMouseY, lastMouseWheel, lastButtonDown0, lastButtonDown1, lastButtonDown2);
-    return result;
+    lastMouseDownEvent.initialize(
+        lastMouseX, lastMouseY, lastMouseWheel, lastButtonDown0, lastButtonDown1, lastButtonDown2);
+    return lastMouseDownEvent;
   }
 }
@@ -67,6 +67,12 @@ public class BoxConstraints {
   @Nonnull
   private SizeValue marginBottom;
 
+  /**
+   * Number of times any of the constraint values have been changed to a different value. This is used by the layout
+   * to detect when repeated layout passes don't change the constraints anymore.
+   */
+  private int changeCount;
+
   /**
    * default constructor.
    */
@@ -151,7 +157,7 @@ public class BoxConstraints {
    * @param newX the horizontal position of the box
    */
   public void setX(@Nonnull final SizeValue newX) {
-    this.x = newX;
+    this.x = changed(this.x, newX);
   }
 
   /**
@@ -170,7 +176,7 @@ public class BoxConstraints {
    * @param newY the vertical position of the box
    */
   public void setY(@Nonnull final SizeValue newY) {
-    this.y = newY;
+    this.y = changed(this.y, newY);
   }
 
   /**
@@ -189,7 +195,7 @@ public class BoxConstraints {
    * @param newHeight the new height for the box.
    */
   public void setHeight(@Nonnull final SizeValue newHeight) {
-    this.height = newHeight;
+    this.height = changed(this.height, newHeight);
   }
 
   /**
@@ -208,7 +214,7 @@ public class BoxConstraints {
    * @param newWidth the new width
    */
   public void setWidth(@Nonnull final SizeValue newWidth) {
-    this.width = newWidth;
+    this.width = changed(this.width, newWidth);
   }
 
   /**
@@ -227,7 +233,7 @@ public class BoxConstraints {
    * @param newHorizontalAlign the new horizontal align
    */
   public void setHorizontalAlign(@Nonnull final HorizontalAlign newHorizontalAlign) {
-    this.horizontalAlign = newHorizontalAlign;
+    this.horizontalAlign = changed(this.horizontalAlign, newHorizontalAlign);
   }
 
   /**
@@ -246,7 +252,7 @@ public class BoxConstraints {
    * @param newVerticalAlign the new vertical align
    */
   public void setVerticalAlign(@Nonnull final VerticalAlign newVerticalAlign) {
-    this.verticalAlign = newVerticalAlign;
+    this.verticalAlign = changed(this.verticalAlign, newVerticalAlign);
   }
 
   @Nonnull
@@ -270,36 +276,36 @@ public class BoxConstraints {
   }
 
   public void setPaddingLeft(@Nonnull final SizeValue paddingLeftParam) {
-    paddingLeft = paddingLeftParam;
+    paddingLeft = changed(paddingLeft, paddingLeftParam);
   }
 
   public void setPaddingRight(@Nonnull final SizeValue paddingRightParam) {
-    paddingRight = paddingRightParam;
+    paddingRight = changed(paddingRight, paddingRightParam);
   }
 
   public void setPaddingTop(@Nonnull final SizeValue paddingTopParam) {
-    paddingTop = paddingTopParam;
+    paddingTop = changed(paddingTop, paddingTopParam);
   }
 
   public void setPaddingBottom(@Nonnull final SizeValue paddingBottomParam) {
-    paddingBottom = paddingBottomParam;
+    paddingBottom = changed(paddingBottom, paddingBottomParam);
   }
 
   public void setPadding(@Nonnull final SizeValue topBottomParam, @Nonnull final SizeValue leftRightParam) {
-    paddingLeft = leftRightParam;
-    paddingRight = leftRightParam;
-    paddingTop = topBottomParam;
-    paddingBottom = topBottomParam;
+    paddingLeft = changed(paddingLeft, leftRightParam);
+    paddingRight = changed(paddingRight, leftRightParam);
+    paddingTop = changed(paddingTop, topBottomParam);
+    paddingBottom = changed(paddingBottom, topBottomParam);
   }
 
   public void setPadding(
       @Nonnull final SizeValue topParam,
       @Nonnull final SizeValue leftRightParam,
       @Nonnull final SizeValue bottomParam) {
-    paddingLeft = leftRightParam;
-    paddingRight = leftRightParam;
-    paddingTop = topParam;
-    paddingBottom = bottomParam;
+    paddingLeft = changed(paddingLeft, leftRightParam);
+    paddingRight = changed(paddingRight, leftRightParam);
+    paddingTop = changed(paddingTop, topParam);
+    paddingBottom = changed(paddingBottom, bottomParam);
   }
 
   public void setPadding(
@@ -307,17 +313,17 @@ public class BoxConstraints {
       @Nonnull final SizeValue rightParam,
       @Nonnull final SizeValue bottomParam,
       @Nonnull final SizeValue leftParam) {
-    paddingLeft = leftParam;
-    paddingRight = rightParam;
-    paddingTop = topParam;
-    paddingBottom = bottomParam;
+    paddingLeft = changed(paddingLeft, leftParam);
+    paddingRight = changed(paddingRight, rightParam);
+    paddingTop = changed(paddingTop, topParam);
+    paddingBottom = changed(paddingBottom, bottomParam);
   }
 
   public void setPadding(@Nonnull final SizeValue padding) {
-    paddingLeft = padding;
-    paddingRight = padding;
-    paddingTop = padding;
-    paddingBottom = padding;
+    paddingLeft = changed(paddingLeft, padding);
+    paddingRight = changed(paddingRight, padding);
+    paddingTop = changed(paddingTop, padding);
+    paddingBottom = changed(paddingBottom, padding);
   }
 
   @Nonnull
@@ -341,36 +347,36 @@ public class BoxConstraints {
   }
 
   public void setMarginLeft(@Nonnull final SizeValue marginLeftParam) {
-    marginLeft = marginLeftParam;
+    marginLeft = changed(marginLeft, marginLeftParam);
   }
 
   public void setMarginRight(@Nonnull final SizeValue marginRightParam) {
-    marginRight = marginRightParam;
+    marginRight = changed(marginRight, marginRightParam);
   }
 
   public void setMarginTop(@Nonnull final SizeValue marginTopParam) {
-    marginTop = marginTopParam;
+    marginTop = changed(marginTop, marginTopParam);
   }
 
   public void setMarginBottom(@Nonnull final SizeValue marginBottomParam) {
-    marginBottom = marginBottomParam;
+    marginBottom = changed(marginBottom, marginBottomParam);
   }
 
   public void setMargin(@Nonnull final SizeValue topBottomParam, @Nonnull final SizeValue leftRightParam) {
-    marginLeft = leftRightParam;
-    marginRight = leftRightParam;
-    marginTop = topBottomParam;
-    marginBottom = topBottomParam;
+    marginLeft = changed(marginLeft, leftRightParam);
+    marginRight = changed(marginRight, leftRightParam);
+    marginTop = changed(marginTop, topBottomParam);
+    marginBottom = changed(marginBottom, topBottomParam);
   }
 
   public void setMargin(
       @Nonnull final SizeValue topParam,
       @Nonnull final SizeValue leftRightParam,
       @Nonnull final SizeValue bottomParam) {
-    marginLeft = leftRightParam;
-    marginRight = leftRightParam;
-    marginTop = topParam;
-    marginBottom = bottomParam;
+    marginLeft = changed(marginLeft, leftRightParam);
+    marginRight = changed(marginRight, leftRightParam);
+    marginTop = changed(marginTop, topParam);
+    marginBottom = changed(marginBottom, bottomParam);
   }
 
   public void setMargin(
@@ -378,16 +384,33 @@ public class BoxConstraints {
       @Nonnull final SizeValue rightParam,
       @Nonnull final SizeValue bottomParam,
       @Nonnull final SizeValue leftParam) {
-    marginLeft = leftParam;
-    marginRight = rightParam;
-    marginTop = topParam;
-    marginBottom = bottomParam;
+    marginLeft = changed(marginLeft, leftParam);
+    marginRight = changed(marginRight, rightParam);
+    marginTop = changed(marginTop, topParam);
+    marginBottom = changed(marginBottom, bottomParam);
   }
 
   public void setMargin(@Nonnull final SizeValue margin) {
-    marginLeft = margin;
-    marginRight = margin;
-    marginTop = margin;
-    marginBottom = margin;
+    marginLeft = changed(marginLeft, margin);
+    marginRight = changed(marginRight, margin);
+    marginTop = changed(marginTop, margin);
+    marginBottom = changed(marginBottom, margin);
+  }
+
+  /**
+   * Get the number of times any of the constraints has been changed to a different value.
+   *
+   * @return the change count
+   */
+  public int getChangeCount() {
+    return changeCount;
+  }
+
+  @Nonnull
+  private <T> T changed(@Nonnull final T oldValue, @Nonnull final T newValue) {
+    if (!oldValue.equals(newValue)) {
+      changeCount++;
+    }
+    return newValue;
   }
 }
@@ -0,0 +1,62 @@
+package de.lessvoid.nifty.loaderv2;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectStreamClass;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * The ObjectInputStream used to read compiled Nifty files. A compiled file only contains the loader types, so every
+ * other class is refused before it's loaded. This keeps a manipulated file from creating instances of arbitrary
+ * serializable classes on the class path.
+ */
+class CompiledNiftyInputStream extends ObjectInputStream {
+  @Nonnull
+  private static final String TYPES_PACKAGE = "de.lessvoid.nifty.loaderv2.types.";
+
+  @Nonnull
+  private static final Set<String> ALLOWED_CLASSES = Collections.unmodifiableSet(new HashSet<String>(Arrays.asList(
+      "de.lessvoid.xml.xpp3.Attributes",
+      "de.lessvoid.nifty.effects.EffectEventId",
+      "java.lang.Boolean",
+      "java.lang.Enum",
+      "java.lang.Integer",
+      "java.lang.Number",
+      "java.lang.String",
+      "java.util.ArrayList",
+      "java.util.HashMap",
+      "java.util.HashSet",
+      "java.util.LinkedHashMap",
+      "java.util.LinkedHashSet",
+      "java.util.LinkedList")));
+
+  CompiledNiftyInputStream(@Nonnull final InputStream in) throws IOException {
+    super(in);
+  }
+
+  @Override
+  protected Class<?> resolveClass(@Nonnull final ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+    String name = desc.getName();
+    if (!isAllowed(name)) {
+      throw new InvalidClassException(name, "Class is not allowed in a compiled Nifty file");
+    }
+    return super.resolveClass(desc);
+  }
+
+  private static boolean isAllowed(@Nonnull final String name) {
+    if (name.startsWith(TYPES_PACKAGE)) {
+      return true;
+    }
+    if (ALLOWED_CLASSES.contains(name)) {
+      return true;
+    }
+    // arrays of primitives, e.g. "[B"
+    return name.length() == 2 && name.charAt(0) == '[';
+  }
+}
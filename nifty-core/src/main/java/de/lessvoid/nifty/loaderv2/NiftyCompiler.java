@@ -0,0 +1,56 @@
+package de.lessvoid.nifty.loaderv2;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.loaderv2.types.NiftyType;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
+
+import javax.annotation.Nonnull;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Command line tool that compiles Nifty XML files into the binary format that is read by
+ * {@link NiftyLoader#loadCompiledNifty(InputStream)}. Loading a compiled file with
+ * {@link Nifty#fromXml(String, String)} skips the XML parsing as well as the style and control file loading.
+ * <p/>
+ * Usage: {@code NiftyCompiler <input.xml> <output.nxb>}. The input file is located the same way Nifty locates its
+ * resources, so it can be a file on the class path as well. The compiled file needs to be created again every time
+ * the XML file or the Nifty version changes.
+ */
+public class NiftyCompiler {
+  @Nonnull
+  private final Nifty nifty;
+
+  public NiftyCompiler() {
+    nifty = new Nifty(new NullRenderDevice(), new NullSoundDevice(), new NullInputSystem(), new AccurateTimeProvider());
+  }
+
+  /**
+   * Compile the given XML file.
+   *
+   * @param xmlFilename the XML file to read
+   * @param outputFilename the name of the compiled file to write
+   * @throws Exception in case reading the XML file or writing the compiled file fails
+   */
+  public void compile(@Nonnull final String xmlFilename, @Nonnull final String outputFilename) throws Exception {
+    InputStream stream = nifty.getResourceAsStream(xmlFilename);
+    if (stream == null) {
+      throw new IOException("Failed to open stream to resource \"" + xmlFilename + "\" for loading.");
+    }
+    NiftyLoader loader = nifty.getLoader();
+    NiftyType niftyType = loader.loadNiftyXml("nifty.nxs", stream);
+    loader.writeCompiledNifty(niftyType, new FileOutputStream(outputFilename));
+  }
+
+  public static void main(@Nonnull final String[] args) throws Exception {
+    if (args.length != 2) {
+      System.err.println("usage: NiftyCompiler <input.xml> <output" + NiftyLoader.COMPILED_FILE_EXTENSION + ">");
+      System.exit(1);
+    }
+    new NiftyCompiler().compile(args[0], args[1]);
+  }
+}
@@ -21,16 +21,35 @@ import javax.xml.transform.Source;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamSource;
 import javax.xml.validation.SchemaFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
  * This is the Nifty-Loader that is supposed to take care of loading all the XML definitions used by the Nifty-GUI.
  * Its able to read the definition and style data from XML files and apply it to its parent Nifty-GUI instance.
+ * <p/>
+ * Besides the XML files the loader is able to read the compiled binary format written by
+ * {@link #writeCompiledNifty(NiftyType, OutputStream)}. A compiled file contains the complete NiftyType including all
+ * the styles and controls it uses. Loading it requires no XML parsing and no schema processing at all.
  *
  * @author void
  * @author Martin Karing &lt;nitram@illarion.org&gt;
@@ -42,6 +61,23 @@ public class NiftyLoader {
   @Nonnull
   private static final Logger log = Logger.getLogger(NiftyLoader.class.getName());
 
+  /**
+   * The file extension of compiled Nifty files.
+   */
+  @Nonnull
+  public static final String COMPILED_FILE_EXTENSION = ".nxb";
+
+  /**
+   * The magic number every compiled Nifty file starts with ("NXB" and a zero byte).
+   */
+  private static final int COMPILED_MAGIC = 0x4e584200;
+
+  /**
+   * The version of the compiled format. This needs to be increased every time the loader types change in a way that
+   * is not compatible with compiled files written before.
+   */
+  private static final int COMPILED_VERSION = 1;
+
   /**
    * The schema files that are known to the loader.
    */
@@ -66,6 +102,13 @@ public class NiftyLoader {
   @Nonnull
   private final XmlPullParserFactory parserFactory;
 
+  /**
+   * The executor that runs the background loading tasks. It's created when the first file is loaded in the
+   * background.
+   */
+  @Nullable
+  private ExecutorService executor;
+
   /**
    * Create a new instance of the Nifty-Loader.
    *
@@ -73,7 +116,7 @@ public class NiftyLoader {
    * @param timeProvider the time provider that is used to measure the performance
    */
   public NiftyLoader(@Nonnull final Nifty nifty, @Nonnull final TimeProvider timeProvider) {
-    schemes = new HashMap<String, Schema>();
+    schemes = new ConcurrentHashMap<String, Schema>();
     try {
       parserFactory = XmlPullParserFactory.newInstance();
     } catch (XmlPullParserException e) {
@@ -102,7 +145,7 @@ public class NiftyLoader {
       long start = timeProvider.getMsTime();
       log.fine("loading new nifty xml file with schemaId [" + schemaId + "]");
 
-      XmlParser parser = new XmlParser(parserFactory.newPullParser());
+      XmlParser parser = createXmlParser();
       parser.read(inputStreamXml);
 
       NiftyType niftyType = (NiftyType) getSchema(schemaId).loadXml(parser);
@@ -118,6 +161,145 @@ public class NiftyLoader {
     }
   }
 
+  /**
+   * Load a Nifty file. Depending on the file name this is either a XML file or a compiled Nifty file.
+   *
+   * @param filename the name of the resource to load
+   * @return the NiftyType that was load from the file
+   * @throws Exception in case the loading fails at any point
+   */
+  @Nonnull
+  public NiftyType loadNifty(@Nonnull final String filename) throws Exception {
+    InputStream stream = nifty.getResourceAsStream(filename);
+    if (stream == null) {
+      throw new IOException("Failed to open stream to resource \"" + filename + "\" for loading.");
+    }
+    if (isCompiledNifty(filename)) {
+      return loadCompiledNifty(stream);
+    }
+    return loadNiftyXml("nifty.nxs", stream);
+  }
+
+  /**
+   * Load a Nifty file in the background. This does the same work as {@link #loadNifty(String)} including loading all
+   * the style and control files on a pool of worker threads. Multiple files can be loaded at the same time this way.
+   * <p/>
+   * The returned NiftyType is not created yet. Creating it requires the render thread, so hand the result to
+   * {@link Nifty#addXml(Future)} or {@link Nifty#fromXml(String, Future, String)} once the file is required.
+   *
+   * @param filename the name of the resource to load
+   * @return the future that will contain the loaded NiftyType
+   */
+  @Nonnull
+  public Future<NiftyType> loadNiftyAsync(@Nonnull final String filename) {
+    return getExecutor().submit(new Callable<NiftyType>() {
+      @Override
+      public NiftyType call() throws Exception {
+        return loadNifty(filename);
+      }
+    });
+  }
+
+  /**
+   * Stop the worker threads that are used by {@link #loadNiftyAsync(String)}. Files that are already queued are still
+   * loaded. Loading another file in the background afterwards will start new worker threads.
+   */
+  public synchronized void shutdown() {
+    if (executor != null) {
+      executor.shutdown();
+      executor = null;
+    }
+  }
+
+  @Nonnull
+  private synchronized ExecutorService getExecutor() {
+    if (executor == null) {
+      final AtomicInteger threadCount = new AtomicInteger();
+      executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+        @Nonnull
+        @Override
+        public Thread newThread(@Nonnull final Runnable runnable) {
+          Thread thread = new Thread(runnable, "nifty-loader-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    return executor;
+  }
+
+  /**
+   * Load a compiled Nifty file. This is the binary counterpart of {@link #loadNiftyXml(String, InputStream)} and
+   * returns the same NiftyType the XML file it has been compiled from would return.
+   *
+   * @param inputStreamCompiled the input stream of the compiled file, this stream <b>will be closed</b> by this
+   *                            function
+   * @return the NiftyType that was stored in the compiled file
+   * @throws Exception in case the loading fails at any point
+   */
+  @Nonnull
+  public NiftyType loadCompiledNifty(@Nonnull @WillClose final InputStream inputStreamCompiled) throws Exception {
+    try {
+      long start = timeProvider.getMsTime();
+
+      DataInputStream header = new DataInputStream(inputStreamCompiled);
+      if (header.readInt() != COMPILED_MAGIC) {
+        throw new IOException("Not a compiled Nifty file");
+      }
+      int version = header.readInt();
+      if (version != COMPILED_VERSION) {
+        throw new IOException("Unsupported version [" + version + "] of the compiled Nifty file. Expected version [" +
+            COMPILED_VERSION + "]. Please compile the file again.");
+      }
+      ObjectInputStream in = new CompiledNiftyInputStream(new BufferedInputStream(new InflaterInputStream(header)));
+      NiftyType niftyType = (NiftyType) in.readObject();
+
+      long end = timeProvider.getMsTime();
+      log.fine("loaded compiled nifty file took [" + (end - start) + " ms]");
+
+      return niftyType;
+    } finally {
+      closeSilently(inputStreamCompiled);
+    }
+  }
+
+  /**
+   * Write the given NiftyType in the compiled binary format. The NiftyType needs to be freshly loaded with
+   * {@link #loadNiftyXml(String, InputStream)} and must not have been created yet.
+   *
+   * @param niftyType    the NiftyType to write
+   * @param outputStream the stream to write to, this stream <b>will be closed</b> by this function
+   * @throws IOException in case writing fails
+   */
+  public void writeCompiledNifty(
+      @Nonnull final NiftyType niftyType,
+      @Nonnull @WillClose final OutputStream outputStream) throws IOException {
+    try {
+      DataOutputStream header = new DataOutputStream(outputStream);
+      header.writeInt(COMPILED_MAGIC);
+      header.writeInt(COMPILED_VERSION);
+      header.flush();
+
+      DeflaterOutputStream deflater = new DeflaterOutputStream(outputStream);
+      ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(deflater));
+      out.writeObject(niftyType);
+      out.flush();
+      deflater.finish();
+    } finally {
+      closeSilently(outputStream);
+    }
+  }
+
+  /**
+   * Check if the given file name refers to a compiled Nifty file.
+   *
+   * @param filename the file name to check
+   * @return {@code true} in case the file should be loaded with {@link #loadCompiledNifty(InputStream)}
+   */
+  public static boolean isCompiledNifty(@Nonnull final String filename) {
+    return filename.endsWith(COMPILED_FILE_EXTENSION);
+  }
+
   @Deprecated
   public boolean validateNiftyXml(@Nonnull @WillClose final InputStream inputStreamXml) throws Exception {
     return validateNiftyXml("nifty.xsd", inputStreamXml);
@@ -167,7 +349,7 @@ public class NiftyLoader {
       @Nonnull final Nifty nifty) throws Exception {
     log.fine("loading new nifty style xml file [" + styleFilename + "] with schemaId [" + schemaId + "]");
 
-    XmlParser parser = new XmlParser(parserFactory.newPullParser());
+    XmlParser parser = createXmlParser();
     InputStream stream = null;
     try {
       stream = nifty.getResourceAsStream(styleFilename);
@@ -176,7 +358,7 @@ public class NiftyLoader {
       }
       parser.read(stream);
       NiftyStylesType niftyStylesType = (NiftyStylesType) getSchema(schemaId).loadXml(parser);
-      niftyStylesType.loadStyles(this, niftyType, nifty, log);
+      niftyStylesType.loadStyles(this, niftyType, nifty);
     } finally {
       closeSilently(stream);
     }
@@ -188,7 +370,7 @@ public class NiftyLoader {
       @Nonnull final NiftyType niftyType) throws Exception {
     log.fine("loading new nifty controls xml file [" + controlFilename + "] with schemaId [" + schemaId + "]");
 
-    XmlParser parser = new XmlParser(parserFactory.newPullParser());
+    XmlParser parser = createXmlParser();
     InputStream stream = null;
     try {
       stream = nifty.getResourceAsStream(controlFilename);
@@ -208,7 +390,7 @@ public class NiftyLoader {
       @Nonnull @WillClose final InputStream inputStreamSchema) throws Exception {
     try {
       Schema niftyXmlSchema = new Schema(parserFactory, nifty.getResourceLoader());
-      XmlParser parser = new XmlParser(parserFactory.newPullParser());
+      XmlParser parser = createXmlParser();
       parser.read(inputStreamSchema);
       parser.nextTag();
       parser.required("nxs", niftyXmlSchema);
@@ -218,6 +400,17 @@ public class NiftyLoader {
     }
   }
 
+  /**
+   * Create a new XML parser. The parser factory is shared by all the threads that load files, so access to it is
+   * synchronized.
+   */
+  @Nonnull
+  private XmlParser createXmlParser() throws XmlPullParserException {
+    synchronized (parserFactory) {
+      return new XmlParser(parserFactory.newPullParser());
+    }
+  }
+
   @Nonnull
   private Schema getSchema(@Nonnull final String schemaId) throws Exception {
     Schema niftyXmlSchema = schemes.get(schemaId);
@@ -6,6 +6,8 @@ import de.lessvoid.xml.xpp3.Attributes;
 import javax.annotation.Nonnull;
 
 public class AttributesType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
+
   public AttributesType() {
   }
 
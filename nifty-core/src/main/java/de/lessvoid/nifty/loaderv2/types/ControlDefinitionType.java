@@ -7,6 +7,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public class ControlDefinitionType extends ElementType {
+  private static final long serialVersionUID = 1L;
+
   public ControlDefinitionType() {
     super();
   }
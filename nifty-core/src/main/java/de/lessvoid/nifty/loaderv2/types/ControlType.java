@@ -12,6 +12,7 @@ import java.util.logging.Logger;
 import java.util.regex.Pattern;
 
 public class ControlType extends ElementType {
+  private static final long serialVersionUID = 1L;
   private static final Logger log = Logger.getLogger(ControlType.class.getName());
 
   public ControlType() {
@@ -182,6 +183,7 @@ public class ControlType extends ElementType {
     }
     for (ElementType element : elementType.elements) {
       if (childRootId.equals(element.getAttributes().get("id"))) {
+        element.modified();
         element.elements.clear();
         element.elements.addAll(children);
         return true;
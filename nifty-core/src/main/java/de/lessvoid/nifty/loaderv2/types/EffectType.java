@@ -18,6 +18,7 @@ import java.util.List;
 import java.util.logging.Logger;
 
 public class EffectType extends XmlBaseType implements Cloneable {
+  private static final long serialVersionUID = 1L;
   private static final Logger logger = Logger.getLogger(EffectType.class.getName());
 
   private static final boolean DEFAULT_INHERIT = false;
@@ -190,10 +191,12 @@ public class EffectType extends XmlBaseType implements Cloneable {
   }
 
   public void addValue(@Nonnull final EffectValueType elementValueType) {
+    modified();
     effectValues.add(elementValueType);
   }
 
   public void addValues(@Nonnull final Collection<EffectValueType> effectValueTypes) {
+    modified();
     effectValues.addAll(effectValueTypes);
   }
 
@@ -212,6 +215,7 @@ public class EffectType extends XmlBaseType implements Cloneable {
   }
 
   public void setStyleId(@Nullable final String styleId) {
+    modified();
     this.styleId = styleId;
   }
 
@@ -10,6 +10,8 @@ import de.lessvoid.xml.xpp3.Attributes;
 import javax.annotation.Nonnull;
 
 public class EffectTypeOnHover extends EffectType {
+  private static final long serialVersionUID = 1L;
+
   @Nonnull
   private HoverType hoverType;
 
@@ -45,6 +47,11 @@ public class EffectTypeOnHover extends EffectType {
     hoverType = hoverAttributes.create();
   }
 
+  @Nonnull
+  HoverType getHoverType() {
+    return hoverType;
+  }
+
   /**
    * This supports creating CustomControlCreator.
    *
@@ -13,6 +13,9 @@ import de.lessvoid.xml.xpp3.Attributes;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
@@ -25,27 +28,55 @@ import java.util.List;
  * @author Martin Karing &lt;nitram@illarion.org&gt;
  */
 public class EffectsType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
+
+  // the storage is not serializable, writeObject() and readObject() take care of the effects instead
   @Nonnull
-  private final EnumStorage<EffectEventId, Collection<EffectType>> effects;
+  private transient EnumStorage<EffectEventId, Collection<EffectType>> effects;
 
   public EffectsType() {
-    effects = new EnumStorage<EffectEventId, Collection<EffectType>>(
-        EffectEventId.class, CollectionFactory.<EffectType>getArrayListInstance());
+    effects = createEffectStorage();
   }
 
   public EffectsType(@Nonnull final EffectsType src) {
     super(src);
-    effects = new EnumStorage<EffectEventId, Collection<EffectType>>(
-        EffectEventId.class, CollectionFactory.<EffectType>getArrayListInstance());
+    effects = createEffectStorage();
     copyEffects(src);
   }
 
   public EffectsType(@Nonnull Attributes attributes) {
     super(attributes);
-    effects = new EnumStorage<EffectEventId, Collection<EffectType>>(
+    effects = createEffectStorage();
+  }
+
+  @Nonnull
+  private static EnumStorage<EffectEventId, Collection<EffectType>> createEffectStorage() {
+    return new EnumStorage<EffectEventId, Collection<EffectType>>(
         EffectEventId.class, CollectionFactory.<EffectType>getArrayListInstance());
   }
 
+  private void writeObject(@Nonnull final ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    for (final EffectEventId event : EffectEventId.values()) {
+      if (effects.isSet(event)) {
+        out.writeObject(event);
+        out.writeObject(effects.get(event));
+      }
+    }
+    out.writeObject(null);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(@Nonnull final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    effects = createEffectStorage();
+    EffectEventId event = (EffectEventId) in.readObject();
+    while (event != null) {
+      effects.get(event).addAll((Collection<EffectType>) in.readObject());
+      event = (EffectEventId) in.readObject();
+    }
+  }
+
   public void mergeFromEffectsType(@Nonnull final EffectsType src) {
     mergeFromAttributes(src.getAttributes());
     mergeEffects(src);
@@ -60,6 +91,7 @@ public class EffectsType extends XmlBaseType {
   }
 
   private void mergeEffects(@Nonnull final EffectsType src) {
+    modified();
     for (final EffectEventId event : EffectEventId.values()) {
       if (src.effects.isSet(event)) {
         mergeCollection(effects.get(event), src.effects.get(event));
@@ -108,7 +140,25 @@ public class EffectsType extends XmlBaseType {
     }
   }
 
+  /**
+   * Check if there are neither attributes nor any effects set.
+   *
+   * @return true when this EffectsType is empty
+   */
+  public boolean isEmpty() {
+    if (!getAttributes().getAttributes().isEmpty()) {
+      return false;
+    }
+    for (final EffectEventId event : EffectEventId.values()) {
+      if (effects.isSet(event) && !effects.get(event).isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public void addEventEffect(@Nonnull final EffectEventId eventId, @Nonnull final EffectType effectParam) {
+    modified();
     effects.get(eventId).add(effectParam);
   }
 
@@ -239,6 +289,7 @@ public class EffectsType extends XmlBaseType {
   }
 
   public void apply(@Nonnull final EffectsType dstEffectType, @Nullable final String styleId) {
+    dstEffectType.modified();
     for (EffectEventId id : EffectEventId.values()) {
       if (effects.isSet(id)) {
         applyEffectCollection(effects.get(id), dstEffectType.effects.get(id), styleId);
@@ -276,6 +327,7 @@ public class EffectsType extends XmlBaseType {
   }
 
   public void removeWithTag(@Nonnull final String styleId) {
+    modified();
     getAttributes().removeWithTag(styleId);
     for (EffectEventId id : EffectEventId.values()) {
       if (effects.isSet(id)) {
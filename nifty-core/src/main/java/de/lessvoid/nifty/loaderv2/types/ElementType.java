@@ -25,10 +25,12 @@ import javax.annotation.Nullable;
 import java.util.*;
 
 public class ElementType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
+
   @Nullable
   protected String tagName;
   @Nullable
-  protected ElementRendererCreator elementRendererCreator;
+  protected transient ElementRendererCreator elementRendererCreator;
   @Nonnull
   protected InteractType interact = new InteractType();
   @Nonnull
@@ -38,7 +40,10 @@ public class ElementType extends XmlBaseType {
   @Nonnull
   protected Deque<Object> controllers = new LinkedList<Object>();
   @Nullable
-  protected Controller controller;
+  protected transient Controller controller;
+  // everything the preparation of this type depends on, kept by the PreparedElementTypeCache
+  @Nullable
+  private transient PreparedElementTypeCache.Structure preparedStructure;
 
   public ElementType() {
     super();
@@ -67,6 +72,7 @@ public class ElementType extends XmlBaseType {
   }
 
   void copyElements(@Nonnull final ElementType src) {
+    modified();
     elements.clear();
     for (ElementType element : src.elements) {
       elements.add(element.copy());
@@ -78,6 +84,15 @@ public class ElementType extends XmlBaseType {
     return new ElementType(this);
   }
 
+  @Nullable
+  PreparedElementTypeCache.Structure getPreparedStructure() {
+    return preparedStructure;
+  }
+
+  void setPreparedStructure(@Nullable final PreparedElementTypeCache.Structure structure) {
+    preparedStructure = structure;
+  }
+
   void setElementRendererCreator(@Nullable final ElementRendererCreator elementRendererCreatorParam) {
     elementRendererCreator = elementRendererCreatorParam;
   }
@@ -101,34 +116,42 @@ public class ElementType extends XmlBaseType {
   }
 
   public void addElementType(@Nonnull final ElementType type) {
+    modified();
     elements.add(type);
   }
 
   public void addPanel(@Nonnull final ElementType panel) {
+    modified();
     elements.add(panel);
   }
 
   public void addImage(@Nonnull final ElementType image) {
+    modified();
     elements.add(image);
   }
 
   public void addLabel(@Nonnull final ElementType label) {
+    modified();
     elements.add(label);
   }
 
   public void addText(@Nonnull final ElementType text) {
+    modified();
     elements.add(text);
   }
 
   public void addControl(@Nonnull final ElementType text) {
+    modified();
     elements.add(text);
   }
 
   public void setInteract(@Nonnull final InteractType interactParam) {
+    modified();
     interact = interactParam;
   }
 
   public void setEffect(@Nonnull final EffectsType effectsParam) {
+    modified();
     effects = effectsParam;
   }
 
@@ -178,20 +201,43 @@ public class ElementType extends XmlBaseType {
     if (renderer == null) {
       renderer = new ElementRenderer[0];
     }
-    Element element = new Element(
-        nifty,
-        this,
-        attrib.get("id"),
-        parent,
-        layoutPart,
-        screen.getFocusHandler(),
-        false,
-        nifty.getTimeProvider(),
-        renderer);
+    Object recycleKey = getRecycleKey();
+    Element element = null;
+    if (recycleKey != null && screen.isElementRecycling()) {
+      element = screen.getElementPool().obtain(recycleKey, this, attrib.get("id"), parent, layoutPart, renderer);
+    }
+    if (element == null) {
+      element = new Element(
+          nifty,
+          this,
+          attrib.get("id"),
+          parent,
+          layoutPart,
+          screen.getFocusHandler(),
+          false,
+          nifty.getTimeProvider(),
+          renderer);
+      if (recycleKey != null) {
+        screen.getElementPool().markRecyclable(element, recycleKey);
+      }
+    }
     parent.insertChild(element, index);
     return element;
   }
 
+  /**
+   * Only elements without children and without a controller can be recycled. Everything else about them is set up
+   * again from the ElementType when they are reused, so elements of the same type class are interchangeable. Layers
+   * and popups are managed by the screen and are never recycled.
+   */
+  @Nullable
+  private Object getRecycleKey() {
+    if (!elements.isEmpty() || controller != null || this instanceof LayerType || this instanceof PopupType) {
+      return null;
+    }
+    return getClass();
+  }
+
   private void applyStandard(
       @Nonnull final Nifty nifty,
       @Nonnull final Screen screen,
@@ -320,6 +366,19 @@ public class ElementType extends XmlBaseType {
       @Nonnull final Nifty nifty,
       @Nullable final Screen screen,
       @Nonnull final ElementType rootElementType) {
+    prepareStructure(nifty, screen, rootElementType);
+    prepareInstance(nifty, screen);
+  }
+
+  /**
+   * The part of {@link #prepare(Nifty, Screen, ElementType)} that only depends on the registered control definitions
+   * and styles. The result can be copied and finished with {@link #prepareInstance(Nifty, Screen)} as often as
+   * necessary.
+   */
+  void prepareStructure(
+      @Nonnull final Nifty nifty,
+      @Nullable final Screen screen,
+      @Nonnull final ElementType rootElementType) {
     translateSpecialValues(nifty, screen);
     makeFlat();
     applyControls(nifty);
@@ -332,7 +391,12 @@ public class ElementType extends XmlBaseType {
     resolveParameters(rootElementType.getAttributes());
 
     makeFlatControls();
+  }
 
+  /**
+   * The part of {@link #prepare(Nifty, Screen, ElementType)} that needs to be done for every element created.
+   */
+  void prepareInstance(@Nonnull final Nifty nifty, @Nullable final Screen screen) {
     // in case we have surviving special values (f.i. from applied controlDefinitions) we need to translate them too
     translateSpecialValues(nifty, screen);
 
@@ -7,6 +7,8 @@ import de.lessvoid.xml.xpp3.Attributes;
 import javax.annotation.Nonnull;
 
 public class HoverType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
+
   public HoverType(@Nonnull final HoverType hoverType) {
     super(hoverType);
   }
@@ -10,6 +10,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public class ImageType extends ElementType {
+  private static final long serialVersionUID = 1L;
+
   public ImageType() {
     super();
   }
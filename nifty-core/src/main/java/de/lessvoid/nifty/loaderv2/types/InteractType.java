@@ -11,6 +11,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public class InteractType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
+
   public InteractType() {
     super();
   }
@@ -8,6 +8,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 
 public class NiftyControlsType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
+
   @Nonnull
   private final Collection<ControlDefinitionType> controlDefinitions = new ArrayList<ControlDefinitionType>();
   @Nonnull
@@ -7,9 +7,10 @@ import de.lessvoid.nifty.loaderv2.types.helper.CollectionLogger;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.logging.Logger;
 
 public class NiftyStylesType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
+
   @Nonnull
   private final Collection<RegisterMouseCursorType> registeredMouseCursor = new ArrayList<RegisterMouseCursorType>();
   @Nonnull
@@ -40,14 +41,16 @@ public class NiftyStylesType extends XmlBaseType {
       registeredEffect.add(newEffect);
   }
   
+  /**
+   * Add the content of this style file to the NiftyType. Nothing is registered with Nifty here. The mouse cursors are
+   * registered once the NiftyType is created. This way style files can be loaded on any thread.
+   */
   public void loadStyles(
       @Nonnull final NiftyLoader niftyLoader,
       @Nonnull final NiftyType niftyType,
-      @Nonnull final Nifty nifty,
-      @Nonnull final Logger log) throws Exception {
+      @Nonnull final Nifty nifty) throws Exception {
     for (RegisterMouseCursorType registerMouseCursorType : registeredMouseCursor) {
-      registerMouseCursorType.translateSpecialValues(nifty, null);
-      registerMouseCursorType.materialize(nifty, log);
+      niftyType.addRegisterMouseCursor(registerMouseCursorType);
     }
     for (UseStylesType useStyle : useStyles) {
       useStyle.loadStyle(niftyLoader, niftyType, nifty);
@@ -12,6 +12,7 @@ import java.util.Collection;
 import java.util.logging.Logger;
 
 public class NiftyType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
   private static final Logger log = Logger.getLogger(NiftyType.class.getName());
 
   @Nonnull
@@ -8,6 +8,8 @@ import de.lessvoid.xml.xpp3.Attributes;
 import javax.annotation.Nonnull;
 
 public class PopupType extends ElementType {
+  private static final long serialVersionUID = 1L;
+
   public PopupType() {
     super();
   }
@@ -0,0 +1,420 @@
+package de.lessvoid.nifty.loaderv2.types;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.effects.EffectEventId;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.xml.xpp3.Attributes;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cache of prepared ElementTypes that are used when elements are created dynamically. Preparing an ElementType
+ * applies the control definitions and the styles, resolves the parameters and flattens the control tree. For types
+ * without special values the result only depends on the attributes, the interact methods, the effects and the child
+ * elements of the type and the screen it's prepared for. Such types are prepared only once and every element created
+ * from them starts with a copy of the prepared prototype. Only the id, the special values and the controllers are
+ * resolved for each copy.
+ * <p/>
+ * The id of the type is not part of the prototype. It's prepared with a placeholder id instead that is replaced with
+ * the real id in the copy, in the id of the type itself as well as in the ids of the children that start with it. So
+ * elements that only differ in their ids, like the items of list and tree boxes, share the same prototype.
+ * <p/>
+ * Everything the preparation depends on is collected only once for each source type and kept with the type. It's
+ * collected again when the modification counts show that the type, one of the types below it or their attributes have
+ * been changed. So a type that is used as template for many elements is looked up with a single map access.
+ * <p/>
+ * All other types are prepared as usual. The cache needs to be cleared whenever a style or a control definition is
+ * registered since this changes the result of the preparation.
+ */
+public class PreparedElementTypeCache {
+  private static final int DEFAULT_CAPACITY = 64;
+  // a single id part that doesn't match any part of a real id
+  @Nonnull
+  private static final String PROTOTYPE_ID = "\u00a7prototype\u00a7";
+
+  private final int capacity;
+  @Nonnull
+  private final LinkedHashMap<Key, Prototype> prototypes;
+  private long hitCount;
+  private long missCount;
+
+  public PreparedElementTypeCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  public PreparedElementTypeCache(final int capacity) {
+    this.capacity = capacity;
+    this.prototypes = new LinkedHashMap<Key, Prototype>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Key, Prototype> eldest) {
+        return size() > PreparedElementTypeCache.this.capacity;
+      }
+    };
+  }
+
+  /**
+   * Get a prepared copy of the given type. The given type itself is not changed.
+   *
+   * @param nifty  the Nifty instance
+   * @param screen the screen the element will be created for
+   * @param type   the type to prepare
+   * @return a new prepared ElementType ready to create an element from
+   */
+  @Nonnull
+  public ElementType prepare(@Nonnull final Nifty nifty, @Nonnull final Screen screen, @Nonnull final ElementType type) {
+    return prepare(nifty, screen, type, type.getAttributes().get("id"));
+  }
+
+  /**
+   * Get a prepared copy of the given type with another id. The id replaces the id of the type and the start of the
+   * ids of the children that begin with it. The given type itself is not changed, so it can be used as a template for
+   * many elements without copying it first.
+   *
+   * @param nifty  the Nifty instance
+   * @param screen the screen the element will be created for
+   * @param type   the type to prepare
+   * @param id     the id of the prepared type
+   * @return a new prepared ElementType ready to create an element from
+   */
+  @Nonnull
+  public ElementType prepare(
+      @Nonnull final Nifty nifty,
+      @Nonnull final Screen screen,
+      @Nonnull final ElementType type,
+      @Nullable final String id) {
+    ElementType rootElementType = screen.getRootElement().getElementType();
+    String typeId = type.getAttributes().get("id");
+    Prototype prototype = null;
+    // ids starting with # are not resolved yet and the placeholder could be mistaken for a part of the child ids
+    if ((typeId == null) == (id == null) && (id == null || !id.startsWith("#"))) {
+      Structure structure = getStructure(type, typeId);
+      if (structure.parts != null) {
+        Key key = new Key(screen, structure);
+        prototype = prototypes.get(key);
+        if (prototype == null) {
+          missCount++;
+          ElementType prototypeType = type.copy();
+          if (typeId != null) {
+            replaceId(prototypeType, typeId, PROTOTYPE_ID);
+          }
+          prototypeType.prepareStructure(nifty, screen, rootElementType);
+          prototype = new Prototype(prototypeType);
+          prototypes.put(key, prototype);
+        } else {
+          hitCount++;
+        }
+        if (!prototype.canUseId(id)) {
+          prototype = null;
+        }
+      }
+    }
+
+    if (prototype == null) {
+      ElementType result = type.copy();
+      if (id != null && !id.equals(typeId)) {
+        if (typeId != null) {
+          replaceId(result, typeId, id);
+        } else {
+          result.getAttributes().set("id", id);
+        }
+      }
+      result.prepare(nifty, screen, rootElementType);
+      return result;
+    }
+    ElementType result = prototype.type.copy();
+    if (id != null) {
+      replaceId(result, PROTOTYPE_ID, id);
+    }
+    result.prepareInstance(nifty, screen);
+    return result;
+  }
+
+  /**
+   * Remove all prepared prototypes.
+   */
+  public void clear() {
+    prototypes.clear();
+  }
+
+  /**
+   * Get the number of types that have been prepared by copying a cached prototype.
+   */
+  public long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * Get the number of types a new prototype has been prepared for.
+   */
+  public long getMissCount() {
+    return missCount;
+  }
+
+  int size() {
+    return prototypes.size();
+  }
+
+  // replaces the id of the type and the start of all the ids of the children that begin with it
+  private static void replaceId(@Nonnull final ElementType type, @Nonnull final String oldId, @Nonnull final String newId) {
+    type.getAttributes().set("id", newId);
+    replaceChildIds(type, oldId, newId);
+  }
+
+  private static void replaceChildIds(
+      @Nonnull final ElementType type,
+      @Nonnull final String oldId,
+      @Nonnull final String newId) {
+    for (ElementType child : type.getElements()) {
+      String childId = child.getAttributes().get("id");
+      if (childId != null && isDerivedId(childId, oldId)) {
+        child.getAttributes().set("id", newId + childId.substring(oldId.length()));
+      }
+      replaceChildIds(child, oldId, newId);
+    }
+  }
+
+  private static boolean isDerivedId(@Nonnull final String childId, @Nonnull final String id) {
+    return childId.startsWith(id) && (childId.length() == id.length() || childId.charAt(id.length()) == '#');
+  }
+
+  // returns the structure kept with the type or collects it again if the type has been changed since
+  @Nonnull
+  private static Structure getStructure(@Nonnull final ElementType type, @Nullable final String id) {
+    Structure structure = type.getPreparedStructure();
+    if (structure == null || !structure.isUpToDate()) {
+      List<XmlBaseType> types = new ArrayList<XmlBaseType>();
+      List<Object> parts = null;
+      if (id == null || !id.startsWith("#")) {
+        parts = new ArrayList<Object>();
+        parts.add(id != null);
+        if (!addType(parts, types, type, id, true)) {
+          parts = null;
+        }
+      }
+      structure = new Structure(parts, types.isEmpty() ? Collections.<XmlBaseType>singletonList(type) : types);
+      type.setPreparedStructure(structure);
+    }
+    return structure;
+  }
+
+  // adds everything the preparation of the type depends on and all the types that are looked at, returns false when
+  // the type can't be cached
+  private static boolean addType(
+      @Nonnull final List<Object> parts,
+      @Nonnull final List<XmlBaseType> types,
+      @Nonnull final ElementType type,
+      @Nullable final String id,
+      final boolean root) {
+    types.add(type);
+    // plain ElementTypes keep the tag name and the renderer of the source, so only the subclasses can be cached
+    if (type.getClass() == ElementType.class) {
+      return false;
+    }
+    parts.add(type.getClass());
+    types.add(type.getInteract());
+    types.add(type.getEffects());
+
+    Map<String, String> values = new HashMap<String, String>(type.getAttributes().getAttributes());
+    String typeId = values.get("id");
+    if (root) {
+      values.remove("id");
+    } else if (id != null && typeId != null && isDerivedId(typeId, id)) {
+      values.put("id", PROTOTYPE_ID + typeId.substring(id.length()));
+    }
+    if (!addAttributes(parts, type.getAttributes(), values) ||
+        !addAttributes(parts, type.getInteract().getAttributes(), null) ||
+        !addEffects(parts, types, type.getEffects())) {
+      return false;
+    }
+
+    parts.add(type.getElements().size());
+    for (ElementType child : type.getElements()) {
+      if (!addType(parts, types, child, id, false)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // adds copies of the values and the tags, returns false when there are special values that need to be translated
+  // for each element
+  private static boolean addAttributes(
+      @Nonnull final List<Object> parts,
+      @Nonnull final Attributes attributes,
+      @Nullable final Map<String, String> values) {
+    Map<String, String> copy = values == null ? new HashMap<String, String>(attributes.getAttributes()) : values;
+    for (String value : copy.values()) {
+      if (value != null && value.contains("${")) {
+        return false;
+      }
+    }
+    parts.add(copy);
+
+    Map<String, Set<String>> tags = new HashMap<String, Set<String>>();
+    for (Map.Entry<String, Set<String>> tag : attributes.getTaggedAttributes().entrySet()) {
+      if (!tag.getValue().isEmpty()) {
+        tags.put(tag.getKey(), new HashSet<String>(tag.getValue()));
+      }
+    }
+    parts.add(tags);
+    return true;
+  }
+
+  private static boolean addEffects(
+      @Nonnull final List<Object> parts,
+      @Nonnull final List<XmlBaseType> types,
+      @Nonnull final EffectsType effects) {
+    if (!addAttributes(parts, effects.getAttributes(), null)) {
+      return false;
+    }
+    for (EffectEventId eventId : EffectEventId.values()) {
+      if (!effects.hasEffectTypes(eventId)) {
+        continue;
+      }
+      parts.add(eventId);
+      for (EffectType effect : effects.getEventEffectTypes(eventId)) {
+        types.add(effect);
+        parts.add(effect.getClass());
+        parts.add(effect.getStyleId());
+        if (!addAttributes(parts, effect.getAttributes(), null)) {
+          return false;
+        }
+        for (EffectValueType value : effect.effectValues) {
+          types.add(value);
+          if (!addAttributes(parts, value.getAttributes(), null)) {
+            return false;
+          }
+        }
+        if (effect instanceof EffectTypeOnHover) {
+          HoverType hoverType = ((EffectTypeOnHover) effect).getHoverType();
+          types.add(hoverType);
+          if (!addAttributes(parts, hoverType.getAttributes(), null)) {
+            return false;
+          }
+        }
+      }
+    }
+    return true;
+  }
+
+  private static class Prototype {
+    @Nonnull
+    private final ElementType type;
+    // all parts of all ids in the prepared prototype, e.g. "#panel"
+    @Nonnull
+    private final Set<String> idParts = new HashSet<String>();
+
+    Prototype(@Nonnull final ElementType type) {
+      this.type = type;
+      addIdParts(type);
+    }
+
+    /**
+     * Control definitions shorten the ids of their children when the start of a child id matches the end of the
+     * control id. That can only happen for another id than the placeholder when the last part of the id is a part of
+     * the child ids as well. Such ids need to be prepared without the prototype.
+     */
+    boolean canUseId(@Nullable final String id) {
+      if (id == null) {
+        return true;
+      }
+      int lastPart = id.lastIndexOf('#');
+      return lastPart <= 0 || !idParts.contains(id.substring(lastPart));
+    }
+
+    private void addIdParts(@Nonnull final ElementType elementType) {
+      String id = elementType.getAttributes().get("id");
+      if (id != null) {
+        int start = 0;
+        int end = id.indexOf('#', 1);
+        while (end != -1) {
+          idParts.add(id.substring(start, end));
+          start = end;
+          end = id.indexOf('#', start + 1);
+        }
+        idParts.add(id.substring(start));
+      }
+      for (ElementType child : elementType.getElements()) {
+        addIdParts(child);
+      }
+    }
+  }
+
+  /**
+   * Everything the preparation of a source type depends on, kept with the type until the type is changed.
+   */
+  static class Structure {
+    // the types, attributes, interact methods and effects of the type and its children without the id, or null if
+    // the type can't be cached
+    @Nullable
+    private final List<Object> parts;
+    private final int partsHash;
+    // all types the parts have been collected from and their modification counts at that time
+    @Nonnull
+    private final XmlBaseType[] types;
+    @Nonnull
+    private final int[] modificationCounts;
+
+    Structure(@Nullable final List<Object> parts, @Nonnull final List<XmlBaseType> types) {
+      this.parts = parts;
+      this.partsHash = parts == null ? 0 : parts.hashCode();
+      this.types = types.toArray(new XmlBaseType[types.size()]);
+      this.modificationCounts = new int[this.types.length];
+      for (int i = 0; i < this.types.length; i++) {
+        modificationCounts[i] = this.types[i].getModificationCount();
+      }
+    }
+
+    boolean isUpToDate() {
+      for (int i = 0; i < types.length; i++) {
+        if (types[i].getModificationCount() != modificationCounts[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  private static class Key {
+    @Nonnull
+    private final Screen screen;
+    @Nonnull
+    private final List<Object> parts;
+    private final int hash;
+
+    Key(@Nonnull final Screen screen, @Nonnull final Structure structure) {
+      assert structure.parts != null;
+      this.screen = screen;
+      this.parts = structure.parts;
+      this.hash = 31 * System.identityHashCode(screen) + structure.partsHash;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return screen == other.screen &&
+          hash == other.hash &&
+          parts.equals(other.parts);
+    }
+  }
+}
@@ -8,6 +8,7 @@ import javax.annotation.Nullable;
 import java.util.logging.Logger;
 
 public class RegisterEffectType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
   private static final Logger logger = Logger.getLogger(RegisterEffectType.class.getName());
 
   public RegisterEffectType() {
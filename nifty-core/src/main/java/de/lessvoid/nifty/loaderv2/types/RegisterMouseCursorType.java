@@ -9,6 +9,8 @@ import java.io.IOException;
 import java.util.logging.Logger;
 
 public class RegisterMouseCursorType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
+
   @Override
   @Nonnull
   public String output(final int offset) {
@@ -7,6 +7,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public class RegisterSoundType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
+
   @Override
   @Nonnull
   public String output(final int offset) {
@@ -32,6 +32,7 @@ public class RemoveStandardAttributes {
     attributes.remove("marginBottom");
     attributes.remove("margin");
     attributes.remove("childClip");
+    attributes.remove("renderCached");
     attributes.remove("visible");
     attributes.remove("visibleToMouse");
     attributes.remove("childLayout");
@@ -23,6 +23,7 @@ import java.util.Collection;
 import java.util.logging.Logger;
 
 public class ScreenType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
   private static final Logger log = Logger.getLogger(ScreenType.class.getName());
   @Nonnull
   private final Collection<LayerType> layers = new ArrayList<LayerType>();
@@ -8,6 +8,8 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 public class StyleType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
+
   @Nullable
   private AttributesType attributesType;
   @Nullable
@@ -9,6 +9,8 @@ import de.lessvoid.xml.xpp3.Attributes;
 import javax.annotation.Nonnull;
 
 public class TextType extends ElementType {
+  private static final long serialVersionUID = 1L;
+
   public TextType() {
     super();
   }
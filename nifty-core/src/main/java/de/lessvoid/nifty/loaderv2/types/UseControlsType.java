@@ -7,6 +7,7 @@ import javax.annotation.Nonnull;
 import java.util.logging.Logger;
 
 public class UseControlsType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
   private static final Logger log = Logger.getLogger(UseControlsType.class.getName());
 
   @Override
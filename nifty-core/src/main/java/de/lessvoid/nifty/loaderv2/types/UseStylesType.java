@@ -9,6 +9,8 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class UseStylesType extends XmlBaseType {
+  private static final long serialVersionUID = 1L;
+
   @Nonnull
   private static final Logger log = Logger.getLogger(UseStylesType.class.getName());
 
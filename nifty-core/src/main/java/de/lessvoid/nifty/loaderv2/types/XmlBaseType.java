@@ -7,10 +7,20 @@ import de.lessvoid.xml.xpp3.Attributes;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.io.Serializable;
+
+/**
+ * Base class of all the types the XML files are loaded into. The types are {@link Serializable} so that a fully loaded
+ * {@link NiftyType} can be stored in the compiled binary format (see
+ * {@link de.lessvoid.nifty.loaderv2.NiftyLoader#writeCompiledNifty(NiftyType, java.io.OutputStream)}).
+ */
+public class XmlBaseType implements Cloneable, XmlType, Serializable {
+  private static final long serialVersionUID = 1L;
 
-public class XmlBaseType implements Cloneable, XmlType {
   @Nonnull
   private Attributes attributes;
+  // the number of changes of the type besides its attributes, see getModificationCount()
+  private transient int modificationCount;
 
   public XmlBaseType() {
     attributes = new Attributes();
@@ -49,6 +59,21 @@ public class XmlBaseType implements Cloneable, XmlType {
     return attributes;
   }
 
+  /**
+   * Get the number of times this type and its attributes have been changed. Subclasses count the changes of their own
+   * values by calling {@link #modified()}, the types they contain keep their own count.
+   */
+  public int getModificationCount() {
+    return modificationCount + attributes.getModificationCount();
+  }
+
+  /**
+   * Count a change of this type besides its attributes.
+   */
+  protected void modified() {
+    modificationCount++;
+  }
+
   public void mergeFromAttributes(@Nonnull final Attributes attributesParam) {
     attributes.merge(attributesParam);
   }
@@ -27,6 +27,7 @@ public class Convert {
   public static final boolean DEFAULT_VISIBLE_TO_MOUSE = false;
   public static final boolean DEFAULT_VISIBLE = true;
   public static final boolean DEFAULT_CHILD_CLIP = false;
+  public static final boolean DEFAULT_RENDER_CACHED = false;
   public static final int DEFAULT_RENDER_ORDER = 0;
   private static final VerticalLayout verticalLayout = new VerticalLayout();
   private static final CenterLayout centerLayout = new CenterLayout();
@@ -0,0 +1,101 @@
+package de.lessvoid.nifty.nulldevice;
+
+import de.lessvoid.nifty.NiftyInputConsumer;
+import de.lessvoid.nifty.input.keyboard.KeyboardInputEvent;
+import de.lessvoid.nifty.spi.input.InputSystem;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This is an input system that is not connected to any real input device. Events can be added to it manually and
+ * they will be forwarded to Nifty with the next call of Nifty.update(). This allows to drive Nifty from tests or
+ * benchmarks without any window or display.
+ */
+public class NullInputSystem implements InputSystem {
+  @Nonnull
+  private final List<MouseEvent> mouseEvents = new ArrayList<MouseEvent>();
+  @Nonnull
+  private final List<KeyboardInputEvent> keyboardEvents = new ArrayList<KeyboardInputEvent>();
+  private int mouseX;
+  private int mouseY;
+
+  @Override
+  public void setResourceLoader(@Nonnull final NiftyResourceLoader niftyResourceLoader) {
+  }
+
+  @Override
+  public void forwardEvents(@Nonnull final NiftyInputConsumer inputEventConsumer) {
+    for (int i = 0; i < mouseEvents.size(); i++) {
+      MouseEvent event = mouseEvents.get(i);
+      inputEventConsumer.processMouseEvent(event.x, event.y, event.wheel, event.button, event.buttonDown);
+    }
+    mouseEvents.clear();
+
+    for (int i = 0; i < keyboardEvents.size(); i++) {
+      inputEventConsumer.processKeyboardEvent(keyboardEvents.get(i));
+    }
+    keyboardEvents.clear();
+  }
+
+  @Override
+  public void setMousePosition(final int x, final int y) {
+    mouseX = x;
+    mouseY = y;
+  }
+
+  /**
+   * Queue a mouse move to the given position. The event is forwarded with the next call of forwardEvents().
+   */
+  public void mouseMoved(final int x, final int y) {
+    addMouseEvent(x, y, 0, -1, false);
+  }
+
+  /**
+   * Queue a mouse event. The event is forwarded with the next call of forwardEvents().
+   *
+   * @param x          x position of the mouse
+   * @param y          y position of the mouse
+   * @param wheel      the mouse wheel delta
+   * @param button     the button index or -1 when no button is involved
+   * @param buttonDown true if the button is pressed
+   */
+  public void addMouseEvent(final int x, final int y, final int wheel, final int button, final boolean buttonDown) {
+    mouseX = x;
+    mouseY = y;
+    mouseEvents.add(new MouseEvent(x, y, wheel, button, buttonDown));
+  }
+
+  /**
+   * Queue a keyboard event. The event is forwarded with the next call of forwardEvents().
+   */
+  public void addKeyboardEvent(@Nonnull final KeyboardInputEvent event) {
+    keyboardEvents.add(event);
+  }
+
+  public int getMouseX() {
+    return mouseX;
+  }
+
+  public int getMouseY() {
+    return mouseY;
+  }
+
+  private static class MouseEvent {
+    private final int x;
+    private final int y;
+    private final int wheel;
+    private final int button;
+    private final boolean buttonDown;
+
+    private MouseEvent(final int x, final int y, final int wheel, final int button, final boolean buttonDown) {
+      this.x = x;
+      this.y = y;
+      this.wheel = wheel;
+      this.button = button;
+      this.buttonDown = buttonDown;
+    }
+  }
+}
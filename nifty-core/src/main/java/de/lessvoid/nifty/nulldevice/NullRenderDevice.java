@@ -0,0 +1,252 @@
+package de.lessvoid.nifty.nulldevice;
+
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.spi.render.MouseCursor;
+import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.spi.render.RenderFont;
+import de.lessvoid.nifty.spi.render.RenderImage;
+import de.lessvoid.nifty.tools.Color;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * This is a render device that does not render anything at all. It does not require any kind of display or graphics
+ * context and is meant to be used for running Nifty headless, for instance in tests or benchmarks.
+ * <p/>
+ * All render calls are only counted so that you can check how much work would have been send to a real render
+ * device. Images and fonts are created without loading any file. Images have a fixed size and fonts are simple
+ * monospaced fonts so that the layout of the elements stays deterministic.
+ */
+public class NullRenderDevice implements RenderDevice {
+  public static final int DEFAULT_WIDTH = 1024;
+  public static final int DEFAULT_HEIGHT = 768;
+  public static final int IMAGE_SIZE = 32;
+  public static final int FONT_CHARACTER_WIDTH = 8;
+  public static final int FONT_HEIGHT = 16;
+
+  private final int width;
+  private final int height;
+
+  private int frameCount;
+  private int quadCount;
+  private int imageCount;
+  private int textCount;
+  private int characterCount;
+  private int clipCount;
+  private int blendModeChangeCount;
+  @Nullable
+  private BlendMode blendMode;
+
+  /**
+   * Create a NullRenderDevice with the default display size.
+   */
+  public NullRenderDevice() {
+    this(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+  }
+
+  /**
+   * Create a NullRenderDevice that simulates a display of the given size.
+   *
+   * @param width  the width of the simulated display
+   * @param height the height of the simulated display
+   */
+  public NullRenderDevice(final int width, final int height) {
+    this.width = width;
+    this.height = height;
+  }
+
+  @Override
+  public void setResourceLoader(@Nonnull final NiftyResourceLoader niftyResourceLoader) {
+  }
+
+  @Nonnull
+  @Override
+  public RenderImage createImage(@Nonnull final String filename, final boolean filterLinear) {
+    return new NullRenderImage(IMAGE_SIZE, IMAGE_SIZE);
+  }
+
+  @Nonnull
+  @Override
+  public RenderFont createFont(@Nonnull final String filename) {
+    return new NullRenderFont(FONT_CHARACTER_WIDTH, FONT_HEIGHT);
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public void beginFrame() {
+  }
+
+  @Override
+  public void endFrame() {
+    frameCount++;
+  }
+
+  @Override
+  public void clear() {
+  }
+
+  @Override
+  public void setBlendMode(@Nonnull final BlendMode renderMode) {
+    if (renderMode != blendMode) {
+      blendMode = renderMode;
+      blendModeChangeCount++;
+    }
+  }
+
+  @Override
+  public void renderQuad(final int x, final int y, final int width, final int height, @Nonnull final Color color) {
+    quadCount++;
+  }
+
+  @Override
+  public void renderQuad(
+      final int x,
+      final int y,
+      final int width,
+      final int height,
+      @Nonnull final Color topLeft,
+      @Nonnull final Color topRight,
+      @Nonnull final Color bottomRight,
+      @Nonnull final Color bottomLeft) {
+    quadCount++;
+  }
+
+  @Override
+  public void renderImage(
+      @Nonnull final RenderImage image,
+      final int x,
+      final int y,
+      final int width,
+      final int height,
+      @Nonnull final Color color,
+      final float imageScale) {
+    imageCount++;
+  }
+
+  @Override
+  public void renderImage(
+      @Nonnull final RenderImage image,
+      final int x,
+      final int y,
+      final int w,
+      final int h,
+      final int srcX,
+      final int srcY,
+      final int srcW,
+      final int srcH,
+      @Nonnull final Color color,
+      final float scale,
+      final int centerX,
+      final int centerY) {
+    imageCount++;
+  }
+
+  @Override
+  public void renderFont(
+      @Nonnull final RenderFont font,
+      @Nonnull final String text,
+      final int x,
+      final int y,
+      @Nonnull final Color fontColor,
+      final float sizeX,
+      final float sizeY) {
+    textCount++;
+    characterCount += text.length();
+  }
+
+  @Override
+  public void enableClip(final int x0, final int y0, final int x1, final int y1) {
+    clipCount++;
+  }
+
+  @Override
+  public void disableClip() {
+  }
+
+  @Nullable
+  @Override
+  public MouseCursor createMouseCursor(@Nonnull final String filename, final int hotspotX, final int hotspotY) {
+    return null;
+  }
+
+  @Override
+  public void enableMouseCursor(@Nonnull final MouseCursor mouseCursor) {
+  }
+
+  @Override
+  public void disableMouseCursor() {
+  }
+
+  /**
+   * Reset all the counters of this render device back to zero.
+   */
+  public void resetCounters() {
+    frameCount = 0;
+    quadCount = 0;
+    imageCount = 0;
+    textCount = 0;
+    characterCount = 0;
+    clipCount = 0;
+    blendModeChangeCount = 0;
+  }
+
+  /**
+   * @return the number of frames that have been finished with endFrame()
+   */
+  public int getFrameCount() {
+    return frameCount;
+  }
+
+  /**
+   * @return the number of quads that would have been rendered
+   */
+  public int getQuadCount() {
+    return quadCount;
+  }
+
+  /**
+   * @return the number of images that would have been rendered
+   */
+  public int getImageCount() {
+    return imageCount;
+  }
+
+  /**
+   * @return the number of renderFont() calls
+   */
+  public int getTextCount() {
+    return textCount;
+  }
+
+  /**
+   * @return the number of characters of all texts that would have been rendered
+   */
+  public int getCharacterCount() {
+    return characterCount;
+  }
+
+  /**
+   * @return the number of times clipping has been enabled
+   */
+  public int getClipCount() {
+    return clipCount;
+  }
+
+  /**
+   * @return the number of times the blend mode has been changed to a different mode
+   */
+  public int getBlendModeChangeCount() {
+    return blendModeChangeCount;
+  }
+}
@@ -0,0 +1,43 @@
+package de.lessvoid.nifty.nulldevice;
+
+import de.lessvoid.nifty.spi.render.RenderFont;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A monospaced RenderFont of the {@link NullRenderDevice}. Every character has the same width so that measuring text
+ * is cheap and the results are always the same.
+ */
+public class NullRenderFont implements RenderFont {
+  private final int characterWidth;
+  private final int height;
+
+  public NullRenderFont(final int characterWidth, final int height) {
+    this.characterWidth = characterWidth;
+    this.height = height;
+  }
+
+  @Override
+  public int getWidth(@Nonnull final String text) {
+    return text.length() * characterWidth;
+  }
+
+  @Override
+  public int getWidth(@Nonnull final String text, final float size) {
+    return (int) (text.length() * characterWidth * size);
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public int getCharacterAdvance(final char currentCharacter, final char nextCharacter, final float size) {
+    return (int) (characterWidth * size);
+  }
+
+  @Override
+  public void dispose() {
+  }
+}
@@ -0,0 +1,30 @@
+package de.lessvoid.nifty.nulldevice;
+
+import de.lessvoid.nifty.spi.render.RenderImage;
+
+/**
+ * A RenderImage of the {@link NullRenderDevice}. It only knows its size and doesn't hold any image data.
+ */
+public class NullRenderImage implements RenderImage {
+  private final int width;
+  private final int height;
+
+  public NullRenderImage(final int width, final int height) {
+    this.width = width;
+    this.height = height;
+  }
+
+  @Override
+  public int getWidth() {
+    return width;
+  }
+
+  @Override
+  public int getHeight() {
+    return height;
+  }
+
+  @Override
+  public void dispose() {
+  }
+}
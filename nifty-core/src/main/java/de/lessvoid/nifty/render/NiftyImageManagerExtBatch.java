@@ -65,9 +65,21 @@ public class NiftyImageManagerExtBatch implements NiftyImageManagerExt<Reference
       return;
     }
 
+    BatchRenderDevice batchRenderDevice = null;
+    long uploadedBytes = 0;
+    if (!imageList.isEmpty()) {
+      batchRenderDevice = imageList.iterator().next().getBatchRenderDevice();
+      uploadedBytes = batchRenderDevice.getUploadedImageBytes();
+    }
+
     for (ReferencedCountedImageBatch image : imageList) {
       image.upload();
     }
+
+    if (batchRenderDevice != null && log.isLoggable(Level.FINE)) {
+      log.fine("[" + screen.getScreenId() + "] uploaded [" + (batchRenderDevice.getUploadedImageBytes() -
+          uploadedBytes) + "] bytes of image data");
+    }
   }
 
   @Override
@@ -75,7 +87,13 @@ public class NiftyImageManagerExtBatch implements NiftyImageManagerExt<Reference
       @Nonnull final Screen screen,
       @Nonnull final RenderDevice renderDevice,
       @Nonnull final Collection<ReferencedCountedImage> imageSet) {
-    ((BatchRenderDevice) renderDevice).resetTextureAtlases();
+    BatchRenderDevice batchRenderDevice = (BatchRenderDevice) renderDevice;
+    if (batchRenderDevice.isPersistentTextureAtlas()) {
+      // the images stay in the texture atlases and will be evicted when the space is required
+      currentScreen = null;
+      return;
+    }
+    batchRenderDevice.resetTextureAtlases();
 
     // we need to mark all images as unloaded
     for (ReferencedCountedImage i : imageSet) {
@@ -165,8 +183,12 @@ public class NiftyImageManagerExtBatch implements NiftyImageManagerExt<Reference
     }
 
     public void upload() {
-      BatchRenderImage batchRenderImage = (BatchRenderImage) renderImage;
-      batchRenderImage.upload();
+      getBatchRenderDevice().uploadImage((BatchRenderImage) renderImage);
+    }
+
+    @Nonnull
+    public BatchRenderDevice getBatchRenderDevice() {
+      return (BatchRenderDevice) renderDevice;
     }
 
     public void unload() {
@@ -240,6 +240,13 @@ public interface NiftyRenderEngine {
    */
   void disableClip();
 
+  /**
+   * Check if the given region is completely outside of the active clipping region, or outside of the display when
+   * clipping is disabled, so that nothing rendered into it would be visible. This is always false while the image or
+   * text scale is changed because scaled images and texts can exceed the region.
+   */
+  boolean isCompletelyClipped(int x0, int y0, int x1, int y1);
+
   /**
    * Set RenderTextSize.
    *
@@ -364,4 +371,35 @@ public interface NiftyRenderEngine {
    * @param screen the removed Screen
    */
   void screenRemoved(@Nonnull Screen screen);
+
+  /**
+   * Create a new RenderCache that can be used to record and replay the output of a part of the GUI.
+   *
+   * @return the new RenderCache or {@code null} in case the RenderDevice does not support caching
+   */
+  @Nullable
+  RenderCache createRenderCache();
+
+  /**
+   * Replay the content of the given RenderCache.
+   *
+   * @param cache the RenderCache to replay
+   * @return true if the cache has been rendered and false if the cache is not valid or has been recorded with a
+   * different render state. In that case the content needs to be rendered (and recorded) again.
+   */
+  boolean renderCache(@Nonnull RenderCache cache);
+
+  /**
+   * Start recording everything that is rendered into the given RenderCache.
+   *
+   * @param cache the RenderCache to record into
+   */
+  void beginRenderCache(@Nonnull RenderCache cache);
+
+  /**
+   * Stop recording into the given RenderCache.
+   *
+   * @param cache the RenderCache that has been recorded
+   */
+  void endRenderCache(@Nonnull RenderCache cache);
 }
@@ -1,9 +1,9 @@
 package de.lessvoid.nifty.render;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 
@@ -12,8 +12,10 @@ import javax.annotation.Nullable;
 
 import de.lessvoid.nifty.NiftyStopwatch;
 import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.render.CachingRenderDevice;
 import de.lessvoid.nifty.spi.render.RenderDevice;
 import de.lessvoid.nifty.spi.render.RenderFont;
+import de.lessvoid.nifty.spi.render.RenderGeometry;
 import de.lessvoid.nifty.spi.render.RenderImage;
 import de.lessvoid.nifty.tools.Color;
 
@@ -111,10 +113,11 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
   private final Map<String, RenderFont> fontCache = new HashMap<String, RenderFont>();
 
   /**
-   * stack to save data.
+   * stack to save data. The saved states are reused, stackSize is the number of states currently in use.
    */
   @Nonnull
-  private final Deque<SavedRenderState> stack = new ArrayDeque<SavedRenderState>(20);
+  private final List<SavedRenderState> stack = new ArrayList<SavedRenderState>(20);
+  private int stackSize;
   @Nonnull
   private final Color whiteColor = new Color("#ffff");
 
@@ -129,6 +132,17 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
 
   private boolean absoluteClipEnabled;
 
+  /**
+   * The RenderDevice as a CachingRenderDevice or null if the RenderDevice can't cache geometry.
+   */
+  @Nullable
+  private final CachingRenderDevice cachingRenderDevice;
+
+  /**
+   * This is increased every time all existing RenderCaches become invalid (for instance when the scaling changes).
+   */
+  private int renderCacheGeneration;
+
   /**
    * create the device.
    *
@@ -141,6 +155,11 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
     nativeDisplayWidth = renderDevice.getWidth();
     nativeDisplayHeight = renderDevice.getHeight();
     imageManager = new NiftyImageManager(renderDeviceParam);
+    if (renderDeviceParam instanceof CachingRenderDevice) {
+      cachingRenderDevice = (CachingRenderDevice) renderDeviceParam;
+    } else {
+      cachingRenderDevice = null;
+    }
     absoluteClip.x0 = 0;
     absoluteClip.y0 = 0;
     absoluteClip.x1 = displayWidth;
@@ -543,6 +562,25 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
     updateClip(false, 0, 0, 0, 0);
   }
 
+  @Override
+  public boolean isCompletelyClipped(final int cx0, final int cy0, final int cx1, final int cy1) {
+    if (imageScale != 1.0f || textScale != 1.0f) {
+      return false;
+    }
+    int x0 = cx0 + getX();
+    int y0 = cy0 + getY();
+    int x1 = cx1 + getX();
+    int y1 = cy1 + getY();
+    if (clipEnabled) {
+      return isOutsideClippingRectangle(x0, y0, x1, y1);
+    }
+    // with auto scaling parts outside of the base resolution can still be visible
+    if (autoScaling) {
+      return false;
+    }
+    return x0 > displayWidth || x1 < 0 || y0 > displayHeight || y1 < 0;
+  }
+
   void updateClip(final boolean enabled, final int x0, final int y0, final int x1, final int y1) {
     clipEnabled = enabled;
     clip.init(x0, y0, x1, y1);
@@ -578,6 +616,7 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
     }
     nativeDisplayWidth = renderDevice.getWidth();
     nativeDisplayHeight = renderDevice.getHeight();
+    renderCacheGeneration++;
   }
 
   /**
@@ -611,15 +650,15 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
 
   @Override
   public void saveStates() {
-    SavedRenderState savedRenderState = new SavedRenderState();
-    savedRenderState.save();
-    stack.push(savedRenderState);
+    if (stackSize == stack.size()) {
+      stack.add(new SavedRenderState());
+    }
+    stack.get(stackSize++).save();
   }
 
   @Override
   public void restoreStates() {
-    SavedRenderState restored = stack.pop();
-    restored.restore();
+    stack.get(--stackSize).restore();
   }
 
   @Override
@@ -695,6 +734,30 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
       restoreBlend();
     }
 
+    /**
+     * Check if the saved state is equal to the current state of the render engine.
+     */
+    public boolean matchesCurrent() {
+      NiftyRenderEngineImpl engine = NiftyRenderEngineImpl.this;
+      return x == engine.currentX &&
+          y == engine.currentY &&
+          colorR == engine.color.getRed() &&
+          colorG == engine.color.getGreen() &&
+          colorB == engine.color.getBlue() &&
+          colorChanged == engine.colorChanged &&
+          colorAlpha == engine.color.getAlpha() &&
+          colorAlphaChanged == engine.colorAlphaChanged &&
+          font == engine.font &&
+          textSize == engine.textScale &&
+          imageScale == engine.imageScale &&
+          clipEnabled == engine.clipEnabled &&
+          clip.x0 == engine.clip.x0 &&
+          clip.y0 == engine.clip.y0 &&
+          clip.x1 == engine.clip.x1 &&
+          clip.y1 == engine.clip.y1 &&
+          blendMode == engine.blendMode;
+    }
+
     private void saveBlendMode() {
       blendMode = NiftyRenderEngineImpl.this.blendMode;
     }
@@ -772,6 +835,61 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
     }
   }
 
+  /**
+   * The RenderCache implementation. Besides the recorded geometry this remembers the render state that was active
+   * when the geometry has been recorded. The recording is only replayed when the state is still the same.
+   */
+  private class RenderCacheImpl implements RenderCache {
+    @Nonnull
+    private final RenderGeometry geometry;
+    @Nonnull
+    private final SavedRenderState state = new SavedRenderState();
+    private float recordedGlobalPosX;
+    private float recordedGlobalPosY;
+    private int recordedGeneration;
+    private int version;
+    private int recordingVersion;
+    private boolean valid;
+
+    private RenderCacheImpl(@Nonnull final RenderGeometry geometry) {
+      this.geometry = geometry;
+    }
+
+    @Override
+    public void invalidate() {
+      version++;
+      valid = false;
+    }
+
+    @Override
+    public boolean isValid() {
+      return valid && recordedGeneration == renderCacheGeneration;
+    }
+
+    @Override
+    public void dispose() {
+      invalidate();
+      geometry.dispose();
+    }
+
+    private void beginRecording() {
+      state.save();
+      recordedGlobalPosX = globalPosX;
+      recordedGlobalPosY = globalPosY;
+      recordedGeneration = renderCacheGeneration;
+      recordingVersion = version;
+    }
+
+    private void endRecording() {
+      // when the cache has been invalidated while recording then the recording might already be outdated
+      valid = recordingVersion == version;
+    }
+
+    private boolean matchesCurrentState() {
+      return recordedGlobalPosX == globalPosX && recordedGlobalPosY == globalPosY && state.matchesCurrent();
+    }
+  }
+
   public class Clip {
     private int x0;
     private int y0;
@@ -867,6 +985,7 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
     autoScalingScaleY = null;
     autoScalingOffsetX = 0;
     autoScalingOffsetY = 0;
+    renderCacheGeneration++;
   }
 
   @Override
@@ -882,6 +1001,7 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
     autoScalingScaleY = ((float) getNativeHeight() / getHeight()) * scaleY;
     autoScalingOffsetX = getNativeWidth() / 2 - getNativeWidth() / 2 * scaleX;
     autoScalingOffsetY = getNativeHeight() / 2 - getNativeHeight() / 2 * scaleY;
+    renderCacheGeneration++;
   }
 
   @Override
@@ -893,11 +1013,13 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
     autoScalingScaleY = null;
     autoScalingOffsetX = 0;
     autoScalingOffsetY = 0;
+    renderCacheGeneration++;
   }
 
   @Override
   public void screenStarted(@Nonnull final Screen screen) {
     imageManager.uploadScreenImages(screen);
+    renderCacheGeneration++;
   }
 
   @Override
@@ -923,6 +1045,51 @@ public class NiftyRenderEngineImpl implements NiftyRenderEngine {
     imageManager.screenRemoved(screen);
   }
 
+  @Nullable
+  @Override
+  public RenderCache createRenderCache() {
+    if (cachingRenderDevice == null) {
+      return null;
+    }
+    return new RenderCacheImpl(cachingRenderDevice.createGeometry());
+  }
+
+  @Override
+  public boolean renderCache(@Nonnull final RenderCache cache) {
+    if (cachingRenderDevice == null) {
+      return false;
+    }
+    RenderCacheImpl renderCache = (RenderCacheImpl) cache;
+    if (!renderCache.isValid() || !renderCache.matchesCurrentState()) {
+      return false;
+    }
+    if (!cachingRenderDevice.renderGeometry(renderCache.geometry)) {
+      renderCache.invalidate();
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public void beginRenderCache(@Nonnull final RenderCache cache) {
+    if (cachingRenderDevice == null) {
+      return;
+    }
+    RenderCacheImpl renderCache = (RenderCacheImpl) cache;
+    renderCache.beginRecording();
+    cachingRenderDevice.beginGeometry(renderCache.geometry);
+  }
+
+  @Override
+  public void endRenderCache(@Nonnull final RenderCache cache) {
+    if (cachingRenderDevice == null) {
+      return;
+    }
+    RenderCacheImpl renderCache = (RenderCacheImpl) cache;
+    cachingRenderDevice.endGeometry(renderCache.geometry);
+    renderCache.endRecording();
+  }
+
   private boolean isOutsideClippingRectangle(final int x0, final int y0, final int x1, final int y1) {
     if (x0 > clip.x1) {
       return true;
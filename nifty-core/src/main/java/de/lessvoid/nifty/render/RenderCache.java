@@ -0,0 +1,24 @@
+package de.lessvoid.nifty.render;
+
+/**
+ * A RenderCache stores the output of a part of the GUI so that the render engine can replay it later without having
+ * to render that part again. Instances are created by {@link NiftyRenderEngine#createRenderCache()}.
+ */
+public interface RenderCache {
+  /**
+   * Mark the content of this cache as outdated. The next time it is rendered the cache will be recorded again.
+   */
+  void invalidate();
+
+  /**
+   * Check if this cache contains a recording that can be replayed.
+   *
+   * @return true if the cache contains valid content and false if not
+   */
+  boolean isValid();
+
+  /**
+   * Release the recording of this cache. The cache can still be used afterwards, it's just recorded again.
+   */
+  void dispose();
+}
@@ -0,0 +1,268 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.batch.spi.BatchRenderBackend;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Decodes image files on a pool of worker threads for {@link BatchRenderDevice}. The images are loaded with
+ * {@link BatchRenderBackend#loadImage(String)} of the backend, so every backend decodes the images the same way it
+ * does when they are loaded immediately. The decoded images are handed to the BatchRenderImages on the render thread
+ * with {@link #update(int)}, a limited number of images per frame, so that the uploads into the texture atlases are
+ * spread over several frames.
+ */
+class BatchImageDecoder {
+  @Nonnull
+  private static final Logger log = Logger.getLogger(BatchImageDecoder.class.getName());
+  @Nonnull
+  private final BatchRenderBackend renderBackend;
+  @Nonnull
+  private final List<PendingImage> pendingImages = new ArrayList<PendingImage>();
+  @Nullable
+  private ExecutorService executor;
+
+  BatchImageDecoder(@Nonnull final BatchRenderBackend renderBackend) {
+    this.renderBackend = renderBackend;
+  }
+
+  /**
+   * Read the size of the given image file without decoding it.
+   *
+   * @return the size or {@code null} in case the size can't be determined
+   */
+  @Nullable
+  ImageSize readImageSize(@Nonnull final String filename, @Nonnull final NiftyResourceLoader resourceLoader) {
+    InputStream imageStream = resourceLoader.getResourceAsStream(filename);
+    if (imageStream == null) {
+      return null;
+    }
+    try {
+      return readImageSize(filename, imageStream);
+    } catch (IOException e) {
+      log.log(Level.FINE, "Could not read the size of image [" + filename + "]", e);
+      return null;
+    } finally {
+      closeSilently(imageStream);
+    }
+  }
+
+  /**
+   * Read the size of an image from the header of the image file. This supports PNG, JPEG, GIF, BMP and TGA files and
+   * works without the image classes of the JDK, since those are not available on every platform.
+   *
+   * @param filename the filename of the image, TGA files are detected by the file extension
+   * @param imageStream the stream of the image data
+   * @return the size of the image or {@code null} in case the format of the image is not known
+   * @throws IOException in case reading the header fails
+   */
+  @Nullable
+  static ImageSize readImageSize(
+      @Nonnull final String filename,
+      @Nonnull final InputStream imageStream) throws IOException {
+    DataInputStream in = new DataInputStream(imageStream);
+    if (filename.endsWith(".tga")) {
+      // id length, color map type, image type, color map specification (5 bytes) and the x and y origin (2 bytes each)
+      skip(in, 12);
+      return new ImageSize(readUnsignedShortLE(in), readUnsignedShortLE(in));
+    }
+    int magic = in.readUnsignedShort();
+    switch (magic) {
+      case 0x8950:
+        // PNG: rest of the signature (6 bytes), length and type of the IHDR chunk (8 bytes)
+        skip(in, 14);
+        return new ImageSize(in.readInt(), in.readInt());
+      case 0x4749:
+        // GIF: rest of the signature and version (4 bytes)
+        skip(in, 4);
+        return new ImageSize(readUnsignedShortLE(in), readUnsignedShortLE(in));
+      case 0x424d:
+        // BMP: file header (12 bytes) and size of the info header (4 bytes), the height is negative for top-down images
+        skip(in, 16);
+        return new ImageSize(readIntLE(in), Math.abs(readIntLE(in)));
+      case 0xffd8:
+        return readJPEGImageSize(in);
+      default:
+        return null;
+    }
+  }
+
+  @Nullable
+  private static ImageSize readJPEGImageSize(@Nonnull final DataInputStream in) throws IOException {
+    while (true) {
+      int marker = in.readUnsignedShort();
+      if ((marker & 0xff00) != 0xff00) {
+        return null;
+      }
+      int length = in.readUnsignedShort();
+      // the start of frame markers, except for the DHT, JPG and DAC markers that share the same range
+      if (marker >= 0xffc0 && marker <= 0xffcf && marker != 0xffc4 && marker != 0xffc8 && marker != 0xffcc) {
+        // sample precision
+        skip(in, 1);
+        int height = in.readUnsignedShort();
+        int width = in.readUnsignedShort();
+        return new ImageSize(width, height);
+      }
+      skip(in, length - 2);
+    }
+  }
+
+  private static int readUnsignedShortLE(@Nonnull final DataInputStream in) throws IOException {
+    return in.readUnsignedByte() | (in.readUnsignedByte() << 8);
+  }
+
+  private static int readIntLE(@Nonnull final DataInputStream in) throws IOException {
+    return readUnsignedShortLE(in) | (readUnsignedShortLE(in) << 16);
+  }
+
+  private static void skip(@Nonnull final DataInputStream in, final int count) throws IOException {
+    int remaining = count;
+    while (remaining > 0) {
+      int skipped = in.skipBytes(remaining);
+      if (skipped <= 0) {
+        throw new EOFException();
+      }
+      remaining -= skipped;
+    }
+  }
+
+  /**
+   * Start decoding the image data of the given image in the background.
+   */
+  void decode(@Nonnull final BatchRenderImage image, @Nonnull final String filename) {
+    image.startDecoding();
+    Future<BatchRenderBackend.Image> decodedImage = getExecutor().submit(new Callable<BatchRenderBackend.Image>() {
+      @Override
+      public BatchRenderBackend.Image call() throws Exception {
+        return renderBackend.loadImage(filename);
+      }
+    });
+    pendingImages.add(new PendingImage(image, filename, decodedImage));
+  }
+
+  /**
+   * Hand the decoded image data to the images that are done decoding.
+   *
+   * @param maxImages the maximum number of images to finish
+   * @return the number of images that have been finished
+   */
+  int update(final int maxImages) {
+    int finished = 0;
+    for (int i = 0; i < pendingImages.size() && finished < maxImages; i++) {
+      PendingImage pendingImage = pendingImages.get(i);
+      if (!pendingImage.decodedImage.isDone()) {
+        continue;
+      }
+      pendingImages.remove(i--);
+      if (pendingImage.image.isDisposed()) {
+        continue;
+      }
+      BatchRenderBackend.Image image = getDecodedImage(pendingImage);
+      if (image != null) {
+        pendingImage.image.finishDecoding(image);
+        finished++;
+      }
+    }
+    return finished;
+  }
+
+  int getPendingImageCount() {
+    return pendingImages.size();
+  }
+
+  /**
+   * Whether the worker threads are done with all the pending images.
+   */
+  boolean isDecodingDone() {
+    for (int i = 0; i < pendingImages.size(); i++) {
+      if (!pendingImages.get(i).decodedImage.isDone()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Nullable
+  private BatchRenderBackend.Image getDecodedImage(@Nonnull final PendingImage pendingImage) {
+    try {
+      return pendingImage.decodedImage.get();
+    } catch (ExecutionException e) {
+      log.log(Level.WARNING, "Could not load image from file: [" + pendingImage.filename + "]", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return null;
+  }
+
+  @Nonnull
+  private synchronized ExecutorService getExecutor() {
+    if (executor == null) {
+      final AtomicInteger threadCount = new AtomicInteger();
+      int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+      executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+        @Nonnull
+        @Override
+        public Thread newThread(@Nonnull final Runnable runnable) {
+          Thread thread = new Thread(runnable, "nifty-image-decoder-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+    }
+    return executor;
+  }
+
+  private static void closeSilently(@Nonnull final InputStream stream) {
+    try {
+      stream.close();
+    } catch (IOException ignored) {
+    }
+  }
+
+  private static class PendingImage {
+    @Nonnull
+    private final BatchRenderImage image;
+    @Nonnull
+    private final String filename;
+    @Nonnull
+    private final Future<BatchRenderBackend.Image> decodedImage;
+
+    private PendingImage(
+        @Nonnull final BatchRenderImage image,
+        @Nonnull final String filename,
+        @Nonnull final Future<BatchRenderBackend.Image> decodedImage) {
+      this.image = image;
+      this.filename = filename;
+      this.decodedImage = decodedImage;
+    }
+  }
+
+  /**
+   * The width and the height of an image.
+   */
+  static class ImageSize {
+    final int width;
+    final int height;
+
+    ImageSize(final int width, final int height) {
+      this.width = width;
+      this.height = height;
+    }
+  }
+}
@@ -58,7 +58,7 @@ public class BatchRenderBackendInternal implements BatchRenderBackend {
   @Nonnull
   private final IntBuffer singleTextureIdBuffer;
   @Nonnull
-  private final ObjectPool<Batch> batchPool;
+  private ObjectPool<Batch> batchPool;
   @Nonnull
   private final List<Batch> batches = new ArrayList<Batch>();
   @Nonnull
@@ -79,6 +79,7 @@ public class BatchRenderBackendInternal implements BatchRenderBackend {
   private int viewportHeight;
   private boolean shouldUseHighQualityTextures = false;
   private boolean shouldFillRemovedImagesInAtlas = false;
+  private boolean shouldUseIndexedPackedVertices = false;
 
   public BatchRenderBackendInternal(
           @Nonnull final GL gl,
@@ -91,13 +92,7 @@ public class BatchRenderBackendInternal implements BatchRenderBackend {
     this.mouseCursorFactory = mouseCursorFactory;
     viewportBuffer = bufferFactory.createNativeOrderedIntBuffer(16);
     singleTextureIdBuffer = bufferFactory.createNativeOrderedIntBuffer(1);
-    batchPool = new ObjectPool<Batch>(new Factory<Batch>() {
-      @Nonnull
-      @Override
-      public Batch createNew() {
-        return new BatchInternal(gl, bufferFactory);
-      }
-    });
+    batchPool = createBatchPool();
     initializeOpenGL();
   }
 
@@ -327,6 +322,20 @@ public class BatchRenderBackendInternal implements BatchRenderBackend {
     shouldFillRemovedImagesInAtlas = shouldFill;
   }
 
+  @Override
+  public void useIndexedPackedVertices(final boolean shouldUseIndexedPackedVertices) {
+    log.fine("useIndexedPackedVertices()");
+    log.info(shouldUseIndexedPackedVertices ? "Using indexed vertices with packed colors." : "Using non-indexed " +
+            "vertices with float colors.");
+    if (this.shouldUseIndexedPackedVertices == shouldUseIndexedPackedVertices) {
+      return;
+    }
+    this.shouldUseIndexedPackedVertices = shouldUseIndexedPackedVertices;
+    // the pooled batches use the previous vertex format
+    batches.clear();
+    batchPool = createBatchPool();
+  }
+
   // Internal implementations
 
   private void initializeOpenGL() {
@@ -552,6 +561,21 @@ public class BatchRenderBackendInternal implements BatchRenderBackend {
     return batchPool.allocate();
   }
 
+  @Nonnull
+  private ObjectPool<Batch> createBatchPool() {
+    final boolean indexedPackedVertices = shouldUseIndexedPackedVertices;
+    return new ObjectPool<Batch>(new Factory<Batch>() {
+      @Nonnull
+      @Override
+      public Batch createNew() {
+        if (indexedPackedVertices) {
+          return new PackedBatchInternal(gl, bufferFactory);
+        }
+        return new BatchInternal(gl, bufferFactory);
+      }
+    });
+  }
+
   private void addBatch (@Nonnull final Batch batch) {
     batches.add(batch);
   }
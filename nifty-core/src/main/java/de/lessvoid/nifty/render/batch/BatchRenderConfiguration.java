@@ -14,6 +14,15 @@ public class BatchRenderConfiguration {
   public static final boolean DEFAULT_DISPOSE_IMAGES_BETWEEN_SCREENS = true;
   public static final boolean DEFAULT_USE_HIGH_QUALITY_TEXTURES = false;
   public static final boolean DEFAULT_FILL_REMOVED_IMAGES_IN_ATLAS = false;
+  public static final boolean DEFAULT_USE_INDEXED_PACKED_VERTICES = false;
+  public static final int DEFAULT_GLYPH_RUN_CACHE_SIZE = 512;
+  public static final boolean DEFAULT_PERSISTENT_TEXTURE_ATLAS = false;
+  public static final boolean DEFAULT_ASYNC_IMAGE_DECODING = false;
+  public static final int DEFAULT_MAX_DECODED_IMAGES_PER_FRAME = 8;
+  public static final TextureAtlasGenerator.PackingStrategy DEFAULT_ATLAS_PACKING_STRATEGY =
+      TextureAtlasGenerator.PackingStrategy.BINARY_TREE;
+  public static final float DEFAULT_ATLAS_DEFRAGMENTATION_THRESHOLD = 0.f;
+  public static final int DEFAULT_MAX_DEFRAGMENTED_IMAGES_PER_FRAME = 8;
 
   /**
    * The width that any and all texture atlases will be created at. The size of any given atlas is constant; that is,
@@ -78,4 +87,68 @@ public class BatchRenderConfiguration {
    * of old images visible in currently unused atlas space.
    */
   public boolean fillRemovedImagesInAtlas = DEFAULT_FILL_REMOVED_IMAGES_IN_ATLAS;
+
+  /**
+   * Whether or not to use the indexed vertex format with packed colors. When set to true every quad is sent as 4
+   * vertices that are drawn using a static index buffer and the vertex colors are packed into 4 unsigned bytes instead
+   * of 4 floats. This reduces the amount of vertex data that needs to be sent to the GPU each frame by more than half,
+   * which helps especially on mobile GPUs and with text heavy screens. The lowest bit of the alpha value is lost.
+   */
+  public boolean useIndexedPackedVertices = DEFAULT_USE_INDEXED_PACKED_VERTICES;
+
+  /**
+   * The number of rendered texts whose glyph quads are kept in memory. Rendering a text that is in this cache again
+   * only needs to copy the quads of the glyphs instead of laying out the text glyph by glyph. The least recently
+   * rendered text is removed when the cache is full. Set to 0 to disable the cache.
+   */
+  public int glyphRunCacheSize = DEFAULT_GLYPH_RUN_CACHE_SIZE;
+
+  /**
+   * Whether or not the texture atlases should keep their content across screens. This only has an effect when
+   * {@link #disposeImagesBetweenScreens} is set to {@code true}. Instead of clearing all texture atlases when a screen
+   * ends, the images stay in the atlases and images that the next screen shares with the previous one don't need to be
+   * uploaded again. Images are only removed from an atlas when they are not used anymore or, if an image doesn't fit
+   * into an atlas, the least recently rendered images are evicted until it fits. Images that have been rendered in the
+   * current frame are never evicted.
+   */
+  public boolean persistentTextureAtlas = DEFAULT_PERSISTENT_TEXTURE_ATLAS;
+
+  /**
+   * Whether or not images should be decoded on background threads. When set to true, creating an image only reads the
+   * size of the image and the image data is decoded by a pool of worker threads. The decoded images are uploaded into
+   * the texture atlases at the beginning of the following frames, at most {@link #maxDecodedImagesPerFrame} images per
+   * frame. Until then an image is not rendered at all. This lets screens with many images appear immediately instead
+   * of waiting for all of their images to be decoded. Images of fonts are always decoded immediately. Note that the
+   * worker threads call {@link de.lessvoid.nifty.render.batch.spi.BatchRenderBackend#loadImage(String)}, so the
+   * backend has to support loading images outside of the render thread.
+   */
+  public boolean asyncImageDecoding = DEFAULT_ASYNC_IMAGE_DECODING;
+
+  /**
+   * The maximum number of decoded images that are uploaded into the texture atlases per frame when
+   * {@link #asyncImageDecoding} is enabled.
+   */
+  public int maxDecodedImagesPerFrame = DEFAULT_MAX_DECODED_IMAGES_PER_FRAME;
+
+  /**
+   * The algorithm that is used to find the position of the images in the texture atlases. See
+   * {@link TextureAtlasGenerator.PackingStrategy}.
+   */
+  public TextureAtlasGenerator.PackingStrategy atlasPackingStrategy = DEFAULT_ATLAS_PACKING_STRATEGY;
+
+  /**
+   * The fragmentation (between 0.0f and 1.0f, see {@link TextureAtlasGenerator#getFragmentation()}) a texture atlas
+   * needs to reach before all of its images are packed again. At most one texture atlas is checked at the beginning of
+   * each frame. The images of a defragmented atlas are moved to their new positions over the following frames, at most
+   * {@link #maxDefragmentedImagesPerFrame} images per frame, and the atlas doesn't take new images until all of them
+   * have been moved. This only has an effect when {@link #persistentTextureAtlas} is enabled, since otherwise the
+   * atlases are cleared between screens anyway. Set to 0 to disable the defragmentation.
+   */
+  public float atlasDefragmentationThreshold = DEFAULT_ATLAS_DEFRAGMENTATION_THRESHOLD;
+
+  /**
+   * The maximum number of images that are moved to their new position per frame while a texture atlas is defragmented,
+   * see {@link #atlasDefragmentationThreshold}.
+   */
+  public int maxDefragmentedImagesPerFrame = DEFAULT_MAX_DEFRAGMENTED_IMAGES_PER_FRAME;
 }
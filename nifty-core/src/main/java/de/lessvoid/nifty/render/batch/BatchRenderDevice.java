@@ -2,9 +2,12 @@ package de.lessvoid.nifty.render.batch;
 
 import de.lessvoid.nifty.render.batch.spi.BatchRenderBackend;
 import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.spi.render.CachingRenderDevice;
 import de.lessvoid.nifty.spi.render.MouseCursor;
 import de.lessvoid.nifty.spi.render.RenderDevice;
+import de.lessvoid.nifty.spi.render.RenderDeviceStatistics;
 import de.lessvoid.nifty.spi.render.RenderFont;
+import de.lessvoid.nifty.spi.render.RenderGeometry;
 import de.lessvoid.nifty.spi.render.RenderImage;
 import de.lessvoid.nifty.spi.time.TimeProvider;
 import de.lessvoid.nifty.spi.time.impl.AccurateTimeProvider;
@@ -18,10 +21,12 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.annotation.Nullable;
@@ -53,15 +58,23 @@ import org.jglfont.spi.ResourceLoader;
  * screen transitions, you may want to set this to {@code false}. The tradeoff is that not disposing of the previous
  * screen's images when transitioning to a new screen will take up more atlas space.
  *
+ * With {@code persistentTextureAtlas} enabled the images of a screen stay in the texture atlases when the screen ends
+ * and images that are shared between screens are not uploaded again. When an image doesn't fit anymore the least
+ * recently rendered images are evicted from the atlases to make room for it.
+ *
  * If a texture atlas fills up to the point that textures within atlas tolerance are not fitting, another texture atlas
  * will be created to hold the overflow. As many texture atlases as are needed will be created, but it will start with
  * just one. There is a performance penalty for creating and using extra texture atlases, so use them as sparingly as
  * possible.
  *
+ * As a {@link de.lessvoid.nifty.spi.render.CachingRenderDevice} it is able to record the quads of static parts of the
+ * GUI after clipping and replay them in later frames without any further processing. Recorded geometry is discarded
+ * when the texture atlases are reset because the images might end up at a different position in the atlas.
+ *
  * @author void
  * @author Aaron Mahan &lt;aaron@forerunnergames.com&gt;
  */
-public class BatchRenderDevice implements RenderDevice {
+public class BatchRenderDevice implements RenderDevice, CachingRenderDevice, RenderDeviceStatistics {
   @Nonnull
   private static Logger log = Logger.getLogger(BatchRenderDevice.class.getName());
   @Nonnull
@@ -74,6 +87,8 @@ public class BatchRenderDevice implements RenderDevice {
   private long frames = 0;
   private int glyphCount = 0;
   private int quadCount = 0;
+  private int batchCount = 0;
+  private int textureSwitchCount = 0;
   private int currentTextureId = -1;
   private boolean displayFPS = false;
   private boolean logFPS = false;
@@ -118,6 +133,45 @@ public class BatchRenderDevice implements RenderDevice {
   private List<Integer> atlasTextureIds = new ArrayList<Integer>();
   @Nonnull
   private ListIterator<Integer> atlasTextureIdIterator = atlasTextureIds.listIterator();
+  @Nonnull
+  private final List<BatchRenderGeometry> recordingGeometries = new ArrayList<BatchRenderGeometry>();
+  // re-usable colors to replay recorded geometry
+  @Nonnull
+  private final Color[] replayColors = new Color[] {
+      new Color(Color.WHITE), new Color(Color.WHITE), new Color(Color.WHITE), new Color(Color.WHITE)};
+  private int geometryGeneration;
+  @Nullable
+  private final GlyphRunCache glyphRunCache;
+  // the glyph run that is currently filled by renderFont() and the origin of its text
+  @Nullable
+  private GlyphRunCache.GlyphRun recordingGlyphRun;
+  private int recordingGlyphRunX;
+  private int recordingGlyphRunY;
+  // re-usable color to replay glyph runs
+  @Nonnull
+  private final Color glyphRunColor = new Color(Color.WHITE);
+  // frame counter to find the least recently used images in the persistent texture atlas mode
+  private long frameCounter;
+  // all the images that might be in an atlas in the persistent texture atlas mode
+  @Nonnull
+  private final List<BatchRenderImage> persistentImages = new ArrayList<BatchRenderImage>();
+  private int persistentImagesPruneSize = 64;
+  private long uploadedImageCount;
+  private long uploadedImageBytes;
+  private long evictedImageCount;
+  @Nullable
+  private BatchImageDecoder imageDecoder;
+  // the index of the atlas in atlasTextureIds that is checked for defragmentation next
+  private int defragmentationAtlasIndex;
+  private long defragmentedAtlasCount;
+  // the atlas whose images are moved to their defragmented positions, or null if no atlas is defragmented right now
+  @Nullable
+  private TextureAtlasGenerator defragmentedAtlas;
+  private int defragmentedAtlasTextureId;
+  @Nonnull
+  private final List<BatchRenderImage> defragmentedImages = new ArrayList<BatchRenderImage>();
+  @Nullable
+  private Map<String, TextureAtlasGenerator.Result> defragmentedPositions;
 
   /**
    * This is a convenience constructor that creates a BatchRenderDevice using the default values specified in
@@ -136,8 +190,10 @@ public class BatchRenderDevice implements RenderDevice {
     this.renderBackend = renderBackend;
     renderBackend.useHighQualityTextures(renderConfig.useHighQualityTextures);
     renderBackend.fillRemovedImagesInAtlas(renderConfig.fillRemovedImagesInAtlas);
+    renderBackend.useIndexedPackedVertices(renderConfig.useIndexedPackedVertices);
     this.renderConfig = renderConfig;
     time = timeProvider.getMsTime();
+    glyphRunCache = renderConfig.glyphRunCacheSize > 0 ? new GlyphRunCache(renderConfig.glyphRunCacheSize) : null;
     fontRenderer = new FontRenderer(this);
     factory = new JGLFontFactory(fontRenderer, new ResourceLoader() {
       @Override
@@ -218,18 +274,34 @@ public class BatchRenderDevice implements RenderDevice {
     shouldStartNewBatch = true;
     quadCount = 0;
     glyphCount = 0;
+    batchCount = 0;
+    textureSwitchCount = 0;
+    frameCounter++;
+    if (isPersistentTextureAtlas() && renderConfig.atlasDefragmentationThreshold > 0.f) {
+      if (defragmentedAtlas == null) {
+        defragmentNextTextureAtlas();
+      }
+      moveDefragmentedImages();
+    }
+    if (imageDecoder != null && imageDecoder.update(renderConfig.maxDecodedImagesPerFrame) > 0) {
+      // images that have not been decoded yet were skipped while recording the geometry
+      geometryGeneration++;
+    }
   }
 
   @Override
   public void endFrame() {
     log.finest("endFrame");
-    log.fine("completely clipped elements: " + clipping.getDiscardCount());
+    if (log.isLoggable(Level.FINE)) {
+      log.fine("completely clipped elements: " + clipping.getDiscardCount());
+    }
 
     if (displayFPS && fpsFont != null) {
       renderFont(fpsFont, buffer.toString(), 10, getHeight() - fpsFont.getHeight() - 10, fontColor, 1.0f, 1.0f);
     }
 
     int batches = renderBackend.render();
+    batchCount = batches;
     renderBackend.endFrame();
 
     frames++;
@@ -279,12 +351,32 @@ public class BatchRenderDevice implements RenderDevice {
   @Nullable
   @Override
   public RenderImage createImage(@Nonnull final String filename, final boolean filterLinear) {
+    return createBatchRenderImage(filename, renderConfig.asyncImageDecoding);
+  }
+
+  /**
+   * Get the number of images that are still decoded in the background.
+   */
+  public int getPendingImageCount() {
+    return imageDecoder == null ? 0 : imageDecoder.getPendingImageCount();
+  }
+
+  @Nonnull
+  private BatchRenderImage createBatchRenderImage(
+      @Nonnull final String filename,
+      final boolean decodeInBackground) {
     if(!renderConfig.disposeImagesBetweenScreens && imageCache.containsKey(filename)) {
       return imageCache.get(filename);
     }
     log.finest("createImage()");
+    BatchImageDecoder.ImageSize size = null;
+    if (decodeInBackground && resourceLoader != null) {
+      size = getImageDecoder().readImageSize(filename, resourceLoader);
+    }
     BatchRenderImage batchRenderImage = new BatchRenderImage(
-            renderBackend.loadImage(filename),
+            size == null ?
+                renderBackend.loadImage(filename) :
+                new BatchRenderBackend.ByteBufferedImage(null, size.width, size.height),
             filename,
             renderBackend,
             getCurrentTextureAtlasGenerator(),
@@ -293,9 +385,21 @@ public class BatchRenderDevice implements RenderDevice {
     if (!renderConfig.disposeImagesBetweenScreens) {
       imageCache.put(filename, batchRenderImage);
     }
+    addPersistentImage(batchRenderImage);
+    if (size != null) {
+      getImageDecoder().decode(batchRenderImage, filename);
+    }
     return batchRenderImage;
   }
 
+  @Nonnull
+  BatchImageDecoder getImageDecoder() {
+    if (imageDecoder == null) {
+      imageDecoder = new BatchImageDecoder(renderBackend);
+    }
+    return imageDecoder;
+  }
+
   @Nonnull
   @Override
   public RenderFont createFont(@Nonnull final String filename) {
@@ -314,6 +418,23 @@ public class BatchRenderDevice implements RenderDevice {
 
   public void disposeFont(final BatchRenderFont batchRenderFont) {
     fontCache.remove(batchRenderFont);
+    if (glyphRunCache != null) {
+      glyphRunCache.remove(batchRenderFont);
+    }
+  }
+
+  /**
+   * Get the number of renderFont() calls that have been served from the glyph run cache.
+   */
+  public long getGlyphRunCacheHits() {
+    return glyphRunCache == null ? 0 : glyphRunCache.getHits();
+  }
+
+  /**
+   * Get the number of renderFont() calls that had to lay out the text glyph by glyph.
+   */
+  public long getGlyphRunCacheMisses() {
+    return glyphRunCache == null ? 0 : glyphRunCache.getMisses();
   }
 
   @Override
@@ -387,6 +508,9 @@ public class BatchRenderDevice implements RenderDevice {
       return;
     }
     BatchRenderImage img = (BatchRenderImage) image;
+    if (!img.isDecoded()) {
+      return;
+    }
     uploadImageInternal(img);
     float centerX = x + width / 2.f;
     float centerY = y + height / 2.f;
@@ -426,6 +550,9 @@ public class BatchRenderDevice implements RenderDevice {
     int iw = Math.round(w * scale);
     int ih = Math.round(h * scale);
     BatchRenderImage img = (BatchRenderImage) image;
+    if (!img.isDecoded()) {
+      return;
+    }
     uploadImageInternal(img);
     addQuad(ix, iy, iw, ih, c, c, c, c, img.getX() + srcX, img.getY() + srcY, srcW, srcH, img.getTextureId());
   }
@@ -441,16 +568,55 @@ public class BatchRenderDevice implements RenderDevice {
       final float sizeY) {
     log.finest("renderFont()");
     BatchRenderFont renderFont = (BatchRenderFont) font;
-    renderFont.getBitmapFont().renderText(
-        x,
-        y,
-        text,
-        sizeX,
-        sizeY,
-        color.getRed(),
-        color.getGreen(),
-        color.getBlue(),
-        color.getAlpha());
+    if (glyphRunCache != null) {
+      GlyphRunCache.GlyphRun glyphRun = glyphRunCache.get(renderFont, text, sizeX, sizeY, color);
+      if (glyphRun != null) {
+        renderGlyphRun(glyphRun, x, y);
+        return;
+      }
+      recordingGlyphRun = new GlyphRunCache.GlyphRun();
+      recordingGlyphRunX = x;
+      recordingGlyphRunY = y;
+    }
+    try {
+      renderFont.getBitmapFont().renderText(
+          x,
+          y,
+          text,
+          sizeX,
+          sizeY,
+          color.getRed(),
+          color.getGreen(),
+          color.getBlue(),
+          color.getAlpha());
+      if (recordingGlyphRun != null) {
+        glyphRunCache.put(renderFont, text, sizeX, sizeY, color, recordingGlyphRun);
+      }
+    } finally {
+      recordingGlyphRun = null;
+    }
+  }
+
+  private void renderGlyphRun(@Nonnull final GlyphRunCache.GlyphRun glyphRun, final int x, final int y) {
+    fontRenderer.uploadBitmaps();
+    for (int i = 0; i < glyphRun.getGlyphCount(); i++) {
+      glyphRun.getColor(i, glyphRunColor);
+      glyphCount++;
+      addQuad(
+          x + glyphRun.getX(i),
+          y + glyphRun.getY(i),
+          glyphRun.getWidth(i),
+          glyphRun.getHeight(i),
+          glyphRunColor,
+          glyphRunColor,
+          glyphRunColor,
+          glyphRunColor,
+          glyphRun.getTextureX(i),
+          glyphRun.getTextureY(i),
+          glyphRun.getTextureWidth(i),
+          glyphRun.getTextureHeight(i),
+          glyphRun.getTextureId(i));
+    }
   }
 
   @Override
@@ -499,11 +665,175 @@ public class BatchRenderDevice implements RenderDevice {
     renderBackend.disableMouseCursor();
   }
 
+  @Nonnull
+  @Override
+  public RenderGeometry createGeometry() {
+    return new BatchRenderGeometry();
+  }
+
+  @Override
+  public void beginGeometry(@Nonnull final RenderGeometry geometry) {
+    log.finest("beginGeometry()");
+    BatchRenderGeometry batchGeometry = (BatchRenderGeometry) geometry;
+    batchGeometry.reset(geometryGeneration);
+    recordingGeometries.add(batchGeometry);
+  }
+
+  @Override
+  public void endGeometry(@Nonnull final RenderGeometry geometry) {
+    log.finest("endGeometry()");
+    recordingGeometries.remove(geometry);
+  }
+
+  @Override
+  public boolean renderGeometry(@Nonnull final RenderGeometry geometry) {
+    log.finest("renderGeometry()");
+    BatchRenderGeometry batchGeometry = (BatchRenderGeometry) geometry;
+    if (batchGeometry.getGeneration() != geometryGeneration) {
+      return false;
+    }
+    BlendMode blendMode = currentBlendMode;
+    for (int i = 0; i < batchGeometry.getQuadCount(); i++) {
+      setBlendMode(batchGeometry.getBlendMode(i));
+      for (int vertex = 0; vertex < replayColors.length; vertex++) {
+        batchGeometry.getColor(i, vertex, replayColors[vertex]);
+      }
+      addQuadInternal(
+          batchGeometry.getX(i),
+          batchGeometry.getY(i),
+          batchGeometry.getWidth(i),
+          batchGeometry.getHeight(i),
+          replayColors[0],
+          replayColors[1],
+          replayColors[2],
+          replayColors[3],
+          batchGeometry.getTextureX(i),
+          batchGeometry.getTextureY(i),
+          batchGeometry.getTextureWidth(i),
+          batchGeometry.getTextureHeight(i),
+          batchGeometry.getTextureId(i));
+    }
+    setBlendMode(blendMode);
+    return true;
+  }
+
+  @Override
+  public int getQuadCount() {
+    return quadCount;
+  }
+
+  @Override
+  public int getGlyphCount() {
+    return glyphCount;
+  }
+
+  @Override
+  public int getBatchCount() {
+    return batchCount;
+  }
+
+  @Override
+  public int getTextureSwitchCount() {
+    return textureSwitchCount;
+  }
+
+  @Override
+  public int getClippedQuadCount() {
+    return clipping.getDiscardCount();
+  }
+
+  /**
+   * Whether or not the content of the texture atlases is kept across screens, see
+   * {@link BatchRenderConfiguration#persistentTextureAtlas}.
+   */
+  public boolean isPersistentTextureAtlas() {
+    return renderConfig.persistentTextureAtlas && renderConfig.disposeImagesBetweenScreens;
+  }
+
+  /**
+   * Upload the given image into the current texture atlas. In the persistent texture atlas mode images are evicted from
+   * the atlases or another atlas is used in case the image doesn't fit. Otherwise this will be retried when the image
+   * is rendered.
+   */
+  public void uploadImage(@Nonnull final BatchRenderImage image) {
+    if (isPersistentTextureAtlas()) {
+      uploadImageInternal(image);
+      return;
+    }
+    if (image.isUploaded()) {
+      return;
+    }
+    image.upload();
+    countUpload(image);
+  }
+
+  /**
+   * Get the number of images that have been uploaded into a texture.
+   */
+  public long getUploadedImageCount() {
+    return uploadedImageCount;
+  }
+
+  /**
+   * Get the number of bytes of image data that have been uploaded into textures. Compare the value before and after a
+   * screen change to get the amount of data the screen change has uploaded.
+   */
+  public long getUploadedImageBytes() {
+    return uploadedImageBytes;
+  }
+
+  /**
+   * Get the number of images that have been evicted from the texture atlases to make room for other images.
+   */
+  public long getEvictedImageCount() {
+    return evictedImageCount;
+  }
+
+  /**
+   * Get the fraction of the area of all texture atlases (between 0.0f and 1.0f) that is covered by images.
+   */
+  public float getTextureAtlasOccupancy() {
+    if (textureAtlasGenerators.isEmpty()) {
+      return 0.f;
+    }
+    float occupancy = 0.f;
+    for (TextureAtlasGenerator generator : textureAtlasGenerators.values()) {
+      occupancy += generator.getOccupancy();
+    }
+    return occupancy / textureAtlasGenerators.size();
+  }
+
+  /**
+   * Get the average fragmentation of the texture atlases (between 0.0f and 1.0f). See
+   * {@link TextureAtlasGenerator#getFragmentation()}.
+   */
+  public float getTextureAtlasFragmentation() {
+    if (textureAtlasGenerators.isEmpty()) {
+      return 0.f;
+    }
+    float fragmentation = 0.f;
+    for (TextureAtlasGenerator generator : textureAtlasGenerators.values()) {
+      fragmentation += generator.getFragmentation();
+    }
+    return fragmentation / textureAtlasGenerators.size();
+  }
+
+  /**
+   * Get the number of times a texture atlas has been defragmented.
+   */
+  public long getDefragmentedAtlasCount() {
+    return defragmentedAtlasCount;
+  }
+
   public void resetTextureAtlases() {
     if (! renderConfig.disposeImagesBetweenScreens) {
       return;
     }
     log.finest("resetTextureAtlases()");
+    invalidateAtlasPositions();
+    for (BatchRenderImage image : persistentImages) {
+      image.markAsUnloaded();
+    }
     if (thePlainImage != null) {
       thePlainImage.unload();
     }
@@ -531,7 +861,128 @@ public class BatchRenderDevice implements RenderDevice {
 
   private void createTextureAtlasGenerator(final int atlasTextureId) {
     textureAtlasGenerators.put(atlasTextureId, new TextureAtlasGenerator(renderConfig.atlasWidth,
-            renderConfig.atlasHeight, renderConfig.atlasPadding, renderConfig.atlasTolerance));
+            renderConfig.atlasHeight, renderConfig.atlasPadding, renderConfig.atlasTolerance,
+            renderConfig.atlasPackingStrategy));
+  }
+
+  // Checks one atlas per frame and packs its images again if the free space is too scattered. The images are moved to
+  // their new positions by moveDefragmentedImages() over the next frames.
+  private void defragmentNextTextureAtlas() {
+    if (atlasTextureIds.isEmpty()) {
+      return;
+    }
+    defragmentationAtlasIndex = (defragmentationAtlasIndex + 1) % atlasTextureIds.size();
+    int atlasTextureId = atlasTextureIds.get(defragmentationAtlasIndex);
+    TextureAtlasGenerator generator = textureAtlasGenerators.get(atlasTextureId);
+    if (generator == null ||
+        !generator.hasRemovedImages() ||
+        generator.getFragmentation() < renderConfig.atlasDefragmentationThreshold) {
+      return;
+    }
+
+    List<BatchRenderImage> images = new ArrayList<BatchRenderImage>();
+    for (int i = 0; i < persistentImages.size(); i++) {
+      BatchRenderImage image = persistentImages.get(i);
+      if (image.isUploadedToAtlas() && image.getTextureId() == atlasTextureId) {
+        images.add(image);
+      }
+    }
+    // we can only move the images when we know all of them
+    if (images.size() != generator.getImageCount()) {
+      return;
+    }
+    float fragmentation = generator.getFragmentation();
+    Map<String, TextureAtlasGenerator.Result> results = generator.defragment();
+    if (results == null) {
+      return;
+    }
+
+    // the free space of the new layout might still hold images at their old positions until all of them are moved, new
+    // images can only use the rest of it
+    for (int i = 0; i < images.size(); i++) {
+      BatchRenderImage image = images.get(i);
+      generator.reserveArea(image.getFilename(),
+          new TextureAtlasGenerator.Result(image.getX(), image.getY(), image.getWidth(), image.getHeight()));
+    }
+    defragmentedAtlas = generator;
+    defragmentedAtlasTextureId = atlasTextureId;
+    defragmentedImages.addAll(images);
+    defragmentedPositions = results;
+    if (log.isLoggable(Level.FINE)) {
+      log.fine("Defragmenting atlas (atlas texture id: " + atlasTextureId + ", fragmentation: " + fragmentation +
+          " -> " + generator.getFragmentation() + ").");
+    }
+  }
+
+  // Moves at most maxDefragmentedImagesPerFrame images of the defragmented atlas to their new positions. An image is
+  // only moved when its new position doesn't overlap an image that is still at its old position.
+  private void moveDefragmentedImages() {
+    if (defragmentedAtlas == null || defragmentedPositions == null) {
+      return;
+    }
+    int movedImages = 0;
+    boolean blocked = false;
+    for (int i = 0; i < defragmentedImages.size() && movedImages < renderConfig.maxDefragmentedImagesPerFrame; i++) {
+      BatchRenderImage image = defragmentedImages.get(i);
+      if (!image.isUploadedToAtlas() || image.getTextureId() != defragmentedAtlasTextureId) {
+        // the image has been removed from the atlas in the meantime
+        defragmentedImages.remove(i--);
+        continue;
+      }
+      TextureAtlasGenerator.Result position = defragmentedPositions.get(image.getFilename());
+      if (position == null || overlapsDefragmentedImage(image, position)) {
+        blocked = true;
+        continue;
+      }
+      image.moveInAtlas(position);
+      defragmentedAtlas.releaseArea(image.getFilename());
+      defragmentedImages.remove(i--);
+      movedImages++;
+    }
+
+    if (movedImages == 0 && blocked && !defragmentedImages.isEmpty()) {
+      // the remaining images block each other, so one of them is removed from the atlas and uploaded again later
+      BatchRenderImage image = defragmentedImages.remove(0);
+      image.unload();
+      evictedImageCount++;
+    }
+    if (movedImages > 0 || blocked) {
+      invalidateAtlasPositions();
+    }
+    if (defragmentedImages.isEmpty()) {
+      finishDefragmentation();
+      defragmentedAtlasCount++;
+    }
+  }
+
+  private boolean overlapsDefragmentedImage(
+      @Nonnull final BatchRenderImage image,
+      @Nonnull final TextureAtlasGenerator.Result position) {
+    int width = position.getOriginalImageWidth();
+    int height = position.getOriginalImageHeight();
+    for (int i = 0; i < defragmentedImages.size(); i++) {
+      BatchRenderImage other = defragmentedImages.get(i);
+      if (other != image &&
+          other.isUploadedToAtlas() &&
+          position.getX() < other.getX() + other.getWidth() &&
+          other.getX() < position.getX() + width &&
+          position.getY() < other.getY() + other.getHeight() &&
+          other.getY() < position.getY() + height) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void finishDefragmentation() {
+    if (defragmentedAtlas != null) {
+      for (int i = 0; i < defragmentedImages.size(); i++) {
+        defragmentedAtlas.releaseArea(defragmentedImages.get(i).getFilename());
+      }
+    }
+    defragmentedAtlas = null;
+    defragmentedPositions = null;
+    defragmentedImages.clear();
   }
 
   private void resetCurrentTextureAtlas() {
@@ -562,27 +1013,99 @@ public class BatchRenderDevice implements RenderDevice {
   @Nonnull
   private BatchRenderImage getPlainImage() {
     if (thePlainImage == null) {
-      thePlainImage = (BatchRenderImage) createImage("de/lessvoid/nifty/render/batch/nifty.png", true);
-      if (thePlainImage == null) {
-        throw new RuntimeException("The batch renderer requires the plain image in the resources, but its not there.");
-      }
+      thePlainImage = createBatchRenderImage("de/lessvoid/nifty/render/batch/nifty.png", false);
     }
     uploadImageInternal(thePlainImage);
     return thePlainImage;
   }
 
   private void uploadImageInternal(final BatchRenderImage image) {
-    if (image.isUploaded()) {
+    image.setLastUsedFrame(frameCounter);
+    if (image.isUploaded() || !image.isDecoded()) {
       return;
     }
 
     // First attempt
     image.upload();
 
+    // Make room in the atlases by evicting the least recently used images
+    if (! image.isUploaded() && isPersistentTextureAtlas()) {
+      evictUntilUploaded(image);
+    }
+
     // Next attempt
     if (! image.isUploaded()) {
       reattemptUpload(image);
     }
+
+    countUpload(image);
+  }
+
+  private void countUpload(final BatchRenderImage image) {
+    if (image.isUploaded()) {
+      uploadedImageCount++;
+      uploadedImageBytes += image.getByteSize();
+    }
+  }
+
+  private void evictUntilUploaded(final BatchRenderImage image) {
+    while (!image.isUploaded() && !image.uploadFailedPermanently()) {
+      BatchRenderImage evict = findLeastRecentlyUsedImage(image);
+      if (evict == null) {
+        return;
+      }
+      int atlasTextureId = evict.getTextureId();
+      evict.unload();
+      evictedImageCount++;
+      invalidateAtlasPositions();
+      if (log.isLoggable(Level.FINE)) {
+        log.fine("Evicted image [" + evict + "] from atlas (atlas texture id: " + atlasTextureId + ").");
+      }
+      image.reUpload(atlasTextureId, textureAtlasGenerators.get(atlasTextureId));
+    }
+  }
+
+  @Nullable
+  private BatchRenderImage findLeastRecentlyUsedImage(final BatchRenderImage image) {
+    BatchRenderImage result = null;
+    for (int i = 0; i < persistentImages.size(); i++) {
+      BatchRenderImage candidate = persistentImages.get(i);
+      if (candidate == image ||
+          !candidate.isUploadedToAtlas() ||
+          candidate.getLastUsedFrame() >= frameCounter ||
+          !textureAtlasGenerators.containsKey(candidate.getTextureId())) {
+        continue;
+      }
+      if (result == null || candidate.getLastUsedFrame() < result.getLastUsedFrame()) {
+        result = candidate;
+      }
+    }
+    return result;
+  }
+
+  private void addPersistentImage(@Nonnull final BatchRenderImage image) {
+    if (!isPersistentTextureAtlas()) {
+      return;
+    }
+    if (persistentImages.size() >= persistentImagesPruneSize) {
+      Iterator<BatchRenderImage> it = persistentImages.iterator();
+      while (it.hasNext()) {
+        BatchRenderImage persistentImage = it.next();
+        if (persistentImage.isDisposed() && !persistentImage.isUploaded()) {
+          it.remove();
+        }
+      }
+      persistentImagesPruneSize = Math.max(64, persistentImages.size() * 2);
+    }
+    persistentImages.add(image);
+  }
+
+  // recorded geometry and glyph runs refer to positions in the atlases and need to be recreated when they change
+  private void invalidateAtlasPositions() {
+    geometryGeneration++;
+    if (glyphRunCache != null) {
+      glyphRunCache.clear();
+    }
   }
 
   private void reattemptUpload(final BatchRenderImage image) {
@@ -599,6 +1122,7 @@ public class BatchRenderDevice implements RenderDevice {
   }
 
   private void resetTextureAtlasGenerators() {
+    finishDefragmentation();
     for (TextureAtlasGenerator generator : textureAtlasGenerators.values()) {
       generator.reset();
     }
@@ -685,6 +1209,8 @@ public class BatchRenderDevice implements RenderDevice {
           final int textureWidth,
           final int textureHeight,
           final int textureId) {
+    recordQuad(x, y, width, height, color1, color2, color3, color4, textureX, textureY, textureWidth, textureHeight,
+        textureId);
     checkIfTextureChanged(textureId);
     beginNewBatchIfRequired();
     renderBackend.addQuad(
@@ -704,9 +1230,30 @@ public class BatchRenderDevice implements RenderDevice {
     quadCount++;
   }
 
+  private void recordQuad(
+          final float x,
+          final float y,
+          final float width,
+          final float height,
+          @Nonnull final Color color1,
+          @Nonnull final Color color2,
+          @Nonnull final Color color3,
+          @Nonnull final Color color4,
+          final int textureX,
+          final int textureY,
+          final int textureWidth,
+          final int textureHeight,
+          final int textureId) {
+    for (int i = 0; i < recordingGeometries.size(); i++) {
+      recordingGeometries.get(i).addQuad(x, y, width, height, color1, color2, color3, color4, textureX, textureY,
+          textureWidth, textureHeight, textureId, currentBlendMode);
+    }
+  }
+
   private void checkIfTextureChanged(final int textureId) {
     if (!isCurrentTexture(textureId)) {
       updateCurrentTexture(textureId);
+      textureSwitchCount++;
       shouldStartNewBatch = true;
     }
   }
@@ -956,7 +1503,7 @@ public class BatchRenderDevice implements RenderDevice {
         @Nonnull final String bitmapId,
         final InputStream data,
         @Nonnull final String filename) throws IOException {
-      textureInfos.put(bitmapId, new BitmapInfo((BatchRenderImage) batchRenderDevice.createImage(filename, true)));
+      textureInfos.put(bitmapId, new BitmapInfo(batchRenderDevice.createBatchRenderImage(filename, false)));
     }
 
     @Override
@@ -977,6 +1524,7 @@ public class BatchRenderDevice implements RenderDevice {
                 getCurrentTextureAtlasGenerator(),
                 getCurrentAtlasTextureId(),
                 renderConfig.disposeImagesBetweenScreens);
+        addPersistentImage(batchRenderImage);
       }
       textureInfos.put(bitmapId, new BitmapInfo(batchRenderImage));
     }
@@ -1001,14 +1549,18 @@ public class BatchRenderDevice implements RenderDevice {
     public void prepare() {
     }
 
-    @Override
-    public void beforeRender (final Object customRenderState) {
-      hasColor = false;
+    public void uploadBitmaps() {
       for (BitmapInfo info : textureInfos.values()) {
         info.upload();
       }
     }
 
+    @Override
+    public void beforeRender (final Object customRenderState) {
+      hasColor = false;
+      uploadBitmaps();
+    }
+
     @Override
     public int preProcess(@Nonnull final String text, final int offset) {
       int index = offset;
@@ -1105,17 +1657,25 @@ public class BatchRenderDevice implements RenderDevice {
         final int textureHeight,
         final int textureId) {
       glyphCount++;
+      float glyphX = x + (float) Math.floor(xoff * sx);
+      float glyphY = y + (float) Math.floor(yoff * sy);
+      int glyphTextureX = (int) (textureX + u0 * textureWidth);
+      int glyphTextureY = (int) (textureY + v0 * textureHeight);
+      if (recordingGlyphRun != null) {
+        recordingGlyphRun.add(glyphX - recordingGlyphRunX, glyphY - recordingGlyphRunY, w * sx, h * sy, textColor,
+            glyphTextureX, glyphTextureY, w, h, textureId);
+      }
       addQuad(
-          x + (float) Math.floor(xoff * sx),
-          y + (float) Math.floor(yoff * sy),
+          glyphX,
+          glyphY,
           w * sx,
           h * sy,
           textColor,
           textColor,
           textColor,
           textColor,
-          (int) (textureX + u0 * textureWidth),
-          (int) (textureY + v0 * textureHeight),
+          glyphTextureX,
+          glyphTextureY,
           w,
           h,
           textureId);
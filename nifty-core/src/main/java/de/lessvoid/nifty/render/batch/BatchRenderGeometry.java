@@ -0,0 +1,154 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.spi.render.RenderGeometry;
+import de.lessvoid.nifty.tools.Color;
+
+import java.util.Arrays;
+import javax.annotation.Nonnull;
+
+/**
+ * The quads recorded by {@link BatchRenderDevice} for a cached subtree. The quads are stored after clipping in two
+ * flat arrays so that replaying them doesn't need to touch any element, renderer or render state.
+ */
+public class BatchRenderGeometry implements RenderGeometry {
+  // x, y, width, height and 4 colors with 4 components each
+  private static final int FLOATS_PER_QUAD = 4 + 4 * 4;
+  // textureX, textureY, textureWidth, textureHeight, textureId and the blend mode
+  private static final int INTS_PER_QUAD = 6;
+  private static final int INITIAL_QUAD_CAPACITY = 16;
+  private static final BlendMode[] BLEND_MODES = BlendMode.values();
+
+  @Nonnull
+  private float[] floats = new float[0];
+  @Nonnull
+  private int[] ints = new int[0];
+  private int quadCount;
+  private int generation = -1;
+
+  void reset(final int generation) {
+    this.generation = generation;
+    quadCount = 0;
+  }
+
+  int getGeneration() {
+    return generation;
+  }
+
+  int getQuadCount() {
+    return quadCount;
+  }
+
+  void addQuad(
+      final float x,
+      final float y,
+      final float width,
+      final float height,
+      @Nonnull final Color color1,
+      @Nonnull final Color color2,
+      @Nonnull final Color color3,
+      @Nonnull final Color color4,
+      final int textureX,
+      final int textureY,
+      final int textureWidth,
+      final int textureHeight,
+      final int textureId,
+      @Nonnull final BlendMode blendMode) {
+    ensureCapacity(quadCount + 1);
+    int f = quadCount * FLOATS_PER_QUAD;
+    floats[f++] = x;
+    floats[f++] = y;
+    floats[f++] = width;
+    floats[f++] = height;
+    f = putColor(f, color1);
+    f = putColor(f, color2);
+    f = putColor(f, color3);
+    putColor(f, color4);
+
+    int i = quadCount * INTS_PER_QUAD;
+    ints[i++] = textureX;
+    ints[i++] = textureY;
+    ints[i++] = textureWidth;
+    ints[i++] = textureHeight;
+    ints[i++] = textureId;
+    ints[i] = blendMode.ordinal();
+    quadCount++;
+  }
+
+  float getX(final int quad) {
+    return floats[quad * FLOATS_PER_QUAD];
+  }
+
+  float getY(final int quad) {
+    return floats[quad * FLOATS_PER_QUAD + 1];
+  }
+
+  float getWidth(final int quad) {
+    return floats[quad * FLOATS_PER_QUAD + 2];
+  }
+
+  float getHeight(final int quad) {
+    return floats[quad * FLOATS_PER_QUAD + 3];
+  }
+
+  /**
+   * Copy one of the four vertex colors (0..3) of the given quad into the target color.
+   */
+  void getColor(final int quad, final int vertex, @Nonnull final Color target) {
+    int f = quad * FLOATS_PER_QUAD + 4 + vertex * 4;
+    target.setRed(floats[f]);
+    target.setGreen(floats[f + 1]);
+    target.setBlue(floats[f + 2]);
+    target.setAlpha(floats[f + 3]);
+  }
+
+  int getTextureX(final int quad) {
+    return ints[quad * INTS_PER_QUAD];
+  }
+
+  int getTextureY(final int quad) {
+    return ints[quad * INTS_PER_QUAD + 1];
+  }
+
+  int getTextureWidth(final int quad) {
+    return ints[quad * INTS_PER_QUAD + 2];
+  }
+
+  int getTextureHeight(final int quad) {
+    return ints[quad * INTS_PER_QUAD + 3];
+  }
+
+  int getTextureId(final int quad) {
+    return ints[quad * INTS_PER_QUAD + 4];
+  }
+
+  @Nonnull
+  BlendMode getBlendMode(final int quad) {
+    return BLEND_MODES[ints[quad * INTS_PER_QUAD + 5]];
+  }
+
+  @Override
+  public void dispose() {
+    floats = new float[0];
+    ints = new int[0];
+    quadCount = 0;
+    generation = -1;
+  }
+
+  private int putColor(int index, @Nonnull final Color color) {
+    floats[index++] = color.getRed();
+    floats[index++] = color.getGreen();
+    floats[index++] = color.getBlue();
+    floats[index++] = color.getAlpha();
+    return index;
+  }
+
+  private void ensureCapacity(final int quads) {
+    if (quads * INTS_PER_QUAD <= ints.length) {
+      return;
+    }
+    int newCapacity = Math.max(INITIAL_QUAD_CAPACITY, Math.max(quads, (ints.length / INTS_PER_QUAD) * 2));
+    floats = Arrays.copyOf(floats, newCapacity * FLOATS_PER_QUAD);
+    ints = Arrays.copyOf(ints, newCapacity * INTS_PER_QUAD);
+  }
+}
@@ -20,7 +20,7 @@ public class BatchRenderImage implements RenderImage {
   @Nonnull
   private static Map<Integer, TextureSize> textureSizes = new HashMap<Integer, TextureSize>(); // provides the size of a texture represented by a specific texture id
   @Nonnull
-  private final Image image; // the image in the format needed by the rendering backend
+  private Image image; // the image in the format needed by the rendering backend
   @Nonnull
   private final String filename; // the filename associated with this image
   @Nonnull
@@ -35,6 +35,9 @@ public class BatchRenderImage implements RenderImage {
   private boolean uploadFailed; // will be set to true if this image already failed at an attempted upload
   @Nullable
   private Result result; // the result returned by processing this image with a TextureAtlasGenerator
+  private long lastUsedFrame; // the last frame this image has been rendered in, used to find images to evict
+  private boolean disposed; // whether this image has been disposed and is not going to be rendered anymore
+  private boolean decoded = true; // whether the image data is available, false while it's decoded in the background
 
   /**
    * @param image The image in the format needed by the rendering backend
@@ -99,7 +102,34 @@ public class BatchRenderImage implements RenderImage {
 
   @Override
   public void dispose() {
-  }  
+    disposed = true;
+  }
+
+  public boolean isDisposed() {
+    return disposed;
+  }
+
+  @Nonnull
+  String getFilename() {
+    return filename;
+  }
+
+  // whether the image data is available. Images that are decoded in the background can't be uploaded or rendered
+  // until the decoding is done.
+  public boolean isDecoded() {
+    return decoded;
+  }
+
+  // mark this image as being decoded in the background, the image passed to the constructor only provides the size
+  void startDecoding() {
+    decoded = false;
+  }
+
+  // set the image data once the decoding in the background is done
+  void finishDecoding(@Nonnull final Image decodedImage) {
+    image = decodedImage;
+    decoded = true;
+  }
 
   public int getX() {
     return x;
@@ -117,6 +147,24 @@ public class BatchRenderImage implements RenderImage {
     return isUploaded;
   }
 
+  // whether this image is currently uploaded into one of the texture atlases (and not as a non-atlas texture)
+  public boolean isUploadedToAtlas() {
+    return isUploaded && result != null;
+  }
+
+  // the number of bytes of texture data this image needs (RGBA)
+  public int getByteSize() {
+    return image.getWidth() * image.getHeight() * 4;
+  }
+
+  long getLastUsedFrame() {
+    return lastUsedFrame;
+  }
+
+  void setLastUsedFrame(final long frame) {
+    lastUsedFrame = frame;
+  }
+
   public void markAsUnloaded() {
     if (shouldUnload) {
       isUploaded = false;
@@ -132,7 +180,7 @@ public class BatchRenderImage implements RenderImage {
   // You can only call this once. After that, the image will either be uploaded or will have failed to upload.
   // In either case, calling it again has no effect. Try the reUpload method if the upload fails.
   public void upload() {
-    if (isUploaded || uploadFailed) {
+    if (isUploaded || uploadFailed || !decoded) {
       return;
     }
 
@@ -182,6 +230,18 @@ public class BatchRenderImage implements RenderImage {
     isUploaded = false;
   }
 
+  // Moves the image data to the position the TextureAtlasGenerator has calculated while defragmenting the atlas. The
+  // image stays in the TextureAtlasGenerator, only the image data at the old position is removed.
+  void moveInAtlas(@Nonnull final Result newResult) {
+    if (isUploadedToAtlas()) {
+      unloadImageFromAtlas();
+    }
+    result = newResult;
+    x = newResult.getX();
+    y = newResult.getY();
+    renderBackend.addImageToAtlas(image, x, y, textureId);
+  }
+
   // Internal implementations
 
   private void preProcessImageUpload() {
@@ -264,10 +324,11 @@ public class BatchRenderImage implements RenderImage {
 
   private void unloadImageFromAtlas() {
     assert result != null;
+    // x and y are the position of the image data, which differs from the result while the atlas is defragmented
     renderBackend.removeImageFromAtlas(
             image,
-            result.getX(),
-            result.getY(),
+            x,
+            y,
             result.getOriginalImageWidth(),
             result.getOriginalImageHeight(),
             textureId);
@@ -0,0 +1,263 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.spi.render.RenderFont;
+import de.lessvoid.nifty.tools.Color;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The glyph quads {@link BatchRenderDevice} creates for a text, keyed by font, text, size and color. The quads are
+ * stored relative to the origin of the text and before clipping, so a cached run can be rendered at any position.
+ * The least recently used run is evicted when the cache is full.
+ */
+class GlyphRunCache {
+  private final int capacity;
+  @Nonnull
+  private final LinkedHashMap<Key, GlyphRun> runs;
+  // re-usable key to look up runs without creating garbage
+  @Nonnull
+  private final Key lookupKey = new Key();
+  private long hits;
+  private long misses;
+
+  GlyphRunCache(final int capacity) {
+    this.capacity = capacity;
+    this.runs = new LinkedHashMap<Key, GlyphRun>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Key, GlyphRun> eldest) {
+        return size() > GlyphRunCache.this.capacity;
+      }
+    };
+  }
+
+  /**
+   * Get the cached run for the given text or {@code null} when the text has not been cached yet.
+   */
+  @Nullable
+  GlyphRun get(
+      @Nonnull final RenderFont font,
+      @Nonnull final String text,
+      final float sizeX,
+      final float sizeY,
+      @Nonnull final Color color) {
+    lookupKey.set(font, text, sizeX, sizeY, color);
+    GlyphRun run = runs.get(lookupKey);
+    if (run == null) {
+      misses++;
+    } else {
+      hits++;
+    }
+    return run;
+  }
+
+  /**
+   * Add the run of the given text.
+   */
+  void put(
+      @Nonnull final RenderFont font,
+      @Nonnull final String text,
+      final float sizeX,
+      final float sizeY,
+      @Nonnull final Color color,
+      @Nonnull final GlyphRun run) {
+    Key key = new Key();
+    key.set(font, text, sizeX, sizeY, color);
+    runs.put(key, run);
+  }
+
+  /**
+   * Remove all runs of the given font.
+   */
+  void remove(@Nonnull final RenderFont font) {
+    Iterator<Key> it = runs.keySet().iterator();
+    while (it.hasNext()) {
+      if (it.next().font == font) {
+        it.remove();
+      }
+    }
+  }
+
+  void clear() {
+    runs.clear();
+  }
+
+  int size() {
+    return runs.size();
+  }
+
+  long getHits() {
+    return hits;
+  }
+
+  long getMisses() {
+    return misses;
+  }
+
+  /**
+   * The glyph quads of a single text.
+   */
+  static class GlyphRun {
+    // x, y, width, height and the color
+    private static final int FLOATS_PER_GLYPH = 4 + 4;
+    // textureX, textureY, textureWidth, textureHeight and textureId
+    private static final int INTS_PER_GLYPH = 5;
+
+    @Nonnull
+    private float[] floats = new float[8 * FLOATS_PER_GLYPH];
+    @Nonnull
+    private int[] ints = new int[8 * INTS_PER_GLYPH];
+    private int glyphCount;
+
+    void add(
+        final float x,
+        final float y,
+        final float width,
+        final float height,
+        @Nonnull final Color color,
+        final int textureX,
+        final int textureY,
+        final int textureWidth,
+        final int textureHeight,
+        final int textureId) {
+      if ((glyphCount + 1) * INTS_PER_GLYPH > ints.length) {
+        floats = Arrays.copyOf(floats, floats.length * 2);
+        ints = Arrays.copyOf(ints, ints.length * 2);
+      }
+      int f = glyphCount * FLOATS_PER_GLYPH;
+      floats[f++] = x;
+      floats[f++] = y;
+      floats[f++] = width;
+      floats[f++] = height;
+      floats[f++] = color.getRed();
+      floats[f++] = color.getGreen();
+      floats[f++] = color.getBlue();
+      floats[f] = color.getAlpha();
+
+      int i = glyphCount * INTS_PER_GLYPH;
+      ints[i++] = textureX;
+      ints[i++] = textureY;
+      ints[i++] = textureWidth;
+      ints[i++] = textureHeight;
+      ints[i] = textureId;
+      glyphCount++;
+    }
+
+    int getGlyphCount() {
+      return glyphCount;
+    }
+
+    float getX(final int glyph) {
+      return floats[glyph * FLOATS_PER_GLYPH];
+    }
+
+    float getY(final int glyph) {
+      return floats[glyph * FLOATS_PER_GLYPH + 1];
+    }
+
+    float getWidth(final int glyph) {
+      return floats[glyph * FLOATS_PER_GLYPH + 2];
+    }
+
+    float getHeight(final int glyph) {
+      return floats[glyph * FLOATS_PER_GLYPH + 3];
+    }
+
+    void getColor(final int glyph, @Nonnull final Color target) {
+      int f = glyph * FLOATS_PER_GLYPH + 4;
+      target.setRed(floats[f]);
+      target.setGreen(floats[f + 1]);
+      target.setBlue(floats[f + 2]);
+      target.setAlpha(floats[f + 3]);
+    }
+
+    int getTextureX(final int glyph) {
+      return ints[glyph * INTS_PER_GLYPH];
+    }
+
+    int getTextureY(final int glyph) {
+      return ints[glyph * INTS_PER_GLYPH + 1];
+    }
+
+    int getTextureWidth(final int glyph) {
+      return ints[glyph * INTS_PER_GLYPH + 2];
+    }
+
+    int getTextureHeight(final int glyph) {
+      return ints[glyph * INTS_PER_GLYPH + 3];
+    }
+
+    int getTextureId(final int glyph) {
+      return ints[glyph * INTS_PER_GLYPH + 4];
+    }
+  }
+
+  private static class Key {
+    @Nullable
+    private RenderFont font;
+    @Nullable
+    private String text;
+    private float sizeX;
+    private float sizeY;
+    private float red;
+    private float green;
+    private float blue;
+    private float alpha;
+    private int hash;
+
+    void set(
+        @Nonnull final RenderFont font,
+        @Nonnull final String text,
+        final float sizeX,
+        final float sizeY,
+        @Nonnull final Color color) {
+      this.font = font;
+      this.text = text;
+      this.sizeX = sizeX;
+      this.sizeY = sizeY;
+      this.red = color.getRed();
+      this.green = color.getGreen();
+      this.blue = color.getBlue();
+      this.alpha = color.getAlpha();
+
+      int h = System.identityHashCode(font);
+      h = 31 * h + text.hashCode();
+      h = 31 * h + Float.floatToIntBits(sizeX);
+      h = 31 * h + Float.floatToIntBits(sizeY);
+      h = 31 * h + Float.floatToIntBits(red);
+      h = 31 * h + Float.floatToIntBits(green);
+      h = 31 * h + Float.floatToIntBits(blue);
+      h = 31 * h + Float.floatToIntBits(alpha);
+      this.hash = h;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return font == other.font &&
+          hash == other.hash &&
+          sizeX == other.sizeX &&
+          sizeY == other.sizeY &&
+          red == other.red &&
+          green == other.green &&
+          blue == other.blue &&
+          alpha == other.alpha &&
+          text != null && text.equals(other.text);
+    }
+  }
+}
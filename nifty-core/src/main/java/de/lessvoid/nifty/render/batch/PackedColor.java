@@ -0,0 +1,50 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.tools.Color;
+
+import java.nio.ByteOrder;
+import javax.annotation.Nonnull;
+
+/**
+ * Helper to store a {@link de.lessvoid.nifty.tools.Color} as four normalized unsigned bytes (RGBA) inside of a single
+ * float slot of an interleaved vertex buffer. This allows the packed vertex formats to keep using a plain
+ * {@link java.nio.FloatBuffer} for the vertex data while the GPU reads the color as GL_UNSIGNED_BYTE.
+ */
+public final class PackedColor {
+  private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+  // Clearing the lowest bit of the most significant byte makes sure that the resulting float can never be a NaN.
+  // Otherwise the JVM would be free to change the bit pattern of the float before it reaches the buffer.
+  private static final int NO_NAN_MASK = 0xfeffffff;
+
+  private PackedColor() {
+  }
+
+  /**
+   * Packs the given color into a float whose bytes in native order are red, green, blue and alpha. The lowest bit of
+   * the alpha (little endian) or red (big endian) component is lost in the process, which is not visible in practice.
+   */
+  public static float toFloatBits(@Nonnull final Color color) {
+    int r = toByte(color.getRed());
+    int g = toByte(color.getGreen());
+    int b = toByte(color.getBlue());
+    int a = toByte(color.getAlpha());
+    int bits;
+    if (LITTLE_ENDIAN) {
+      bits = (a << 24) | (b << 16) | (g << 8) | r;
+    } else {
+      bits = (r << 24) | (g << 16) | (b << 8) | a;
+    }
+    return Float.intBitsToFloat(bits & NO_NAN_MASK);
+  }
+
+  private static int toByte(final float value) {
+    if (value <= 0.f) {
+      return 0;
+    }
+    if (value >= 1.f) {
+      return 255;
+    }
+    return (int) (value * 255.f + 0.5f);
+  }
+}
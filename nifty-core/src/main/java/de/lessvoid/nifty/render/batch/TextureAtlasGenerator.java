@@ -1,6 +1,11 @@
 package de.lessvoid.nifty.render.batch;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -15,6 +20,13 @@ import javax.annotation.Nullable;
  * <p/>
  * This class tries to separate the actual algorithm from the image manipulating code so that this can be used with
  * different rendering/image frameworks.
+ * <p/>
+ * Alternatively the images can be packed with the MaxRects algorithm described in "A Thousand Ways to Pack the Bin" by
+ * Jukka Jyl&auml;nki, see {@link PackingStrategy#MAX_RECTS}. Removing images from an atlas will leave holes that
+ * might be too small for new images. {@link #getFragmentation()} reports how scattered the free space is and
+ * {@link #defragment()} packs all the images of the atlas again. While the image data is moved to the new positions
+ * over time, {@link #reserveArea(String, Result)} keeps new images away from the old positions of the images that have
+ * not been moved yet.
  *
  * @author void
  */
@@ -24,10 +36,39 @@ public class TextureAtlasGenerator {
   private final int atlasPadding;
   private final float atlasTolerance;
   @Nonnull
-  private Node root;
-  // for easy access we keep each node in a map with the passed name as the key so we can look up a Node directly
+  private final PackingStrategy packingStrategy;
+  @Nonnull
+  private Packer packer;
+  // for easy access we keep each rectangle in a map with the passed name as the key so we can look up a rectangle
+  // directly
+  @Nonnull
+  private Map<String, Rectangle> rectangleMap;
+  // the area of all images with and without padding
+  private long imageArea;
+  private long paddedImageArea;
+  // whether images have been removed since the last reset or defragmentation
+  private boolean imagesRemoved;
+  // the areas new images must not be placed in with the name of the image that still occupies them, see reserveArea()
   @Nonnull
-  private Map<String, Node> rectangleMap;
+  private final Map<String, Rectangle> reservedAreas = new HashMap<String, Rectangle>();
+
+  /**
+   * The algorithm used to find the position of the images in the atlas.
+   */
+  public enum PackingStrategy {
+    /**
+     * Recursively split the free space of the atlas into two rectangles for each image that is added. This is fast,
+     * but the space of removed images can only be reused by images that are not larger than the removed image.
+     */
+    BINARY_TREE,
+
+    /**
+     * Keep track of all maximal free rectangles of the atlas and put each image into the free rectangle that leaves
+     * the smallest amount of space on the shorter side of the image. This usually packs the images tighter and merges
+     * the space of removed images with the surrounding free space, at the cost of some more work for each image.
+     */
+    MAX_RECTS
+  }
 
   /**
    * You'll get an instance of this class back when you add an image. This class will show you where you'll need to
@@ -85,6 +126,19 @@ public class TextureAtlasGenerator {
                                final int atlasHeight,
                                final int atlasPadding,
                                final float atlasTolerance) {
+    this(atlasWidth, atlasHeight, atlasPadding, atlasTolerance, PackingStrategy.BINARY_TREE);
+  }
+
+  /**
+   * Creates a new TextureAtlasGenerator that uses the given algorithm to place the images in the atlas.
+   *
+   * @see #TextureAtlasGenerator(int, int, int, float)
+   */
+  public TextureAtlasGenerator(final int atlasWidth,
+                               final int atlasHeight,
+                               final int atlasPadding,
+                               final float atlasTolerance,
+                               @Nonnull final PackingStrategy packingStrategy) {
     if (atlasWidth <= 0) {
       throw new IllegalArgumentException("atlas width must be greater than 0");
     } else if (atlasHeight <= 0) {
@@ -102,6 +156,7 @@ public class TextureAtlasGenerator {
     this.atlasHeight = atlasHeight;
     this.atlasPadding = atlasPadding;
     this.atlasTolerance = atlasTolerance;
+    this.packingStrategy = packingStrategy;
     reset();
   }
 
@@ -132,13 +187,17 @@ public class TextureAtlasGenerator {
       return null;
     }
 
-    Node node = root.insert(imageWidth, imageHeight, atlasPadding);
-    if (node == null) {
+    Rectangle rect = packer.insert(imageWidth, imageHeight, reservedAreas.values());
+    if (rect == null) {
       return null;
     }
 
-    rectangleMap.put(imageName, node);
-    return new Result(node.rect.x, node.rect.y, imageWidth, imageHeight);
+    Rectangle previous = rectangleMap.put(imageName, rect);
+    if (previous != null) {
+      removeArea(previous);
+    }
+    addArea(rect);
+    return new Result(rect.x, rect.y, imageWidth, imageHeight);
   }
 
   /**
@@ -168,15 +227,126 @@ public class TextureAtlasGenerator {
 
   @Nullable
   public Result removeImage(@Nonnull final String name) {
-    Node node = rectangleMap.remove(name);
-    if (node == null) {
+    Rectangle rect = rectangleMap.remove(name);
+    if (rect == null) {
       return null;
     }
 
-    node.occupied = false;
-    node.child[0] = null;
-    node.child[1] = null;
-    return new Result(node.rect.x, node.rect.y, node.rect.width, node.rect.height);
+    packer.remove(rect);
+    removeArea(rect);
+    reservedAreas.remove(name);
+    imagesRemoved = true;
+    return new Result(rect.x, rect.y, rect.width, rect.height);
+  }
+
+  /**
+   * Packs all the images of the atlas again, largest images first. This will usually move most of the images, so it's
+   * up to you to move the image data in the texture to the new positions. The atlas is not changed when the images
+   * don't fit into the atlas anymore.
+   *
+   * @return the new positions of all images in the atlas with the name of the image as the key, or null if the images
+   *         could not be packed again
+   */
+  @Nullable
+  public Map<String, Result> defragment() {
+    List<Map.Entry<String, Rectangle>> entries = new ArrayList<Map.Entry<String, Rectangle>>(rectangleMap.entrySet());
+    Collections.sort(entries, new Comparator<Map.Entry<String, Rectangle>>() {
+      @Override
+      public int compare(final Map.Entry<String, Rectangle> o1, final Map.Entry<String, Rectangle> o2) {
+        long area1 = (long) o1.getValue().width * o1.getValue().height;
+        long area2 = (long) o2.getValue().width * o2.getValue().height;
+        return area1 > area2 ? -1 : area1 < area2 ? 1 : o1.getKey().compareTo(o2.getKey());
+      }
+    });
+
+    Packer newPacker = createPacker(atlasWidth, atlasHeight);
+    Map<String, Rectangle> newRectangleMap = new TreeMap<String, Rectangle>();
+    Map<String, Result> results = new HashMap<String, Result>();
+    List<Rectangle> noReservedAreas = Collections.emptyList();
+    for (Map.Entry<String, Rectangle> entry : entries) {
+      Rectangle rect = newPacker.insert(entry.getValue().width, entry.getValue().height, noReservedAreas);
+      if (rect == null) {
+        return null;
+      }
+      newRectangleMap.put(entry.getKey(), rect);
+      results.put(entry.getKey(), new Result(rect.x, rect.y, rect.width, rect.height));
+    }
+    packer = newPacker;
+    rectangleMap = newRectangleMap;
+    imagesRemoved = false;
+    return results;
+  }
+
+  /**
+   * Keep new images out of the area the data of an image still occupies at its old position. This is useful while the
+   * images are moved to the positions calculated by {@link #defragment()} one after another, because until all of them
+   * have been moved the free space of the new layout might still be in use by images at their old positions. New images
+   * can still be added to all the free space that is not reserved.
+   *
+   * @param imageName the name of the image in the atlas
+   * @param oldPosition the position and the size of the image data that has not been moved yet
+   */
+  public void reserveArea(@Nonnull final String imageName, @Nonnull final Result oldPosition) {
+    reservedAreas.put(imageName, new Rectangle(
+        oldPosition.getX(),
+        oldPosition.getY(),
+        oldPosition.getOriginalImageWidth() + atlasPadding,
+        oldPosition.getOriginalImageHeight() + atlasPadding));
+  }
+
+  /**
+   * Release the area reserved for the image by {@link #reserveArea(String, Result)}, usually because the image data
+   * has been moved to its new position. Removing the image from the atlas releases its area as well.
+   */
+  public void releaseArea(@Nonnull final String imageName) {
+    reservedAreas.remove(imageName);
+  }
+
+  /**
+   * @return whether there are areas reserved for images that have not been moved yet
+   */
+  public boolean hasReservedAreas() {
+    return !reservedAreas.isEmpty();
+  }
+
+  /**
+   * @return the number of images in the atlas
+   */
+  public int getImageCount() {
+    return rectangleMap.size();
+  }
+
+  /**
+   * @return whether images have been removed from the atlas since it has been reset or defragmented
+   */
+  public boolean hasRemovedImages() {
+    return imagesRemoved;
+  }
+
+  /**
+   * @return the fraction of the atlas area (between 0.0f and 1.0f) that is covered by images, not counting the padding
+   */
+  public float getOccupancy() {
+    return imageArea / (float) ((long) atlasWidth * atlasHeight);
+  }
+
+  /**
+   * @return the fraction of the free atlas area (between 0.0f and 1.0f) that is not part of the largest free rectangle.
+   *         0.0f means all the free space is in one place, values close to 1.0f mean that the free space is scattered
+   *         into many small holes.
+   */
+  public float getFragmentation() {
+    long freeArea = (long) atlasWidth * atlasHeight - paddedImageArea;
+    long largestFreeArea = packer.getLargestFreeArea();
+    if (freeArea <= 0 || largestFreeArea >= freeArea) {
+      return 0.f;
+    }
+    return 1.f - largestFreeArea / (float) freeArea;
+  }
+
+  @Nonnull
+  public PackingStrategy getPackingStrategy() {
+    return packingStrategy;
   }
 
   public int getAtlasWidth() {
@@ -192,14 +362,44 @@ public class TextureAtlasGenerator {
       final int width,
       final int height) {
     List<Result> results = new ArrayList<Result>();
-    root = new Node(0, 0, width, height);
-    for (Map.Entry<String, Node> entry : rectangleMap.entrySet()) {
-      Rectangle rect = entry.getValue().rect;
+    packer = createPacker(width, height);
+    reservedAreas.clear();
+    for (Map.Entry<String, Rectangle> entry : new ArrayList<Map.Entry<String, Rectangle>>(rectangleMap.entrySet())) {
+      Rectangle rect = entry.getValue();
       results.add(addImage(rect.width, rect.height, entry.getKey()));
     }
     return results;
   }
 
+  public void reset() {
+    packer = createPacker(atlasWidth, atlasHeight);
+    rectangleMap = new TreeMap<String, Rectangle>();
+    imageArea = 0;
+    paddedImageArea = 0;
+    imagesRemoved = false;
+    reservedAreas.clear();
+  }
+
+  @Nonnull
+  private Packer createPacker(final int width, final int height) {
+    switch (packingStrategy) {
+      case MAX_RECTS:
+        return new MaxRectsPacker(width, height, atlasPadding);
+      default:
+        return new BinaryTreePacker(width, height, atlasPadding);
+    }
+  }
+
+  private void addArea(@Nonnull final Rectangle rect) {
+    imageArea += (long) rect.width * rect.height;
+    paddedImageArea += (long) (rect.width + atlasPadding) * (rect.height + atlasPadding);
+  }
+
+  private void removeArea(@Nonnull final Rectangle rect) {
+    imageArea -= (long) rect.width * rect.height;
+    paddedImageArea -= (long) (rect.width + atlasPadding) * (rect.height + atlasPadding);
+  }
+
   private static class Rectangle {
     private final int x;
     private final int y;
@@ -212,6 +412,300 @@ public class TextureAtlasGenerator {
       this.width = width;
       this.height = height;
     }
+
+    public boolean contains(@Nonnull final Rectangle other) {
+      return other.x >= x && other.y >= y && other.x + other.width <= x + width && other.y + other.height <= y + height;
+    }
+
+    public boolean intersects(@Nonnull final Rectangle other) {
+      return other.x < x + width && x < other.x + other.width && other.y < y + height && y < other.y + other.height;
+    }
+
+    public boolean intersectsAny(@Nonnull final Collection<Rectangle> others) {
+      for (Rectangle other : others) {
+        if (intersects(other)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * The algorithm that finds the position of the images. All rectangles passed in and out are the size of the image
+   * without padding, except for the reserved areas that already include the padding.
+   */
+  private interface Packer {
+    @Nullable
+    Rectangle insert(int imageWidth, int imageHeight, @Nonnull Collection<Rectangle> reserved);
+
+    void remove(@Nonnull Rectangle rect);
+
+    long getLargestFreeArea();
+  }
+
+  private static class BinaryTreePacker implements Packer {
+    @Nonnull
+    private final Node root;
+    private final int padding;
+    @Nonnull
+    private final Map<Rectangle, Node> nodes = new IdentityHashMap<Rectangle, Node>();
+
+    public BinaryTreePacker(final int width, final int height, final int padding) {
+      this.root = new Node(0, 0, width, height);
+      this.padding = padding;
+    }
+
+    @Nullable
+    @Override
+    public Rectangle insert(
+        final int imageWidth,
+        final int imageHeight,
+        @Nonnull final Collection<Rectangle> reserved) {
+      Node node = root.insert(imageWidth, imageHeight, padding, reserved);
+      if (node == null) {
+        return null;
+      }
+      nodes.put(node.rect, node);
+      return node.rect;
+    }
+
+    @Override
+    public void remove(@Nonnull final Rectangle rect) {
+      Node node = nodes.remove(rect);
+      if (node == null) {
+        return;
+      }
+      node.occupied = false;
+      node.child[0] = null;
+      node.child[1] = null;
+    }
+
+    @Override
+    public long getLargestFreeArea() {
+      return root.getLargestFreeArea();
+    }
+  }
+
+  // Algorithm from "A Thousand Ways to Pack the Bin - A Practical Approach to Two-Dimensional Rectangle Bin Packing"
+  // by Jukka Jylanki, using the best short side fit heuristic. The padding is added to the right and the bottom of each
+  // image and the bin is enlarged by the padding, so that images can still touch the right and the bottom border.
+  private static class MaxRectsPacker implements Packer {
+    private final int width;
+    private final int height;
+    private final int padding;
+    @Nonnull
+    private final List<Rectangle> freeRects = new ArrayList<Rectangle>();
+    @Nonnull
+    private final List<Rectangle> usedRects = new ArrayList<Rectangle>();
+
+    public MaxRectsPacker(final int width, final int height, final int padding) {
+      this.width = width;
+      this.height = height;
+      this.padding = padding;
+      freeRects.add(new Rectangle(0, 0, width + padding, height + padding));
+    }
+
+    @Nullable
+    @Override
+    public Rectangle insert(
+        final int imageWidth,
+        final int imageHeight,
+        @Nonnull final Collection<Rectangle> reserved) {
+      int paddedWidth = imageWidth + padding;
+      int paddedHeight = imageHeight + padding;
+      Rectangle best = null;
+      int bestShortSide = Integer.MAX_VALUE;
+      int bestLongSide = Integer.MAX_VALUE;
+      for (int i = 0; i < freeRects.size(); i++) {
+        Rectangle free = freeRects.get(i);
+        if (paddedWidth > free.width || paddedHeight > free.height) {
+          continue;
+        }
+        Rectangle placed = place(free, paddedWidth, paddedHeight, reserved);
+        if (placed == null) {
+          continue;
+        }
+        int leftoverX = free.width - paddedWidth;
+        int leftoverY = free.height - paddedHeight;
+        int shortSide = Math.min(leftoverX, leftoverY);
+        int longSide = Math.max(leftoverX, leftoverY);
+        if (shortSide < bestShortSide || (shortSide == bestShortSide && longSide < bestLongSide)) {
+          best = placed;
+          bestShortSide = shortSide;
+          bestLongSide = longSide;
+        }
+      }
+      if (best == null) {
+        return null;
+      }
+
+      usedRects.add(best);
+      splitFreeRects(best);
+      return new Rectangle(best.x, best.y, imageWidth, imageHeight);
+    }
+
+    // Finds a position for the padded image in the free rectangle that doesn't overlap the reserved areas. Besides the
+    // top left corner of the free rectangle the positions right of and below each reserved area are tried.
+    @Nullable
+    private Rectangle place(
+        @Nonnull final Rectangle free,
+        final int paddedWidth,
+        final int paddedHeight,
+        @Nonnull final Collection<Rectangle> reserved) {
+      Rectangle placed = new Rectangle(free.x, free.y, paddedWidth, paddedHeight);
+      if (reserved.isEmpty() || !placed.intersectsAny(reserved)) {
+        return placed;
+      }
+      Rectangle best = null;
+      for (Rectangle area : reserved) {
+        if (!area.intersects(free)) {
+          continue;
+        }
+        best = closerToOrigin(best, fit(free, area.x + area.width, free.y, paddedWidth, paddedHeight, reserved));
+        best = closerToOrigin(best, fit(free, free.x, area.y + area.height, paddedWidth, paddedHeight, reserved));
+      }
+      return best;
+    }
+
+    @Nullable
+    private static Rectangle fit(
+        @Nonnull final Rectangle free,
+        final int x,
+        final int y,
+        final int paddedWidth,
+        final int paddedHeight,
+        @Nonnull final Collection<Rectangle> reserved) {
+      Rectangle placed = new Rectangle(x, y, paddedWidth, paddedHeight);
+      return free.contains(placed) && !placed.intersectsAny(reserved) ? placed : null;
+    }
+
+    @Nullable
+    private static Rectangle closerToOrigin(@Nullable final Rectangle a, @Nullable final Rectangle b) {
+      if (a == null) {
+        return b;
+      }
+      if (b == null) {
+        return a;
+      }
+      return b.y < a.y || (b.y == a.y && b.x < a.x) ? b : a;
+    }
+
+    @Override
+    public void remove(@Nonnull final Rectangle rect) {
+      Rectangle removed = null;
+      for (int i = 0; i < usedRects.size(); i++) {
+        Rectangle used = usedRects.get(i);
+        if (used.x == rect.x && used.y == rect.y) {
+          removed = usedRects.remove(i);
+          break;
+        }
+      }
+      if (removed == null) {
+        return;
+      }
+
+      // Merge the space of the removed image with the free rectangles around it. Every new free rectangle is combined
+      // with all the other free rectangles again, so the merged space can grow in several steps.
+      List<Rectangle> added = new ArrayList<Rectangle>();
+      addFreeRect(removed, added);
+      for (int i = 0; i < added.size(); i++) {
+        Rectangle current = added.get(i);
+        int count = freeRects.size();
+        for (int j = 0; j < count; j++) {
+          Rectangle other = freeRects.get(j);
+          if (other != current) {
+            mergeFreeRects(current, other, added);
+          }
+        }
+      }
+      pruneFreeRects();
+    }
+
+    // Two free rectangles that overlap or touch along one axis form another free rectangle that spans both of them
+    // along this axis and covers the range they share on the other axis.
+    private void mergeFreeRects(
+        @Nonnull final Rectangle a,
+        @Nonnull final Rectangle b,
+        @Nonnull final List<Rectangle> added) {
+      int top = Math.max(a.y, b.y);
+      int bottom = Math.min(a.y + a.height, b.y + b.height);
+      if (bottom > top && a.x <= b.x + b.width && b.x <= a.x + a.width) {
+        int left = Math.min(a.x, b.x);
+        int right = Math.max(a.x + a.width, b.x + b.width);
+        addFreeRect(new Rectangle(left, top, right - left, bottom - top), added);
+      }
+      int left = Math.max(a.x, b.x);
+      int right = Math.min(a.x + a.width, b.x + b.width);
+      if (right > left && a.y <= b.y + b.height && b.y <= a.y + a.height) {
+        top = Math.min(a.y, b.y);
+        bottom = Math.max(a.y + a.height, b.y + b.height);
+        addFreeRect(new Rectangle(left, top, right - left, bottom - top), added);
+      }
+    }
+
+    // adds the rectangle to the free rectangles unless it's already part of one of them
+    private void addFreeRect(@Nonnull final Rectangle rect, @Nonnull final List<Rectangle> added) {
+      for (int i = 0; i < freeRects.size(); i++) {
+        if (freeRects.get(i).contains(rect)) {
+          return;
+        }
+      }
+      freeRects.add(rect);
+      added.add(rect);
+    }
+
+    @Override
+    public long getLargestFreeArea() {
+      long largest = 0;
+      for (int i = 0; i < freeRects.size(); i++) {
+        Rectangle free = freeRects.get(i);
+        largest = Math.max(largest, (long) free.width * free.height);
+      }
+      return largest;
+    }
+
+    private void splitFreeRects(@Nonnull final Rectangle used) {
+      int count = freeRects.size();
+      for (int i = 0; i < count; i++) {
+        Rectangle free = freeRects.get(i);
+        if (!free.intersects(used)) {
+          continue;
+        }
+        if (used.x > free.x) {
+          freeRects.add(new Rectangle(free.x, free.y, used.x - free.x, free.height));
+        }
+        if (used.x + used.width < free.x + free.width) {
+          freeRects.add(new Rectangle(
+              used.x + used.width, free.y, free.x + free.width - used.x - used.width, free.height));
+        }
+        if (used.y > free.y) {
+          freeRects.add(new Rectangle(free.x, free.y, free.width, used.y - free.y));
+        }
+        if (used.y + used.height < free.y + free.height) {
+          freeRects.add(new Rectangle(
+              free.x, used.y + used.height, free.width, free.y + free.height - used.y - used.height));
+        }
+        freeRects.remove(i--);
+        count--;
+      }
+      pruneFreeRects();
+    }
+
+    // remove all free rectangles that are contained in another free rectangle
+    private void pruneFreeRects() {
+      for (int i = 0; i < freeRects.size(); i++) {
+        for (int j = i + 1; j < freeRects.size(); j++) {
+          if (freeRects.get(j).contains(freeRects.get(i))) {
+            freeRects.remove(i--);
+            break;
+          }
+          if (freeRects.get(i).contains(freeRects.get(j))) {
+            freeRects.remove(j--);
+          }
+        }
+      }
+    }
   }
 
   private static class Node {
@@ -233,15 +727,26 @@ public class TextureAtlasGenerator {
       return child[0] == null && child[1] == null;
     }
 
+    public long getLargestFreeArea() {
+      if (!isLeaf()) {
+        return Math.max(child[0].getLargestFreeArea(), child[1].getLargestFreeArea());
+      }
+      return occupied || rect.width <= 0 || rect.height <= 0 ? 0 : (long) rect.width * rect.height;
+    }
+
     // Algorithm from http://www.blackpawn.com/texts/lightmaps/
     @Nullable
-    public Node insert(final int imageWidth, final int imageHeight, final int padding) {
+    public Node insert(
+        final int imageWidth,
+        final int imageHeight,
+        final int padding,
+        @Nonnull final Collection<Rectangle> reserved) {
       if (!isLeaf()) {
-        Node newNode = child[0].insert(imageWidth, imageHeight, padding);
+        Node newNode = child[0].insert(imageWidth, imageHeight, padding, reserved);
         if (newNode != null) {
           return newNode;
         }
-        return child[1].insert(imageWidth, imageHeight, padding);
+        return child[1].insert(imageWidth, imageHeight, padding, reserved);
       }
 
       if (occupied) {
@@ -252,6 +757,11 @@ public class TextureAtlasGenerator {
         return null; // does not fit
       }
 
+      if (!reserved.isEmpty() &&
+          new Rectangle(rect.x, rect.y, imageWidth + padding, imageHeight + padding).intersectsAny(reserved)) {
+        return null; // still in use by an image that has not been moved yet
+      }
+
       if (imageWidth == rect.width && imageHeight == rect.height) {
         occupied = true; // perfect fit
         return this;
@@ -267,12 +777,7 @@ public class TextureAtlasGenerator {
         child[0] = new Node(rect.x, rect.y, rect.width, imageHeight);
         child[1] = new Node(rect.x, padding + rect.y + imageHeight, rect.width, rect.height - imageHeight - padding);
       }
-      return child[0].insert(imageWidth, imageHeight, padding);
+      return child[0].insert(imageWidth, imageHeight, padding, reserved);
     }
   }
-
-  public void reset() {
-    root = new Node(0, 0, atlasWidth, atlasHeight);
-    rectangleMap = new TreeMap<String, Node>();
-  }
 }
@@ -64,7 +64,7 @@ public class BatchRenderBackendCoreProfileInternal implements BatchRenderBackend
   @Nonnull
   private final IntBuffer viewportBuffer;
   @Nonnull
-  private final ObjectPool<CoreBatch> batchPool;
+  private ObjectPool<CoreBatch> batchPool;
   @Nonnull
   private final CoreProfileSaveGLState saveGLState;
   @Nonnull
@@ -85,6 +85,7 @@ public class BatchRenderBackendCoreProfileInternal implements BatchRenderBackend
   private int viewportHeight;
   private boolean shouldUseHighQualityTextures = false;
   private boolean shouldFillRemovedImagesInAtlas = false;
+  private boolean shouldUseIndexedPackedVertices = false;
 
   public BatchRenderBackendCoreProfileInternal(
           @Nonnull final CoreGL gl,
@@ -103,13 +104,7 @@ public class BatchRenderBackendCoreProfileInternal implements BatchRenderBackend
     shader.link();
     shader.activate();
     shader.setUniformi("uTex", 0);
-    batchPool = new ObjectPool<CoreBatch>(new Factory<CoreBatch>() {
-      @Nonnull
-      @Override
-      public CoreBatch createNew() {
-        return new CoreBatchInternal(gl, shader, bufferFactory, PRIMITIVE_RESTART_INDEX);
-      }
-    });
+    batchPool = createBatchPool();
   }
 
   @Override
@@ -343,6 +338,20 @@ public class BatchRenderBackendCoreProfileInternal implements BatchRenderBackend
     shouldFillRemovedImagesInAtlas = shouldFill;
   }
 
+  @Override
+  public void useIndexedPackedVertices(final boolean shouldUseIndexedPackedVertices) {
+    log.fine("useIndexedPackedVertices()");
+    log.info(shouldUseIndexedPackedVertices ? "Using indexed triangles with packed colors." : "Using indexed " +
+            "triangle strips with float colors.");
+    if (this.shouldUseIndexedPackedVertices == shouldUseIndexedPackedVertices) {
+      return;
+    }
+    this.shouldUseIndexedPackedVertices = shouldUseIndexedPackedVertices;
+    // the pooled batches use the previous vertex format
+    batches.clear();
+    batchPool = createBatchPool();
+  }
+
   // Internal implementations
 
   private void updateViewport() {
@@ -545,6 +554,21 @@ public class BatchRenderBackendCoreProfileInternal implements BatchRenderBackend
     return batchPool.allocate();
   }
 
+  @Nonnull
+  private ObjectPool<CoreBatch> createBatchPool() {
+    final boolean indexedPackedVertices = shouldUseIndexedPackedVertices;
+    return new ObjectPool<CoreBatch>(new Factory<CoreBatch>() {
+      @Nonnull
+      @Override
+      public CoreBatch createNew() {
+        if (indexedPackedVertices) {
+          return new CorePackedBatchInternal(gl, shader, bufferFactory);
+        }
+        return new CoreBatchInternal(gl, shader, bufferFactory, PRIMITIVE_RESTART_INDEX);
+      }
+    });
+  }
+
   private void addBatch (@Nonnull final CoreBatch batch) {
     batches.add(batch);
   }
@@ -0,0 +1,180 @@
+package de.lessvoid.nifty.render.batch.core;
+
+import de.lessvoid.nifty.render.batch.PackedColor;
+import de.lessvoid.nifty.render.batch.spi.BufferFactory;
+import de.lessvoid.nifty.render.batch.spi.core.CoreBatch;
+import de.lessvoid.nifty.render.batch.spi.core.CoreGL;
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.tools.Color;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Alternative to {@link CoreBatchInternal} that stores the vertex color as 4 normalized unsigned bytes and draws the
+ * quads as triangles using a static index buffer that is sent to the GPU only once. Per frame only the vertex data is
+ * streamed, which is 80 bytes per quad instead of the 128 bytes of vertex data and 20 bytes of index data that
+ * {@link CoreBatchInternal} needs.
+ *
+ * Note: Requires OpenGL 3.2 or higher.
+ *
+ * {@inheritDoc}
+ */
+public class CorePackedBatchInternal implements CoreBatch {
+  // 4 vertices per quad and 5 floats per vertex:
+  // - 2 x pos
+  // - 2 x texture
+  // - 1 x color (4 x unsigned byte)
+  private static final int VERTICES_PER_QUAD = 4;
+  private static final int INDICES_PER_QUAD = 6;
+  private static final int FLOATS_PER_VERTEX = 5;
+  private static final int PRIMITIVE_SIZE = VERTICES_PER_QUAD * FLOATS_PER_VERTEX;
+  private static final int SIZE = 64 * 1024; // 64k
+  private static final int MAX_QUADS = SIZE / PRIMITIVE_SIZE;
+  @Nonnull
+  private final CoreGL gl;
+  @Nonnull
+  private final float[] primitiveBuffer = new float[PRIMITIVE_SIZE];
+  @Nonnull
+  private BlendMode blendMode = BlendMode.BLEND;
+  @Nonnull
+  private final CoreVAO vao;
+  @Nonnull
+  private final CoreVBO vbo;
+  @Nonnull
+  private final CoreElementVBO elementVbo;
+  private CoreTexture2D texture;
+  private int primitiveCount;
+
+  public CorePackedBatchInternal(
+          @Nonnull final CoreGL gl,
+          @Nonnull final CoreShader shader,
+          @Nonnull final BufferFactory bufferFactory) {
+    this.gl = gl;
+    vao = new CoreVAO(gl, bufferFactory);
+    vao.bind();
+
+    elementVbo = CoreElementVBO.createStaticVBO(gl, bufferFactory, createIndices());
+    elementVbo.bind();
+
+    vbo = CoreVBO.createStreamVBO(gl, bufferFactory, new float[SIZE]);
+    vbo.bind();
+
+    vao.enableVertexAttributef(shader.getAttribLocation("aVertex"), 2, FLOATS_PER_VERTEX, 0);
+    vao.enableVertexAttributef(shader.getAttribLocation("aTexture"), 2, FLOATS_PER_VERTEX, 2);
+    vao.enableVertexAttributeub(shader.getAttribLocation("aColor"), 4, FLOATS_PER_VERTEX, 4);
+
+    primitiveCount = 0;
+    vao.unbind();
+  }
+
+  @Override
+  public void begin(@Nonnull final BlendMode blendMode, final CoreTexture2D texture) {
+    this.blendMode = blendMode;
+    this.texture = texture;
+    vao.bind();
+    vbo.bind();
+    vbo.getBuffer().clear();
+    primitiveCount = 0;
+    vao.unbind();
+  }
+
+  @Nonnull
+  @Override
+  public BlendMode getBlendMode() {
+    return blendMode;
+  }
+
+  @Override
+  public void render() {
+    if (primitiveCount == 0) {
+      return; // Attempting to render with an empty vertex buffer crashes the program.
+    }
+
+    texture.bind();
+
+    if (blendMode.equals(BlendMode.BLEND)) {
+      gl.glBlendFunc(gl.GL_SRC_ALPHA(), gl.GL_ONE_MINUS_SRC_ALPHA());
+    } else if (blendMode.equals(BlendMode.MULIPLY)) {
+      gl.glBlendFunc(gl.GL_DST_COLOR(), gl.GL_ZERO());
+    }
+
+    vao.bind();
+    vbo.getBuffer().flip();
+    vbo.bind();
+    vbo.send();
+    CoreRender.renderTrianglesIndexed(gl, primitiveCount * INDICES_PER_QUAD);
+  }
+
+  @Override
+  public boolean canAddQuad() {
+    return primitiveCount < MAX_QUADS;
+  }
+
+  @Override
+  public void addQuad(
+          final float x,
+          final float y,
+          final float width,
+          final float height,
+          final @Nonnull Color color1,
+          final @Nonnull Color color2,
+          final @Nonnull Color color3,
+          final @Nonnull Color color4,
+          final float textureX,
+          final float textureY,
+          final float textureWidth,
+          final float textureHeight) {
+    int bufferIndex = 0;
+
+    // 0---1
+    // | \ |
+    // |  \|
+    // 3---2
+
+    primitiveBuffer[bufferIndex++] = x;
+    primitiveBuffer[bufferIndex++] = y;
+    primitiveBuffer[bufferIndex++] = textureX;
+    primitiveBuffer[bufferIndex++] = textureY;
+    primitiveBuffer[bufferIndex++] = PackedColor.toFloatBits(color1);
+
+    primitiveBuffer[bufferIndex++] = x + width;
+    primitiveBuffer[bufferIndex++] = y;
+    primitiveBuffer[bufferIndex++] = textureX + textureWidth;
+    primitiveBuffer[bufferIndex++] = textureY;
+    primitiveBuffer[bufferIndex++] = PackedColor.toFloatBits(color2);
+
+    primitiveBuffer[bufferIndex++] = x + width;
+    primitiveBuffer[bufferIndex++] = y + height;
+    primitiveBuffer[bufferIndex++] = textureX + textureWidth;
+    primitiveBuffer[bufferIndex++] = textureY + textureHeight;
+    primitiveBuffer[bufferIndex++] = PackedColor.toFloatBits(color4);
+
+    primitiveBuffer[bufferIndex++] = x;
+    primitiveBuffer[bufferIndex++] = y + height;
+    primitiveBuffer[bufferIndex++] = textureX;
+    primitiveBuffer[bufferIndex++] = textureY + textureHeight;
+    primitiveBuffer[bufferIndex] = PackedColor.toFloatBits(color3);
+
+    vbo.getBuffer().put(primitiveBuffer);
+    primitiveCount++;
+  }
+
+  // Internal implementations
+
+  // Two clockwise-winded triangles (0,1,2), (0,2,3) per quad.
+  @Nonnull
+  private static int[] createIndices() {
+    int[] indices = new int[MAX_QUADS * INDICES_PER_QUAD];
+    int i = 0;
+    for (int quad = 0; quad < MAX_QUADS; quad++) {
+      int vertex = quad * VERTICES_PER_QUAD;
+      indices[i++] = vertex;
+      indices[i++] = vertex + 1;
+      indices[i++] = vertex + 2;
+      indices[i++] = vertex;
+      indices[i++] = vertex + 2;
+      indices[i++] = vertex + 3;
+    }
+    return indices;
+  }
+}
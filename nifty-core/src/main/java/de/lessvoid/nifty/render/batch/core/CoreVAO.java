@@ -70,6 +70,23 @@ public class CoreVAO {
     CheckGL.checkGLError(gl, "glVertexAttribPointer (" + index + ")");
   }
 
+  /**
+   * Configures the vertex attribute with the specified data. The type of the data will be GL_UNSIGNED_BYTE and the
+   * values will be normalized to the range [0, 1]. Stride and offset are given in floats just like in
+   * {@link #enableVertexAttributef(int, int, int, int)} so that packed bytes can be mixed with float attributes of an
+   * interleaved vertex.
+   *
+   * @param index  The index of the vertex attribute to modify.
+   * @param size   The size of the data for this vertex attribute (the number of GL_UNSIGNED_BYTE's to use).
+   * @param stride The stride between the data.
+   * @param offset The offset of the data.
+   */
+  public void enableVertexAttributeub(final int index, final int size, final int stride, final int offset) {
+    gl.glVertexAttribPointer(index, size, gl.GL_UNSIGNED_BYTE(), true, stride * 4, offset * 4);
+    gl.glEnableVertexAttribArray(index);
+    CheckGL.checkGLError(gl, "glVertexAttribPointer (" + index + ")");
+  }
+
   private void init() {
     vertexArrayBuffer.clear();
     gl.glGenVertexArrays(1, vertexArrayBuffer);
@@ -272,6 +272,13 @@ public interface BatchRenderBackend {
    */
   void fillRemovedImagesInAtlas(final boolean shouldFill);
 
+  /**
+   * Whether or not to send quads as indexed vertices with packed (unsigned byte) colors instead of non-indexed vertices
+   * with float colors. Setting to true reduces the amount of vertex data that needs to be sent to the GPU each frame.
+   * This should be set before anything is rendered.
+   */
+  void useIndexedPackedVertices(final boolean shouldUseIndexedPackedVertices);
+
   /**
    * Helper interface to pass the image size and any other custom data from {@link #loadImage(String)} to
    * {@link #addImageToAtlas(de.lessvoid.nifty.render.batch.spi.BatchRenderBackend.Image, int, int, int)}.
@@ -81,11 +81,13 @@ public interface GL {
   public void glClear (int mask);
   public void glClearColor (float red, float green, float blue, float alpha);
   public void glColorPointer (int size, int type, int stride, FloatBuffer pointer);
+  public void glColorPointer (int size, int type, int stride, ByteBuffer pointer);
   public void glDeleteTextures (int n, IntBuffer textures);
   public void glDisable (int cap);
   public void glDisableClientState (int array);
   public void glDrawArrays (int mode, int first, int count);
   public void glDrawElements(int mode, int count, int type, int indices);
+  public void glDrawElements(int mode, int count, int type, ShortBuffer indices);
   public void glEnable (int cap);
   public void glEnableClientState (int array);
   public void glGenTextures (int n, IntBuffer textures);
@@ -2,12 +2,15 @@ package de.lessvoid.nifty.screen;
 
 import de.lessvoid.nifty.EndNotify;
 import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.NiftyFrameStatistics;
 import de.lessvoid.nifty.NiftyStopwatch;
 import de.lessvoid.nifty.controls.Controller;
 import de.lessvoid.nifty.controls.FocusHandler;
 import de.lessvoid.nifty.controls.NiftyControl;
 import de.lessvoid.nifty.effects.EffectEventId;
+import de.lessvoid.nifty.effects.EffectScheduler;
 import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.ElementPool;
 import de.lessvoid.nifty.input.NiftyInputEvent;
 import de.lessvoid.nifty.input.NiftyInputMapping;
 import de.lessvoid.nifty.input.NiftyMouseInputEvent;
@@ -29,6 +32,11 @@ import java.util.logging.Logger;
  */
 public class Screen {
   public int layoutLayersCallCount = 0;
+
+  /**
+   * The number of elements that have been layouted for this screen so far. Every layout pass of an element counts.
+   */
+  private int layoutElementsCount = 0;
   @Nonnull
   private static final Logger log = Logger.getLogger(Screen.class.getName());
   @Nonnull
@@ -63,6 +71,11 @@ public class Screen {
   @Nonnull
   private final MouseOverHandler mouseOverHandler;
   @Nonnull
+  private final EffectScheduler effectScheduler;
+  @Nonnull
+  private final ElementPool elementPool = new ElementPool();
+  private boolean elementRecycling;
+  @Nonnull
   private final Nifty nifty;
   @Nonnull
   private final List<InputHandlerWithMapping> postInputHandlers = new ArrayList<InputHandlerWithMapping>();
@@ -89,6 +102,7 @@ public class Screen {
     timeProvider = newTimeProvider;
     focusHandler = new FocusHandler();
     mouseOverHandler = new MouseOverHandler();
+    effectScheduler = new EffectScheduler(newTimeProvider);
   }
 
   public void registerElementId(@Nonnull final String id) {
@@ -248,15 +262,38 @@ public class Screen {
 
   public void layoutLayers() {
     NiftyStopwatch.start();
+    nifty.getFrameProfiler().beginPhase(NiftyFrameStatistics.Phase.LAYOUT);
     layoutLayersCallCount++;
 
     for (int i = 0; i < layerElements.size(); i++) {
       Element w = layerElements.get(i);
-      w.layoutElements();
+      if (w.isLayoutRequired()) {
+        w.layoutElements();
+      }
     }
+    nifty.getFrameProfiler().endPhase(NiftyFrameStatistics.Phase.LAYOUT);
     NiftyStopwatch.stop("Screen.layoutLayers()");
   }
 
+  /**
+   * Get the number of elements that have been layouted for this screen so far. This is meant to be used to monitor
+   * how much layout work is done, every layout pass of an element is counted.
+   *
+   * @return the total number of layouted elements
+   */
+  public int getLayoutElementsCount() {
+    return layoutElementsCount;
+  }
+
+  /**
+   * This is called by the elements of this screen when they've been layouted.
+   *
+   * @param count the number of elements that have been layouted
+   */
+  public void layoutElementsPerformed(final int count) {
+    layoutElementsCount += count;
+  }
+
   private void resetLayers() {
     nifty.resetMouseInputEvents();
 
@@ -321,6 +358,43 @@ public class Screen {
     }
   }
 
+  /**
+   * Advance the time of all active effects of this screen. This is called once per frame before the layers are
+   * rendered.
+   */
+  public void updateEffects() {
+    effectScheduler.update();
+  }
+
+  @Nonnull
+  public EffectScheduler getEffectScheduler() {
+    return effectScheduler;
+  }
+
+  /**
+   * Enable or disable the recycling of removed elements. When enabled, removed elements without children and without
+   * a controller (f.i. chat lines or other text and image elements) are kept in the ElementPool of this screen and
+   * are used again for new elements of the same type. Only enable this when the application doesn't keep references
+   * to elements after removing them.
+   *
+   * @param elementRecycling true to recycle removed elements
+   */
+  public void setElementRecycling(final boolean elementRecycling) {
+    this.elementRecycling = elementRecycling;
+    if (!elementRecycling) {
+      elementPool.clear();
+    }
+  }
+
+  public boolean isElementRecycling() {
+    return elementRecycling;
+  }
+
+  @Nonnull
+  public ElementPool getElementPool() {
+    return elementPool;
+  }
+
   /**
    * render all layers.
    *
@@ -0,0 +1,36 @@
+package de.lessvoid.nifty.spi.render;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Optional extension of a {@link RenderDevice}. A RenderDevice that implements this interface is able to record
+ * everything that is rendered between {@link #beginGeometry(RenderGeometry)} and {@link #endGeometry(RenderGeometry)}
+ * and to replay it later with {@link #renderGeometry(RenderGeometry)} without having to process all of the single
+ * render calls again. Nifty uses this to cache the output of element subtrees that don't change.
+ */
+public interface CachingRenderDevice {
+  /**
+   * Create a new and empty geometry.
+   */
+  @Nonnull
+  RenderGeometry createGeometry();
+
+  /**
+   * Start recording into the given geometry. Everything rendered is still rendered as usual but will be recorded in
+   * addition. Any previous content of the geometry is discarded. Recordings can be nested.
+   */
+  void beginGeometry(@Nonnull RenderGeometry geometry);
+
+  /**
+   * Stop recording into the given geometry.
+   */
+  void endGeometry(@Nonnull RenderGeometry geometry);
+
+  /**
+   * Render the recorded geometry again.
+   *
+   * @return true when the geometry has been rendered and false when the geometry can't be used anymore (for instance
+   * because the textures it refers to have changed) and needs to be recorded again
+   */
+  boolean renderGeometry(@Nonnull RenderGeometry geometry);
+}
@@ -0,0 +1,33 @@
+package de.lessvoid.nifty.spi.render;
+
+/**
+ * Optional extension of a {@link RenderDevice}. A RenderDevice that implements this interface reports the amount of
+ * work done in a frame to the {@link de.lessvoid.nifty.NiftyFrameProfiler}. All values refer to the current frame and
+ * are read by Nifty right after {@link RenderDevice#endFrame()}.
+ */
+public interface RenderDeviceStatistics {
+  /**
+   * @return the number of quads rendered, including the quads of the glyphs
+   */
+  int getQuadCount();
+
+  /**
+   * @return the number of glyphs rendered
+   */
+  int getGlyphCount();
+
+  /**
+   * @return the number of batches sent to the graphics hardware
+   */
+  int getBatchCount();
+
+  /**
+   * @return the number of times the texture changed between two quads
+   */
+  int getTextureSwitchCount();
+
+  /**
+   * @return the number of quads that have been discarded because they have been completely clipped
+   */
+  int getClippedQuadCount();
+}
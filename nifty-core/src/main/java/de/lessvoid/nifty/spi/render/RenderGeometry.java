@@ -0,0 +1,12 @@
+package de.lessvoid.nifty.spi.render;
+
+/**
+ * Geometry that has been recorded by a {@link CachingRenderDevice}. The content is only known to the RenderDevice
+ * that created it.
+ */
+public interface RenderGeometry {
+  /**
+   * Release the recorded geometry.
+   */
+  void dispose();
+}
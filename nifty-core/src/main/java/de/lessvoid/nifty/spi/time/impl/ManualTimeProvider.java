@@ -0,0 +1,42 @@
+package de.lessvoid.nifty.spi.time.impl;
+
+import de.lessvoid.nifty.spi.time.TimeProvider;
+
+/**
+ * This time provider does not use the system clock at all. The time only changes when it's set or advanced
+ * manually. This makes it possible to run Nifty deterministically, for instance in tests or benchmarks.
+ */
+public class ManualTimeProvider implements TimeProvider {
+    private long time;
+
+    public ManualTimeProvider() {
+        this(0);
+    }
+
+    public ManualTimeProvider(final long startTime) {
+        time = startTime;
+    }
+
+    @Override
+    public long getMsTime() {
+        return time;
+    }
+
+    /**
+     * Set the current time.
+     *
+     * @param newTime the new time in milliseconds
+     */
+    public void setMsTime(final long newTime) {
+        time = newTime;
+    }
+
+    /**
+     * Advance the current time.
+     *
+     * @param deltaMs the time in milliseconds to add to the current time
+     */
+    public void advance(final long deltaMs) {
+        time += deltaMs;
+    }
+}
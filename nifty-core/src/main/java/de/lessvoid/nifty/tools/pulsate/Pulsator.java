@@ -1,5 +1,7 @@
 package de.lessvoid.nifty.tools.pulsate;
 
+import de.lessvoid.nifty.effects.EffectParameters;
+import de.lessvoid.nifty.effects.EffectProperties;
 import de.lessvoid.nifty.spi.time.TimeProvider;
 import de.lessvoid.nifty.tools.pulsate.provider.NullPulsator;
 import de.lessvoid.nifty.tools.pulsate.provider.RectanglePulsator;
@@ -41,10 +43,22 @@ public class Pulsator {
    * @param newTimeProvider TimeProvider to use
    */
   public Pulsator(@Nonnull final Properties parameter, @Nonnull final TimeProvider newTimeProvider) {
+    this(parameter instanceof EffectProperties ?
+        ((EffectProperties) parameter).getEffectParameters() :
+        new EffectProperties(parameter).getEffectParameters(), newTimeProvider);
+  }
+
+  /**
+   * initialize with the given parameters.
+   *
+   * @param parameter       parameters of the effect
+   * @param newTimeProvider TimeProvider to use
+   */
+  public Pulsator(@Nonnull final EffectParameters parameter, @Nonnull final TimeProvider newTimeProvider) {
     this.timeProvider = newTimeProvider;
 
     // check for the given pulsateType to create the appropriate PulsateProvider
-    String pulsateType = parameter.getProperty("pulsateType", "sin");
+    String pulsateType = parameter.getString("pulsateType", "sin");
     if ("sin".equals(pulsateType)) {
       pulsateProvider = new SinusPulsator();
     } else if ("sinRaised".equals(pulsateType)) {
@@ -57,7 +71,11 @@ public class Pulsator {
     }
 
     // initialize the provider
-    pulsateProvider.initialize(parameter);
+    if (pulsateProvider instanceof TypedPulsatorProvider) {
+      ((TypedPulsatorProvider) pulsateProvider).initialize(parameter);
+    } else {
+      pulsateProvider.initialize(parameter.toProperties());
+    }
     reset();
   }
 
@@ -0,0 +1,18 @@
+package de.lessvoid.nifty.tools.pulsate;
+
+import de.lessvoid.nifty.effects.EffectParameters;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A PulsatorProvider that can be initialized with the typed parameters of the effect. The Pulsator prefers this way
+ * of initialization, so the parameters are not parsed again each time the effect is activated.
+ */
+public interface TypedPulsatorProvider extends PulsatorProvider {
+  /**
+   * Initialize the parameter.
+   *
+   * @param parameter parameters of the effect
+   */
+  void initialize(@Nonnull EffectParameters parameter);
+}
@@ -1,6 +1,7 @@
 package de.lessvoid.nifty.tools.pulsate.provider;
 
-import de.lessvoid.nifty.tools.pulsate.PulsatorProvider;
+import de.lessvoid.nifty.effects.EffectParameters;
+import de.lessvoid.nifty.tools.pulsate.TypedPulsatorProvider;
 
 import javax.annotation.Nonnull;
 import java.util.Properties;
@@ -10,7 +11,7 @@ import java.util.Properties;
  *
  * @author void
  */
-public class NullPulsator implements PulsatorProvider {
+public class NullPulsator implements TypedPulsatorProvider {
 
   /**
    * Actually does nothing.
@@ -21,6 +22,15 @@ public class NullPulsator implements PulsatorProvider {
   public void initialize(@Nonnull final Properties parameter) {
   }
 
+  /**
+   * Actually does nothing.
+   *
+   * @param parameter the parameters
+   */
+  @Override
+  public void initialize(@Nonnull final EffectParameters parameter) {
+  }
+
   /**
    * Always returns 0.
    *
@@ -1,6 +1,8 @@
 package de.lessvoid.nifty.tools.pulsate.provider;
 
-import de.lessvoid.nifty.tools.pulsate.PulsatorProvider;
+import de.lessvoid.nifty.effects.EffectParameters;
+import de.lessvoid.nifty.effects.EffectProperties;
+import de.lessvoid.nifty.tools.pulsate.TypedPulsatorProvider;
 
 import javax.annotation.Nonnull;
 import java.util.Properties;
@@ -12,7 +14,7 @@ import java.util.logging.Logger;
  *
  * @author void
  */
-public class SinusRaisedPulsator implements PulsatorProvider {
+public class SinusRaisedPulsator implements TypedPulsatorProvider {
   /**
    * the logger.
    */
@@ -46,13 +48,23 @@ public class SinusRaisedPulsator implements PulsatorProvider {
    */
   @Override
   public void initialize(@Nonnull final Properties parameter) {
+    initialize(new EffectProperties(parameter).getEffectParameters());
+  }
+
+  /**
+   * Initialize the Pulsator.
+   *
+   * @param parameter the parameters
+   */
+  @Override
+  public void initialize(@Nonnull final EffectParameters parameter) {
     try {
-      period = Float.parseFloat(parameter.getProperty("period", "1000"));
+      period = parameter.getFloat("period", 1000.f);
     } catch (NumberFormatException e) {
       log.log(Level.SEVERE, "Failed to parse \"period\" value.", e);
       period = 1000.f;
     }
-    this.cycle = Boolean.parseBoolean(parameter.getProperty("cycle", Boolean.toString(true)));
+    this.cycle = parameter.getBoolean("cycle", true);
   }
 
   /**
@@ -134,7 +134,16 @@ public class TimeInterpolator {
    * @return true when still active and false when done
    */
   public final boolean update() {
-    long now = timeProvider.getMsTime();
+    return update(timeProvider.getMsTime());
+  }
+
+  /**
+   * update the value using the given current time.
+   *
+   * @param now the current time in ms
+   * @return true when still active and false when done
+   */
+  public final boolean update(final long now) {
     long timePassed = now - startTime;
 
     if (timePassed < 0) {
@@ -151,6 +160,29 @@ public class TimeInterpolator {
     }
   }
 
+  /**
+   * Get the time the interpolation starts. This is the time the interpolation has been started plus the start delay.
+   *
+   * @return the start time in ms
+   */
+  public long getStartTime() {
+    return startTime;
+  }
+
+  /**
+   * Get the time the value changes next. This is the time the interpolation starts while the start delay is still
+   * running and the current time otherwise.
+   *
+   * @return the time in ms
+   */
+  public long getNextChangeTime() {
+    long now = timeProvider.getMsTime();
+    if (now < startTime) {
+      return startTime;
+    }
+    return now;
+  }
+
   /**
    * get the current value [0.0, 1.0].
    *
@@ -15,15 +15,15 @@ import org.xmlpull.v1.XmlPullParserFactory;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 public class Schema implements XmlProcessor {
   @Nonnull
   private static final Logger log = Logger.getLogger(Schema.class.getName());
   @Nonnull
-  private final Map < String, Type > types = new HashMap < String, Type >();
+  private final Map < String, Type > types = new ConcurrentHashMap < String, Type >();
   @Nullable
   private String packageString;
   @Nullable
@@ -19,12 +19,22 @@ public class MethodInvoker {
   private Object[] target;
   @Nullable
   private final String methodWithName;
+  /**
+   * The name of the method and the parameters encoded in methodWithName. They are extracted once so that invoke()
+   * doesn't need to parse them.
+   */
+  @Nullable
+  private final String methodName;
+  @Nonnull
+  private final String[] methodParameters;
 
   /**
    * create null MethodInvoker.
    */
   public MethodInvoker() {
     this.methodWithName = null;
+    this.methodName = null;
+    this.methodParameters = new String[0];
     this.target = null;
   }
 
@@ -35,6 +45,11 @@ public class MethodInvoker {
    */
   public MethodInvoker(@Nullable final String methodParam, @Nonnull final Object ... targetParam) {
     this.methodWithName = methodParam;
+    this.methodName = methodParam == null ? null : MethodResolver.extractMethodName(methodParam);
+    this.methodParameters = methodParam == null ? new String[0] : MethodResolver.extractParameters(methodParam);
+    if (methodParam != null && methodName == null) {
+      log.warning("Could not extract method from [" + methodParam + "]");
+    }
     if (targetParam.length == 0) {
       this.target = null;
     } else {
@@ -89,8 +104,8 @@ public class MethodInvoker {
 
     // process all methods (first one wins)
     for (Object object : target) {
-      if (object != null) {
-        Method method = MethodResolver.findMethod(object.getClass(), methodWithName);
+      if (object != null && methodName != null) {
+        Method method = MethodResolver.findMethodByName(object.getClass(), methodName);
         if (method != null) {
           // we've found a method with the given name. now we need to match the parameters.
           //
@@ -100,7 +115,7 @@ public class MethodInvoker {
           //    2a) invokeParametersParam are given, in this case we'll try to forward them to the method
           //        if this is not possible we fall back to 2b)
           //    2b) just call the method without any parameters
-          Object[] invokeParameters = MethodResolver.extractParameters(methodWithName);
+          Object[] invokeParameters = methodParameters;
           if (invokeParameters.length > 0) {
             // does the method supports the parameters?
             // TODO: not only check for the count but check the type too
@@ -2,8 +2,12 @@ package de.lessvoid.xml.tools;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.lang.ref.SoftReference;
 import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.logging.Logger;
 
 /**
@@ -13,6 +17,16 @@ import java.util.logging.Logger;
 public class MethodResolver {
   private static final Logger log = Logger.getLogger(MethodResolver.class.getName());
 
+  /**
+   * The methods looked up by findMethodByName() so far. For each class this maps the method name to the Method or to
+   * null when the class has no such method, so a miss doesn't scan the methods of the class again either. The cache
+   * is bounded by the method names used for each class. The classes are weak keys and the cached methods, which
+   * reference their class, are only softly reachable, so the cache never keeps a class (and its class loader) alive.
+   */
+  @Nonnull
+  private static final Map<Class<?>, SoftReference<Map<String, Method>>> methodCache =
+      new WeakHashMap<Class<?>, SoftReference<Map<String, Method>>>();
+
   /**
    * you can't instantiate this class it's a helper class.
    */
@@ -20,7 +34,7 @@ public class MethodResolver {
   }
 
   /**
-   * find a method per name in the given class.
+   * find a method per name in the given class. The result is cached so looking up the same method again is cheap.
    * @param c the class to look for
    * @param methodName the methodName
    * @return the Method instance
@@ -35,13 +49,57 @@ public class MethodResolver {
       log.warning("Could not extract method from [" + methodName + "]");
       return null;
     }
+    return findMethodByName(c, methodNameOnly);
+  }
+
+  /**
+   * find a method per name in the given class. Other than findMethod() this expects the name without the argument
+   * list, so callers that invoke the same method over and over again can extract the name once with
+   * extractMethodName(). The result is cached, including the case that the class has no such method.
+   * @param c the class to look for
+   * @param methodNameOnly the name of the method without the argument list, the case is ignored
+   * @return the Method instance or null when the class has no such method
+   */
+  @Nullable
+  public static Method findMethodByName(@Nullable final Class < ? > c, @Nonnull final String methodNameOnly) {
+    if (c == null) {
+      return null;
+    }
+    synchronized (methodCache) {
+      SoftReference<Map<String, Method>> classCacheRef = methodCache.get(c);
+      Map<String, Method> classCache = classCacheRef == null ? null : classCacheRef.get();
+      if (classCache != null) {
+        Method cached = classCache.get(methodNameOnly);
+        if (cached != null || classCache.containsKey(methodNameOnly)) {
+          return cached;
+        }
+      }
+    }
+    Method method = resolveMethod(c, methodNameOnly);
+    synchronized (methodCache) {
+      SoftReference<Map<String, Method>> classCacheRef = methodCache.get(c);
+      Map<String, Method> classCache = classCacheRef == null ? null : classCacheRef.get();
+      if (classCache == null) {
+        classCache = new HashMap<String, Method>();
+        methodCache.put(c, new SoftReference<Map<String, Method>>(classCache));
+      }
+      classCache.put(methodNameOnly, method);
+    }
+    return method;
+  }
+
+  @Nullable
+  private static Method resolveMethod(@Nullable final Class < ? > c, @Nonnull final String methodNameOnly) {
+    if (c == null) {
+      return null;
+    }
     Method[] ms = c.getMethods();
     for (Method m : ms) {
       if (methodNameOnly.equalsIgnoreCase(m.getName())) {
         return m;
       }
     }
-    return findMethod(c.getSuperclass(), methodName);
+    return resolveMethod(c.getSuperclass(), methodNameOnly);
   }
 
   @Nullable
@@ -99,8 +157,13 @@ public class MethodResolver {
     return methodName.substring(startIdx + 1, endIdx);
   }
 
+  /**
+   * extract the name of the method without the argument list.
+   * @param methodName complete methodname with argument list in ()
+   * @return the name of the method or null when there is no argument list
+   */
   @Nullable
-  private static String extractMethodName(@Nonnull final String methodName) {
+  public static String extractMethodName(@Nonnull final String methodName) {
     if (!methodName.contains("(")) {
       return null;
     }
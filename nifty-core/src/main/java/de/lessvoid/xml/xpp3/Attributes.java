@@ -1,6 +1,8 @@
 package de.lessvoid.xml.xpp3;
 
+import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -25,7 +27,9 @@ import de.lessvoid.xml.tools.SpecialValuesReplace;
  */
 // TODO: This class should be modified to implement the Map<String, String> interface (renaming all concerned method),
 // and should not expose its attributes member anymore.
-public class Attributes {
+public class Attributes implements Serializable {
+  private static final long serialVersionUID = 1L;
+
   private static final String ORIGINAL_VALUE_MARKER = "$$$originalValue->";
 
   private final static ControlParameter controlParameter = new ControlParameter();
@@ -33,6 +37,8 @@ public class Attributes {
   private final Map<String, String> attributes;
   @Nonnull
   private final Map<String, Set<String>> taggedAttributes;
+  // the number of changes so far, see getModificationCount()
+  private transient int modificationCount;
 
   public Attributes() {
     attributes = new HashMap<String, String>();
@@ -67,7 +73,9 @@ public class Attributes {
   public Attributes(@Nonnull final Attributes source) {
     this();
     attributes.putAll(source.attributes);
-    taggedAttributes.putAll(source.taggedAttributes);
+    for (Map.Entry<String, Set<String>> tag : source.taggedAttributes.entrySet()) {
+      taggedAttributes.put(tag.getKey(), new HashSet<String>(tag.getValue()));
+    }
   }
 
   public void translateSpecialValues(
@@ -93,6 +101,7 @@ public class Attributes {
     }
 
     attributes.putAll(replacedAttributes);
+    modificationCount++;
   }
 
   /**
@@ -253,10 +262,12 @@ public class Attributes {
     taggedAttributes.clear();
     attributes.putAll(src.attributes);
     taggedAttributes.putAll(src.taggedAttributes);
+    modificationCount++;
   }
 
   public void merge(@Nonnull final Attributes src) {
     Map<String, String> srcAttributes = src.attributes;
+    modificationCount++;
 
     for (Map.Entry<String, String> srcAttribute : srcAttributes.entrySet()) {
       String srcKey = srcAttribute.getKey();
@@ -290,6 +301,7 @@ public class Attributes {
   }
 
   private void tagAttribute(@Nonnull final String srcKey, @Nonnull final String tag) {
+    modificationCount++;
     Set<String> attribForTag = taggedAttributes.get(tag);
     if (attribForTag == null) {
       attribForTag = new HashSet<String>();
@@ -300,6 +312,7 @@ public class Attributes {
 
   public void refreshFromAttributes(@Nonnull final Attributes src) {
     Map<String, String> srcAttributes = src.attributes;
+    modificationCount++;
     for (Map.Entry<String, String> srcAttribute : srcAttributes.entrySet()) {
       String srcKey = srcAttribute.getKey();
       String srcValue = srcAttribute.getValue();
@@ -314,6 +327,7 @@ public class Attributes {
 
   private void setAttribute(final String key, final String value) {
     attributes.put(key, value);
+    modificationCount++;
   }
 
   @Override
@@ -398,6 +412,7 @@ public class Attributes {
 
   public void remove(final String key) {
     attributes.remove(key);
+    modificationCount++;
   }
 
   @Nullable
@@ -435,6 +450,25 @@ public class Attributes {
     return extractParameters();
   }
 
+  /**
+   * Get the attributes that have been tagged, f.i. because they have been applied from a style.
+   * @return the names of the tagged attributes for each tag
+   */
+  @Nonnull
+  public Map<String, Set<String>> getTaggedAttributes() {
+    return Collections.unmodifiableMap(taggedAttributes);
+  }
+
+  /**
+   * Get the number of times these attributes have been changed. As long as the number stays the same the attributes
+   * haven't been changed, which is cheaper to check than comparing all the values. Changes made directly to the map
+   * returned by {@link #getAttributes()} are not counted.
+   * @return the number of changes so far
+   */
+  public int getModificationCount() {
+    return modificationCount;
+  }
+
   public void removeWithTag(final String tag) {
     Set < String > tagged = taggedAttributes.get(tag);
     if (tagged != null) {
@@ -0,0 +1,105 @@
+package de.lessvoid.nifty;
+
+import de.lessvoid.nifty.builder.ImageBuilder;
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.PanelBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.builder.TextBuilder;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class NiftyAllocationTest {
+  private static final int WARMUP_FRAMES = 5000;
+  private static final int FRAMES = 1000;
+
+  private NullInputSystem inputSystem;
+  private ManualTimeProvider timeProvider;
+  private Nifty nifty;
+
+  @Before
+  public void before() {
+    inputSystem = new NullInputSystem();
+    timeProvider = new ManualTimeProvider(1000);
+    nifty = new Nifty(new NullRenderDevice(800, 600), new NullSoundDevice(), inputSystem, timeProvider);
+
+    LayerBuilder layerBuilder = new LayerBuilder("layer");
+    layerBuilder.childLayoutVertical();
+    for (int i = 0; i < 10; i++) {
+      PanelBuilder panelBuilder = new PanelBuilder("panel" + i);
+      panelBuilder.width("100%");
+      panelBuilder.height("20px");
+      panelBuilder.backgroundColor("#f00f");
+      panelBuilder.childLayoutHorizontal();
+      panelBuilder.visibleToMouse();
+      TextBuilder textBuilder = new TextBuilder("text" + i);
+      textBuilder.font("font.fnt");
+      textBuilder.text("text" + i);
+      panelBuilder.text(textBuilder);
+      ImageBuilder imageBuilder = new ImageBuilder("image" + i);
+      imageBuilder.filename("image.png");
+      panelBuilder.image(imageBuilder);
+      layerBuilder.panel(panelBuilder);
+    }
+    ScreenBuilder screenBuilder = new ScreenBuilder("start");
+    screenBuilder.layer(layerBuilder);
+    nifty.addScreen("start", screenBuilder.build(nifty));
+    nifty.gotoScreen("start");
+  }
+
+  @Test
+  public void testFrameLoopDoesNotAllocate() {
+    assertNoAllocationPerFrame();
+  }
+
+  @Test
+  public void testFrameLoopWithMouseButtonHeldDownDoesNotAllocate() {
+    inputSystem.mouseMoved(100, 50);
+    inputSystem.addMouseEvent(100, 50, 0, 0, true);
+    assertNoAllocationPerFrame();
+  }
+
+  @Test
+  public void testFrameLoopWithFrameProfilerDoesNotAllocate() {
+    nifty.getFrameProfiler().setEnabled(true);
+    assertNoAllocationPerFrame();
+  }
+
+  // the JIT compiler occasionally allocates a few bytes on the thread it compiles for, while a single object allocated
+  // per frame would add up to at least 16 bytes per frame
+  private void assertNoAllocationPerFrame() {
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    assumeTrue("counting allocated bytes is not supported by this JVM",
+        threadMXBean instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean allocationCounter = (com.sun.management.ThreadMXBean) threadMXBean;
+    assumeTrue("counting allocated bytes is not supported by this JVM",
+        allocationCounter.isThreadAllocatedMemorySupported());
+    allocationCounter.setThreadAllocatedMemoryEnabled(true);
+
+    frames(WARMUP_FRAMES);
+    long threadId = Thread.currentThread().getId();
+    // the first call of the counter allocates itself
+    allocationCounter.getThreadAllocatedBytes(threadId);
+    long before = allocationCounter.getThreadAllocatedBytes(threadId);
+    frames(FRAMES);
+    long allocated = allocationCounter.getThreadAllocatedBytes(threadId) - before;
+    assertTrue("allocated " + allocated + " bytes in " + FRAMES + " frames", allocated < FRAMES);
+  }
+
+  private void frames(final int count) {
+    for (int i = 0; i < count; i++) {
+      timeProvider.advance(16);
+      nifty.update();
+      nifty.render(true);
+    }
+  }
+}
@@ -0,0 +1,114 @@
+package de.lessvoid.nifty;
+
+import de.lessvoid.nifty.NiftyFrameStatistics.Counter;
+import de.lessvoid.nifty.NiftyFrameStatistics.Phase;
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.PanelBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NiftyFrameProfilerTest {
+  private Nifty nifty;
+  private NiftyFrameProfiler profiler;
+
+  @Before
+  public void before() {
+    nifty = new Nifty(
+        new NullRenderDevice(800, 600), new NullSoundDevice(), new NullInputSystem(), new ManualTimeProvider(1000));
+    LayerBuilder layerBuilder = new LayerBuilder("layer");
+    layerBuilder.childLayoutVertical();
+    for (int i = 0; i < 10; i++) {
+      PanelBuilder panelBuilder = new PanelBuilder("panel" + i);
+      panelBuilder.height("20px");
+      panelBuilder.backgroundColor("#f00f");
+      layerBuilder.panel(panelBuilder);
+    }
+    ScreenBuilder screenBuilder = new ScreenBuilder("start");
+    screenBuilder.layer(layerBuilder);
+    nifty.addScreen("start", screenBuilder.build(nifty));
+    nifty.gotoScreen("start");
+    profiler = nifty.getFrameProfiler();
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    assertFalse(profiler.isEnabled());
+    frame();
+    assertEquals(0, profiler.getLastFrameStatistics().getFrame());
+  }
+
+  @Test
+  public void testFrameStatistics() {
+    profiler.setEnabled(true);
+    frame();
+
+    NiftyFrameStatistics statistics = profiler.getLastFrameStatistics();
+    assertEquals(1, statistics.getFrame());
+    // the layer and the panels
+    assertEquals(11, statistics.getCount(Counter.ELEMENTS_VISITED));
+    assertEquals(0, statistics.getCount(Counter.QUADS));
+    assertTrue(statistics.getTime(Phase.RENDER_LAYERS) > 0);
+    assertTrue(statistics.getFrameTime() >= statistics.getTime(Phase.RENDER_LAYERS));
+  }
+
+  @Test
+  public void testCountersAreResetWithEveryFrame() {
+    profiler.setEnabled(true);
+    frame();
+    frame();
+
+    NiftyFrameStatistics statistics = profiler.getLastFrameStatistics();
+    assertEquals(2, statistics.getFrame());
+    assertEquals(11, statistics.getCount(Counter.ELEMENTS_VISITED));
+  }
+
+  @Test
+  public void testLayoutIsMeasured() {
+    profiler.setEnabled(true);
+    nifty.getCurrentScreen().layoutLayers();
+    frame();
+
+    assertTrue(profiler.getLastFrameStatistics().getTime(Phase.LAYOUT) > 0);
+  }
+
+  @Test
+  public void testListener() {
+    final List<Long> frames = new ArrayList<Long>();
+    NiftyFrameStatisticsListener listener = new NiftyFrameStatisticsListener() {
+      @Override
+      public void frameFinished(@Nonnull final NiftyFrameStatistics statistics) {
+        frames.add(statistics.getFrame());
+      }
+    };
+    profiler.addListener(listener);
+    frame();
+    profiler.setEnabled(true);
+    frame();
+    frame();
+    profiler.removeListener(listener);
+    frame();
+
+    assertEquals(2, frames.size());
+    assertEquals(1L, (long) frames.get(0));
+    assertEquals(2L, (long) frames.get(1));
+  }
+
+  private void frame() {
+    nifty.update();
+    nifty.render(true);
+  }
+}
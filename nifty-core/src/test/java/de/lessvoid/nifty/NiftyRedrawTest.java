@@ -0,0 +1,148 @@
+package de.lessvoid.nifty;
+
+import de.lessvoid.nifty.builder.EffectBuilder;
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.PanelBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.builder.TextBuilder;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.elements.render.TextRenderer;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NiftyRedrawTest {
+  private ManualTimeProvider timeProvider;
+  private Nifty nifty;
+
+  @Before
+  public void before() {
+    timeProvider = new ManualTimeProvider(1000);
+    nifty = new Nifty(new NullRenderDevice(800, 600), new NullSoundDevice(), new NullInputSystem(), timeProvider);
+    nifty.registerEffect("fade", "de.lessvoid.nifty.effects.impl.Fade");
+  }
+
+  @Test
+  public void testRedrawRequiredInitially() {
+    assertTrue(nifty.isRedrawRequired());
+  }
+
+  @Test
+  public void testIdleAfterFirstFrame() {
+    gotoScreen(false);
+    frame();
+
+    assertFalse(nifty.isRedrawRequired());
+    assertEquals(Long.MAX_VALUE, nifty.getNextRedrawTime());
+  }
+
+  @Test
+  public void testRequestRedraw() {
+    gotoScreen(false);
+    frame();
+    nifty.requestRedraw();
+
+    assertTrue(nifty.isRedrawRequired());
+    assertEquals(1000, nifty.getNextRedrawTime());
+  }
+
+  @Test
+  public void testRequestRedrawAtKeepsEarliestTime() {
+    gotoScreen(false);
+    frame();
+    nifty.requestRedrawAt(3000);
+    nifty.requestRedrawAt(2000);
+
+    assertFalse(nifty.isRedrawRequired());
+    assertEquals(2000, nifty.getNextRedrawTime());
+
+    timeProvider.setMsTime(2000);
+    assertTrue(nifty.isRedrawRequired());
+  }
+
+  @Test
+  public void testTextChangeRequiresRedraw() {
+    gotoScreen(false);
+    frame();
+
+    Element text = nifty.getCurrentScreen().findElementById("text");
+    text.getRenderer(TextRenderer.class).setText("changed");
+
+    assertTrue(nifty.isRedrawRequired());
+  }
+
+  @Test
+  public void testHideRequiresRedraw() {
+    gotoScreen(false);
+    frame();
+
+    nifty.getCurrentScreen().findElementById("text").hide();
+    frame();
+    frame();
+
+    assertFalse(nifty.isRedrawRequired());
+    nifty.getCurrentScreen().findElementById("text").show();
+    assertTrue(nifty.isRedrawRequired());
+  }
+
+  @Test
+  public void testDelayedEffectSchedulesRedraw() {
+    gotoScreen(true);
+    frame();
+
+    // the effect waits for its start delay
+    assertFalse(nifty.isRedrawRequired());
+    assertEquals(1500, nifty.getNextRedrawTime());
+
+    // the running effect changes every frame
+    timeProvider.setMsTime(1500);
+    assertTrue(nifty.isRedrawRequired());
+    frame();
+    assertTrue(nifty.isRedrawRequired());
+
+    // the ended effect requires one last frame and then the screen is idle again
+    timeProvider.setMsTime(3000);
+    frame();
+    assertTrue(nifty.isRedrawRequired());
+    frame();
+    assertFalse(nifty.isRedrawRequired());
+    assertEquals(Long.MAX_VALUE, nifty.getNextRedrawTime());
+  }
+
+  private void gotoScreen(final boolean withEffect) {
+    LayerBuilder layerBuilder = new LayerBuilder("layer");
+    layerBuilder.childLayoutVertical();
+    PanelBuilder panelBuilder = new PanelBuilder("panel");
+    panelBuilder.height("20px");
+    panelBuilder.backgroundColor("#f00f");
+    if (withEffect) {
+      EffectBuilder effectBuilder = new EffectBuilder("fade");
+      effectBuilder.startDelay(500);
+      effectBuilder.length(1000);
+      effectBuilder.effectParameter("start", "#0");
+      effectBuilder.effectParameter("end", "#f");
+      panelBuilder.onStartScreenEffect(effectBuilder);
+    }
+    layerBuilder.panel(panelBuilder);
+    TextBuilder textBuilder = new TextBuilder("text");
+    textBuilder.text("hello");
+    layerBuilder.text(textBuilder);
+
+    ScreenBuilder screenBuilder = new ScreenBuilder("start");
+    screenBuilder.layer(layerBuilder);
+    nifty.addScreen("start", screenBuilder.build(nifty));
+    nifty.gotoScreen("start");
+  }
+
+  private void frame() {
+    nifty.update();
+    nifty.render(true);
+  }
+}
@@ -0,0 +1,94 @@
+package de.lessvoid.nifty.effects;
+
+import de.lessvoid.nifty.tools.Alpha;
+import de.lessvoid.nifty.tools.Color;
+import de.lessvoid.nifty.tools.SizeValue;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Properties;
+
+import static org.junit.Assert.*;
+
+public class EffectParametersTest {
+  private EffectProperties effectProperties;
+
+  @Before
+  public void before() {
+    Properties properties = new Properties();
+    properties.setProperty("color", "#f00f");
+    properties.setProperty("width", "50%");
+    properties.setProperty("offsetX", "12");
+    properties.setProperty("distance", "2.5");
+    properties.setProperty("repeat", "true");
+    properties.setProperty("start", "#8");
+    effectProperties = new EffectProperties(properties);
+  }
+
+  @Test
+  public void testTypedValues() {
+    EffectParameters parameters = effectProperties.getEffectParameters();
+    assertEquals("#f00f", parameters.getColor("color", Color.WHITE).getColorString());
+    assertEquals(new SizeValue("50%"), parameters.getSizeValue("width"));
+    assertEquals(12, parameters.getInt("offsetX", 0));
+    assertEquals(2.5f, parameters.getFloat("distance", 0.0f), 0.0f);
+    assertTrue(parameters.getBoolean("repeat", false));
+    assertEquals("12", parameters.getString("offsetX"));
+    assertEquals(0x88 / 255.0f, parameters.getAlpha("start", Alpha.FULL).getAlpha(), 0.0001f);
+  }
+
+  @Test
+  public void testDefaults() {
+    EffectParameters parameters = effectProperties.getEffectParameters();
+    assertSame(Color.NONE, parameters.getColor("startColor", Color.NONE));
+    assertSame(SizeValue.def(), parameters.getSizeValue("height"));
+    assertSame(Alpha.ZERO, parameters.getAlpha("end", Alpha.ZERO));
+    assertEquals(20, parameters.getInt("offsetY", 20));
+    assertEquals(10.0f, parameters.getFloat("size", 10.0f), 0.0f);
+    assertTrue(parameters.getBoolean("global", true));
+    assertNull(parameters.getString("mode"));
+    assertEquals("in", parameters.getString("mode", "in"));
+    assertFalse(parameters.has("mode"));
+  }
+
+  @Test
+  public void testToProperties() {
+    Properties properties = effectProperties.getEffectParameters().toProperties();
+    assertEquals(effectProperties.size(), properties.size());
+    assertEquals("12", properties.getProperty("offsetX"));
+  }
+
+  @Test
+  public void testValuesAreParsedOnlyOnce() {
+    EffectParameters parameters = effectProperties.getEffectParameters();
+    assertSame(parameters, effectProperties.getEffectParameters());
+    assertSame(parameters.getColor("color", Color.WHITE), parameters.getColor("color", Color.WHITE));
+    assertSame(parameters.getSizeValue("width"), parameters.getSizeValue("width"));
+    assertSame(parameters.getAlpha("start", Alpha.FULL), parameters.getAlpha("start", Alpha.FULL));
+  }
+
+  @Test
+  public void testChangingThePropertiesCreatesNewParameters() {
+    EffectParameters parameters = effectProperties.getEffectParameters();
+    effectProperties.setProperty("offsetX", "42");
+
+    assertNotSame(parameters, effectProperties.getEffectParameters());
+    assertEquals(42, effectProperties.getEffectParameters().getInt("offsetX", 0));
+    assertEquals(12, parameters.getInt("offsetX", 0));
+  }
+
+  @Test
+  public void testRemovingAPropertyCreatesNewParameters() {
+    effectProperties.getEffectParameters();
+    effectProperties.remove("repeat");
+
+    assertFalse(effectProperties.getEffectParameters().getBoolean("repeat", false));
+  }
+
+  @Test
+  public void testNoneStringValuesAreIgnored() {
+    effectProperties.put("effectEventId", EffectEventId.onHover);
+
+    assertFalse(effectProperties.getEffectParameters().has("effectEventId"));
+  }
+}
@@ -0,0 +1,136 @@
+package de.lessvoid.nifty.effects;
+
+import de.lessvoid.nifty.EndNotify;
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.builder.EffectBuilder;
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.PanelBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EffectSchedulerTest {
+  private ManualTimeProvider timeProvider;
+  private Nifty nifty;
+  private Screen screen;
+  private Element panel;
+  private boolean ended;
+
+  @Before
+  public void before() {
+    timeProvider = new ManualTimeProvider(1000);
+    nifty = new Nifty(new NullRenderDevice(800, 600), new NullSoundDevice(), new NullInputSystem(), timeProvider);
+    nifty.registerEffect("fade", "de.lessvoid.nifty.effects.impl.Fade");
+
+    LayerBuilder layerBuilder = new LayerBuilder("layer");
+    layerBuilder.childLayoutVertical();
+    PanelBuilder panelBuilder = new PanelBuilder("panel");
+    panelBuilder.height("20px");
+    panelBuilder.onCustomEffect(fade("first", 0));
+    panelBuilder.onCustomEffect(fade("delayed", 500));
+    layerBuilder.panel(panelBuilder);
+
+    ScreenBuilder screenBuilder = new ScreenBuilder("start");
+    screenBuilder.layer(layerBuilder);
+    nifty.addScreen("start", screenBuilder.build(nifty));
+    nifty.gotoScreen("start");
+    screen = nifty.getCurrentScreen();
+    panel = screen.findElementById("panel");
+  }
+
+  @Test
+  public void testStartedEffectsAreScheduled() {
+    startCustomEffect("first");
+    startCustomEffect("delayed");
+
+    assertEquals(2, screen.getEffectScheduler().getScheduledCount());
+    assertTrue(getEffect("first").isScheduled());
+    assertTrue(getEffect("delayed").isScheduled());
+  }
+
+  @Test
+  public void testEffectsEndWithoutRendering() {
+    startCustomEffect("first");
+
+    timeProvider.setMsTime(1500);
+    screen.updateEffects();
+    assertTrue(panel.isEffectActive(EffectEventId.onCustom));
+    assertFalse(ended);
+
+    timeProvider.setMsTime(2100);
+    screen.updateEffects();
+    assertFalse(panel.isEffectActive(EffectEventId.onCustom));
+    assertTrue(ended);
+    assertFalse(getEffect("first").isScheduled());
+    assertEquals(0, screen.getEffectScheduler().getScheduledCount());
+  }
+
+  @Test
+  public void testDelayedEffectIsNotUpdatedBeforeItStarts() {
+    startCustomEffect("delayed");
+
+    timeProvider.setMsTime(2100);
+    screen.updateEffects();
+    assertTrue(getEffect("delayed").isActive());
+
+    timeProvider.setMsTime(2600);
+    screen.updateEffects();
+    assertFalse(getEffect("delayed").isActive());
+    assertTrue(ended);
+  }
+
+  @Test
+  public void testRestartedEffectIsScheduledOnce() {
+    startCustomEffect("first");
+    startCustomEffect("first");
+
+    assertEquals(1, screen.getEffectScheduler().getScheduledCount());
+  }
+
+  @Test
+  public void testRemovedElementIsUnscheduled() {
+    startCustomEffect("first");
+    nifty.removeElement(screen, panel);
+    nifty.update();
+    screen.updateEffects();
+
+    assertFalse(getEffect("first").isScheduled());
+    assertEquals(0, screen.getEffectScheduler().getScheduledCount());
+  }
+
+  private EffectBuilder fade(final String customKey, final int startDelay) {
+    EffectBuilder effectBuilder = new EffectBuilder("fade");
+    effectBuilder.customKey(customKey);
+    effectBuilder.startDelay(startDelay);
+    effectBuilder.length(1000);
+    effectBuilder.effectParameter("start", "#0");
+    effectBuilder.effectParameter("end", "#f");
+    return effectBuilder;
+  }
+
+  private void startCustomEffect(final String customKey) {
+    panel.startEffect(EffectEventId.onCustom, new EndNotify() {
+      @Override
+      public void perform() {
+        ended = true;
+      }
+    }, customKey);
+  }
+
+  private Effect getEffect(final String customKey) {
+    for (Effect effect : panel.getEffects(EffectEventId.onCustom, de.lessvoid.nifty.effects.impl.Fade.class)) {
+      if (effect.customKeyMatches(customKey)) {
+        return effect;
+      }
+    }
+    throw new IllegalArgumentException(customKey);
+  }
+}
@@ -0,0 +1,96 @@
+package de.lessvoid.nifty.elements;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.PanelBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ElementClipCullingTest {
+  private NullRenderDevice renderDevice;
+  private Nifty nifty;
+
+  @Before
+  public void before() {
+    renderDevice = new NullRenderDevice(800, 600);
+    nifty = new Nifty(renderDevice, new NullSoundDevice(), new NullInputSystem(), new ManualTimeProvider(1000));
+  }
+
+  @Test
+  public void testChildrenOutsideOfClippingAreaAreNotRendered() {
+    PanelBuilder clipPanel = new PanelBuilder("clip");
+    clipPanel.height("100px");
+    clipPanel.childClip(true);
+    clipPanel.childLayoutVertical();
+    for (int i = 0; i < 50; i++) {
+      clipPanel.panel(createPanel("child" + i, "20px"));
+    }
+    LayerBuilder layer = new LayerBuilder("layer");
+    layer.childLayoutVertical();
+    layer.panel(clipPanel);
+    start(layer);
+
+    // the children at y = 0, 20, 40, 60, 80 and the one touching the edge at y = 100
+    assertEquals(6, renderDevice.getQuadCount());
+  }
+
+  @Test
+  public void testElementsOutsideOfDisplayAreNotRendered() {
+    PanelBuilder visible = createPanel("visible", "20px");
+    visible.x("0px");
+    visible.y("0px");
+    PanelBuilder outside = createPanel("outside", "20px");
+    outside.x("900px");
+    outside.y("0px");
+    LayerBuilder layer = new LayerBuilder("layer");
+    layer.childLayoutAbsolute();
+    layer.panel(visible);
+    layer.panel(outside);
+    start(layer);
+
+    assertEquals(1, renderDevice.getQuadCount());
+  }
+
+  @Test
+  public void testVisibleChildOfClippedElementIsRendered() {
+    PanelBuilder child = createPanel("child", "20px");
+    child.x("250px");
+    child.y("0px");
+    PanelBuilder parent = createPanel("parent", "20px");
+    parent.x("-200px");
+    parent.y("0px");
+    parent.childLayoutAbsolute();
+    parent.panel(child);
+    LayerBuilder layer = new LayerBuilder("layer");
+    layer.childLayoutAbsolute();
+    layer.panel(parent);
+    start(layer);
+
+    assertEquals(1, renderDevice.getQuadCount());
+  }
+
+  private PanelBuilder createPanel(final String id, final String height) {
+    PanelBuilder panel = new PanelBuilder(id);
+    panel.width("100px");
+    panel.height(height);
+    panel.backgroundColor("#f00f");
+    return panel;
+  }
+
+  private void start(final LayerBuilder layer) {
+    ScreenBuilder screenBuilder = new ScreenBuilder("start");
+    screenBuilder.layer(layer);
+    nifty.addScreen("start", screenBuilder.build(nifty));
+    nifty.gotoScreen("start");
+    renderDevice.resetCounters();
+    nifty.update();
+    nifty.render(true);
+  }
+}
@@ -0,0 +1,140 @@
+package de.lessvoid.nifty.elements;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ElementFindElementByIdTest {
+  private Nifty nifty;
+  private Element root;
+  private Element control;
+  private Element controlChild;
+  private Element other;
+  private Element otherChild;
+
+  @Before
+  public void before() {
+    nifty = new Nifty(new NullRenderDevice(800, 600), new NullSoundDevice(), new NullInputSystem(),
+        new ManualTimeProvider(1000));
+    root = createElement("root", null);
+    control = createElement("control", root);
+    controlChild = createElement("control#child", control);
+    other = createElement("other", root);
+    otherChild = createElement("other#child", other);
+  }
+
+  @Test
+  public void testFindById() {
+    assertSame(root, root.findElementById("root"));
+    assertSame(other, root.findElementById("other"));
+    assertSame(otherChild, root.findElementById("other#child"));
+    assertNull(root.findElementById("unknown"));
+    assertNull(root.findElementById(null));
+  }
+
+  @Test
+  public void testFindBySuffixReturnsFirstMatch() {
+    assertSame(controlChild, root.findElementById("#child"));
+    assertSame(otherChild, other.findElementById("#child"));
+    assertNull(root.findElementById("#control"));
+  }
+
+  @Test
+  public void testFindInLeaf() {
+    assertSame(otherChild, otherChild.findElementById("#child"));
+    assertNull(otherChild.findElementById("#other"));
+  }
+
+  @Test
+  public void testAddedChildIsFound() {
+    assertNull(root.findElementById("#new"));
+    createElement("other#new", other);
+    assertSame(other.getChildren().get(1), root.findElementById("#new"));
+  }
+
+  @Test
+  public void testRemovedChildIsNotFound() {
+    assertSame(controlChild, root.findElementById("#child"));
+    control.internalRemoveElement(controlChild);
+    assertSame(otherChild, root.findElementById("#child"));
+  }
+
+  @Test
+  public void testChangedIdIsFound() {
+    assertSame(controlChild, root.findElementById("control#child"));
+    controlChild.setId("control#renamed");
+    assertNull(root.findElementById("control#child"));
+    assertSame(controlChild, root.findElementById("#renamed"));
+  }
+
+  @Test
+  public void testReorderedChildrenChangeFirstMatch() {
+    assertSame(controlChild, root.findElementById("#child"));
+    other.setIndex(0);
+    assertSame(otherChild, root.findElementById("#child"));
+  }
+
+  @Test
+  public void testMovedChildIsFoundBelowNewParent() {
+    other.internalRemoveElement(otherChild);
+    otherChild.setParent(control);
+    control.addChild(otherChild);
+    assertNull(other.findElementById("other#child"));
+    assertSame(otherChild, control.findElementById("other#child"));
+    assertSame(otherChild, root.findElementById("other#child"));
+  }
+
+  @Test
+  public void testTreeBuiltSeparatelyIsFoundAfterAdding() {
+    Element panel = createElement("panel", null);
+    Element panelChild = createElement("panel#child", panel);
+    assertSame(panelChild, panel.findElementById("#child"));
+
+    panel.setParent(root);
+    root.addChild(panel);
+    assertSame(panelChild, root.findElementById("panel#child"));
+    assertSame(panelChild, panel.findElementById("#child"));
+  }
+
+  @Test
+  public void testDuplicateIdsAreFoundBelowEachElement() {
+    Element secondChild = createElement("control#child", other);
+    assertSame(controlChild, root.findElementById("control#child"));
+    assertSame(secondChild, other.findElementById("control#child"));
+
+    control.internalRemoveElement(controlChild);
+    assertSame(secondChild, root.findElementById("control#child"));
+    assertNull(control.findElementById("#child"));
+  }
+
+  @Test
+  public void testChangedIdOfRemovedElementIsNotFound() {
+    assertSame(otherChild, root.findElementById("other#child"));
+    other.internalRemoveElement(otherChild);
+    otherChild.setId("other#renamed");
+    assertNull(root.findElementById("#renamed"));
+    assertNull(other.findElementById("#renamed"));
+  }
+
+  @Test
+  public void testRemovedElementStillFindsItsChildren() {
+    root.internalRemoveElement(other);
+    assertNull(root.findElementById("other#child"));
+    assertSame(otherChild, other.findElementById("#child"));
+  }
+
+  private Element createElement(final String id, final Element parent) {
+    Element element = new Element(nifty, null, id, parent, null, false, null);
+    if (parent != null) {
+      parent.addChild(element);
+    }
+    return element;
+  }
+}
@@ -0,0 +1,101 @@
+package de.lessvoid.nifty.elements;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.layout.manager.VerticalLayout;
+import de.lessvoid.nifty.tools.SizeValue;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.easymock.EasyMock.createNiceMock;
+import static org.easymock.EasyMock.replay;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ElementLayoutRequiredTest {
+  private Element root;
+  private Element a;
+  private Element b;
+  private Element c;
+
+  @Before
+  public void before() {
+    Nifty niftyMock = createNiceMock(Nifty.class);
+    replay(niftyMock);
+
+    root = new Element(niftyMock, null, null, null, null, false, null);
+    root.setConstraintWidth(SizeValue.px(100));
+    root.setConstraintHeight(SizeValue.px(100));
+    root.setLayoutManager(new VerticalLayout());
+    a = new Element(niftyMock, null, null, root, null, false, null);
+    a.setLayoutManager(new VerticalLayout());
+    b = new Element(niftyMock, null, null, a, null, false, null);
+    b.setConstraintHeight(SizeValue.px(20));
+    c = new Element(niftyMock, null, null, root, null, false, null);
+    c.setConstraintHeight(SizeValue.px(30));
+    root.addChild(a);
+    a.addChild(b);
+    root.addChild(c);
+  }
+
+  @Test
+  public void testNewElementRequiresLayout() {
+    assertTrue(root.isLayoutRequired());
+    assertTrue(b.isLayoutRequired());
+  }
+
+  @Test
+  public void testLayoutClearsLayoutRequired() {
+    root.layoutElements();
+    assertFalse(root.isLayoutRequired());
+    assertFalse(a.isLayoutRequired());
+    assertFalse(b.isLayoutRequired());
+    assertFalse(c.isLayoutRequired());
+  }
+
+  @Test
+  public void testConstraintChangeMarksParents() {
+    root.layoutElements();
+    b.setConstraintHeight(SizeValue.px(40));
+    assertTrue(b.isLayoutRequired());
+    assertTrue(a.isLayoutRequired());
+    assertTrue(root.isLayoutRequired());
+    assertFalse(c.isLayoutRequired());
+  }
+
+  @Test
+  public void testSettingSameConstraintDoesNotRequireLayout() {
+    root.layoutElements();
+    c.setConstraintHeight(SizeValue.px(30));
+    assertFalse(c.isLayoutRequired());
+    assertFalse(root.isLayoutRequired());
+  }
+
+  @Test
+  public void testPaddingChangeRequiresLayout() {
+    root.layoutElements();
+    a.setPaddingLeft(SizeValue.px(5));
+    assertTrue(a.isLayoutRequired());
+    assertTrue(root.isLayoutRequired());
+  }
+
+  @Test
+  public void testAddChildRequiresLayout() {
+    root.layoutElements();
+    a.addChild(new Element(root.getNifty(), null, null, a, null, false, null));
+    assertTrue(a.isLayoutRequired());
+    assertTrue(root.isLayoutRequired());
+    assertFalse(c.isLayoutRequired());
+  }
+
+  @Test
+  public void testLayoutResultAfterIncrementalChange() {
+    root.layoutElements();
+    assertEquals(20, c.getY());
+
+    b.setConstraintHeight(SizeValue.px(40));
+    root.layoutElements();
+    assertEquals(40, c.getY());
+    assertFalse(root.isLayoutRequired());
+  }
+}
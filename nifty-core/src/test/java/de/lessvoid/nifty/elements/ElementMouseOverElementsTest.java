@@ -0,0 +1,160 @@
+package de.lessvoid.nifty.elements;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.builder.HoverEffectBuilder;
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.PanelBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.effects.Falloff;
+import de.lessvoid.nifty.input.NiftyMouseInputEvent;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.screen.MouseOverHandler;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+import de.lessvoid.nifty.tools.SizeValue;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+public class ElementMouseOverElementsTest {
+  private Nifty nifty;
+  private Element layer;
+  private final MouseOverHandler mouseOverHandler = new MouseOverHandler();
+  private final NiftyMouseInputEvent mouseEvent = new NiftyMouseInputEvent();
+
+  @Before
+  public void before() {
+    nifty = new Nifty(new NullRenderDevice(800, 600), new NullSoundDevice(), new NullInputSystem(),
+        new ManualTimeProvider(1000));
+
+    LayerBuilder layerBuilder = new LayerBuilder("layer");
+    layerBuilder.childLayoutVertical();
+    for (int i = 0; i < 3; i++) {
+      PanelBuilder panelBuilder = new PanelBuilder("panel" + i);
+      panelBuilder.width("100%");
+      panelBuilder.height("100px");
+      panelBuilder.childLayoutVertical();
+      panelBuilder.visibleToMouse(true);
+      PanelBuilder childBuilder = new PanelBuilder("child" + i);
+      childBuilder.width("100%");
+      childBuilder.height("50px");
+      childBuilder.visibleToMouse(true);
+      panelBuilder.panel(childBuilder);
+      layerBuilder.panel(panelBuilder);
+    }
+    ScreenBuilder screenBuilder = new ScreenBuilder("start");
+    screenBuilder.layer(layerBuilder);
+    nifty.addScreen("start", screenBuilder.build(nifty));
+    nifty.gotoScreen("start");
+    nifty.update();
+
+    Screen screen = nifty.getCurrentScreen();
+    assertNotNull(screen);
+    layer = screen.findElementById("layer");
+    assertNotNull(layer);
+  }
+
+  @Test
+  public void testMouseOverElements() {
+    assertEquals("mouse over elements: [child1][panel1] mouse elements: ---", buildMouseOverElements(10, 140));
+  }
+
+  @Test
+  public void testNothingBelowMouse() {
+    assertEquals("mouse over elements: --- mouse elements: ---", buildMouseOverElements(10, 500));
+    assertFalse(mouseOverHandler.hitsElement());
+  }
+
+  @Test
+  public void testElementsLeftByTheMouseSeeTheNextEvent() {
+    buildMouseOverElements(10, 140);
+    assertEquals(
+        "mouse over elements: [panel2] mouse elements: [child1][panel1]",
+        buildMouseOverElements(10, 260));
+    assertEquals("mouse over elements: [panel2] mouse elements: ---", buildMouseOverElements(10, 260));
+  }
+
+  @Test
+  public void testElementsSeeTheEventsUntilTheMouseButtonIsReleased() {
+    buildMouseOverElements(10, 140, true);
+    assertEquals(
+        "mouse over elements: --- mouse elements: [child1][panel1]",
+        buildMouseOverElements(10, 500, true));
+    assertEquals(
+        "mouse over elements: --- mouse elements: [child1][panel1]",
+        buildMouseOverElements(10, 500, false));
+    assertEquals("mouse over elements: --- mouse elements: ---", buildMouseOverElements(10, 500, false));
+  }
+
+  @Test
+  public void testLayoutChanges() {
+    buildMouseOverElements(10, 500);
+    nifty.getCurrentScreen().findElementById("panel0").setConstraintHeight(SizeValue.px(300));
+    layer.layoutElements();
+    assertEquals("mouse over elements: [panel0] mouse elements: ---", buildMouseOverElements(10, 140));
+  }
+
+  @Test
+  public void testHoverFalloffOutsideOfTheElement() {
+    HoverEffectBuilder hoverEffectBuilder = new HoverEffectBuilder("hint");
+    hoverEffectBuilder.hoverParameter(Falloff.HOVER_FALLOFF_CONSTRAINT, "both");
+    hoverEffectBuilder.hoverParameter(Falloff.HOVER_HEIGHT, "1000%");
+    PanelBuilder panelBuilder = new PanelBuilder("hover");
+    panelBuilder.width("100%");
+    panelBuilder.height("50px");
+    panelBuilder.visibleToMouse(true);
+    panelBuilder.onHoverEffect(hoverEffectBuilder);
+    panelBuilder.build(nifty, nifty.getCurrentScreen(), layer);
+    layer.layoutElements();
+
+    assertEquals("mouse over elements: --- mouse elements: [hover]", buildMouseOverElements(10, 500));
+    assertEquals("mouse over elements: [hover] mouse elements: ---", buildMouseOverElements(10, 320));
+  }
+
+  @Test
+  public void testHiddenElementsAreIgnored() {
+    buildMouseOverElements(10, 140);
+    nifty.getCurrentScreen().findElementById("panel1").hide();
+    assertEquals("mouse over elements: --- mouse elements: ---", buildMouseOverElements(10, 140));
+  }
+
+  @Test
+  public void testShownElementsAreAddedAgain() {
+    Element panel = nifty.getCurrentScreen().findElementById("panel1");
+    panel.hide();
+    buildMouseOverElements(10, 140);
+    panel.show();
+    assertEquals("mouse over elements: [child1][panel1] mouse elements: ---", buildMouseOverElements(10, 140));
+  }
+
+  @Test
+  public void testVisibleToMouseChange() {
+    buildMouseOverElements(10, 140);
+    nifty.getCurrentScreen().findElementById("child1").setVisibleToMouseEvents(false);
+    assertEquals("mouse over elements: [panel1] mouse elements: ---", buildMouseOverElements(10, 140));
+  }
+
+  @Test
+  public void testRemovedElementsAreIgnored() {
+    buildMouseOverElements(10, 140);
+    nifty.removeElement(nifty.getCurrentScreen(), nifty.getCurrentScreen().findElementById("child1"));
+    nifty.update();
+    assertEquals("mouse over elements: [panel1] mouse elements: ---", buildMouseOverElements(10, 140));
+  }
+
+  private String buildMouseOverElements(final int mouseX, final int mouseY) {
+    return buildMouseOverElements(mouseX, mouseY, false);
+  }
+
+  private String buildMouseOverElements(final int mouseX, final int mouseY, final boolean buttonDown) {
+    mouseOverHandler.reset();
+    mouseEvent.initialize(mouseX, mouseY, 0, buttonDown, false, false);
+    layer.buildMouseOverElements(mouseEvent, 0, mouseOverHandler);
+    return mouseOverHandler.getInfoString();
+  }
+}
@@ -0,0 +1,105 @@
+package de.lessvoid.nifty.elements;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.PanelBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.builder.TextBuilder;
+import de.lessvoid.nifty.elements.render.TextRenderer;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ElementPoolTest {
+  private Nifty nifty;
+  private Screen screen;
+  private Element layer;
+
+  @Before
+  public void before() {
+    nifty = new Nifty(new NullRenderDevice(800, 600), new NullSoundDevice(), new NullInputSystem(),
+        new ManualTimeProvider(1000));
+
+    LayerBuilder layerBuilder = new LayerBuilder("layer");
+    layerBuilder.childLayoutVertical();
+    ScreenBuilder screenBuilder = new ScreenBuilder("start");
+    screenBuilder.layer(layerBuilder);
+    nifty.addScreen("start", screenBuilder.build(nifty));
+    nifty.gotoScreen("start");
+    screen = nifty.getCurrentScreen();
+    layer = screen.findElementById("layer");
+    screen.setElementRecycling(true);
+  }
+
+  @Test
+  public void testRemovedElementIsPooled() {
+    remove(text(null, "first"));
+
+    assertEquals(1, screen.getElementPool().getSize());
+  }
+
+  @Test
+  public void testPooledElementIsReused() {
+    Element first = text(null, "first");
+    remove(first);
+
+    Element second = text("second", "second text");
+
+    assertSame(first, second);
+    assertEquals(0, screen.getElementPool().getSize());
+    assertEquals("second", second.getId());
+    assertSame(layer, second.getParent());
+    assertSame(second, screen.findElementById("second"));
+    assertEquals("second text", second.getRenderer(TextRenderer.class).getOriginalText());
+    assertTrue(second.isVisible());
+  }
+
+  @Test
+  public void testElementsOfOtherTypesAreNotReused() {
+    remove(text(null, "first"));
+
+    PanelBuilder panelBuilder = new PanelBuilder();
+    panelBuilder.height("10px");
+    Element panel = panelBuilder.build(nifty, screen, layer);
+
+    assertNull(panel.getRenderer(TextRenderer.class));
+    assertEquals(1, screen.getElementPool().getSize());
+  }
+
+  @Test
+  public void testElementWithChildrenIsNotPooled() {
+    PanelBuilder panelBuilder = new PanelBuilder();
+    panelBuilder.childLayoutVertical();
+    panelBuilder.text(new TextBuilder() {{
+      text("child");
+    }});
+    remove(panelBuilder.build(nifty, screen, layer));
+
+    assertEquals(0, screen.getElementPool().getSize());
+  }
+
+  @Test
+  public void testNothingIsPooledWithoutRecycling() {
+    screen.setElementRecycling(false);
+    remove(text(null, "first"));
+
+    assertEquals(0, screen.getElementPool().getSize());
+  }
+
+  private Element text(final String id, final String text) {
+    TextBuilder textBuilder = id == null ? new TextBuilder() : new TextBuilder(id);
+    textBuilder.text(text);
+    return textBuilder.build(nifty, screen, layer);
+  }
+
+  private void remove(final Element element) {
+    nifty.removeElement(screen, element);
+    nifty.update();
+  }
+}
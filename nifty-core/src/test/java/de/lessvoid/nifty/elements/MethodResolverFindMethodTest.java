@@ -0,0 +1,73 @@
+package de.lessvoid.nifty.elements;
+
+import de.lessvoid.xml.tools.MethodResolver;
+import junit.framework.TestCase;
+
+import java.lang.reflect.Method;
+
+public class MethodResolverFindMethodTest extends TestCase {
+
+  public void testFindMethod() {
+    Method method = MethodResolver.findMethod(Target.class, "onClick()");
+    assertNotNull(method);
+    assertEquals("onClick", method.getName());
+  }
+
+  public void testFindMethodIgnoresCase() {
+    Method method = MethodResolver.findMethod(Target.class, "ONCLICK()");
+    assertNotNull(method);
+    assertEquals("onClick", method.getName());
+  }
+
+  public void testFindMethodWithParameters() {
+    Method method = MethodResolver.findMethod(Target.class, "onSelect(1, 2)");
+    assertNotNull(method);
+    assertEquals("onSelect", method.getName());
+  }
+
+  public void testFindMethodCachesResult() {
+    assertSame(MethodResolver.findMethod(Target.class, "onClick()"), MethodResolver.findMethod(Target.class,
+        "onClick()"));
+  }
+
+  public void testFindMethodCachesResultForAllArguments() {
+    assertSame(MethodResolver.findMethod(Target.class, "onSelect(1, 2)"), MethodResolver.findMethod(Target.class,
+        "onSelect(3, 4)"));
+  }
+
+  public void testFindMethodInSubclass() {
+    Method method = MethodResolver.findMethod(SubTarget.class, "onClick()");
+    assertNotNull(method);
+    assertEquals("onClick", method.getName());
+  }
+
+  public void testFindMethodByName() {
+    assertSame(MethodResolver.findMethod(Target.class, "onSelect(1, 2)"), MethodResolver.findMethodByName(Target.class,
+        "onSelect"));
+  }
+
+  public void testFindMethodByNameNotFound() {
+    assertNull(MethodResolver.findMethodByName(SubTarget.class, "unknown"));
+    assertNull(MethodResolver.findMethodByName(SubTarget.class, "unknown"));
+  }
+
+  public void testMethodNotFound() {
+    assertNull(MethodResolver.findMethod(Target.class, "unknown()"));
+    assertNull(MethodResolver.findMethod(Target.class, "unknown()"));
+  }
+
+  public void testMethodWithoutArgumentList() {
+    assertNull(MethodResolver.findMethod(Target.class, "onClick"));
+  }
+
+  public static class Target {
+    public void onClick() {
+    }
+
+    public void onSelect(final String a, final String b) {
+    }
+  }
+
+  public static class SubTarget extends Target {
+  }
+}
@@ -44,4 +44,19 @@ public class BoxConstraintsTest extends TestCase {
     assertEquals(VerticalAlign.verticalDefault, copy.getVerticalAlign());
   }
 
+  public void testChangeCountOnlyCountsRealChanges() {
+    BoxConstraints box = new BoxConstraints();
+    assertEquals(0, box.getChangeCount());
+    box.setWidth(SizeValue.px(100));
+    assertEquals(1, box.getChangeCount());
+    box.setWidth(SizeValue.px(100));
+    assertEquals(1, box.getChangeCount());
+    box.setHorizontalAlign(HorizontalAlign.right);
+    assertEquals(2, box.getChangeCount());
+    box.setPadding(SizeValue.px(5));
+    assertEquals(6, box.getChangeCount());
+    box.setPadding(SizeValue.px(5));
+    assertEquals(6, box.getChangeCount());
+  }
+
 }
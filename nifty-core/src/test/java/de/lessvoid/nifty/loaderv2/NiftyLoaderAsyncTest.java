@@ -0,0 +1,97 @@
+package de.lessvoid.nifty.loaderv2;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.loaderv2.types.NiftyType;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class NiftyLoaderAsyncTest {
+  private static final String SCREEN_1 = "de/lessvoid/nifty/loaderv2/preload-screen-1.xml";
+  private static final String SCREEN_2 = "de/lessvoid/nifty/loaderv2/preload-screen-2.xml";
+
+  private Nifty nifty;
+
+  @Before
+  public void before() {
+    nifty = new Nifty(new NullRenderDevice(800, 600), new NullSoundDevice(), new NullInputSystem(),
+        new ManualTimeProvider(1000));
+  }
+
+  @After
+  public void after() {
+    nifty.getLoader().shutdown();
+  }
+
+  @Test
+  public void testPreloadDoesNotCreateScreens() throws Exception {
+    Future<NiftyType> preloaded = nifty.preloadXml(SCREEN_1);
+    NiftyType niftyType = preloaded.get();
+
+    assertNotNull(niftyType);
+    assertTrue(niftyType.output().contains("preload-style"));
+    assertNull(nifty.getScreen("screen-1"));
+  }
+
+  @Test
+  public void testPreloadMultipleFiles() throws Exception {
+    Future<NiftyType> preloaded1 = nifty.preloadXml(SCREEN_1);
+    Future<NiftyType> preloaded2 = nifty.preloadXml(SCREEN_2);
+
+    nifty.addXml(preloaded1);
+    nifty.addXml(preloaded2);
+
+    assertPanel(nifty.getScreen("screen-1"), "panel-1");
+    assertPanel(nifty.getScreen("screen-2"), "panel-2");
+  }
+
+  @Test
+  public void testFromXmlWithPreloadedFile() throws Exception {
+    nifty.fromXml(SCREEN_2, nifty.preloadXml(SCREEN_2), "screen-2");
+    nifty.update();
+
+    Screen screen = nifty.getCurrentScreen();
+    assertNotNull(screen);
+    assertEquals("screen-2", screen.getScreenId());
+  }
+
+  @Test
+  public void testPreloadOfMissingFileFails() throws Exception {
+    Future<NiftyType> preloaded = nifty.preloadXml("de/lessvoid/nifty/loaderv2/missing.xml");
+    try {
+      preloaded.get();
+      fail("expected ExecutionException");
+    } catch (ExecutionException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testLoadingAfterShutdown() throws Exception {
+    nifty.preloadXml(SCREEN_1).get();
+    nifty.getLoader().shutdown();
+    assertNotNull(nifty.preloadXml(SCREEN_2).get());
+  }
+
+  private void assertPanel(final Screen screen, final String panelId) {
+    assertNotNull(screen);
+    Element panel = screen.findElementById(panelId);
+    assertNotNull(panel);
+    assertEquals("preload-style", panel.getStyle());
+  }
+}
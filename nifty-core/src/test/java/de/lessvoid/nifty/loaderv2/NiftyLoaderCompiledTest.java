@@ -0,0 +1,142 @@
+package de.lessvoid.nifty.loaderv2;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.loaderv2.types.NiftyType;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+public class NiftyLoaderCompiledTest {
+  private static final String TEST_XML = "<nifty>"
+      + "<style id=\"test\">"
+      + "<attributes align=\"left\" backgroundColor=\"#f00f\"/>"
+      + "<effect>"
+      + "<onHover name=\"hint\" hintText=\"hello\" />"
+      + "<onStartScreen name=\"fade\" start=\"#0\" end=\"#f\" length=\"100\" />"
+      + "</effect>"
+      + "</style>"
+      + "<screen id=\"screen\">"
+      + "<layer id=\"layer1\" childLayout=\"vertical\">"
+      + "<panel id=\"panel-1\" style=\"test\" childLayout=\"center\" height=\"20px\" width=\"50%\">"
+      + "<text id=\"text-1\" text=\"hello\" />"
+      + "</panel>"
+      + "<panel id=\"panel-2\" height=\"*\">"
+      + "<effect><onActive name=\"colorBar\" color=\"#ff0f\" /></effect>"
+      + "</panel>"
+      + "</layer>"
+      + "</screen>"
+      + "</nifty>";
+
+  private Nifty nifty;
+  private NiftyLoader loader;
+
+  @Before
+  public void before() {
+    nifty = new Nifty(new NullRenderDevice(800, 600), new NullSoundDevice(), new NullInputSystem(),
+        new ManualTimeProvider(1000));
+    loader = nifty.getLoader();
+  }
+
+  @Test
+  public void testRoundTripKeepsTheNiftyType() throws Exception {
+    NiftyType niftyType = loadXml();
+    NiftyType compiled = loader.loadCompiledNifty(new ByteArrayInputStream(compile(niftyType)));
+    assertEquals(normalize(niftyType.output()), normalize(compiled.output()));
+  }
+
+  @Test
+  public void testCompiledNiftyTypeCreatesTheScreen() throws Exception {
+    NiftyType compiled = loader.loadCompiledNifty(new ByteArrayInputStream(compile(loadXml())));
+    compiled.create(nifty, new ManualTimeProvider(1000));
+
+    Screen screen = nifty.getScreen("screen");
+    assertNotNull(screen);
+    assertNotNull(screen.findElementById("panel-1"));
+    assertNotNull(screen.findElementById("text-1"));
+  }
+
+  @Test
+  public void testInvalidDataIsRejected() throws Exception {
+    try {
+      loader.loadCompiledNifty(new ByteArrayInputStream(TEST_XML.getBytes("ISO-8859-1")));
+      fail("expected IOException");
+    } catch (IOException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testForeignClassIsRejected() throws Exception {
+    try {
+      new CompiledNiftyInputStream(new ByteArrayInputStream(serialize(new Date()))).readObject();
+      fail("expected InvalidClassException");
+    } catch (InvalidClassException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testLoaderTypesAreAccepted() throws Exception {
+    Object result = new CompiledNiftyInputStream(new ByteArrayInputStream(serialize(loadXml()))).readObject();
+    assertEquals(true, result instanceof NiftyType);
+  }
+
+  @Test
+  public void testIsCompiledNifty() {
+    assertEquals(true, NiftyLoader.isCompiledNifty("test" + NiftyLoader.COMPILED_FILE_EXTENSION));
+    assertEquals(false, NiftyLoader.isCompiledNifty("test.xml"));
+  }
+
+  private NiftyType loadXml() throws Exception {
+    return loader.loadNiftyXml("nifty.nxs", new ByteArrayInputStream(TEST_XML.getBytes("ISO-8859-1")));
+  }
+
+  /**
+   * The attributes are kept in hash maps and their iteration order may change after reading them back. So we sort
+   * the attributes in every "(...)" group of the output before comparing.
+   */
+  private String normalize(final String output) {
+    Matcher matcher = Pattern.compile("\\(([^()]*)\\)").matcher(output);
+    StringBuffer result = new StringBuffer();
+    while (matcher.find()) {
+      String[] entries = matcher.group(1).split(", ");
+      Arrays.sort(entries);
+      matcher.appendReplacement(result, Matcher.quoteReplacement(Arrays.toString(entries)));
+    }
+    matcher.appendTail(result);
+    return result.toString();
+  }
+
+  private byte[] serialize(final Serializable object) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ObjectOutputStream objectOut = new ObjectOutputStream(out);
+    objectOut.writeObject(object);
+    objectOut.close();
+    return out.toByteArray();
+  }
+
+  private byte[] compile(final NiftyType niftyType) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    loader.writeCompiledNifty(niftyType, out);
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,215 @@
+package de.lessvoid.nifty.loaderv2.types;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.builder.ControlBuilder;
+import de.lessvoid.nifty.builder.ControlDefinitionBuilder;
+import de.lessvoid.nifty.builder.EffectBuilder;
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.PanelBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.builder.StyleBuilder;
+import de.lessvoid.nifty.builder.TextBuilder;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.nulldevice.NullInputSystem;
+import de.lessvoid.nifty.nulldevice.NullRenderDevice;
+import de.lessvoid.nifty.nulldevice.NullSoundDevice;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PreparedElementTypeCacheTest {
+  private Nifty nifty;
+  private Screen screen;
+  private PreparedElementTypeCache cache;
+
+  @Before
+  public void before() {
+    nifty = new Nifty(new NullRenderDevice(800, 600), new NullSoundDevice(), new NullInputSystem(),
+        new ManualTimeProvider(1000));
+    registerStyle("#f00f");
+
+    LayerBuilder layerBuilder = new LayerBuilder("layer");
+    layerBuilder.childLayoutVertical();
+    ScreenBuilder screenBuilder = new ScreenBuilder("start");
+    screenBuilder.layer(layerBuilder);
+    nifty.addScreen("start", screenBuilder.build(nifty));
+    nifty.gotoScreen("start");
+    screen = nifty.getCurrentScreen();
+    cache = new PreparedElementTypeCache();
+  }
+
+  @Test
+  public void testSimpleTypeIsPreparedOnce() {
+    ElementType type = styledPanel(null);
+
+    ElementType first = cache.prepare(nifty, screen, type);
+    ElementType second = cache.prepare(nifty, screen, type);
+
+    assertEquals(1, cache.size());
+    assertNotSame(first, second);
+    assertEquals("#f00f", first.getAttributes().get("backgroundColor"));
+    assertEquals("#f00f", second.getAttributes().get("backgroundColor"));
+    assertEquals("<panel>", second.tagName);
+  }
+
+  @Test
+  public void testSourceTypeIsNotChanged() {
+    ElementType type = styledPanel(null);
+
+    cache.prepare(nifty, screen, type);
+
+    assertNull(type.getAttributes().get("backgroundColor"));
+  }
+
+  @Test
+  public void testChangingAPreparedTypeDoesNotChangeThePrototype() {
+    ElementType type = styledPanel(null);
+
+    cache.prepare(nifty, screen, type).removeWithTag("my-style");
+    ElementType second = cache.prepare(nifty, screen, type);
+
+    assertEquals("#f00f", second.getAttributes().get("backgroundColor"));
+  }
+
+  @Test
+  public void testTypesWithDifferentIdsShareThePrototype() {
+    ElementType first = cache.prepare(nifty, screen, styledPanel("first"));
+    ElementType second = cache.prepare(nifty, screen, styledPanel("second"));
+
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(1, cache.getHitCount());
+    assertEquals("first", first.getAttributes().get("id"));
+    assertEquals("second", second.getAttributes().get("id"));
+    assertEquals("#f00f", second.getAttributes().get("backgroundColor"));
+  }
+
+  @Test
+  public void testControlIdsMatchUncachedPreparation() {
+    ControlDefinitionBuilder definition = new ControlDefinitionBuilder("pair");
+    PanelBuilder panel = new PanelBuilder("#panel");
+    panel.text(new TextBuilder("#text"));
+    definition.panel(panel);
+    definition.registerControlDefintion(nifty);
+    cache.clear();
+
+    cache.prepare(nifty, screen, new ControlBuilder("first", "pair").buildElementType());
+    ElementType type = new ControlBuilder("second", "pair").buildElementType();
+    ElementType cached = cache.prepare(nifty, screen, type);
+    ElementType uncached = type.copy();
+    uncached.prepare(nifty, screen, screen.getRootElement().getElementType());
+
+    assertEquals(1, cache.getHitCount());
+    assertEquals(collectIds(uncached, new ArrayList<String>()), collectIds(cached, new ArrayList<String>()));
+    assertTrue(collectIds(cached, new ArrayList<String>()).contains("second#text"));
+  }
+
+  @Test
+  public void testStructureIsCollectedOncePerType() {
+    ElementType type = styledPanel("panel");
+
+    cache.prepare(nifty, screen, type);
+    PreparedElementTypeCache.Structure structure = type.getPreparedStructure();
+    cache.prepare(nifty, screen, type);
+
+    assertNotNull(structure);
+    assertSame(structure, type.getPreparedStructure());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  public void testChangingAChildOfTheTypeIsNoticed() {
+    PanelBuilder panelBuilder = new PanelBuilder("panel");
+    panelBuilder.text(new TextBuilder("panel#text"));
+    ElementType type = panelBuilder.buildElementType();
+
+    cache.prepare(nifty, screen, type);
+    type.getElements().iterator().next().getAttributes().set("height", "10px");
+    ElementType changed = cache.prepare(nifty, screen, type);
+
+    assertEquals(2, cache.size());
+    assertEquals("10px", changed.getElements().iterator().next().getAttributes().get("height"));
+  }
+
+  @Test
+  public void testTypeIsPreparedWithAnotherId() {
+    PanelBuilder panelBuilder = new PanelBuilder("panel");
+    panelBuilder.text(new TextBuilder("panel#text"));
+    ElementType type = panelBuilder.buildElementType();
+
+    ElementType first = cache.prepare(nifty, screen, type, "first");
+    ElementType second = cache.prepare(nifty, screen, type, "second");
+
+    assertEquals(1, cache.size());
+    assertEquals(1, cache.getHitCount());
+    assertEquals("panel", type.getAttributes().get("id"));
+    assertEquals("first", first.getAttributes().get("id"));
+    assertTrue(collectIds(second, new ArrayList<String>()).contains("second#text"));
+  }
+
+  @Test
+  public void testTypesWithDifferentEffectsAreNotShared() {
+    ElementType fade = styledPanel(null);
+    fade.getEffects().addOnClick(new EffectBuilder("fade").getAttributes().create());
+    ElementType move = styledPanel(null);
+    move.getEffects().addOnClick(new EffectBuilder("move").getAttributes().create());
+
+    cache.prepare(nifty, screen, fade);
+    cache.prepare(nifty, screen, move);
+    cache.prepare(nifty, screen, fade);
+
+    assertEquals(2, cache.size());
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  public void testTypeWithSpecialValuesIsNotCached() {
+    ElementType type = styledPanel(null);
+    type.getAttributes().set("width", "${CALL.getWidth()}");
+
+    cache.prepare(nifty, screen, type);
+
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testRegisteringAStyleUpdatesCreatedElements() {
+    Element parent = screen.findElementById("layer");
+    ElementType type = styledPanel(null);
+
+    Element first = nifty.createElementFromType(screen, parent, type);
+    registerStyle("#0f0f");
+    Element second = nifty.createElementFromType(screen, parent, type);
+
+    assertEquals("#f00f", first.getElementType().getAttributes().get("backgroundColor"));
+    assertEquals("#0f0f", second.getElementType().getAttributes().get("backgroundColor"));
+  }
+
+  private List<String> collectIds(final ElementType type, final List<String> ids) {
+    ids.add(type.getAttributes().get("id"));
+    for (ElementType child : type.getElements()) {
+      collectIds(child, ids);
+    }
+    return ids;
+  }
+
+  private ElementType styledPanel(final String id) {
+    PanelBuilder panelBuilder = id == null ? new PanelBuilder() : new PanelBuilder(id);
+    panelBuilder.style("my-style");
+    panelBuilder.height("20px");
+    return panelBuilder.buildElementType();
+  }
+
+  private void registerStyle(final String backgroundColor) {
+    StyleBuilder styleBuilder = new StyleBuilder();
+    styleBuilder.id("my-style");
+    styleBuilder.backgroundColor(backgroundColor);
+    styleBuilder.build(nifty);
+  }
+}
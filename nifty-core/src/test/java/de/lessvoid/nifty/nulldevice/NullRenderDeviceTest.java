@@ -0,0 +1,95 @@
+package de.lessvoid.nifty.nulldevice;
+
+import de.lessvoid.nifty.Nifty;
+import de.lessvoid.nifty.builder.LayerBuilder;
+import de.lessvoid.nifty.builder.PanelBuilder;
+import de.lessvoid.nifty.builder.ScreenBuilder;
+import de.lessvoid.nifty.builder.TextBuilder;
+import de.lessvoid.nifty.elements.Element;
+import de.lessvoid.nifty.screen.Screen;
+import de.lessvoid.nifty.spi.time.impl.ManualTimeProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+public class NullRenderDeviceTest {
+  private NullRenderDevice renderDevice;
+  private NullInputSystem inputSystem;
+  private ManualTimeProvider timeProvider;
+  private Nifty nifty;
+
+  @Before
+  public void before() {
+    renderDevice = new NullRenderDevice(800, 600);
+    inputSystem = new NullInputSystem();
+    timeProvider = new ManualTimeProvider(1000);
+    nifty = new Nifty(renderDevice, new NullSoundDevice(), inputSystem, timeProvider);
+
+    LayerBuilder layerBuilder = new LayerBuilder("layer");
+    layerBuilder.childLayoutVertical();
+    for (int i = 0; i < 10; i++) {
+      PanelBuilder panelBuilder = new PanelBuilder("panel" + i);
+      panelBuilder.width("100%");
+      panelBuilder.height("20px");
+      panelBuilder.backgroundColor("#f00f");
+      panelBuilder.childLayoutHorizontal();
+      TextBuilder textBuilder = new TextBuilder("text" + i);
+      textBuilder.font("font.fnt");
+      textBuilder.text("text" + i);
+      panelBuilder.text(textBuilder);
+      layerBuilder.panel(panelBuilder);
+    }
+    ScreenBuilder screenBuilder = new ScreenBuilder("start");
+    screenBuilder.layer(layerBuilder);
+    nifty.addScreen("start", screenBuilder.build(nifty));
+    nifty.gotoScreen("start");
+  }
+
+  @Test
+  public void testLayoutWithoutDisplay() {
+    Screen screen = nifty.getCurrentScreen();
+    assertNotNull(screen);
+
+    Element panel = screen.findElementById("panel5");
+    assertNotNull(panel);
+    assertEquals(100, panel.getY());
+    assertEquals(800, panel.getWidth());
+
+    Element text = screen.findElementById("text5");
+    assertNotNull(text);
+    assertEquals(5 * NullRenderDevice.FONT_CHARACTER_WIDTH, text.getWidth());
+    assertEquals(NullRenderDevice.FONT_HEIGHT, text.getHeight());
+  }
+
+  @Test
+  public void testRenderIsCounted() {
+    renderDevice.resetCounters();
+    nifty.update();
+    nifty.render(true);
+
+    assertEquals(1, renderDevice.getFrameCount());
+    assertEquals(10, renderDevice.getQuadCount());
+    assertEquals(10, renderDevice.getTextCount());
+    assertEquals(50, renderDevice.getCharacterCount());
+  }
+
+  @Test
+  public void testMouseEventsAreForwarded() {
+    inputSystem.mouseMoved(100, 150);
+    nifty.update();
+
+    assertEquals(100, nifty.getNiftyMouse().getX());
+    assertEquals(150, nifty.getNiftyMouse().getY());
+  }
+
+  @Test
+  public void testManualTimeProvider() {
+    assertEquals(1000, timeProvider.getMsTime());
+    timeProvider.advance(16);
+    assertEquals(1016, timeProvider.getMsTime());
+    timeProvider.setMsTime(5);
+    assertEquals(5, timeProvider.getMsTime());
+  }
+}
@@ -0,0 +1,69 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.io.DefaultImageLoader;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class BatchImageDecoderTest {
+  @Test
+  public void testReadTGAImageSize() throws Exception {
+    byte[] header = new byte[18];
+    header[2] = 2;
+    header[12] = (byte) 0x2c;
+    header[13] = 0x01;
+    header[14] = 0x40;
+    header[15] = 0x00;
+    assertSize(300, 64, BatchImageDecoder.readImageSize("image.tga", new ByteArrayInputStream(header)));
+  }
+
+  @Test
+  public void testReadPNGImageSize() throws Exception {
+    String filename = "de/lessvoid/nifty/render/batch/nifty.png";
+    DefaultImageLoader loader = new DefaultImageLoader();
+    InputStream stream = getClass().getClassLoader().getResourceAsStream(filename);
+    try {
+      loader.loadAsByteBufferRGBA(stream);
+    } finally {
+      stream.close();
+    }
+
+    stream = getClass().getClassLoader().getResourceAsStream(filename);
+    try {
+      assertSize(loader.getImageWidth(), loader.getImageHeight(), BatchImageDecoder.readImageSize(filename, stream));
+    } finally {
+      stream.close();
+    }
+  }
+
+  @Test
+  public void testReadGIFImageSize() throws Exception {
+    byte[] header = {'G', 'I', 'F', '8', '9', 'a', 0x20, 0x03, 0x58, 0x02};
+    assertSize(800, 600, BatchImageDecoder.readImageSize("image.gif", new ByteArrayInputStream(header)));
+  }
+
+  @Test
+  public void testReadJPEGImageSize() throws Exception {
+    byte[] header = {
+        (byte) 0xff, (byte) 0xd8,
+        // APP0 segment with two bytes of data
+        (byte) 0xff, (byte) 0xe0, 0x00, 0x04, 0x00, 0x00,
+        // SOF0 segment: precision, height and width
+        (byte) 0xff, (byte) 0xc0, 0x00, 0x11, 0x08, 0x01, 0x00, 0x02, 0x00};
+    assertSize(512, 256, BatchImageDecoder.readImageSize("image.jpg", new ByteArrayInputStream(header)));
+  }
+
+  @Test
+  public void testReadUnknownImageSize() throws Exception {
+    assertNull(BatchImageDecoder.readImageSize("image.png", new ByteArrayInputStream(new byte[] {1, 2, 3})));
+  }
+
+  private static void assertSize(final int width, final int height, final BatchImageDecoder.ImageSize size) {
+    assertEquals(width, size.width);
+    assertEquals(height, size.height);
+  }
+}
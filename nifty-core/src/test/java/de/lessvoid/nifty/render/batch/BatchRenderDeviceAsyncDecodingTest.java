@@ -0,0 +1,105 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.tools.Color;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import javax.annotation.Nonnull;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BatchRenderDeviceAsyncDecodingTest {
+  private static final String IMAGE = "de/lessvoid/nifty/render/batch/nifty.png";
+  private TestBatchRenderBackend backend;
+  private BatchRenderDevice device;
+  // the worker threads wait for this before they load an image
+  private final CountDownLatch decodingAllowed = new CountDownLatch(1);
+
+  @Before
+  public void before() {
+    BatchRenderConfiguration config = new BatchRenderConfiguration();
+    config.asyncImageDecoding = true;
+    config.maxDecodedImagesPerFrame = 1;
+    backend = new TestBatchRenderBackend() {
+      @Override
+      public Image loadImage(@Nonnull final String filename) {
+        try {
+          decodingAllowed.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return super.loadImage(filename);
+      }
+    };
+    device = new BatchRenderDevice(backend, config);
+    device.setResourceLoader(new NiftyResourceLoader());
+  }
+
+  @Test
+  public void testImageIsRenderedWhenDecoded() throws Exception {
+    BatchRenderImage image = (BatchRenderImage) device.createImage(IMAGE, false);
+    assertFalse(image.isDecoded());
+    assertTrue(image.getWidth() > 0);
+    assertTrue(image.getHeight() > 0);
+
+    frame(image);
+    assertFalse(image.isUploaded());
+    assertEquals(0, backend.quads);
+
+    decodingAllowed.countDown();
+    waitForWorkers();
+    frame(image);
+    assertTrue(image.isDecoded());
+    assertTrue(image.isUploaded());
+    assertEquals(1, backend.quads);
+  }
+
+  @Test
+  public void testDecodedImagesAreFinishedInBoundedSlices() throws Exception {
+    BatchRenderImage a = (BatchRenderImage) device.createImage(IMAGE, false);
+    BatchRenderImage b = (BatchRenderImage) device.createImage(IMAGE, false);
+    decodingAllowed.countDown();
+    waitForWorkers();
+
+    device.beginFrame();
+    device.endFrame();
+    assertTrue(a.isDecoded() != b.isDecoded());
+    assertEquals(1, device.getPendingImageCount());
+
+    device.beginFrame();
+    device.endFrame();
+    assertTrue(a.isDecoded());
+    assertTrue(b.isDecoded());
+    assertEquals(0, device.getPendingImageCount());
+  }
+
+  @Test
+  public void testMissingImageIsNotDecodedInBackground() {
+    BatchRenderConfiguration config = new BatchRenderConfiguration();
+    config.asyncImageDecoding = true;
+    BatchRenderDevice syncDevice = new BatchRenderDevice(new TestBatchRenderBackend(), config);
+    syncDevice.setResourceLoader(new NiftyResourceLoader());
+
+    BatchRenderImage image = (BatchRenderImage) syncDevice.createImage("missing-16x16.png", false);
+
+    assertTrue(image.isDecoded());
+    assertEquals(0, syncDevice.getPendingImageCount());
+  }
+
+  private void waitForWorkers() throws InterruptedException {
+    long timeout = System.currentTimeMillis() + 10000;
+    while (!device.getImageDecoder().isDecodingDone() && System.currentTimeMillis() < timeout) {
+      Thread.sleep(10);
+    }
+  }
+
+  private void frame(final BatchRenderImage image) {
+    device.beginFrame();
+    device.renderImage(image, 0, 0, 10, 10, Color.WHITE, 1.f);
+    device.endFrame();
+  }
+}
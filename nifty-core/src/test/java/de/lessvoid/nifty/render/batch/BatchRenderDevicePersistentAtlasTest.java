@@ -0,0 +1,223 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.tools.Color;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BatchRenderDevicePersistentAtlasTest {
+  private TestBatchRenderBackend backend;
+  private BatchRenderDevice device;
+
+  @Before
+  public void before() {
+    BatchRenderConfiguration config = new BatchRenderConfiguration();
+    config.atlasWidth = 256;
+    config.atlasHeight = 256;
+    config.atlasPadding = 0;
+    config.atlasTolerance = 1.0f;
+    config.persistentTextureAtlas = true;
+    backend = new TestBatchRenderBackend();
+    device = new BatchRenderDevice(backend, config);
+  }
+
+  @Test
+  public void testPersistentModeRequiresDisposeImagesBetweenScreens() {
+    BatchRenderConfiguration config = new BatchRenderConfiguration();
+    config.persistentTextureAtlas = true;
+    config.disposeImagesBetweenScreens = false;
+    assertFalse(new BatchRenderDevice(new TestBatchRenderBackend(), config).isPersistentTextureAtlas());
+    assertTrue(device.isPersistentTextureAtlas());
+  }
+
+  @Test
+  public void testUploadedImagesAreCounted() {
+    BatchRenderImage a = createImage("a");
+    device.uploadImage(a);
+    device.uploadImage(a);
+
+    assertTrue(a.isUploaded());
+    assertEquals(1, device.getUploadedImageCount());
+    assertEquals(128 * 128 * 4, device.getUploadedImageBytes());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedImageIsEvicted() {
+    BatchRenderImage a = createImage("a");
+    BatchRenderImage b = createImage("b");
+    BatchRenderImage c = createImage("c");
+    BatchRenderImage d = createImage("d");
+    frame(a, b, c, d);
+    frame(a, b, d);
+    frame(a, b);
+
+    BatchRenderImage e = createImage("e");
+    frame(e);
+
+    assertTrue(e.isUploaded());
+    assertEquals(a.getTextureId(), e.getTextureId());
+    assertFalse(c.isUploaded());
+    assertTrue(a.isUploaded());
+    assertTrue(b.isUploaded());
+    assertTrue(d.isUploaded());
+    assertEquals(1, device.getEvictedImageCount());
+  }
+
+  @Test
+  public void testImagesRenderedInTheCurrentFrameAreNotEvicted() {
+    BatchRenderImage a = createImage("a");
+    BatchRenderImage b = createImage("b");
+    BatchRenderImage c = createImage("c");
+    BatchRenderImage d = createImage("d");
+    frame(a, b, c, d);
+
+    BatchRenderImage e = createImage("e");
+    device.beginFrame();
+    render(a, b, c, d, e);
+    device.endFrame();
+
+    assertTrue(e.isUploaded());
+    assertTrue(a.getTextureId() != e.getTextureId());
+    assertEquals(0, device.getEvictedImageCount());
+  }
+
+  @Test
+  public void testDisposedImagesAreNotEvictedAgain() {
+    BatchRenderImage a = createImage("a");
+    frame(a);
+    a.unload();
+    a.dispose();
+
+    BatchRenderImage b = createImage("b");
+    BatchRenderImage c = createImage("c");
+    BatchRenderImage d = createImage("d");
+    BatchRenderImage e = createImage("e");
+    frame(b, c, d, e);
+
+    assertEquals(0, device.getEvictedImageCount());
+    assertEquals(b.getTextureId(), e.getTextureId());
+  }
+
+  @Test
+  public void testFragmentedAtlasIsDefragmented() {
+    BatchRenderConfiguration config = new BatchRenderConfiguration();
+    config.atlasWidth = 256;
+    config.atlasHeight = 256;
+    config.atlasPadding = 0;
+    config.atlasTolerance = 1.0f;
+    config.persistentTextureAtlas = true;
+    config.atlasDefragmentationThreshold = 0.5f;
+    config.maxDefragmentedImagesPerFrame = 3;
+    device = new BatchRenderDevice(backend, config);
+
+    BatchRenderImage[] images = new BatchRenderImage[16];
+    for (int i = 0; i < images.length; i++) {
+      images[i] = (BatchRenderImage) device.createImage("image" + i + "-64x64.png", false);
+    }
+    frame(images);
+    assertEquals(1.f, device.getTextureAtlasOccupancy(), 0.001f);
+    for (int i = 0; i < images.length; i += 2) {
+      images[i].unload();
+      images[i].dispose();
+    }
+    assertEquals(0.875f, device.getTextureAtlasFragmentation(), 0.001f);
+    int addedImages = backend.addedImages;
+
+    device.beginFrame();
+    device.endFrame();
+    assertTrue(backend.addedImages - addedImages <= 3);
+    assertEquals(0, device.getDefragmentedAtlasCount());
+
+    for (int i = 0; i < 10 && device.getDefragmentedAtlasCount() == 0; i++) {
+      int before = backend.addedImages;
+      device.beginFrame();
+      device.endFrame();
+      assertTrue(backend.addedImages - before <= 3);
+    }
+
+    assertEquals(1, device.getDefragmentedAtlasCount());
+    assertTrue(device.getTextureAtlasFragmentation() < 0.5f);
+    assertEquals(0.5f, device.getTextureAtlasOccupancy(), 0.001f);
+    assertEquals(addedImages + 8, backend.addedImages);
+    Set<String> positions = new HashSet<String>();
+    for (int i = 1; i < images.length; i += 2) {
+      assertTrue(images[i].isUploaded());
+      positions.add(images[i].getX() + "," + images[i].getY());
+    }
+    assertEquals(8, positions.size());
+
+    device.beginFrame();
+    device.endFrame();
+    assertEquals(1, device.getDefragmentedAtlasCount());
+  }
+
+  @Test
+  public void testImagesUploadedWhileDefragmentingStayInTheAtlas() {
+    BatchRenderConfiguration config = new BatchRenderConfiguration();
+    config.atlasWidth = 256;
+    config.atlasHeight = 256;
+    config.atlasPadding = 0;
+    config.atlasTolerance = 1.0f;
+    config.persistentTextureAtlas = true;
+    config.atlasDefragmentationThreshold = 0.5f;
+    config.maxDefragmentedImagesPerFrame = 1;
+    device = new BatchRenderDevice(backend, config);
+
+    BatchRenderImage[] images = new BatchRenderImage[16];
+    for (int i = 0; i < images.length; i++) {
+      images[i] = (BatchRenderImage) device.createImage("image" + i + "-64x64.png", false);
+    }
+    frame(images);
+    for (int i = 0; i < images.length; i += 2) {
+      images[i].unload();
+      images[i].dispose();
+    }
+    device.beginFrame();
+    device.endFrame();
+    device.beginFrame();
+    device.endFrame();
+    assertEquals(0, device.getDefragmentedAtlasCount());
+
+    // there is still enough room next to the images that have not been moved yet
+    BatchRenderImage added = (BatchRenderImage) device.createImage("added-64x64.png", false);
+    frame(added);
+    assertTrue(added.isUploaded());
+    assertEquals(images[1].getTextureId(), added.getTextureId());
+
+    for (int i = 0; i < 20 && device.getDefragmentedAtlasCount() == 0; i++) {
+      device.beginFrame();
+      device.endFrame();
+    }
+    assertEquals(1, device.getDefragmentedAtlasCount());
+    Set<String> positions = new HashSet<String>();
+    positions.add(added.getX() + "," + added.getY());
+    for (int i = 1; i < images.length; i += 2) {
+      assertTrue(images[i].isUploaded());
+      assertEquals(added.getTextureId(), images[i].getTextureId());
+      positions.add(images[i].getX() + "," + images[i].getY());
+    }
+    assertEquals(9, positions.size());
+  }
+
+  private BatchRenderImage createImage(final String name) {
+    return (BatchRenderImage) device.createImage(name + "-128x128.png", false);
+  }
+
+  private void frame(final BatchRenderImage... images) {
+    device.beginFrame();
+    render(images);
+    device.endFrame();
+  }
+
+  private void render(final BatchRenderImage... images) {
+    for (BatchRenderImage image : images) {
+      device.renderImage(image, 0, 0, 10, 10, Color.WHITE, 1.f);
+    }
+  }
+}
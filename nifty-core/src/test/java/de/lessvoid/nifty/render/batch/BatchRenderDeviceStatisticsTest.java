@@ -0,0 +1,55 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.tools.Color;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BatchRenderDeviceStatisticsTest {
+  private BatchRenderDevice device;
+
+  @Before
+  public void before() {
+    BatchRenderConfiguration config = new BatchRenderConfiguration();
+    config.atlasWidth = 256;
+    config.atlasHeight = 256;
+    device = new BatchRenderDevice(new TestBatchRenderBackend(), config);
+  }
+
+  @Test
+  public void testCountersOfFrame() {
+    BatchRenderImage a = (BatchRenderImage) device.createImage("a-10x10.png", false);
+    BatchRenderImage b = (BatchRenderImage) device.createImage("b-10x10.png", false);
+
+    device.beginFrame();
+    device.renderImage(a, 0, 0, 10, 10, Color.WHITE, 1.f);
+    device.renderImage(b, 10, 0, 10, 10, Color.WHITE, 1.f);
+    device.setBlendMode(BlendMode.MULIPLY);
+    device.renderImage(a, 20, 0, 10, 10, Color.WHITE, 1.f);
+    device.renderImage(a, 2000, 0, 10, 10, Color.WHITE, 1.f);
+    device.endFrame();
+
+    assertEquals(3, device.getQuadCount());
+    assertEquals(0, device.getGlyphCount());
+    assertEquals(2, device.getBatchCount());
+    assertEquals(1, device.getTextureSwitchCount());
+    assertEquals(1, device.getClippedQuadCount());
+  }
+
+  @Test
+  public void testCountersAreResetWithEveryFrame() {
+    BatchRenderImage a = (BatchRenderImage) device.createImage("a-10x10.png", false);
+    device.beginFrame();
+    device.renderImage(a, 0, 0, 10, 10, Color.WHITE, 1.f);
+    device.endFrame();
+
+    device.beginFrame();
+    device.endFrame();
+
+    assertEquals(0, device.getQuadCount());
+    assertEquals(0, device.getBatchCount());
+    assertEquals(0, device.getTextureSwitchCount());
+  }
+}
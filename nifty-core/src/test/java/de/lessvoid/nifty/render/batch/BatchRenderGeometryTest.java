@@ -0,0 +1,74 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.tools.Color;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BatchRenderGeometryTest {
+  private final Color red = new Color(1.f, 0.f, 0.f, 1.f);
+  private final Color green = new Color(0.f, 1.f, 0.f, 0.5f);
+
+  @Test
+  public void testEmpty() {
+    BatchRenderGeometry geometry = new BatchRenderGeometry();
+    assertEquals(0, geometry.getQuadCount());
+    assertEquals(-1, geometry.getGeneration());
+  }
+
+  @Test
+  public void testAddQuad() {
+    BatchRenderGeometry geometry = new BatchRenderGeometry();
+    geometry.reset(3);
+    geometry.addQuad(1.f, 2.f, 3.f, 4.f, red, green, red, green, 5, 6, 7, 8, 9, BlendMode.MULIPLY);
+
+    assertEquals(3, geometry.getGeneration());
+    assertEquals(1, geometry.getQuadCount());
+    assertEquals(1.f, geometry.getX(0), 0.f);
+    assertEquals(2.f, geometry.getY(0), 0.f);
+    assertEquals(3.f, geometry.getWidth(0), 0.f);
+    assertEquals(4.f, geometry.getHeight(0), 0.f);
+    assertEquals(5, geometry.getTextureX(0));
+    assertEquals(6, geometry.getTextureY(0));
+    assertEquals(7, geometry.getTextureWidth(0));
+    assertEquals(8, geometry.getTextureHeight(0));
+    assertEquals(9, geometry.getTextureId(0));
+    assertEquals(BlendMode.MULIPLY, geometry.getBlendMode(0));
+
+    Color color = new Color(Color.WHITE);
+    geometry.getColor(0, 1, color);
+    assertColor(green, color);
+    geometry.getColor(0, 2, color);
+    assertColor(red, color);
+  }
+
+  private void assertColor(final Color expected, final Color actual) {
+    assertEquals(expected.getRed(), actual.getRed(), 0.f);
+    assertEquals(expected.getGreen(), actual.getGreen(), 0.f);
+    assertEquals(expected.getBlue(), actual.getBlue(), 0.f);
+    assertEquals(expected.getAlpha(), actual.getAlpha(), 0.f);
+  }
+
+  @Test
+  public void testGrowsBeyondInitialCapacity() {
+    BatchRenderGeometry geometry = new BatchRenderGeometry();
+    geometry.reset(0);
+    for (int i = 0; i < 100; i++) {
+      geometry.addQuad(i, 0.f, 1.f, 1.f, red, red, red, red, 0, 0, 1, 1, i, BlendMode.BLEND);
+    }
+    assertEquals(100, geometry.getQuadCount());
+    assertEquals(99.f, geometry.getX(99), 0.f);
+    assertEquals(99, geometry.getTextureId(99));
+  }
+
+  @Test
+  public void testResetDiscardsQuads() {
+    BatchRenderGeometry geometry = new BatchRenderGeometry();
+    geometry.reset(0);
+    geometry.addQuad(0.f, 0.f, 1.f, 1.f, red, red, red, red, 0, 0, 1, 1, 1, BlendMode.BLEND);
+    geometry.reset(1);
+    assertEquals(0, geometry.getQuadCount());
+    assertEquals(1, geometry.getGeneration());
+  }
+}
@@ -0,0 +1,106 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.nulldevice.NullRenderFont;
+import de.lessvoid.nifty.spi.render.RenderFont;
+import de.lessvoid.nifty.tools.Color;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class GlyphRunCacheTest {
+  private final RenderFont font = new NullRenderFont(10, 20);
+  private final RenderFont otherFont = new NullRenderFont(10, 20);
+  private final Color red = new Color(1.f, 0.f, 0.f, 1.f);
+  private final Color green = new Color(0.f, 1.f, 0.f, 0.5f);
+
+  @Test
+  public void testMissAndHit() {
+    GlyphRunCache cache = new GlyphRunCache(10);
+    assertNull(cache.get(font, "hello", 1.f, 1.f, red));
+
+    GlyphRunCache.GlyphRun run = new GlyphRunCache.GlyphRun();
+    cache.put(font, "hello", 1.f, 1.f, red, run);
+
+    assertSame(run, cache.get(font, new String("hello"), 1.f, 1.f, new Color(red)));
+    assertEquals(1, cache.getHits());
+    assertEquals(1, cache.getMisses());
+  }
+
+  @Test
+  public void testKeyContainsFontTextSizeAndColor() {
+    GlyphRunCache cache = new GlyphRunCache(10);
+    cache.put(font, "hello", 1.f, 1.f, red, new GlyphRunCache.GlyphRun());
+
+    assertNull(cache.get(otherFont, "hello", 1.f, 1.f, red));
+    assertNull(cache.get(font, "hello!", 1.f, 1.f, red));
+    assertNull(cache.get(font, "hello", 2.f, 1.f, red));
+    assertNull(cache.get(font, "hello", 1.f, 2.f, red));
+    assertNull(cache.get(font, "hello", 1.f, 1.f, green));
+    assertEquals(0, cache.getHits());
+    assertEquals(5, cache.getMisses());
+  }
+
+  @Test
+  public void testLeastRecentlyUsedRunIsEvicted() {
+    GlyphRunCache cache = new GlyphRunCache(2);
+    cache.put(font, "a", 1.f, 1.f, red, new GlyphRunCache.GlyphRun());
+    cache.put(font, "b", 1.f, 1.f, red, new GlyphRunCache.GlyphRun());
+    assertNotNull(cache.get(font, "a", 1.f, 1.f, red));
+
+    cache.put(font, "c", 1.f, 1.f, red, new GlyphRunCache.GlyphRun());
+
+    assertEquals(2, cache.size());
+    assertNotNull(cache.get(font, "a", 1.f, 1.f, red));
+    assertNull(cache.get(font, "b", 1.f, 1.f, red));
+    assertNotNull(cache.get(font, "c", 1.f, 1.f, red));
+  }
+
+  @Test
+  public void testRemoveFont() {
+    GlyphRunCache cache = new GlyphRunCache(10);
+    cache.put(font, "a", 1.f, 1.f, red, new GlyphRunCache.GlyphRun());
+    cache.put(otherFont, "a", 1.f, 1.f, red, new GlyphRunCache.GlyphRun());
+
+    cache.remove(font);
+
+    assertEquals(1, cache.size());
+    assertNull(cache.get(font, "a", 1.f, 1.f, red));
+    assertNotNull(cache.get(otherFont, "a", 1.f, 1.f, red));
+  }
+
+  @Test
+  public void testClear() {
+    GlyphRunCache cache = new GlyphRunCache(10);
+    cache.put(font, "a", 1.f, 1.f, red, new GlyphRunCache.GlyphRun());
+    cache.clear();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testGlyphRun() {
+    GlyphRunCache.GlyphRun run = new GlyphRunCache.GlyphRun();
+    for (int i = 0; i < 20; i++) {
+      run.add(i, 2.f, 3.f, 4.f, i % 2 == 0 ? red : green, 5, 6, 7, 8, i);
+    }
+
+    assertEquals(20, run.getGlyphCount());
+    assertEquals(13.f, run.getX(13), 0.f);
+    assertEquals(2.f, run.getY(13), 0.f);
+    assertEquals(3.f, run.getWidth(13), 0.f);
+    assertEquals(4.f, run.getHeight(13), 0.f);
+    assertEquals(5, run.getTextureX(13));
+    assertEquals(6, run.getTextureY(13));
+    assertEquals(7, run.getTextureWidth(13));
+    assertEquals(8, run.getTextureHeight(13));
+    assertEquals(13, run.getTextureId(13));
+
+    Color color = new Color(Color.WHITE);
+    run.getColor(13, color);
+    assertEquals(0.f, color.getRed(), 0.f);
+    assertEquals(1.f, color.getGreen(), 0.f);
+    assertEquals(0.5f, color.getAlpha(), 0.f);
+  }
+}
@@ -0,0 +1,49 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.tools.Color;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class PackedColorTest {
+  @Test
+  public void testBytesAreRGBAInMemory() {
+    ByteBuffer buffer = pack(new Color(1.f, 0.5f, 0.f, 0.25f));
+    assertEquals(255, buffer.get(0) & 0xff);
+    assertEquals(128, buffer.get(1) & 0xff);
+    assertEquals(0, buffer.get(2) & 0xff);
+    assertEquals(64, buffer.get(3) & 0xff);
+  }
+
+  @Test
+  public void testOpaqueWhiteIsNotNaN() {
+    assertFalse(Float.isNaN(PackedColor.toFloatBits(Color.WHITE)));
+  }
+
+  @Test
+  public void testOpaqueWhiteLosesOnlyLowestBit() {
+    ByteBuffer buffer = pack(Color.WHITE);
+    int lost = 0;
+    for (int i = 0; i < 4; i++) {
+      lost += 255 - (buffer.get(i) & 0xff);
+    }
+    assertEquals(1, lost);
+  }
+
+  @Test
+  public void testValuesAreClamped() {
+    ByteBuffer buffer = pack(new Color(2.f, -1.f, 0.f, 0.f));
+    assertEquals(255, buffer.get(0) & 0xff);
+    assertEquals(0, buffer.get(1) & 0xff);
+  }
+
+  private ByteBuffer pack(final Color color) {
+    ByteBuffer buffer = ByteBuffer.allocate(4).order(ByteOrder.nativeOrder());
+    buffer.putFloat(0, PackedColor.toFloatBits(color));
+    return buffer;
+  }
+}
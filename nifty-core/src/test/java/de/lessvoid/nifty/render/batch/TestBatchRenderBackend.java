@@ -0,0 +1,199 @@
+package de.lessvoid.nifty.render.batch;
+
+import de.lessvoid.nifty.render.BlendMode;
+import de.lessvoid.nifty.render.batch.spi.BatchRenderBackend;
+import de.lessvoid.nifty.render.io.DefaultImageLoader;
+import de.lessvoid.nifty.spi.render.MouseCursor;
+import de.lessvoid.nifty.tools.Color;
+import de.lessvoid.nifty.tools.resourceloader.NiftyResourceLoader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A BatchRenderBackend that doesn't render anything. Images are loaded from file names in the form
+ * "name-WIDTHxHEIGHT", f.i. "button-100x20.png" is an image with a width of 100 and a height of 20 pixels. Images
+ * without a size in the name are loaded from the class path.
+ */
+class TestBatchRenderBackend implements BatchRenderBackend {
+  private int nextTextureId = 1;
+  private final List<Integer> nonAtlasTextures = new ArrayList<Integer>();
+  int addedImages;
+  int removedImages;
+  int quads;
+  private int batches;
+
+  @Override
+  public void setResourceLoader(@Nonnull final NiftyResourceLoader resourceLoader) {
+  }
+
+  @Override
+  public int getWidth() {
+    return 1024;
+  }
+
+  @Override
+  public int getHeight() {
+    return 768;
+  }
+
+  @Override
+  public void beginFrame() {
+  }
+
+  @Override
+  public void endFrame() {
+  }
+
+  @Override
+  public void clear() {
+  }
+
+  @Nullable
+  @Override
+  public MouseCursor createMouseCursor(@Nonnull final String filename, final int hotspotX, final int hotspotY) {
+    return null;
+  }
+
+  @Override
+  public void enableMouseCursor(@Nonnull final MouseCursor mouseCursor) {
+  }
+
+  @Override
+  public void disableMouseCursor() {
+  }
+
+  @Override
+  public int createTextureAtlas(final int atlasWidth, final int atlasHeight) {
+    return nextTextureId++;
+  }
+
+  @Override
+  public void clearTextureAtlas(final int atlasTextureId) {
+  }
+
+  @Nonnull
+  @Override
+  public Image loadImage(@Nonnull final String filename) {
+    if (filename.lastIndexOf('-') == -1) {
+      return loadImageFile(filename);
+    }
+    String size = filename.substring(filename.lastIndexOf('-') + 1);
+    int dot = size.indexOf('.');
+    if (dot != -1) {
+      size = size.substring(0, dot);
+    }
+    String[] parts = size.split("x");
+    return new ByteBufferedImage(null, Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+  }
+
+  @Nullable
+  private Image loadImageFile(@Nonnull final String filename) {
+    InputStream stream = getClass().getClassLoader().getResourceAsStream(filename);
+    if (stream == null) {
+      return null;
+    }
+    try {
+      DefaultImageLoader loader = new DefaultImageLoader();
+      ByteBuffer data = loader.loadAsByteBufferRGBA(stream);
+      return new ByteBufferedImage(data, loader.getImageWidth(), loader.getImageHeight());
+    } catch (IOException e) {
+      return null;
+    } finally {
+      try {
+        stream.close();
+      } catch (IOException ignored) {
+      }
+    }
+  }
+
+  @Nullable
+  @Override
+  public Image loadImage(@Nonnull final ByteBuffer imageData, final int imageWidth, final int imageHeight) {
+    return new ByteBufferedImage(imageData, imageWidth, imageHeight);
+  }
+
+  @Override
+  public void addImageToAtlas(
+      @Nonnull final Image image,
+      final int atlasX,
+      final int atlasY,
+      final int atlasTextureId) {
+    addedImages++;
+  }
+
+  @Override
+  public int createNonAtlasTexture(@Nonnull final Image image) {
+    int textureId = nextTextureId++;
+    nonAtlasTextures.add(textureId);
+    return textureId;
+  }
+
+  @Override
+  public void deleteNonAtlasTexture(final int textureId) {
+    nonAtlasTextures.remove(Integer.valueOf(textureId));
+  }
+
+  @Override
+  public boolean existsNonAtlasTexture(final int textureId) {
+    return nonAtlasTextures.contains(textureId);
+  }
+
+  @Override
+  public void addQuad(
+      final float x,
+      final float y,
+      final float width,
+      final float height,
+      @Nonnull final Color color1,
+      @Nonnull final Color color2,
+      @Nonnull final Color color3,
+      @Nonnull final Color color4,
+      final float textureX,
+      final float textureY,
+      final float textureWidth,
+      final float textureHeight,
+      final int textureId) {
+    quads++;
+  }
+
+  @Override
+  public void beginBatch(@Nonnull final BlendMode blendMode, final int textureId) {
+    batches++;
+  }
+
+  @Override
+  public int render() {
+    int rendered = batches;
+    batches = 0;
+    return rendered;
+  }
+
+  @Override
+  public void removeImageFromAtlas(
+      @Nonnull final Image image,
+      final int atlasX,
+      final int atlasY,
+      final int imageWidth,
+      final int imageHeight,
+      final int atlasTextureId) {
+    removedImages++;
+  }
+
+  @Override
+  public void useHighQualityTextures(final boolean shouldUseHighQualityTextures) {
+  }
+
+  @Override
+  public void fillRemovedImagesInAtlas(final boolean shouldFill) {
+  }
+
+  @Override
+  public void useIndexedPackedVertices(final boolean shouldUseIndexedPackedVertices) {
+  }
+}
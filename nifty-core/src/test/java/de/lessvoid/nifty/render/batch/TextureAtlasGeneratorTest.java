@@ -6,8 +6,11 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import de.lessvoid.nifty.render.batch.TextureAtlasGenerator.PackingStrategy;
 import de.lessvoid.nifty.render.batch.TextureAtlasGenerator.Result;
 
+import java.util.Map;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -149,6 +152,151 @@ public class TextureAtlasGeneratorTest {
     assertNotNull(GENERATOR.removeImage("image-3"));
   }
 
+  @Test
+  public void testMaxRectsAddsImagesWithPadding() {
+    TextureAtlasGenerator generator = createMaxRectsGenerator();
+    assertResult(0, 0, 30, 30, generator.addImage(30, 30, "image-1"));
+    assertResult(35, 0, 30, 30, generator.addImage(30, 30, "image-2"));
+    assertResult(70, 0, 30, 30, generator.addImage(30, 30, "image-3"));
+    assertResult(0, 35, 30, 30, generator.addImage(30, 30, "image-4"));
+  }
+
+  @Test
+  public void testMaxRectsReusesMergedSpaceOfRemovedImages() {
+    TextureAtlasGenerator generator =
+        new TextureAtlasGenerator(ATLAS_WIDTH, ATLAS_HEIGHT, ATLAS_PADDING, 1.0f, PackingStrategy.MAX_RECTS);
+    generator.addImage(30, 30, "image-1");
+    generator.addImage(30, 30, "image-2");
+    generator.addImage(30, 30, "image-3");
+    generator.removeImage("image-1");
+    generator.removeImage("image-2");
+    assertResult(0, 0, 65, 30, generator.addImage(65, 30, "image-4"));
+  }
+
+  @Test
+  public void testMaxRectsMergesRemovedImagesWithFreeSpace() {
+    TextureAtlasGenerator generator = new TextureAtlasGenerator(100, 100, 0, 1.0f, PackingStrategy.MAX_RECTS);
+    for (int i = 0; i < 4; i++) {
+      generator.addImage(50, 50, "image-" + i);
+    }
+    generator.removeImage("image-0");
+    generator.removeImage("image-3");
+    assertEquals(0.5f, generator.getFragmentation(), 0.0001f);
+
+    // the largest free rectangle spans two of the three free quarters now
+    generator.removeImage("image-1");
+    assertEquals(1.f / 3.f, generator.getFragmentation(), 0.0001f);
+    assertNull(generator.addImage(100, 90, "too-large"));
+    generator.removeImage("image-2");
+    assertEquals(0.f, generator.getFragmentation(), 0.0001f);
+    assertResult(0, 0, 100, 90, generator.addImage(100, 90, "image-4"));
+  }
+
+  @Test
+  public void testReservedAreaIsNotUsedByNewImages() {
+    TextureAtlasGenerator generator = createMaxRectsGenerator();
+    generator.reserveArea("moving", new Result(0, 0, 30, 30));
+    assertTrue(generator.hasReservedAreas());
+    Result result = generator.addImage(30, 30, "image-1");
+    assertNotNull(result);
+    assertTrue(result.getX() >= 30 || result.getY() >= 30);
+
+    generator.releaseArea("moving");
+    assertFalse(generator.hasReservedAreas());
+    assertResult(0, 0, 30, 30, generator.addImage(30, 30, "image-2"));
+  }
+
+  @Test
+  public void testBinaryTreeSkipsReservedArea() {
+    TextureAtlasGenerator generator = new TextureAtlasGenerator(100, 100, 0, 1.0f);
+    generator.addImage(50, 50, "image-1");
+    generator.reserveArea("image-1", new Result(50, 0, 50, 50));
+    Result result = generator.addImage(50, 50, "image-2");
+    assertNotNull(result);
+    assertFalse(result.getX() == 50 && result.getY() == 0);
+  }
+
+  @Test
+  public void testRemovingImageReleasesItsArea() {
+    TextureAtlasGenerator generator = new TextureAtlasGenerator(100, 100, 0, 1.0f, PackingStrategy.MAX_RECTS);
+    generator.addImage(50, 50, "image-1");
+    generator.reserveArea("image-1", new Result(0, 0, 50, 50));
+    generator.removeImage("image-1");
+    assertFalse(generator.hasReservedAreas());
+    assertResult(0, 0, 50, 50, generator.addImage(50, 50, "image-2"));
+  }
+
+  @Test
+  public void testMaxRectsReturnsNullWhenAtlasIsFull() {
+    TextureAtlasGenerator generator = createMaxRectsGenerator();
+    for (int i = 0; i < 9; i++) {
+      assertNotNull(generator.addImage(30, 30, "image-" + i));
+    }
+    assertNull(generator.addImage(30, 30, "image-9"));
+  }
+
+  @Test
+  public void testOccupancy() {
+    assertEquals(0.f, GENERATOR.getOccupancy(), 0.f);
+    GENERATOR.addImage(30, 30, "image-1");
+    GENERATOR.addImage(10, 10, "image-2");
+    assertEquals(0.1f, GENERATOR.getOccupancy(), 0.0001f);
+    GENERATOR.removeImage("image-1");
+    assertEquals(0.01f, GENERATOR.getOccupancy(), 0.0001f);
+  }
+
+  @Test
+  public void testEmptyAtlasIsNotFragmented() {
+    assertEquals(0.f, GENERATOR.getFragmentation(), 0.f);
+    assertEquals(0.f, createMaxRectsGenerator().getFragmentation(), 0.f);
+  }
+
+  @Test
+  public void testRemovingImagesFragmentsAtlas() {
+    TextureAtlasGenerator generator = new TextureAtlasGenerator(100, 100, 0, 1.0f);
+    for (int i = 0; i < 4; i++) {
+      generator.addImage(50, 50, "image-" + i);
+    }
+    generator.removeImage("image-0");
+    generator.removeImage("image-3");
+    assertTrue(generator.hasRemovedImages());
+    assertEquals(0.5f, generator.getFragmentation(), 0.0001f);
+  }
+
+  @Test
+  public void testDefragmentMovesImagesTogether() {
+    TextureAtlasGenerator generator = new TextureAtlasGenerator(100, 100, 0, 1.0f);
+    for (int i = 0; i < 4; i++) {
+      generator.addImage(50, 50, "image-" + i);
+    }
+    generator.removeImage("image-0");
+    generator.removeImage("image-3");
+
+    Map<String, Result> results = generator.defragment();
+
+    assertNotNull(results);
+    assertEquals(2, results.size());
+    assertResult(0, 0, 50, 50, results.get("image-1"));
+    assertResult(50, 0, 50, 50, results.get("image-2"));
+    assertEquals(0.f, generator.getFragmentation(), 0.f);
+    assertFalse(generator.hasRemovedImages());
+    assertResult(0, 0, 50, 50, generator.removeImage("image-1"));
+    assertNotNull(generator.addImage(100, 50, "image-4"));
+  }
+
+  @Test
+  public void testDefragmentPacksLargestImagesFirst() {
+    TextureAtlasGenerator generator = new TextureAtlasGenerator(100, 100, 0, 1.0f, PackingStrategy.MAX_RECTS);
+    generator.addImage(10, 10, "a");
+    generator.addImage(90, 90, "b");
+
+    Map<String, Result> results = generator.defragment();
+
+    assertNotNull(results);
+    assertResult(0, 0, 90, 90, results.get("b"));
+    assertEquals(2, generator.getImageCount());
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void testCreatingGeneratorWithZeroWidthThrowsIllegalArgumentException() {
     int atlasWidth = 0;
@@ -191,6 +339,11 @@ public class TextureAtlasGeneratorTest {
     new TextureAtlasGenerator(ATLAS_WIDTH, ATLAS_HEIGHT, ATLAS_PADDING, atlasTolerance);
   }
 
+  private TextureAtlasGenerator createMaxRectsGenerator() {
+    return new TextureAtlasGenerator(
+        ATLAS_WIDTH, ATLAS_HEIGHT, ATLAS_PADDING, ATLAS_TOLERANCE, PackingStrategy.MAX_RECTS);
+  }
+
   private void assertResult(final int x, final int y, final int w, final int h, final Result result) {
     assertEquals(x, result.getX());
     assertEquals(y, result.getY());
@@ -0,0 +1,205 @@
+package de.lessvoid.nifty.java2d.renderer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Finds the regions of the screen that changed between two frames. All render calls of a frame are recorded as
+ * {@link DrawCommand}s and compared with the commands of the previous frame. Every element whose layout, renderer
+ * state or effects changed issues different render calls, so the bounds of all commands that differ are the regions
+ * that need to be repainted. Only these regions are cleared and all commands that touch them are drawn again, clipped
+ * to the region. When the damaged area exceeds a fraction of the screen the whole screen is repainted instead.
+ * <p/>
+ * This requires that the Graphics2D keeps its content between frames, f.i. because it draws into a BufferedImage.
+ */
+class DamageTracker {
+  // more regions than this are merged into a single one
+  private static final int MAX_REGIONS = 16;
+
+  private final float fullRepaintThreshold;
+  @Nonnull
+  private List<DrawCommand> previousCommands = new ArrayList<DrawCommand>();
+  @Nonnull
+  private List<DrawCommand> currentCommands = new ArrayList<DrawCommand>();
+  @Nonnull
+  private final List<Rectangle> damagedRegions = new ArrayList<Rectangle>();
+  private boolean cleared;
+  private boolean fullRepaint;
+  private boolean invalidated = true;
+  private int previousWidth = -1;
+  private int previousHeight = -1;
+
+  /**
+   * @param fullRepaintThreshold the fraction of the screen area (between 0.0f and 1.0f) the damaged regions need to
+   *                             exceed for the whole screen to be repainted
+   */
+  DamageTracker(final float fullRepaintThreshold) {
+    this.fullRepaintThreshold = fullRepaintThreshold;
+  }
+
+  void beginFrame() {
+    currentCommands.clear();
+    cleared = false;
+  }
+
+  void clear() {
+    // clearing after something has been rendered wipes it out, so the frame is repainted as a whole
+    if (!currentCommands.isEmpty()) {
+      currentCommands.clear();
+      invalidated = true;
+    }
+    cleared = true;
+  }
+
+  void add(@Nonnull final DrawCommand command) {
+    currentCommands.add(command);
+  }
+
+  /**
+   * Forces a repaint of the whole screen with the next frame.
+   */
+  void invalidate() {
+    invalidated = true;
+  }
+
+  /**
+   * Repaints the damaged regions with the commands of the current frame.
+   */
+  void endFrame(@Nonnull final Graphics2D graphics, final int width, final int height) {
+    findDamagedRegions(width, height);
+    repaint(graphics, null);
+    finishFrame(width, height);
+  }
+
+  /**
+   * Finds the regions that changed with the current frame. They can be repainted with
+   * {@link #repaint(Graphics2D, Rectangle)} before the frame is finished with {@link #finishFrame(int, int)}.
+   */
+  void findDamagedRegions(final int width, final int height) {
+    damagedRegions.clear();
+    Rectangle screen = new Rectangle(0, 0, width, height);
+    fullRepaint = invalidated || width != previousWidth || height != previousHeight;
+    if (!fullRepaint) {
+      // skip the commands that are the same at the start and at the end of both frames
+      int start = 0;
+      while (start < previousCommands.size() &&
+          start < currentCommands.size() &&
+          previousCommands.get(start).sameAs(currentCommands.get(start))) {
+        start++;
+      }
+      int previousEnd = previousCommands.size();
+      int currentEnd = currentCommands.size();
+      while (previousEnd > start &&
+          currentEnd > start &&
+          previousCommands.get(previousEnd - 1).sameAs(currentCommands.get(currentEnd - 1))) {
+        previousEnd--;
+        currentEnd--;
+      }
+      for (int i = start; i < previousEnd; i++) {
+        addDamagedRegion(previousCommands.get(i).bounds.intersection(screen));
+      }
+      for (int i = start; i < currentEnd; i++) {
+        addDamagedRegion(currentCommands.get(i).bounds.intersection(screen));
+      }
+      if (damagedRegions.size() > MAX_REGIONS) {
+        Rectangle union = damagedRegions.get(0);
+        for (int i = 1; i < damagedRegions.size(); i++) {
+          union = union.union(damagedRegions.get(i));
+        }
+        damagedRegions.clear();
+        damagedRegions.add(union);
+      }
+      long damagedArea = 0;
+      for (int i = 0; i < damagedRegions.size(); i++) {
+        damagedArea += (long) damagedRegions.get(i).width * damagedRegions.get(i).height;
+      }
+      fullRepaint = damagedArea > fullRepaintThreshold * width * height;
+    }
+    if (fullRepaint) {
+      damagedRegions.clear();
+      damagedRegions.add(screen);
+    }
+  }
+
+  /**
+   * Repaints the damaged regions, or only the parts of them inside of the given area. Several areas can be repainted
+   * at the same time from different threads, each with its own Graphics2D.
+   *
+   * @param area the part of the screen to repaint or {@code null} to repaint all damaged regions
+   */
+  void repaint(@Nonnull final Graphics2D graphics, @Nullable final Rectangle area) {
+    if (fullRepaint && area == null) {
+      graphics.setClip(null);
+      if (cleared) {
+        graphics.clearRect(0, 0, damagedRegions.get(0).width, damagedRegions.get(0).height);
+      }
+      for (int i = 0; i < currentCommands.size(); i++) {
+        DrawCommand command = currentCommands.get(i);
+        command.draw(graphics, command.clip);
+      }
+      return;
+    }
+    for (int r = 0; r < damagedRegions.size(); r++) {
+      Rectangle region = area == null ? damagedRegions.get(r) : damagedRegions.get(r).intersection(area);
+      if (region.isEmpty()) {
+        continue;
+      }
+      if (cleared) {
+        graphics.setClip(region);
+        graphics.clearRect(region.x, region.y, region.width, region.height);
+      }
+      for (int i = 0; i < currentCommands.size(); i++) {
+        DrawCommand command = currentCommands.get(i);
+        if (command.bounds.intersects(region)) {
+          command.draw(graphics, command.clip == null ? region : command.clip.intersection(region));
+        }
+      }
+    }
+  }
+
+  /**
+   * Keeps the commands of the current frame to compare the next frame with.
+   */
+  void finishFrame(final int width, final int height) {
+    List<DrawCommand> commands = previousCommands;
+    previousCommands = currentCommands;
+    currentCommands = commands;
+    previousWidth = width;
+    previousHeight = height;
+    invalidated = false;
+  }
+
+  /**
+   * @return the regions repainted by the last frame
+   */
+  @Nonnull
+  List<Rectangle> getDamagedRegions() {
+    return Collections.unmodifiableList(damagedRegions);
+  }
+
+  /**
+   * @return whether the whole screen has been repainted by the last frame
+   */
+  boolean isFullRepaint() {
+    return fullRepaint;
+  }
+
+  // adds the region and merges it with all the regions it overlaps
+  private void addDamagedRegion(@Nonnull final Rectangle region) {
+    if (region.isEmpty()) {
+      return;
+    }
+    Rectangle merged = region;
+    for (int i = 0; i < damagedRegions.size(); i++) {
+      if (damagedRegions.get(i).intersects(merged)) {
+        merged = merged.union(damagedRegions.remove(i));
+        i = -1;
+      }
+    }
+    damagedRegions.add(merged);
+  }
+}
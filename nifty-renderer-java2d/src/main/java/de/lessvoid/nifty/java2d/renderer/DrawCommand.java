@@ -0,0 +1,36 @@
+package de.lessvoid.nifty.java2d.renderer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.*;
+
+/**
+ * A single render call of {@link RenderDeviceJava2dImpl} that can be drawn later, possibly more than once and with a
+ * different clip.
+ */
+abstract class DrawCommand {
+  // the area on the screen the command might draw into, already clipped
+  @Nonnull
+  final Rectangle bounds;
+  @Nullable
+  final Rectangle clip;
+
+  DrawCommand(@Nonnull final Rectangle bounds, @Nullable final Rectangle clip) {
+    this.bounds = clip == null ? bounds : bounds.intersection(clip);
+    this.clip = clip;
+  }
+
+  /**
+   * Draw the command with the given clip.
+   */
+  abstract void draw(@Nonnull Graphics2D graphics, @Nullable Shape clip);
+
+  /**
+   * @return whether the other command draws exactly the same
+   */
+  boolean sameAs(@Nonnull final DrawCommand other) {
+    return getClass() == other.getClass() &&
+        bounds.equals(other.bounds) &&
+        (clip == null ? other.clip == null : clip.equals(other.clip));
+  }
+}
@@ -17,7 +17,8 @@ import java.awt.*;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
-import java.util.Stack;
+import java.util.Collections;
+import java.util.List;
 import java.util.logging.Logger;
 
 public class RenderDeviceJava2dImpl implements RenderDevice {
@@ -27,8 +28,6 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
   private NiftyResourceLoader resourceLoader;
   private final Graphics2D graphics;
 
-  private final Graphics2dHelper graphics2dHelper;
-
   @Nullable
   private Rectangle clipRectangle = null;
 
@@ -36,12 +35,15 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
 
   private final GraphicsWrapper graphicsWrapper;
 
+  @Nullable
+  private DamageTracker damageTracker;
+
   protected Graphics2D getGraphics() {
     return graphics;
   }
 
   @Nonnull
-  private java.awt.Color convertNiftyColor(@Nonnull Color color) {
+  private static java.awt.Color convertNiftyColor(@Nonnull Color color) {
     return new java.awt.Color(color.getRed(), color.getGreen(), color
         .getBlue(), color.getAlpha());
   }
@@ -54,20 +56,77 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
   public RenderDeviceJava2dImpl(GraphicsWrapper graphicsWrapper) {
     this.graphicsWrapper = graphicsWrapper;
     this.graphics = graphicsWrapper.getGraphics2d();
-    this.graphics2dHelper = new Graphics2dHelper(graphics);
+  }
+
+  /**
+   * Only repaint the regions of the screen that changed since the last frame. The render calls of a frame are
+   * recorded and compared with the ones of the previous frame, and at the end of the frame only the regions of the
+   * render calls that differ are cleared and painted again. This requires a Graphics2D that keeps its content between
+   * frames, f.i. one that draws into a BufferedImage. Use {@link #getDamagedRegions()} to find out which parts of that
+   * image need to be copied to the screen.
+   *
+   * @param fullRepaintThreshold the fraction of the screen area (between 0.0f and 1.0f) the changed regions need to
+   *                             exceed for the whole screen to be repainted instead
+   */
+  public void enableDamageTracking(final float fullRepaintThreshold) {
+    damageTracker = new DamageTracker(fullRepaintThreshold);
+  }
+
+  public void disableDamageTracking() {
+    damageTracker = null;
+  }
+
+  public boolean isDamageTracking() {
+    return damageTracker != null;
+  }
+
+  @Nullable
+  DamageTracker getDamageTracker() {
+    return damageTracker;
+  }
+
+  /**
+   * Repaint the whole screen with the next frame, f.i. because the content of the Graphics2D has been lost.
+   */
+  public void invalidate() {
+    if (damageTracker != null) {
+      damageTracker.invalidate();
+    }
+  }
+
+  /**
+   * @return the regions that have been repainted by the last frame. This is the whole screen when damage tracking is
+   * not enabled.
+   */
+  @Nonnull
+  public List<Rectangle> getDamagedRegions() {
+    if (damageTracker == null) {
+      return Collections.singletonList(new Rectangle(0, 0, getWidth(), getHeight()));
+    }
+    return damageTracker.getDamagedRegions();
   }
 
   @Override
   public void beginFrame() {
+    if (damageTracker != null) {
+      damageTracker.beginFrame();
+    }
   }
 
   @Override
   public void endFrame() {
     //		graphicsWrapper.endFrame();
+    if (damageTracker != null) {
+      damageTracker.endFrame(graphics, getWidth(), getHeight());
+    }
   }
 
   @Override
   public void clear() {
+    if (damageTracker != null) {
+      damageTracker.clear();
+      return;
+    }
     graphics.clearRect(0, 0, getWidth(), getHeight());
   }
 
@@ -142,55 +201,27 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
     }
 
     RenderImageJava2dImpl renderImage = (RenderImageJava2dImpl) image;
-
-    graphics.setClip(clipRectangle);
-
-    width = renderImage.getWidth();
-    height = renderImage.getHeight();
-
-    AffineTransform transform = new AffineTransform();
-
-    AffineTransform translateTransform = AffineTransform
-        .getTranslateInstance(-width / 2, -height / 2);
-    AffineTransform scaleTransform = AffineTransform.getScaleInstance(
-        imageScale, imageScale);
-    AffineTransform inverseTranslateTransform = AffineTransform
-        .getTranslateInstance(x + width / 2, y + height / 2);
-
-    transform.concatenate(inverseTranslateTransform);
-    transform.concatenate(scaleTransform);
-    transform.concatenate(translateTransform);
-    
-    Composite comp = graphics.getComposite();
-    graphics2dHelper.pushTransform();
-    {
-      graphics.transform(transform);
-      graphics.setComposite(AlphaComposite.getInstance(
-          AlphaComposite.SRC_OVER, color.getAlpha()));
-      graphics.drawImage(renderImage.image, 0, 0, null);
+    if (isRecording()) {
+      record(new ImageCommand(renderImage, x, y, color, imageScale, clipRectangle));
+    } else {
+      ImageCommand.render(graphics, clipRectangle, renderImage,
+          ImageCommand.createTransform(renderImage, x, y, imageScale), color.getAlpha());
     }
-    graphics2dHelper.popTransform();
-    graphics.setComposite(comp);
   }
 
-  static class Graphics2dHelper {
-
-    @Nonnull
-    final
-    Stack<AffineTransform> transformStack = new Stack<AffineTransform>();
-
-    private final Graphics2D graphics;
-
-    public Graphics2dHelper(Graphics2D graphics) {
-      this.graphics = graphics;
-    }
-
-    public void pushTransform() {
-      transformStack.push(graphics.getTransform());
-    }
+  /**
+   * @return whether the render calls are recorded as {@link DrawCommand}s instead of being drawn directly
+   */
+  boolean isRecording() {
+    return damageTracker != null;
+  }
 
-    public void popTransform() {
-      graphics.setTransform(transformStack.pop());
+  /**
+   * Record a render call. Only called when {@link #isRecording()} is true.
+   */
+  void record(@Nonnull DrawCommand command) {
+    if (damageTracker != null) {
+      damageTracker.add(command);
     }
   }
 
@@ -205,20 +236,21 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
     }
 
     RenderImageJava2dImpl renderImage = (RenderImageJava2dImpl) image;
-    Composite comp = graphics.getComposite();
-    graphics.setClip(clipRectangle);
-    graphics.setComposite(AlphaComposite.getInstance(
-        AlphaComposite.SRC_OVER, color.getAlpha()));
-    graphics.drawImage(renderImage.image, x, y, x + w, y + h, srcX, srcY,
-        srcX + srcW, srcY + srcH, null);
-    graphics.setComposite(comp);
+    if (isRecording()) {
+      record(new SubImageCommand(renderImage, x, y, w, h, srcX, srcY, srcW, srcH, color, clipRectangle));
+    } else {
+      SubImageCommand.render(graphics, clipRectangle, renderImage, x, y, w, h, srcX, srcY, srcW, srcH,
+          color.getAlpha());
+    }
   }
 
   @Override
   public void renderQuad(int x, int y, int width, int height, @Nonnull Color color) {
-    graphics.setClip(clipRectangle);
-    graphics.setColor(convertNiftyColor(color));
-    graphics.fillRect(x, y, width, height);
+    if (isRecording()) {
+      record(new QuadCommand(x, y, width, height, color, clipRectangle));
+    } else {
+      QuadCommand.render(graphics, clipRectangle, x, y, width, height, convertNiftyColor(color));
+    }
   }
 
   public static boolean sameColor(@Nonnull Color color1, @Nonnull Color color2) {
@@ -235,25 +267,14 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
   public void renderQuad(
       int x, int y, int width, int height, @Nonnull Color topLeft,
       @Nonnull Color topRight, @Nonnull Color bottomRight, @Nonnull Color bottomLeft) {
-    graphics.setClip(clipRectangle);
-
-    // TODO: learn how to do gradient of 4 colors
-    Graphics2D graphics2d = graphics;
-
-    // vertical gradient is by default
-    GradientPaint grad = new GradientPaint(new Point(x, y),
-        convertNiftyColor(topLeft), new Point(x + width, y),
-        convertNiftyColor(bottomRight));
-
-    // else horizontal gradient
-    if (sameColor(topLeft, topRight)) {
-      grad = new GradientPaint(new Point(x, y),
-          convertNiftyColor(topLeft), new Point(x, y + height),
-          convertNiftyColor(bottomLeft));
+    if (isRecording()) {
+      record(new GradientQuadCommand(x, y, width, height, topLeft, topRight, bottomRight, bottomLeft, clipRectangle));
+    } else {
+      // vertical gradient is by default, else horizontal gradient
+      boolean horizontal = sameColor(topLeft, topRight);
+      GradientQuadCommand.render(graphics, clipRectangle, x, y, width, height, convertNiftyColor(topLeft),
+          convertNiftyColor(horizontal ? bottomLeft : bottomRight), horizontal);
     }
-
-    graphics2d.setPaint(grad);
-    graphics.fillRect(x, y, width, height);
   }
 
   @Override
@@ -318,10 +339,12 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
   private void renderFontJava2dImpl(
       String text, int x, int y,
       @Nonnull Color fontColor, @Nonnull RenderFontJava2dImpl font) {
-    graphics.setClip(clipRectangle);
-    graphics.setFont(font.getFont());
-    graphics.setColor(convertNiftyColor(fontColor));
-    graphics.drawString(text, x, y + font.getHeight() / 2);
+    int baseline = y + font.getHeight() / 2;
+    if (isRecording()) {
+      record(new TextCommand(graphics, font, text, x, baseline, fontColor, clipRectangle));
+    } else {
+      TextCommand.render(graphics, clipRectangle, font.getFont(), text, x, baseline, convertNiftyColor(fontColor));
+    }
   }
 
   @Nullable
@@ -342,4 +365,315 @@ public class RenderDeviceJava2dImpl implements RenderDevice {
     // TODO Auto-generated method stub
 
   }
-}
\ No newline at end of file
+
+  private static class ImageCommand extends DrawCommand {
+    @Nonnull
+    private final RenderImageJava2dImpl image;
+    @Nonnull
+    private final AffineTransform transform;
+    private final float alpha;
+
+    ImageCommand(
+        @Nonnull RenderImageJava2dImpl image, int x, int y, @Nonnull Color color, float imageScale,
+        @Nullable Rectangle clip) {
+      this(image, createTransform(image, x, y, imageScale), color.getAlpha(), clip);
+    }
+
+    private ImageCommand(
+        @Nonnull RenderImageJava2dImpl image, @Nonnull AffineTransform transform, float alpha,
+        @Nullable Rectangle clip) {
+      super(transform.createTransformedShape(
+          new Rectangle(0, 0, image.getWidth(), image.getHeight())).getBounds(), clip);
+      this.image = image;
+      this.transform = transform;
+      this.alpha = alpha;
+    }
+
+    @Nonnull
+    static AffineTransform createTransform(
+        @Nonnull RenderImageJava2dImpl renderImage, int x, int y, float imageScale) {
+      int width = renderImage.getWidth();
+      int height = renderImage.getHeight();
+
+      AffineTransform transform = new AffineTransform();
+
+      AffineTransform translateTransform = AffineTransform
+          .getTranslateInstance(-width / 2, -height / 2);
+      AffineTransform scaleTransform = AffineTransform.getScaleInstance(
+          imageScale, imageScale);
+      AffineTransform inverseTranslateTransform = AffineTransform
+          .getTranslateInstance(x + width / 2, y + height / 2);
+
+      transform.concatenate(inverseTranslateTransform);
+      transform.concatenate(scaleTransform);
+      transform.concatenate(translateTransform);
+      return transform;
+    }
+
+    @Override
+    void draw(@Nonnull Graphics2D graphics, @Nullable Shape clip) {
+      render(graphics, clip, image, transform, alpha);
+    }
+
+    static void render(
+        @Nonnull Graphics2D graphics, @Nullable Shape clip, @Nonnull RenderImageJava2dImpl image,
+        @Nonnull AffineTransform transform, float alpha) {
+      graphics.setClip(clip);
+
+      Composite comp = graphics.getComposite();
+      AffineTransform oldTransform = graphics.getTransform();
+      {
+        graphics.transform(transform);
+        graphics.setComposite(AlphaComposite.getInstance(
+            AlphaComposite.SRC_OVER, alpha));
+        graphics.drawImage(image.image, 0, 0, null);
+      }
+      graphics.setTransform(oldTransform);
+      graphics.setComposite(comp);
+    }
+
+    @Override
+    boolean sameAs(@Nonnull DrawCommand other) {
+      if (!super.sameAs(other)) {
+        return false;
+      }
+      ImageCommand command = (ImageCommand) other;
+      return image == command.image && alpha == command.alpha && transform.equals(command.transform);
+    }
+  }
+
+  private static class SubImageCommand extends DrawCommand {
+    @Nonnull
+    private final RenderImageJava2dImpl image;
+    private final int x;
+    private final int y;
+    private final int w;
+    private final int h;
+    private final int srcX;
+    private final int srcY;
+    private final int srcW;
+    private final int srcH;
+    private final float alpha;
+
+    SubImageCommand(
+        @Nonnull RenderImageJava2dImpl image, int x, int y, int w, int h,
+        int srcX, int srcY, int srcW, int srcH, @Nonnull Color color, @Nullable Rectangle clip) {
+      super(new Rectangle(x, y, w, h), clip);
+      this.image = image;
+      this.x = x;
+      this.y = y;
+      this.w = w;
+      this.h = h;
+      this.srcX = srcX;
+      this.srcY = srcY;
+      this.srcW = srcW;
+      this.srcH = srcH;
+      this.alpha = color.getAlpha();
+    }
+
+    @Override
+    void draw(@Nonnull Graphics2D graphics, @Nullable Shape clip) {
+      render(graphics, clip, image, x, y, w, h, srcX, srcY, srcW, srcH, alpha);
+    }
+
+    static void render(
+        @Nonnull Graphics2D graphics, @Nullable Shape clip, @Nonnull RenderImageJava2dImpl image,
+        int x, int y, int w, int h, int srcX, int srcY, int srcW, int srcH, float alpha) {
+      Composite comp = graphics.getComposite();
+      graphics.setClip(clip);
+      graphics.setComposite(AlphaComposite.getInstance(
+          AlphaComposite.SRC_OVER, alpha));
+      graphics.drawImage(image.image, x, y, x + w, y + h, srcX, srcY,
+          srcX + srcW, srcY + srcH, null);
+      graphics.setComposite(comp);
+    }
+
+    @Override
+    boolean sameAs(@Nonnull DrawCommand other) {
+      if (!super.sameAs(other)) {
+        return false;
+      }
+      SubImageCommand command = (SubImageCommand) other;
+      return image == command.image &&
+          x == command.x &&
+          y == command.y &&
+          w == command.w &&
+          h == command.h &&
+          srcX == command.srcX &&
+          srcY == command.srcY &&
+          srcW == command.srcW &&
+          srcH == command.srcH &&
+          alpha == command.alpha;
+    }
+  }
+
+  private static class QuadCommand extends DrawCommand {
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+    @Nonnull
+    private final java.awt.Color color;
+
+    QuadCommand(int x, int y, int width, int height, @Nonnull Color color, @Nullable Rectangle clip) {
+      super(new Rectangle(x, y, width, height), clip);
+      this.x = x;
+      this.y = y;
+      this.width = width;
+      this.height = height;
+      this.color = convertNiftyColor(color);
+    }
+
+    @Override
+    void draw(@Nonnull Graphics2D graphics, @Nullable Shape clip) {
+      render(graphics, clip, x, y, width, height, color);
+    }
+
+    static void render(
+        @Nonnull Graphics2D graphics, @Nullable Shape clip, int x, int y, int width, int height,
+        @Nonnull java.awt.Color color) {
+      graphics.setClip(clip);
+      graphics.setColor(color);
+      graphics.fillRect(x, y, width, height);
+    }
+
+    @Override
+    boolean sameAs(@Nonnull DrawCommand other) {
+      if (!super.sameAs(other)) {
+        return false;
+      }
+      QuadCommand command = (QuadCommand) other;
+      return x == command.x &&
+          y == command.y &&
+          width == command.width &&
+          height == command.height &&
+          color.equals(command.color);
+    }
+  }
+
+  private static class GradientQuadCommand extends DrawCommand {
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+    @Nonnull
+    private final java.awt.Color start;
+    @Nonnull
+    private final java.awt.Color end;
+    private final boolean horizontal;
+
+    GradientQuadCommand(
+        int x, int y, int width, int height, @Nonnull Color topLeft,
+        @Nonnull Color topRight, @Nonnull Color bottomRight, @Nonnull Color bottomLeft, @Nullable Rectangle clip) {
+      super(new Rectangle(x, y, width, height), clip);
+      this.x = x;
+      this.y = y;
+      this.width = width;
+      this.height = height;
+      this.start = convertNiftyColor(topLeft);
+      // vertical gradient is by default, else horizontal gradient
+      this.horizontal = sameColor(topLeft, topRight);
+      this.end = convertNiftyColor(horizontal ? bottomLeft : bottomRight);
+    }
+
+    @Override
+    void draw(@Nonnull Graphics2D graphics, @Nullable Shape clip) {
+      render(graphics, clip, x, y, width, height, start, end, horizontal);
+    }
+
+    static void render(
+        @Nonnull Graphics2D graphics, @Nullable Shape clip, int x, int y, int width, int height,
+        @Nonnull java.awt.Color start, @Nonnull java.awt.Color end, boolean horizontal) {
+      graphics.setClip(clip);
+
+      // TODO: learn how to do gradient of 4 colors
+      GradientPaint grad;
+      if (horizontal) {
+        grad = new GradientPaint(new Point(x, y), start, new Point(x, y + height), end);
+      } else {
+        grad = new GradientPaint(new Point(x, y), start, new Point(x + width, y), end);
+      }
+
+      graphics.setPaint(grad);
+      graphics.fillRect(x, y, width, height);
+    }
+
+    @Override
+    boolean sameAs(@Nonnull DrawCommand other) {
+      if (!super.sameAs(other)) {
+        return false;
+      }
+      GradientQuadCommand command = (GradientQuadCommand) other;
+      return x == command.x &&
+          y == command.y &&
+          width == command.width &&
+          height == command.height &&
+          horizontal == command.horizontal &&
+          start.equals(command.start) &&
+          end.equals(command.end);
+    }
+  }
+
+  private static class TextCommand extends DrawCommand {
+    @Nonnull
+    private final Font font;
+    @Nonnull
+    private final String text;
+    private final int x;
+    private final int baseline;
+    @Nonnull
+    private final java.awt.Color color;
+
+    TextCommand(
+        @Nonnull Graphics2D graphics, @Nonnull RenderFontJava2dImpl font, @Nonnull String text, int x, int baseline,
+        @Nonnull Color color, @Nullable Rectangle clip) {
+      super(getTextBounds(graphics, font.getFont(), text, x, baseline), clip);
+      this.font = font.getFont();
+      this.text = text;
+      this.x = x;
+      this.baseline = baseline;
+      this.color = convertNiftyColor(color);
+    }
+
+    @Nonnull
+    private static Rectangle getTextBounds(
+        @Nonnull Graphics2D graphics, @Nonnull Font font, @Nonnull String text, int x, int baseline) {
+      FontMetrics fontMetrics = graphics.getFontMetrics(font);
+      Rectangle bounds = new Rectangle(
+          x,
+          baseline - fontMetrics.getMaxAscent(),
+          fontMetrics.stringWidth(text),
+          fontMetrics.getMaxAscent() + fontMetrics.getMaxDescent());
+      // antialiased glyphs might reach a little bit outside of their bounds
+      bounds.grow(2, 2);
+      return bounds;
+    }
+
+    @Override
+    void draw(@Nonnull Graphics2D graphics, @Nullable Shape clip) {
+      render(graphics, clip, font, text, x, baseline, color);
+    }
+
+    static void render(
+        @Nonnull Graphics2D graphics, @Nullable Shape clip, @Nonnull Font font, @Nonnull String text, int x,
+        int baseline, @Nonnull java.awt.Color color) {
+      graphics.setClip(clip);
+      graphics.setFont(font);
+      graphics.setColor(color);
+      graphics.drawString(text, x, baseline);
+    }
+
+    @Override
+    boolean sameAs(@Nonnull DrawCommand other) {
+      if (!super.sameAs(other)) {
+        return false;
+      }
+      TextCommand command = (TextCommand) other;
+      return font == command.font &&
+          x == command.x &&
+          baseline == command.baseline &&
+          color.equals(command.color) &&
+          text.equals(command.text);
+    }
+  }
+}
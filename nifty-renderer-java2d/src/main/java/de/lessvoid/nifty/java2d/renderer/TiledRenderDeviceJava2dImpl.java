@@ -0,0 +1,282 @@
+package de.lessvoid.nifty.java2d.renderer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A RenderDevice that renders into an offscreen BufferedImage using several threads, f.i. to render screenshots or
+ * thumbnails of screens on a server. All render calls of a frame are only recorded and at the end of the frame the
+ * image is split into tiles that are rendered in parallel. Each tile only draws the render calls that touch it,
+ * clipped to the tile. With damage tracking enabled only the tiles touching the damaged regions are rendered, and
+ * only the damaged parts of them.
+ */
+public class TiledRenderDeviceJava2dImpl extends RenderDeviceJava2dImpl {
+  public static final int DEFAULT_TILE_SIZE = 128;
+
+  @Nonnull
+  private final BufferedImage image;
+  private final int tileSize;
+  @Nonnull
+  private final ExecutorService executor;
+  private final boolean ownExecutor;
+  @Nonnull
+  private final List<DrawCommand> commands = new ArrayList<DrawCommand>();
+
+  /**
+   * Creates a device that renders into an image of the given size, using tiles of {@link #DEFAULT_TILE_SIZE} pixels
+   * and one thread per available processor. Call {@link #shutdown()} when the device is not needed anymore.
+   */
+  public TiledRenderDeviceJava2dImpl(final int width, final int height) {
+    this(new ImageGraphicsWrapper(width, height), DEFAULT_TILE_SIZE, createExecutor(), true);
+  }
+
+  /**
+   * Creates a device that renders into an image of the given size, using tiles of tileSize x tileSize pixels that are
+   * rendered by the given executor.
+   */
+  public TiledRenderDeviceJava2dImpl(
+      final int width,
+      final int height,
+      final int tileSize,
+      @Nonnull final ExecutorService executor) {
+    this(new ImageGraphicsWrapper(width, height), tileSize, executor, false);
+  }
+
+  private TiledRenderDeviceJava2dImpl(
+      @Nonnull final ImageGraphicsWrapper graphicsWrapper,
+      final int tileSize,
+      @Nonnull final ExecutorService executor,
+      final boolean ownExecutor) {
+    super(graphicsWrapper);
+    if (tileSize <= 0) {
+      throw new IllegalArgumentException("tile size must be greater than 0");
+    }
+    this.image = graphicsWrapper.image;
+    this.tileSize = tileSize;
+    this.executor = executor;
+    this.ownExecutor = ownExecutor;
+  }
+
+  /**
+   * @return the image the frames are rendered into
+   */
+  @Nonnull
+  public BufferedImage getImage() {
+    return image;
+  }
+
+  /**
+   * Stops the threads of this device, when they have been created by it.
+   */
+  public void shutdown() {
+    if (ownExecutor) {
+      executor.shutdown();
+    }
+  }
+
+  @Override
+  public void beginFrame() {
+    super.beginFrame();
+    commands.clear();
+  }
+
+  /**
+   * Renders the tiles of the frame and waits until all of them are finished, even when the calling thread is
+   * interrupted. The interrupted status is kept in that case.
+   */
+  @Override
+  public void endFrame() {
+    int width = image.getWidth();
+    int height = image.getHeight();
+    DamageTracker damageTracker = getDamageTracker();
+    if (damageTracker != null) {
+      damageTracker.findDamagedRegions(width, height);
+    }
+
+    List<Future<Void>> tiles = new ArrayList<Future<Void>>();
+    for (int y = 0; y < height; y += tileSize) {
+      for (int x = 0; x < width; x += tileSize) {
+        Rectangle area = new Rectangle(x, y, Math.min(tileSize, width - x), Math.min(tileSize, height - y));
+        if (damageTracker == null || isDamaged(damageTracker, area)) {
+          tiles.add(executor.submit(new Tile(area, damageTracker)));
+        }
+      }
+    }
+
+    Throwable failure = waitFor(tiles);
+    if (damageTracker != null) {
+      damageTracker.finishFrame(width, height);
+      if (failure != null) {
+        damageTracker.invalidate();
+      }
+    }
+    if (failure != null) {
+      throw new RuntimeException("failed to render tile", failure);
+    }
+  }
+
+  @Override
+  public void clear() {
+    DamageTracker damageTracker = getDamageTracker();
+    if (damageTracker != null) {
+      damageTracker.clear();
+      return;
+    }
+    commands.add(new ClearCommand(image.getWidth(), image.getHeight(), getGraphics().getBackground()));
+  }
+
+  @Override
+  boolean isRecording() {
+    return true;
+  }
+
+  @Override
+  void record(@Nonnull final DrawCommand command) {
+    if (getDamageTracker() != null) {
+      super.record(command);
+    } else {
+      commands.add(command);
+    }
+  }
+
+  private static boolean isDamaged(@Nonnull final DamageTracker damageTracker, @Nonnull final Rectangle area) {
+    List<Rectangle> damagedRegions = damageTracker.getDamagedRegions();
+    for (int i = 0; i < damagedRegions.size(); i++) {
+      if (damagedRegions.get(i).intersects(area)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // waits for all tiles and returns the first failure, if any
+  @Nullable
+  private static Throwable waitFor(@Nonnull final List<Future<Void>> tiles) {
+    Throwable failure = null;
+    boolean interrupted = false;
+    for (int i = 0; i < tiles.size(); i++) {
+      while (true) {
+        try {
+          tiles.get(i).get();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          if (failure == null) {
+            failure = e.getCause();
+          }
+          break;
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+    return failure;
+  }
+
+  @Nonnull
+  private static ExecutorService createExecutor() {
+    final AtomicInteger threadCount = new AtomicInteger();
+    return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+      @Nonnull
+      @Override
+      public Thread newThread(@Nonnull final Runnable runnable) {
+        Thread thread = new Thread(runnable, "nifty-java2d-tile-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  private class Tile implements Callable<Void> {
+    @Nonnull
+    private final Rectangle area;
+    @Nullable
+    private final DamageTracker damageTracker;
+
+    Tile(@Nonnull final Rectangle area, @Nullable final DamageTracker damageTracker) {
+      this.area = area;
+      this.damageTracker = damageTracker;
+    }
+
+    @Nullable
+    @Override
+    public Void call() {
+      Graphics2D graphics = image.createGraphics();
+      try {
+        graphics.setRenderingHints(getGraphics().getRenderingHints());
+        graphics.setBackground(getGraphics().getBackground());
+        if (damageTracker != null) {
+          damageTracker.repaint(graphics, area);
+          return null;
+        }
+        for (int i = 0; i < commands.size(); i++) {
+          DrawCommand command = commands.get(i);
+          if (command.bounds.intersects(area)) {
+            command.draw(graphics, command.clip == null ? area : command.clip.intersection(area));
+          }
+        }
+      } finally {
+        graphics.dispose();
+      }
+      return null;
+    }
+  }
+
+  private static class ClearCommand extends DrawCommand {
+    @Nonnull
+    private final java.awt.Color background;
+
+    ClearCommand(final int width, final int height, @Nonnull final java.awt.Color background) {
+      super(new Rectangle(0, 0, width, height), null);
+      this.background = background;
+    }
+
+    @Override
+    void draw(@Nonnull final Graphics2D graphics, @Nullable final Shape clip) {
+      graphics.setClip(clip);
+      graphics.setBackground(background);
+      graphics.clearRect(bounds.x, bounds.y, bounds.width, bounds.height);
+    }
+  }
+
+  private static class ImageGraphicsWrapper implements GraphicsWrapper {
+    @Nonnull
+    private final BufferedImage image;
+    @Nonnull
+    private final Graphics2D graphics;
+
+    ImageGraphicsWrapper(final int width, final int height) {
+      image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+      graphics = image.createGraphics();
+    }
+
+    @Nonnull
+    @Override
+    public Graphics2D getGraphics2d() {
+      return graphics;
+    }
+
+    @Override
+    public int getHeight() {
+      return image.getHeight();
+    }
+
+    @Override
+    public int getWidth() {
+      return image.getWidth();
+    }
+  }
+}
@@ -0,0 +1,174 @@
+package de.lessvoid.nifty.java2d.renderer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DamageTrackerTest {
+  private static final int WIDTH = 100;
+  private static final int HEIGHT = 100;
+
+  private DamageTracker tracker;
+  private Graphics2D graphics;
+
+  @Before
+  public void before() {
+    tracker = new DamageTracker(0.5f);
+    graphics = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB).createGraphics();
+  }
+
+  @After
+  public void after() {
+    graphics.dispose();
+  }
+
+  @Test
+  public void testFirstFrameIsFullRepaint() {
+    TestCommand command = new TestCommand(10, 10, 10, 10, 1);
+    frame(command);
+
+    assertFullRepaint();
+    assertEquals(1, command.drawCount);
+  }
+
+  @Test
+  public void testSameFrameHasNoDamagedRegions() {
+    frame(new TestCommand(10, 10, 10, 10, 1), new TestCommand(50, 50, 10, 10, 2));
+    TestCommand first = new TestCommand(10, 10, 10, 10, 1);
+    TestCommand second = new TestCommand(50, 50, 10, 10, 2);
+    frame(first, second);
+
+    assertFalse(tracker.isFullRepaint());
+    assertTrue(tracker.getDamagedRegions().isEmpty());
+    assertEquals(0, first.drawCount);
+    assertEquals(0, second.drawCount);
+  }
+
+  @Test
+  public void testChangedCommandDamagesOldAndNewBounds() {
+    frame(new TestCommand(10, 10, 10, 10, 1), new TestCommand(20, 10, 10, 10, 2), new TestCommand(80, 80, 10, 10, 3));
+    TestCommand moved = new TestCommand(25, 10, 10, 10, 2);
+    TestCommand unchanged = new TestCommand(80, 80, 10, 10, 3);
+    frame(new TestCommand(10, 10, 10, 10, 1), moved, unchanged);
+
+    assertRegions(new Rectangle(20, 10, 15, 10));
+    assertEquals(1, moved.drawCount);
+    assertEquals(0, unchanged.drawCount);
+  }
+
+  @Test
+  public void testCommandsTouchingDamagedRegionAreDrawnAgain() {
+    frame(new TestCommand(0, 0, 50, 50, 1), new TestCommand(10, 10, 10, 10, 2));
+    TestCommand background = new TestCommand(0, 0, 50, 50, 1);
+    frame(background, new TestCommand(10, 10, 10, 10, 3));
+
+    assertRegions(new Rectangle(10, 10, 10, 10));
+    assertEquals(1, background.drawCount);
+    assertEquals(new Rectangle(10, 10, 10, 10), background.lastClip);
+  }
+
+  @Test
+  public void testOverlappingRegionsAreMerged() {
+    frame(new TestCommand(10, 10, 10, 10, 1), new TestCommand(60, 60, 10, 10, 2));
+    frame(new TestCommand(15, 15, 10, 10, 1), new TestCommand(65, 65, 10, 10, 2));
+
+    assertRegions(new Rectangle(10, 10, 15, 15), new Rectangle(60, 60, 15, 15));
+  }
+
+  @Test
+  public void testDamageAboveThresholdIsFullRepaint() {
+    frame(new TestCommand(0, 0, 80, 80, 1));
+    frame(new TestCommand(0, 0, 80, 80, 2));
+
+    assertFullRepaint();
+  }
+
+  @Test
+  public void testInvalidateIsFullRepaint() {
+    frame(new TestCommand(10, 10, 10, 10, 1));
+    tracker.invalidate();
+    frame(new TestCommand(10, 10, 10, 10, 1));
+
+    assertFullRepaint();
+  }
+
+  @Test
+  public void testSizeChangeIsFullRepaint() {
+    frame(new TestCommand(10, 10, 10, 10, 1));
+    tracker.beginFrame();
+    tracker.add(new TestCommand(10, 10, 10, 10, 1));
+    tracker.endFrame(graphics, WIDTH / 2, HEIGHT);
+
+    assertTrue(tracker.isFullRepaint());
+    assertRegions(new Rectangle(0, 0, WIDTH / 2, HEIGHT));
+  }
+
+  @Test
+  public void testClearAfterRenderingIsFullRepaint() {
+    frame(new TestCommand(10, 10, 10, 10, 1));
+    tracker.beginFrame();
+    tracker.add(new TestCommand(50, 50, 10, 10, 2));
+    tracker.clear();
+    TestCommand command = new TestCommand(10, 10, 10, 10, 1);
+    tracker.add(command);
+    tracker.endFrame(graphics, WIDTH, HEIGHT);
+
+    assertFullRepaint();
+    assertEquals(1, command.drawCount);
+  }
+
+  private void frame(@Nonnull final TestCommand... commands) {
+    tracker.beginFrame();
+    tracker.clear();
+    for (TestCommand command : commands) {
+      tracker.add(command);
+    }
+    tracker.endFrame(graphics, WIDTH, HEIGHT);
+  }
+
+  private void assertFullRepaint() {
+    assertTrue(tracker.isFullRepaint());
+    assertRegions(new Rectangle(0, 0, WIDTH, HEIGHT));
+  }
+
+  private void assertRegions(@Nonnull final Rectangle... expected) {
+    List<Rectangle> regions = tracker.getDamagedRegions();
+    assertEquals(expected.length, regions.size());
+    for (Rectangle region : expected) {
+      assertTrue("missing region " + region + " in " + regions, regions.contains(region));
+    }
+  }
+
+  private static class TestCommand extends DrawCommand {
+    private final int id;
+    private int drawCount;
+    @Nullable
+    private Shape lastClip;
+
+    TestCommand(final int x, final int y, final int width, final int height, final int id) {
+      super(new Rectangle(x, y, width, height), null);
+      this.id = id;
+    }
+
+    @Override
+    void draw(@Nonnull final Graphics2D graphics, @Nullable final Shape clip) {
+      drawCount++;
+      lastClip = clip;
+    }
+
+    @Override
+    boolean sameAs(@Nonnull final DrawCommand other) {
+      return super.sameAs(other) && id == ((TestCommand) other).id;
+    }
+  }
+}
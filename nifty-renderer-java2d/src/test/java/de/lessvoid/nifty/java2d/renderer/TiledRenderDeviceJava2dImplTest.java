@@ -0,0 +1,132 @@
+package de.lessvoid.nifty.java2d.renderer;
+
+import de.lessvoid.nifty.tools.Color;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.Nonnull;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TiledRenderDeviceJava2dImplTest {
+  private static final int WIDTH = 50;
+  private static final int HEIGHT = 40;
+  private static final int TILE_SIZE = 16;
+  private static final int MARKER = 0xffff00ff;
+
+  private ExecutorService executor;
+  private TiledRenderDeviceJava2dImpl tiledDevice;
+
+  @Before
+  public void before() {
+    executor = Executors.newFixedThreadPool(3);
+    tiledDevice = new TiledRenderDeviceJava2dImpl(WIDTH, HEIGHT, TILE_SIZE, executor);
+  }
+
+  @After
+  public void after() {
+    executor.shutdown();
+  }
+
+  @Test
+  public void testTilesMatchSingleThreadedRendering() {
+    renderScene(tiledDevice, 5);
+
+    assertSameImage(renderReference(5), tiledDevice.getImage());
+  }
+
+  @Test
+  public void testTilesMatchSingleThreadedRenderingWithDamageTracking() {
+    tiledDevice.enableDamageTracking(0.5f);
+    renderScene(tiledDevice, 5);
+    renderScene(tiledDevice, 7);
+
+    assertSameImage(renderReference(7), tiledDevice.getImage());
+  }
+
+  @Test
+  public void testOnlyDamagedTilesAreRendered() {
+    tiledDevice.enableDamageTracking(0.5f);
+    renderScene(tiledDevice, 5);
+    // a pixel outside of the damaged region that is not rendered again
+    tiledDevice.getImage().setRGB(WIDTH - 1, HEIGHT - 1, MARKER);
+    renderScene(tiledDevice, 7);
+
+    assertEquals(1, tiledDevice.getDamagedRegions().size());
+    assertEquals(new Rectangle(5, 5, 12, 6), tiledDevice.getDamagedRegions().get(0));
+    assertEquals(MARKER, tiledDevice.getImage().getRGB(WIDTH - 1, HEIGHT - 1));
+  }
+
+  @Test
+  public void testInterruptedFrameIsRenderedCompletely() {
+    Thread.currentThread().interrupt();
+    try {
+      renderScene(tiledDevice, 5);
+    } finally {
+      assertTrue(Thread.interrupted());
+    }
+
+    assertSameImage(renderReference(5), tiledDevice.getImage());
+  }
+
+  @Nonnull
+  private static BufferedImage renderReference(final int quadX) {
+    BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+    renderScene(new RenderDeviceJava2dImpl(new ImageGraphicsWrapper(image)), quadX);
+    return image;
+  }
+
+  private static void renderScene(@Nonnull final RenderDeviceJava2dImpl device, final int quadX) {
+    device.beginFrame();
+    device.clear();
+    device.renderQuad(0, 0, WIDTH, HEIGHT, new Color(0.2f, 0.2f, 0.2f, 1.0f));
+    device.renderQuad(
+        3, 20, 40, 15,
+        new Color(1.0f, 0.0f, 0.0f, 1.0f), new Color(1.0f, 0.0f, 0.0f, 1.0f),
+        new Color(0.0f, 0.0f, 1.0f, 1.0f), new Color(0.0f, 0.0f, 1.0f, 1.0f));
+    device.enableClip(10, 10, 45, 38);
+    device.renderQuad(0, 12, WIDTH, 20, new Color(0.0f, 1.0f, 0.0f, 0.5f));
+    device.disableClip();
+    device.renderQuad(quadX, 5, 10, 6, new Color(1.0f, 1.0f, 1.0f, 1.0f));
+    device.endFrame();
+  }
+
+  private static void assertSameImage(@Nonnull final BufferedImage expected, @Nonnull final BufferedImage actual) {
+    for (int y = 0; y < HEIGHT; y++) {
+      for (int x = 0; x < WIDTH; x++) {
+        assertEquals("pixel " + x + ", " + y, expected.getRGB(x, y), actual.getRGB(x, y));
+      }
+    }
+  }
+
+  private static class ImageGraphicsWrapper implements GraphicsWrapper {
+    @Nonnull
+    private final Graphics2D graphics;
+
+    ImageGraphicsWrapper(@Nonnull final BufferedImage image) {
+      graphics = image.createGraphics();
+    }
+
+    @Nonnull
+    @Override
+    public Graphics2D getGraphics2d() {
+      return graphics;
+    }
+
+    @Override
+    public int getHeight() {
+      return HEIGHT;
+    }
+
+    @Override
+    public int getWidth() {
+      return WIDTH;
+    }
+  }
+}
@@ -330,6 +330,11 @@ public class JoglGL implements GL {
     GLContext.getCurrentGL().getGL2().glColorPointer(size, type, stride, pointer);
   }
 
+  @Override
+  public void glColorPointer(int size, int type, int stride, ByteBuffer pointer) {
+    GLContext.getCurrentGL().getGL2().glColorPointer(size, type, stride, pointer);
+  }
+
   @Override
   public void glDeleteTextures(int n, IntBuffer textures) {
     GLContext.getCurrentGL().glDeleteTextures(n, textures);
@@ -355,6 +360,11 @@ public class JoglGL implements GL {
     GLContext.getCurrentGL().glDrawElements(mode, count, type, indices);
   }
 
+  @Override
+  public void glDrawElements(int mode, int count, int type, ShortBuffer indices) {
+    GLContext.getCurrentGL().getGL2().glDrawElements(mode, count, type, indices);
+  }
+
   @Override
   public void glEnable(int cap) {
     GLContext.getCurrentGL().glEnable(cap);
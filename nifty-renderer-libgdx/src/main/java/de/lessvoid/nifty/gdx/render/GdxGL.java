@@ -323,6 +323,11 @@ public class GdxGL implements GL {
     Gdx.gl10.glColorPointer(size, type, stride, pointer);
   }
 
+  @Override
+  public void glColorPointer(int size, int type, int stride, ByteBuffer pointer) {
+    Gdx.gl10.glColorPointer(size, type, stride, pointer);
+  }
+
   @Override
   public void glDeleteTextures(int n, IntBuffer textures) {
     Gdx.gl10.glDeleteTextures(n, textures);
@@ -348,6 +353,11 @@ public class GdxGL implements GL {
     Gdx.gl11.glDrawElements(mode, count, type, indices);
   }
 
+  @Override
+  public void glDrawElements(int mode, int count, int type, ShortBuffer indices) {
+    Gdx.gl10.glDrawElements(mode, count, type, indices);
+  }
+
   @Override
   public void glEnable(int cap) {
     Gdx.gl10.glEnable(cap);
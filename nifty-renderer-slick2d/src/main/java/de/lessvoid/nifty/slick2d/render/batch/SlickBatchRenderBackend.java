@@ -182,4 +182,9 @@ public class SlickBatchRenderBackend implements BatchRenderBackend {
   public void fillRemovedImagesInAtlas(final boolean shouldFill) {
     delegate.fillRemovedImagesInAtlas(shouldFill);
   }
+
+  @Override
+  public void useIndexedPackedVertices(final boolean shouldUseIndexedPackedVertices) {
+    delegate.useIndexedPackedVertices(shouldUseIndexedPackedVertices);
+  }
 }
@@ -322,6 +322,11 @@ public class SlickGL implements GL {
     GL11.glColorPointer(size, stride, pointer);
   }
 
+  @Override
+  public void glColorPointer(int size, int type, int stride, ByteBuffer pointer) {
+    GL11.glColorPointer(size, type, stride, pointer);
+  }
+
   @Override
   public void glDeleteTextures(int n, IntBuffer textures) {
     GL11.glDeleteTextures(textures);
@@ -347,6 +352,15 @@ public class SlickGL implements GL {
     GL11.glDrawElements(mode, count, type, indices);
   }
 
+  @Override
+  public void glDrawElements(int mode, int count, int type, ShortBuffer indices) {
+    // LWJGL takes the number of indices from the remaining elements of the buffer
+    int limit = indices.limit();
+    indices.limit(indices.position() + count);
+    GL11.glDrawElements(mode, indices);
+    indices.limit(limit);
+  }
+
   @Override
   public void glEnable(int cap) {
     GL11.glEnable(cap);